@@ -0,0 +1,76 @@
+package com.cbs.interest.service;
+
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account cost of accruing a flat-rate product the old way, deriving the period rate with
+ * {@link InterestCalculator#accruedAmount(BigDecimal, BigDecimal, Integer, InterestBasis)} for every
+ * account, against a {@link InterestRateTable} compiled once for the run. Both paths produce the
+ * same amounts; {@code InterestRateTableTest} checks that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestAccrualBenchmark {
+
+    private static final int ACCOUNTS = 4096;
+
+    @Param({"SIMPLE", "COMPOUND"})
+    private InterestBasis basis;
+
+    @Param({"1", "30"})
+    private int frequencyDays;
+
+    private final BigDecimal annualRate = new BigDecimal("17.25");
+    private BigDecimal[] balances;
+    private InterestRateTable table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20260310L);
+        balances = new BigDecimal[ACCOUNTS];
+        for (int account = 0; account < ACCOUNTS; account++) {
+            balances[account] = BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), 2);
+        }
+        table = InterestRateTable.compile(new InterestConfig("SAVINGS", annualRate, basis, frequencyDays),
+                List.of(), frequencyDays);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public void calculatorPerAccount(Blackhole blackhole) {
+        for (BigDecimal balance : balances) {
+            blackhole.consume(InterestCalculator.accruedAmount(balance, annualRate, frequencyDays, basis));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public void compiledRateTable(Blackhole blackhole) {
+        for (BigDecimal balance : balances) {
+            blackhole.consume(table.accrue(balance));
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.cbs.account.controller;
 
+import com.cbs.account.dto.AccountHoldResponse;
 import com.cbs.account.dto.AccountResponse;
+import com.cbs.account.dto.AvailableBalanceResponse;
 import com.cbs.account.dto.BalanceUpdateRequest;
 import com.cbs.account.dto.CreateAccountRequest;
 import com.cbs.account.dto.CurrencyResponse;
 import com.cbs.account.dto.UpdateAccountStatusRequest;
+import com.cbs.account.service.AccountHoldService;
 import com.cbs.account.service.AccountService;
 import com.cbs.common.api.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,9 +30,11 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountHoldService accountHoldService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, AccountHoldService accountHoldService) {
         this.accountService = accountService;
+        this.accountHoldService = accountHoldService;
     }
 
     @PostMapping
@@ -82,4 +87,18 @@ public class AccountController {
         CurrencyResponse response = accountService.getAccountCurrency(accountId);
         return ResponseEntity.ok(ApiResponse.success("Currency retrieved", response));
     }
+
+    @GetMapping("/{accountId}/available-balance")
+    public ResponseEntity<ApiResponse<AvailableBalanceResponse>> getAvailableBalance(
+            @PathVariable("accountId") Long accountId) {
+        AvailableBalanceResponse response = accountHoldService.getAvailableBalance(accountId);
+        return ResponseEntity.ok(ApiResponse.success("Available balance retrieved", response));
+    }
+
+    @GetMapping("/{accountId}/holds")
+    public ResponseEntity<ApiResponse<List<AccountHoldResponse>>> listActiveHolds(
+            @PathVariable("accountId") Long accountId) {
+        List<AccountHoldResponse> responses = accountHoldService.listActiveHolds(accountId);
+        return ResponseEntity.ok(ApiResponse.success("Active holds retrieved", responses));
+    }
 }
@@ -0,0 +1,28 @@
+package com.cbs.account.dto;
+
+import com.cbs.account.model.AccountHold;
+import com.cbs.account.model.AccountHoldStatus;
+import com.cbs.account.model.AccountHoldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record AccountHoldResponse(
+        Long id,
+        Long accountId,
+        AccountHoldType holdType,
+        String reference,
+        BigDecimal amount,
+        AccountHoldStatus status,
+        Instant expiresAt) {
+    public static AccountHoldResponse from(AccountHold hold) {
+        return new AccountHoldResponse(
+                hold.getId(),
+                hold.getAccountId(),
+                hold.getHoldType(),
+                hold.getReference(),
+                hold.getAmount(),
+                hold.getStatus(),
+                hold.getExpiresAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.cbs.account.dto;
+
+import com.cbs.account.model.Currency;
+
+import java.math.BigDecimal;
+
+public record AvailableBalanceResponse(
+        Long accountId,
+        Currency currency,
+        BigDecimal balance,
+        BigDecimal heldAmount,
+        BigDecimal availableBalance) {
+}
@@ -0,0 +1,18 @@
+package com.cbs.account.dto;
+
+import com.cbs.account.model.AccountHoldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * {@code currency} is optional; when present it must match the account currency.
+ */
+public record PlaceHoldRequest(
+        Long accountId,
+        AccountHoldType holdType,
+        String reference,
+        BigDecimal amount,
+        String currency,
+        Instant expiresAt) {
+}
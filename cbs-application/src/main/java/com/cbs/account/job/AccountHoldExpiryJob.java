@@ -0,0 +1,48 @@
+package com.cbs.account.job;
+
+import com.cbs.account.service.AccountHoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountHoldExpiryJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountHoldExpiryJob.class);
+
+    private final AccountHoldService accountHoldService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public AccountHoldExpiryJob(AccountHoldService accountHoldService,
+            @Value("${cbs.account.holds.expiry.batch-size:500}") int batchSize,
+            @Value("${cbs.account.holds.expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.accountHoldService = accountHoldService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Runs every minute (after the previous run finishes) to expire stale holds, one committed batch at a time
+     */
+    @Scheduled(fixedDelayString = "${cbs.account.holds.expiry.poll-interval-ms:60000}")
+    public void executeExpiry() {
+        try {
+            int expired = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int count = accountHoldService.expireDueHolds(batchSize);
+                expired += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            if (expired > 0) {
+                LOGGER.info("Account Hold Expiry Job expired {} holds", expired);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Account Hold Expiry Job failed", e);
+        }
+    }
+}
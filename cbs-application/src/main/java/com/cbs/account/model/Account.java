@@ -8,13 +8,20 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "accounts", uniqueConstraints = @UniqueConstraint(name = "uk_accounts_account_number", columnNames = "account_number"))
+@Table(
+        name = "accounts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_accounts_account_number", columnNames = "account_number"),
+        indexes = @Index(name = "idx_accounts_type_status_id", columnList = "type, status, id")
+)
 public class Account extends AuditableEntity {
 
     @Id
@@ -42,6 +49,10 @@ public class Account extends AuditableEntity {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @ColumnDefault("0")
+    @Version
+    private Long version;
+
     public Account() {
     }
 
@@ -85,6 +96,10 @@ public class Account extends AuditableEntity {
         return balance;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setStatus(AccountStatus status) {
         this.status = status;
     }
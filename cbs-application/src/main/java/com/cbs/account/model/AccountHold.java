@@ -0,0 +1,111 @@
+package com.cbs.account.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Funds reserved on an account by an authorization, pending payment or FX deal. While ACTIVE the
+ * amount is part of the account's {@link AccountHoldTotal}.
+ */
+@Entity
+@Table(
+        name = "account_holds",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_holds_type_reference",
+                columnNames = {"hold_type", "reference"}),
+        indexes = {
+                @Index(name = "idx_account_holds_account_id_status", columnList = "accountId, status"),
+                @Index(name = "idx_account_holds_status_expires_at", columnList = "status, expiresAt")
+        }
+)
+public class AccountHold extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_holds_seq")
+    @SequenceGenerator(name = "account_holds_seq", sequenceName = "account_holds_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hold_type", nullable = false, length = 32)
+    private AccountHoldType holdType;
+
+    @Column(nullable = false, length = 64)
+    private String reference;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AccountHoldStatus status = AccountHoldStatus.ACTIVE;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column
+    private Instant closedAt;
+
+    public AccountHold() {
+    }
+
+    public AccountHold(Long accountId, AccountHoldType holdType, String reference, BigDecimal amount,
+            Instant expiresAt) {
+        this.accountId = accountId;
+        this.holdType = holdType;
+        this.reference = reference;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public AccountHoldType getHoldType() {
+        return holdType;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public AccountHoldStatus getStatus() {
+        return status;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getClosedAt() {
+        return closedAt;
+    }
+
+    public void close(AccountHoldStatus status, Instant closedAt) {
+        this.status = status;
+        this.closedAt = closedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.cbs.account.model;
+
+public enum AccountHoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
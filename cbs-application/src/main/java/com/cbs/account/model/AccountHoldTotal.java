@@ -0,0 +1,42 @@
+package com.cbs.account.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Running sum of an account's ACTIVE holds, kept beside the account row so available balance is a
+ * single-row read and placing a hold never write-locks {@code accounts}.
+ */
+@Entity
+@Table(name = "account_hold_totals")
+public class AccountHoldTotal {
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
+    public AccountHoldTotal() {
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getHeldAmount() {
+        return heldAmount;
+    }
+
+    public void add(BigDecimal amount) {
+        heldAmount = heldAmount.add(amount);
+    }
+
+    public void subtract(BigDecimal amount) {
+        heldAmount = heldAmount.subtract(amount);
+    }
+}
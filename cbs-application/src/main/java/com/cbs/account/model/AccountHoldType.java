@@ -0,0 +1,7 @@
+package com.cbs.account.model;
+
+public enum AccountHoldType {
+    CARD_AUTHORIZATION,
+    PAYMENT,
+    FX_DEAL
+}
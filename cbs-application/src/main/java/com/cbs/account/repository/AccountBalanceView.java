@@ -0,0 +1,10 @@
+package com.cbs.account.repository;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceView {
+
+    Long getId();
+
+    BigDecimal getBalance();
+}
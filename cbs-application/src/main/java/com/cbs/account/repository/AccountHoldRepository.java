@@ -0,0 +1,40 @@
+package com.cbs.account.repository;
+
+import com.cbs.account.model.AccountHold;
+import com.cbs.account.model.AccountHoldStatus;
+import com.cbs.account.model.AccountHoldType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountHoldRepository extends JpaRepository<AccountHold, Long> {
+
+    boolean existsByHoldTypeAndReference(AccountHoldType holdType, String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select hold from AccountHold hold where hold.holdType = :holdType and hold.reference = :reference")
+    Optional<AccountHold> findByHoldTypeAndReferenceForUpdate(@Param("holdType") AccountHoldType holdType,
+            @Param("reference") String reference);
+
+    List<AccountHold> findByAccountIdAndStatusOrderByIdDesc(Long accountId, AccountHoldStatus status);
+
+    /**
+     * Locks ACTIVE holds past their expiry, skipping rows another sweeper or a release holds.
+     */
+    @Query(value = """
+            select *
+            from account_holds
+            where status = 'ACTIVE'
+              and expires_at <= :now
+            order by expires_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<AccountHold> claimExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,35 @@
+package com.cbs.account.repository;
+
+import com.cbs.account.model.AccountHoldTotal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AccountHoldTotalRepository extends JpaRepository<AccountHoldTotal, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into account_hold_totals (account_id, held_amount)
+            values (:accountId, 0)
+            on conflict (account_id) do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select total from AccountHoldTotal total where total.accountId = :accountId")
+    Optional<AccountHoldTotal> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    /**
+     * Locks the account's hold total, creating it on first use. Everything that changes holds or
+     * debits the balance goes through this row lock, so the available-balance check cannot race.
+     */
+    default AccountHoldTotal lockTotal(Long accountId) {
+        insertIfAbsent(accountId);
+        return findByAccountIdForUpdate(accountId).orElseThrow();
+    }
+}
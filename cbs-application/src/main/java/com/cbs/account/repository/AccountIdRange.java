@@ -0,0 +1,8 @@
+package com.cbs.account.repository;
+
+public interface AccountIdRange {
+
+    Long getMinId();
+
+    Long getMaxId();
+}
@@ -1,8 +1,15 @@
 package com.cbs.account.repository;
 
 import com.cbs.account.model.Account;
+import com.cbs.account.model.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -13,4 +20,89 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByTypeAndStatus(com.cbs.account.model.AccountType type,
             com.cbs.account.model.AccountStatus status);
+
+    @Query("""
+            select min(account.id) as minId, max(account.id) as maxId
+            from Account account
+            where account.type = :type and account.status = :status
+            """)
+    AccountIdRange findIdRange(@Param("type") com.cbs.account.model.AccountType type,
+            @Param("status") AccountStatus status);
+
+    /**
+     * Keyset page of accounts with a positive balance, ordered by id, in {@code (afterId, toId]}.
+     */
+    @Query("""
+            select account.id as id, account.balance as balance
+            from Account account
+            where account.type = :type
+              and account.status = :status
+              and account.balance > 0
+              and account.id > :afterId
+              and account.id <= :toId
+            order by account.id
+            """)
+    List<AccountBalanceView> findPositiveBalancesAfter(@Param("type") com.cbs.account.model.AccountType type,
+            @Param("status") AccountStatus status,
+            @Param("afterId") Long afterId,
+            @Param("toId") Long toId,
+            Pageable pageable);
+
+    /**
+     * Adds {@code amount} in a single statement so concurrent writers cannot lose updates. Returns 0
+     * when the account is missing or not in {@code status}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account account
+            set account.balance = account.balance + :amount,
+                account.version = account.version + 1,
+                account.updatedAt = :now
+            where account.id = :accountId
+              and account.status = :status
+            """)
+    int creditBalance(@Param("accountId") Long accountId,
+            @Param("amount") BigDecimal amount,
+            @Param("status") AccountStatus status,
+            @Param("now") Instant now);
+
+    @Query("select account.balance from Account account where account.id = :accountId")
+    BigDecimal findBalanceById(@Param("accountId") Long accountId);
+
+    /**
+     * Subtracts {@code amount} only while the balance still covers it plus {@code heldAmount}, so
+     * concurrent debits cannot overdraw or eat into holds. Returns 0 when the account is missing,
+     * not in {@code status} or short of available funds.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account account
+            set account.balance = account.balance - :amount,
+                account.version = account.version + 1,
+                account.updatedAt = :now
+            where account.id = :accountId
+              and account.status = :status
+              and account.balance - :amount >= :heldAmount
+            """)
+    int debitBalance(@Param("accountId") Long accountId,
+            @Param("amount") BigDecimal amount,
+            @Param("heldAmount") BigDecimal heldAmount,
+            @Param("status") AccountStatus status,
+            @Param("now") Instant now);
+
+    /**
+     * Subtracts a captured hold's amount. The funds were reserved when the hold was placed, so
+     * neither the account status nor the available balance is checked again.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account account
+            set account.balance = account.balance - :amount,
+                account.version = account.version + 1,
+                account.updatedAt = :now
+            where account.id = :accountId
+            """)
+    int debitCapturedHold(@Param("accountId") Long accountId,
+            @Param("amount") BigDecimal amount,
+            @Param("now") Instant now);
 }
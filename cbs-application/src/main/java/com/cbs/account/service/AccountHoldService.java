@@ -0,0 +1,167 @@
+package com.cbs.account.service;
+
+import com.cbs.account.dto.AccountHoldResponse;
+import com.cbs.account.dto.AvailableBalanceResponse;
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.Account;
+import com.cbs.account.model.AccountHold;
+import com.cbs.account.model.AccountHoldStatus;
+import com.cbs.account.model.AccountHoldTotal;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.repository.AccountHoldRepository;
+import com.cbs.account.repository.AccountHoldTotalRepository;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.common.exception.ApiException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Places, captures, releases and expires authorization holds. Available balance is
+ * {@code balance - heldAmount}, where the held amount is maintained incrementally on
+ * {@link AccountHoldTotal}; hold changes lock that row rather than the account row.
+ */
+@Service
+public class AccountHoldService {
+
+    private final AccountRepository accountRepository;
+    private final AccountHoldRepository accountHoldRepository;
+    private final AccountHoldTotalRepository accountHoldTotalRepository;
+
+    public AccountHoldService(AccountRepository accountRepository,
+            AccountHoldRepository accountHoldRepository,
+            AccountHoldTotalRepository accountHoldTotalRepository) {
+        this.accountRepository = accountRepository;
+        this.accountHoldRepository = accountHoldRepository;
+        this.accountHoldTotalRepository = accountHoldTotalRepository;
+    }
+
+    @Transactional
+    public AccountHoldResponse placeHold(PlaceHoldRequest request) {
+        Account account = accountRepository.findById(request.accountId())
+                .orElseThrow(() -> new ApiException("ACCOUNT_NOT_FOUND", "Account not found"));
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new ApiException("ACCOUNT_NOT_ACTIVE", "Holds are allowed only for active accounts");
+        }
+        if (request.currency() != null && !account.getCurrencyCode().name().equals(request.currency())) {
+            throw new ApiException("CURRENCY_MISMATCH",
+                    "Expected " + account.getCurrencyCode() + " but received " + request.currency());
+        }
+        if (accountHoldRepository.existsByHoldTypeAndReference(request.holdType(), request.reference())) {
+            throw new ApiException("ACCOUNT_HOLD_EXISTS", "Hold already exists for reference");
+        }
+
+        AccountHoldTotal total = accountHoldTotalRepository.lockTotal(account.getId());
+        // Re-read the balance under the hold lock; debits take the same lock before they commit
+        BigDecimal balance = accountRepository.findBalanceById(account.getId());
+        if (balance.subtract(total.getHeldAmount()).compareTo(request.amount()) < 0) {
+            throw new ApiException("INSUFFICIENT_AVAILABLE_BALANCE", "Insufficient available balance");
+        }
+
+        total.add(request.amount());
+        AccountHold hold = accountHoldRepository.save(new AccountHold(account.getId(), request.holdType(),
+                request.reference(), request.amount(), request.expiresAt()));
+        return AccountHoldResponse.from(hold);
+    }
+
+    /**
+     * Debits the held amount and drops it from the held total in one step under the hold-total
+     * lock, so the funds never count as both held and available. A hold that expired or was
+     * released before capture is debited only if the available balance still covers it. Missing
+     * and already captured holds are ignored, so callers can capture unconditionally. Returns whether
+     * this call debited the account.
+     */
+    @Transactional
+    public boolean captureHold(AccountHoldType holdType, String reference) {
+        AccountHold hold = accountHoldRepository.findByHoldTypeAndReferenceForUpdate(holdType, reference)
+                .orElse(null);
+        if (hold == null || hold.getStatus() == AccountHoldStatus.CAPTURED) {
+            return false;
+        }
+
+        Instant now = Instant.now();
+        AccountHoldTotal total = accountHoldTotalRepository.lockTotal(hold.getAccountId());
+        if (hold.getStatus() == AccountHoldStatus.ACTIVE) {
+            total.subtract(hold.getAmount());
+            hold.close(AccountHoldStatus.CAPTURED, now);
+            // Last, because the update flushes the changes above and clears the persistence context
+            accountRepository.debitCapturedHold(hold.getAccountId(), hold.getAmount(), now);
+            return true;
+        }
+
+        hold.close(AccountHoldStatus.CAPTURED, now);
+        if (accountRepository.debitBalance(hold.getAccountId(), hold.getAmount(), total.getHeldAmount(),
+                AccountStatus.ACTIVE, now) == 0) {
+            throw new ApiException("INSUFFICIENT_AVAILABLE_BALANCE", "Insufficient available balance");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the held funds to the available balance and returns whether an active hold was
+     * released. Holds that are missing or no longer active are ignored.
+     */
+    @Transactional
+    public boolean releaseHold(AccountHoldType holdType, String reference) {
+        return closeHold(holdType, reference, AccountHoldStatus.RELEASED);
+    }
+
+    /**
+     * Expires at most {@code limit} ACTIVE holds whose expiry has passed and returns how many were
+     * expired. Hold totals are locked in account id order so concurrent sweepers cannot deadlock.
+     */
+    @Transactional
+    public int expireDueHolds(int limit) {
+        Instant now = Instant.now();
+        List<AccountHold> holds = accountHoldRepository.claimExpired(now, limit);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, BigDecimal> expiredByAccount = new TreeMap<>();
+        for (AccountHold hold : holds) {
+            hold.close(AccountHoldStatus.EXPIRED, now);
+            expiredByAccount.merge(hold.getAccountId(), hold.getAmount(), BigDecimal::add);
+        }
+        expiredByAccount.forEach((accountId, amount) -> accountHoldTotalRepository.lockTotal(accountId)
+                .subtract(amount));
+        return holds.size();
+    }
+
+    @Transactional(readOnly = true)
+    public AvailableBalanceResponse getAvailableBalance(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ApiException("ACCOUNT_NOT_FOUND", "Account not found"));
+        BigDecimal heldAmount = accountHoldTotalRepository.findById(accountId)
+                .map(AccountHoldTotal::getHeldAmount)
+                .orElse(BigDecimal.ZERO);
+        return new AvailableBalanceResponse(account.getId(), account.getCurrencyCode(), account.getBalance(),
+                heldAmount, account.getBalance().subtract(heldAmount));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountHoldResponse> listActiveHolds(Long accountId) {
+        return accountHoldRepository.findByAccountIdAndStatusOrderByIdDesc(accountId, AccountHoldStatus.ACTIVE)
+                .stream()
+                .map(AccountHoldResponse::from)
+                .toList();
+    }
+
+    private boolean closeHold(AccountHoldType holdType, String reference, AccountHoldStatus status) {
+        AccountHold hold = accountHoldRepository.findByHoldTypeAndReferenceForUpdate(holdType, reference)
+                .filter(candidate -> candidate.getStatus() == AccountHoldStatus.ACTIVE)
+                .orElse(null);
+        if (hold == null) {
+            return false;
+        }
+        accountHoldTotalRepository.lockTotal(hold.getAccountId()).subtract(hold.getAmount());
+        hold.close(status, Instant.now());
+        return true;
+    }
+}
@@ -7,21 +7,33 @@ import com.cbs.account.dto.CurrencyResponse;
 import com.cbs.account.dto.UpdateAccountStatusRequest;
 import com.cbs.account.model.Account;
 import com.cbs.account.model.AccountStatus;
+import com.cbs.account.repository.AccountBalanceView;
+import com.cbs.account.repository.AccountHoldTotalRepository;
+import com.cbs.account.repository.AccountIdRange;
 import com.cbs.account.repository.AccountRepository;
 import com.cbs.common.exception.ApiException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountHoldTotalRepository accountHoldTotalRepository;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository,
+            AccountHoldTotalRepository accountHoldTotalRepository) {
         this.accountRepository = accountRepository;
+        this.accountHoldTotalRepository = accountHoldTotalRepository;
     }
 
     @Transactional
@@ -58,14 +70,56 @@ public class AccountService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public AccountIdRange findAccountIdRange(com.cbs.account.model.AccountType type, AccountStatus status) {
+        return accountRepository.findIdRange(type, status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountBalanceView> listPositiveBalancesAfter(com.cbs.account.model.AccountType type,
+            AccountStatus status,
+            Long afterId,
+            Long toId,
+            int limit) {
+        return accountRepository.findPositiveBalancesAfter(type, status, afterId, toId, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountResponse> getAccounts(Collection<Long> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .map(AccountResponse::from)
+                .toList();
+    }
+
+    /**
+     * Credits each account with a single conditional update and no reads, for callers that already
+     * hold the accounts. Returns the ids that were credited; accounts no longer ACTIVE are skipped.
+     */
+    @Transactional
+    public Set<Long> creditBalances(Map<Long, BigDecimal> amounts) {
+        Instant now = Instant.now();
+        Set<Long> credited = new HashSet<>();
+        amounts.forEach((accountId, amount) -> {
+            if (accountRepository.creditBalance(accountId, amount, AccountStatus.ACTIVE, now) > 0) {
+                credited.add(accountId);
+            }
+        });
+        return credited;
+    }
+
     @Transactional
     public AccountResponse creditBalance(Long accountId, BalanceUpdateRequest request) {
         Account account = findAccount(accountId);
         ensureBalanceUpdateAllowed(account);
         ensureCurrencyMatches(account, request.currency());
 
-        account.setBalance(account.getBalance().add(request.amount()));
-        return AccountResponse.from(accountRepository.save(account));
+        int updated = accountRepository.creditBalance(accountId, request.amount(), AccountStatus.ACTIVE,
+                Instant.now());
+        if (updated == 0) {
+            // Only the status condition can reject a credit once the account has been read
+            throw new ApiException("ACCOUNT_NOT_ACTIVE", "Balance updates are allowed only for active accounts");
+        }
+        return AccountResponse.from(findAccount(accountId));
     }
 
     @Transactional
@@ -79,8 +133,16 @@ public class AccountService {
             throw new ApiException("INSUFFICIENT_BALANCE", "Insufficient balance");
         }
 
-        account.setBalance(account.getBalance().subtract(amount));
-        return AccountResponse.from(accountRepository.save(account));
+        // The balance read above may already be stale; the conditional update re-checks it atomically,
+        // and the hold total stays locked until commit so no hold can be placed against the old balance
+        BigDecimal heldAmount = accountHoldTotalRepository.lockTotal(accountId).getHeldAmount();
+        int updated = accountRepository.debitBalance(accountId, amount, heldAmount, AccountStatus.ACTIVE,
+                Instant.now());
+        if (updated == 0) {
+            ensureBalanceUpdateAllowed(findAccount(accountId));
+            throw new ApiException("INSUFFICIENT_BALANCE", "Insufficient balance");
+        }
+        return AccountResponse.from(findAccount(accountId));
     }
 
     @Transactional
@@ -100,6 +162,13 @@ public class AccountService {
         return new CurrencyResponse(account.getId(), account.getCurrencyCode());
     }
 
+    @Transactional(readOnly = true)
+    public List<CurrencyResponse> getAccountCurrencies(Collection<Long> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .map(account -> new CurrencyResponse(account.getId(), account.getCurrencyCode()))
+                .toList();
+    }
+
     private Account findAccount(Long accountId) {
         return accountRepository.findById(accountId)
                 .orElseThrow(() -> new ApiException("ACCOUNT_NOT_FOUND", "Account not found"));
@@ -1,5 +1,7 @@
 package com.cbs.card.controller;
 
+import com.cbs.account.dto.AccountHoldResponse;
+import com.cbs.card.dto.CardAuthorizationRequest;
 import com.cbs.card.dto.CardResponse;
 import com.cbs.card.dto.CardStatusReasonRequest;
 import com.cbs.card.dto.CreateCardRequest;
@@ -95,6 +97,20 @@ public class CardController {
         return ResponseEntity.ok(ApiResponse.success("Card closed", response));
     }
 
+    @PostMapping("/{cardId}/authorizations")
+    public ResponseEntity<ApiResponse<AccountHoldResponse>> authorizeSpending(
+            @PathVariable("cardId") Long cardId,
+            @Valid @RequestBody CardAuthorizationRequest request) {
+        AccountHoldResponse response = cardSpendingService.authorizeSpending(cardId, request);
+        return ResponseEntity.ok(ApiResponse.success("Card spending authorized", response));
+    }
+
+    @PatchMapping("/authorizations/{reference}/release")
+    public ResponseEntity<ApiResponse<Void>> releaseAuthorization(@PathVariable("reference") String reference) {
+        cardSpendingService.releaseAuthorization(reference);
+        return ResponseEntity.ok(ApiResponse.success("Card authorization released", null));
+    }
+
     @GetMapping("/{cardId}/spending")
     public ResponseEntity<ApiResponse<SpendingLimitResponse>> getSpending(
             @PathVariable("cardId") Long cardId) {
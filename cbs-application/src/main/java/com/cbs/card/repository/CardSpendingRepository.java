@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 public interface CardSpendingRepository extends JpaRepository<CardSpendingRecord, Long> {
 
@@ -20,4 +21,8 @@ public interface CardSpendingRepository extends JpaRepository<CardSpendingRecord
     BigDecimal sumMonthlySpending(@Param("cardId") Long cardId,
             @Param("startOfMonth") LocalDate startOfMonth,
             @Param("endOfMonth") LocalDate endOfMonth);
+
+    Optional<CardSpendingRecord> findByCardIdAndTransactionReference(Long cardId, String transactionReference);
+
+    void deleteByTransactionReference(String transactionReference);
 }
@@ -1,5 +1,10 @@
 package com.cbs.card.service;
 
+import com.cbs.account.dto.AccountHoldResponse;
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.service.AccountHoldService;
+import com.cbs.card.dto.CardAuthorizationRequest;
 import com.cbs.card.dto.SpendingLimitResponse;
 import com.cbs.card.model.Card;
 import com.cbs.card.model.CardSpendingRecord;
@@ -7,10 +12,13 @@ import com.cbs.card.model.CardStatus;
 import com.cbs.card.repository.CardRepository;
 import com.cbs.card.repository.CardSpendingRepository;
 import com.cbs.common.exception.ApiException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Service
@@ -18,16 +26,73 @@ public class CardSpendingService {
 
     private final CardRepository cardRepository;
     private final CardSpendingRepository cardSpendingRepository;
+    private final AccountHoldService accountHoldService;
+    private final Duration authorizationTtl;
 
     public CardSpendingService(CardRepository cardRepository,
-            CardSpendingRepository cardSpendingRepository) {
+            CardSpendingRepository cardSpendingRepository,
+            AccountHoldService accountHoldService,
+            @Value("${cbs.card.authorization.hold-ttl:P7D}") Duration authorizationTtl) {
         this.cardRepository = cardRepository;
         this.cardSpendingRepository = cardSpendingRepository;
+        this.accountHoldService = accountHoldService;
+        this.authorizationTtl = authorizationTtl;
     }
 
+    /**
+     * Records the spend of a card transaction. A transaction carrying the reference of an earlier
+     * authorization on the card consumes it instead: the spend was recorded when it was authorized,
+     * so only the held funds are captured, and the amount must be the one authorized.
+     */
     @Transactional
     public void validateAndRecordSpending(Long cardId, BigDecimal amount, String transactionReference) {
         Card card = findActiveCard(cardId);
+        CardSpendingRecord authorization = cardSpendingRepository
+                .findByCardIdAndTransactionReference(cardId, transactionReference)
+                .orElse(null);
+        if (authorization == null) {
+            recordSpending(card, amount, transactionReference);
+            return;
+        }
+        if (authorization.getAmount().compareTo(amount) != 0) {
+            throw new ApiException("CARD_AUTHORIZATION_AMOUNT_MISMATCH",
+                    "Authorized " + authorization.getAmount() + " but received " + amount);
+        }
+        accountHoldService.captureHold(AccountHoldType.CARD_AUTHORIZATION, transactionReference);
+    }
+
+    /**
+     * Checks the card limits and reserves the amount on the card account until the spend settles,
+     * the authorization is released or the hold expires.
+     */
+    @Transactional
+    public AccountHoldResponse authorizeSpending(Long cardId, CardAuthorizationRequest request) {
+        Card card = findActiveCard(cardId);
+        String reference = request.reference().trim().toUpperCase();
+        recordSpending(card, request.amount(), reference);
+        return accountHoldService.placeHold(new PlaceHoldRequest(
+                card.getAccountId(),
+                AccountHoldType.CARD_AUTHORIZATION,
+                reference,
+                request.amount(),
+                null,
+                Instant.now().plus(authorizationTtl)));
+    }
+
+    /**
+     * Releases the held funds and takes the authorized amount back off the card's spending. An
+     * authorization that was already captured, released or expired is left as it is.
+     */
+    @Transactional
+    public void releaseAuthorization(String reference) {
+        String normalizedReference = reference.trim().toUpperCase();
+        if (accountHoldService.releaseHold(AccountHoldType.CARD_AUTHORIZATION, normalizedReference)) {
+            cardSpendingRepository.deleteByTransactionReference(normalizedReference);
+        }
+    }
+
+    private void recordSpending(Card card, BigDecimal amount, String transactionReference) {
+        Long cardId = card.getId();
         LocalDate today = LocalDate.now();
 
         BigDecimal dailySpent = cardSpendingRepository.sumDailySpending(cardId, today);
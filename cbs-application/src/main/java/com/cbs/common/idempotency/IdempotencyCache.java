@@ -0,0 +1,84 @@
+package com.cbs.common.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory front of {@link IdempotencyRecordRepository}. Entries expire after a TTL and the
+ * least recently used entry is evicted once the cache is full.
+ */
+@Component
+public class IdempotencyCache {
+
+    public record Entry(String requestHash, Object response, Instant expiresAt) {
+    }
+
+    private final Map<String, Entry> entries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    public IdempotencyCache(MeterRegistry meterRegistry,
+            @Value("${cbs.idempotency.cache.max-entries:10000}") int maxEntries,
+            @Value("${cbs.idempotency.cache.ttl:PT10M}") Duration ttl) {
+        this(meterRegistry, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    IdempotencyCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Clock clock) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttl = ttl;
+        this.clock = clock;
+        this.hits = Counter.builder("idempotency.cache.requests")
+                .description("Idempotency lookups served by the in-memory cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("idempotency.cache.requests")
+                .description("Idempotency lookups served by the in-memory cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.cache.size", this, IdempotencyCache::size)
+                .description("Idempotent responses currently cached")
+                .register(meterRegistry);
+    }
+
+    public synchronized Entry get(String scope, String key) {
+        String cacheKey = cacheKey(scope, key);
+        Entry entry = entries.get(cacheKey);
+        if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+            hits.increment();
+            return entry;
+        }
+        if (entry != null) {
+            entries.remove(cacheKey);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(String scope, String key, String requestHash, Object response) {
+        entries.put(cacheKey(scope, key), new Entry(requestHash, response, clock.instant().plus(ttl)));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + '|' + key;
+    }
+}
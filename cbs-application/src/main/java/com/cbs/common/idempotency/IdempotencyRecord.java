@@ -0,0 +1,82 @@
+package com.cbs.common.idempotency;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+
+/**
+ * The serialized response of a create call, keyed by scope and client reference, so a retried
+ * request can be answered without executing it again.
+ */
+@Entity
+@Table(
+        name = "idempotency_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_records_scope_key",
+                columnNames = {"scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expiresAt")
+)
+public class IdempotencyRecord extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "text")
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String scope, String idempotencyKey, String requestHash, String responseBody,
+            Instant expiresAt) {
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cbs.common.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyRecordPurgeJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyRecordPurgeJob.class);
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyRecordPurgeJob(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    /**
+     * Runs every night at 02:30 to delete stored responses past their retention
+     */
+    @Scheduled(cron = "${cbs.idempotency.purge-cron:0 30 2 * * *}")
+    public void executePurge() {
+        LOGGER.info("Starting Idempotency Record Purge Job...");
+        try {
+            int purged = idempotencyService.purgeExpired();
+            LOGGER.info("Idempotency Record Purge Job finished. Purged {} records", purged);
+        } catch (Exception e) {
+            LOGGER.error("Idempotency Record Purge Job failed", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cbs.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord record where record.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
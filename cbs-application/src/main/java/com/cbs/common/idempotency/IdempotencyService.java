@@ -0,0 +1,122 @@
+package com.cbs.common.idempotency;
+
+import com.cbs.common.exception.ApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes create calls idempotent per client reference. The first call runs and its response is stored
+ * in the caller's transaction; a retry with the same reference and payload gets that response back
+ * without running again, from memory when possible. A reused reference with a different payload is
+ * rejected with {@code <SCOPE>_REFERENCE_EXISTS}, as is any reference whose record has expired.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+            IdempotencyCache idempotencyCache,
+            ObjectMapper objectMapper,
+            @Value("${cbs.idempotency.retention:P7D}") Duration retention) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+    }
+
+    @Transactional
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        String requestHash = hash(request);
+
+        IdempotencyCache.Entry cached = idempotencyCache.get(scope, key);
+        if (cached != null) {
+            return replay(scope, cached.requestHash(), requestHash, responseType.cast(cached.response()));
+        }
+
+        Instant now = Instant.now();
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByScopeAndIdempotencyKey(scope, key)
+                .filter(record -> record.getExpiresAt().isAfter(now));
+        if (stored.isPresent()) {
+            IdempotencyRecord record = stored.get();
+            T response = read(record.getResponseBody(), responseType);
+            idempotencyCache.put(scope, key, record.getRequestHash(), response);
+            return replay(scope, record.getRequestHash(), requestHash, response);
+        }
+
+        T response = action.get();
+        idempotencyRecordRepository.save(new IdempotencyRecord(scope, key, requestHash, write(response),
+                now.plus(retention)));
+        cacheAfterCommit(scope, key, requestHash, response);
+        return response;
+    }
+
+    /**
+     * Deletes stored responses past their retention and returns how many were removed.
+     */
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+
+    private <T> T replay(String scope, String storedHash, String requestHash, T response) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ApiException(scope + "_REFERENCE_EXISTS", "Reference already exists");
+        }
+        return response;
+    }
+
+    private void cacheAfterCommit(String scope, String key, String requestHash, Object response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idempotencyCache.put(scope, key, requestHash, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idempotencyCache.put(scope, key, requestHash, response);
+            }
+        });
+    }
+
+    String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize idempotent payload", exception);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not deserialize idempotent response", exception);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.cbs.common.lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Cluster-wide mutual exclusion for batch jobs, built on Postgres session advisory locks keyed by
+ * {@code hashtext(name)}. Each held lock pins its own connection outside any transaction, so it is
+ * released when the job closes the handle or, if the holding instance dies, when its connection drops.
+ */
+@Component
+public class JobLock {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobLock.class);
+
+    private final DataSource dataSource;
+
+    public JobLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Returns the held lock, or empty when another session holds it.
+     */
+    public Optional<Handle> tryLock(String name) {
+        return acquire(name, "select pg_try_advisory_lock(hashtext(?))");
+    }
+
+    /**
+     * Waits until the lock is free and returns it held.
+     */
+    public Handle lock(String name) {
+        return acquire(name, "select count(*) = 1 from (select pg_advisory_lock(hashtext(?))) acquired")
+                .orElseThrow();
+    }
+
+    private Optional<Handle> acquire(String name, String sql) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            boolean acquired;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, name);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    acquired = resultSet.next() && resultSet.getBoolean(1);
+                }
+            }
+            if (!acquired) {
+                connection.close();
+                return Optional.empty();
+            }
+            return Optional.of(new AdvisoryHandle(name, connection));
+        } catch (SQLException exception) {
+            closeQuietly(connection);
+            throw new IllegalStateException("Failed to acquire job lock " + name, exception);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            LOGGER.warn("Failed to close job lock connection", exception);
+        }
+    }
+
+    // Ends the session instead of returning it to the pool still holding the lock
+    private static void abortQuietly(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException exception) {
+            LOGGER.warn("Failed to abort job lock connection", exception);
+        }
+    }
+
+    /**
+     * A held job lock; closing it releases the lock and returns the connection to the pool.
+     */
+    public interface Handle extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private record AdvisoryHandle(String name, Connection connection) implements Handle {
+
+        @Override
+        public void close() {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select pg_advisory_unlock(hashtext(?))")) {
+                statement.setString(1, name);
+                statement.executeQuery().close();
+            } catch (SQLException exception) {
+                LOGGER.warn("Failed to release job lock {}; discarding its connection", name, exception);
+                abortQuietly(connection);
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cbs.common.retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Exponential backoff: the delay after the n-th failed attempt is {@code initialDelay * multiplier^(n-1)},
+ * capped at {@code maxDelay}.
+ */
+public final class RetryBackoff {
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double multiplier;
+
+    public RetryBackoff(Duration initialDelay, Duration maxDelay, double multiplier) {
+        if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0 || multiplier < 1) {
+            throw new IllegalArgumentException("Backoff needs 0 <= initialDelay <= maxDelay and multiplier >= 1");
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+    }
+
+    public Instant nextAttemptAt(int failedAttempts, Instant now) {
+        return now.plus(delayAfter(failedAttempts));
+    }
+
+    public Duration delayAfter(int failedAttempts) {
+        double factor = Math.pow(multiplier, Math.max(0, failedAttempts - 1));
+        double millis = initialDelay.toMillis() * factor;
+        return millis >= maxDelay.toMillis() ? maxDelay : Duration.ofMillis((long) millis);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cbs.common.retry;
+
+/**
+ * Outcome of one claimed retry chunk. {@code exhausted} counts the failures that used up the last
+ * allowed attempt and will not be claimed again.
+ */
+public record RetryBatchResult(int claimed, int succeeded, int failed, int exhausted) {
+
+    public static RetryBatchResult empty() {
+        return new RetryBatchResult(0, 0, 0, 0);
+    }
+}
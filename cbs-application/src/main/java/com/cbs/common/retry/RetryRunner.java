@@ -0,0 +1,74 @@
+package com.cbs.common.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drives an automatic retry run: claims chunks through a {@link BatchRetrier} until a chunk comes
+ * back short or the per-run chunk limit is hit, and publishes attempt and outcome counters under
+ * {@code <metricPrefix>.retry.attempts} and {@code <metricPrefix>.retry.outcomes}.
+ */
+public class RetryRunner {
+
+    @FunctionalInterface
+    public interface BatchRetrier {
+
+        /**
+         * Claims at most {@code limit} due rows with fewer than {@code maxAttempts} attempts, retries
+         * them and commits, scheduling failures with {@code backoff}.
+         */
+        RetryBatchResult retryBatch(int limit, int maxAttempts, RetryBackoff backoff);
+    }
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final RetryBackoff backoff;
+    private final Counter attempts;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter exhausted;
+
+    public RetryRunner(String metricPrefix, MeterRegistry meterRegistry, int batchSize, int maxBatchesPerRun,
+            int maxAttempts, RetryBackoff backoff) {
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.attempts = Counter.builder(metricPrefix + ".retry.attempts")
+                .description("Automatic retry attempts")
+                .register(meterRegistry);
+        this.succeeded = outcomeCounter(metricPrefix, meterRegistry, "succeeded");
+        this.failed = outcomeCounter(metricPrefix, meterRegistry, "failed");
+        this.exhausted = outcomeCounter(metricPrefix, meterRegistry, "exhausted");
+    }
+
+    public RetryBatchResult run(BatchRetrier retrier) {
+        int claimed = 0;
+        int succeededTotal = 0;
+        int failedTotal = 0;
+        int exhaustedTotal = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            RetryBatchResult result = retrier.retryBatch(batchSize, maxAttempts, backoff);
+            attempts.increment(result.claimed());
+            succeeded.increment(result.succeeded());
+            failed.increment(result.failed());
+            exhausted.increment(result.exhausted());
+            claimed += result.claimed();
+            succeededTotal += result.succeeded();
+            failedTotal += result.failed();
+            exhaustedTotal += result.exhausted();
+            if (result.claimed() < batchSize) {
+                break;
+            }
+        }
+        return new RetryBatchResult(claimed, succeededTotal, failedTotal, exhaustedTotal);
+    }
+
+    private static Counter outcomeCounter(String metricPrefix, MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(metricPrefix + ".retry.outcomes")
+                .description("Automatic retry outcomes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
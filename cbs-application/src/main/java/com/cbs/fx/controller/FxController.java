@@ -93,6 +93,12 @@ public class FxController {
         return ResponseEntity.ok(ApiResponse.success("FX deals retrieved", responses));
     }
 
+    @PatchMapping("/deals/{dealId}/settle")
+    public ResponseEntity<ApiResponse<FxDealResponse>> settleDeal(@PathVariable("dealId") Long dealId) {
+        FxDealResponse response = fxService.settleDeal(dealId);
+        return ResponseEntity.ok(ApiResponse.success("FX deal settled", response));
+    }
+
     @PatchMapping("/deals/{dealId}/cancel")
     public ResponseEntity<ApiResponse<FxDealResponse>> cancelDeal(
             @PathVariable("dealId") Long dealId,
@@ -0,0 +1,12 @@
+package com.cbs.fx.integration;
+
+import com.cbs.fx.model.FxDeal;
+
+public interface AccountHoldClient {
+
+    void placeHold(FxDeal deal);
+
+    void settleHold(FxDeal deal);
+
+    void releaseHold(FxDeal deal);
+}
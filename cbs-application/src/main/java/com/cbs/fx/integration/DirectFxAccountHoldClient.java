@@ -0,0 +1,87 @@
+package com.cbs.fx.integration;
+
+import com.cbs.account.dto.BalanceUpdateRequest;
+import com.cbs.account.dto.CurrencyResponse;
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.service.AccountHoldService;
+import com.cbs.account.service.AccountService;
+import com.cbs.common.exception.ApiException;
+import com.cbs.fx.model.FxDeal;
+import com.cbs.fx.model.FxSide;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class DirectFxAccountHoldClient implements AccountHoldClient {
+
+    private final AccountHoldService accountHoldService;
+    private final AccountService accountService;
+    private final boolean holdsEnabled;
+    private final Duration holdTtl;
+
+    public DirectFxAccountHoldClient(AccountHoldService accountHoldService,
+            AccountService accountService,
+            @Value("${cbs.account.holds.enabled:true}") boolean holdsEnabled,
+            @Value("${cbs.fx.holds.ttl:P2D}") Duration holdTtl) {
+        this.accountHoldService = accountHoldService;
+        this.accountService = accountService;
+        this.holdsEnabled = holdsEnabled;
+        this.holdTtl = holdTtl;
+    }
+
+    /**
+     * Reserves what the debit account pays until settlement: the quote amount when the customer
+     * buys the base currency, the base amount when they sell it.
+     */
+    @Override
+    public void placeHold(FxDeal deal) {
+        if (!holdsEnabled) {
+            return;
+        }
+        boolean buy = deal.getSide() == FxSide.BUY;
+        accountHoldService.placeHold(new PlaceHoldRequest(
+                deal.getDebitAccountId(),
+                AccountHoldType.FX_DEAL,
+                deal.getReference(),
+                buy ? deal.getQuoteAmount() : deal.getBaseAmount(),
+                buy ? deal.getQuoteCurrency() : deal.getBaseCurrency(),
+                Instant.now().plus(holdTtl)));
+    }
+
+    /**
+     * Captures the debit leg and credits the other leg to the credit account in the same
+     * transaction: the base amount when the customer buys the base currency, the quote amount
+     * when they sell it. A hold captured before is not settled twice.
+     */
+    @Override
+    public void settleHold(FxDeal deal) {
+        if (!holdsEnabled || !accountHoldService.captureHold(AccountHoldType.FX_DEAL, deal.getReference())) {
+            return;
+        }
+        boolean buy = deal.getSide() == FxSide.BUY;
+        credit(deal.getCreditAccountId(),
+                buy ? deal.getBaseAmount() : deal.getQuoteAmount(),
+                buy ? deal.getBaseCurrency() : deal.getQuoteCurrency());
+    }
+
+    @Override
+    public void releaseHold(FxDeal deal) {
+        if (holdsEnabled) {
+            accountHoldService.releaseHold(AccountHoldType.FX_DEAL, deal.getReference());
+        }
+    }
+
+    private void credit(Long accountId, BigDecimal amount, String currency) {
+        CurrencyResponse account = accountService.getAccountCurrency(accountId);
+        if (!account.currency().name().equals(currency)) {
+            throw new ApiException("CURRENCY_MISMATCH",
+                    "Expected " + account.currency() + " but received " + currency);
+        }
+        accountService.creditBalance(accountId, new BalanceUpdateRequest(amount));
+    }
+}
@@ -2,5 +2,6 @@ package com.cbs.fx.model;
 
 public enum FxDealStatus {
     BOOKED,
+    SETTLED,
     CANCELLED
 }
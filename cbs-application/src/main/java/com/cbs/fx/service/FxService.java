@@ -1,6 +1,7 @@
 package com.cbs.fx.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
 import com.cbs.fx.dto.BookFxDealRequest;
 import com.cbs.fx.dto.CancelFxDealRequest;
 import com.cbs.fx.dto.CreateFxQuoteRequest;
@@ -9,6 +10,7 @@ import com.cbs.fx.dto.FxDealResponse;
 import com.cbs.fx.dto.FxQuoteResponse;
 import com.cbs.fx.dto.FxRateResponse;
 import com.cbs.fx.dto.UpdateFxRateRequest;
+import com.cbs.fx.integration.AccountHoldClient;
 import com.cbs.fx.model.FxDeal;
 import com.cbs.fx.model.FxDealStatus;
 import com.cbs.fx.model.FxRate;
@@ -31,11 +33,17 @@ public class FxService {
 
     private final FxRateRepository fxRateRepository;
     private final FxDealRepository fxDealRepository;
+    private final IdempotencyService idempotencyService;
+    private final AccountHoldClient accountHoldClient;
 
     public FxService(FxRateRepository fxRateRepository,
-                     FxDealRepository fxDealRepository) {
+                     FxDealRepository fxDealRepository,
+                     IdempotencyService idempotencyService,
+                     AccountHoldClient accountHoldClient) {
         this.fxRateRepository = fxRateRepository;
         this.fxDealRepository = fxDealRepository;
+        this.idempotencyService = idempotencyService;
+        this.accountHoldClient = accountHoldClient;
     }
 
     @Transactional
@@ -104,9 +112,14 @@ public class FxService {
 
     @Transactional
     public FxDealResponse bookDeal(BookFxDealRequest request) {
+        String reference = normalizeReference(request.reference());
+        return idempotencyService.execute("FX_DEAL", reference, request, FxDealResponse.class,
+                () -> doBookDeal(request, reference));
+    }
+
+    private FxDealResponse doBookDeal(BookFxDealRequest request, String reference) {
         String baseCurrency = normalizeCurrency(request.baseCurrency());
         String quoteCurrency = normalizeCurrency(request.quoteCurrency());
-        String reference = normalizeReference(request.reference());
 
         if (fxDealRepository.existsByReference(reference)) {
             throw new ApiException("FX_DEAL_REFERENCE_EXISTS", "Reference already exists");
@@ -133,6 +146,7 @@ public class FxService {
                 reference
         );
 
+        accountHoldClient.placeHold(deal);
         return FxDealResponse.from(fxDealRepository.save(deal));
     }
 
@@ -158,15 +172,36 @@ public class FxService {
         return deals.stream().map(FxDealResponse::from).toList();
     }
 
+    /**
+     * Settles a booked deal: the held debit leg is captured and the other leg is credited in the
+     * same transaction.
+     */
+    @Transactional
+    public FxDealResponse settleDeal(Long dealId) {
+        FxDeal deal = findDeal(dealId);
+        if (deal.getStatus() != FxDealStatus.BOOKED) {
+            throw new ApiException("FX_DEAL_NOT_BOOKED", "Only booked deal can be settled");
+        }
+
+        // Set first: settling flushes and clears the persistence context
+        deal.setStatus(FxDealStatus.SETTLED);
+        accountHoldClient.settleHold(deal);
+        return FxDealResponse.from(fxDealRepository.save(deal));
+    }
+
     @Transactional
     public FxDealResponse cancelDeal(Long dealId, CancelFxDealRequest request) {
         FxDeal deal = findDeal(dealId);
         if (deal.getStatus() == FxDealStatus.CANCELLED) {
             throw new ApiException("FX_DEAL_ALREADY_CANCELLED", "Deal is already cancelled");
         }
+        if (deal.getStatus() == FxDealStatus.SETTLED) {
+            throw new ApiException("FX_DEAL_ALREADY_SETTLED", "Settled deal cannot be cancelled");
+        }
 
         deal.setStatus(FxDealStatus.CANCELLED);
         deal.setCancelReason(request.reason().trim());
+        accountHoldClient.releaseHold(deal);
         return FxDealResponse.from(fxDealRepository.save(deal));
     }
 
@@ -3,9 +3,12 @@ package com.cbs.interest.controller;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import com.cbs.common.api.ApiResponse;
+import com.cbs.interest.dto.AccrualPartitionProgressResponse;
 import com.cbs.interest.dto.CreateInterestConfigRequest;
 import com.cbs.interest.dto.InterestAccrualResponse;
 import com.cbs.interest.dto.InterestConfigResponse;
+import com.cbs.interest.dto.RateTiersResponse;
+import com.cbs.interest.dto.ReplaceRateTiersRequest;
 import com.cbs.interest.dto.RunAccrualRequest;
 import com.cbs.interest.dto.UpdateInterestConfigRequest;
 import com.cbs.interest.model.InterestStatus;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -63,6 +67,21 @@ public class InterestController {
         return ResponseEntity.ok(ApiResponse.success("Interest configs retrieved", responses));
     }
 
+    @PutMapping("/configs/{productCode}/tiers")
+    public ResponseEntity<ApiResponse<RateTiersResponse>> replaceRateTiers(
+            @PathVariable("productCode") String productCode,
+            @Valid @RequestBody ReplaceRateTiersRequest request) {
+        RateTiersResponse response = interestService.replaceRateTiers(productCode, request);
+        return ResponseEntity.ok(ApiResponse.success("Interest rate tiers updated", response));
+    }
+
+    @GetMapping("/configs/{productCode}/tiers")
+    public ResponseEntity<ApiResponse<RateTiersResponse>> getRateTiers(
+            @PathVariable("productCode") String productCode) {
+        RateTiersResponse response = interestService.getRateTiers(productCode);
+        return ResponseEntity.ok(ApiResponse.success("Interest rate tiers retrieved", response));
+    }
+
     @PostMapping("/accruals")
     public ResponseEntity<ApiResponse<InterestAccrualResponse>> runAccrual(
             @Valid @RequestBody RunAccrualRequest request) {
@@ -78,6 +97,14 @@ public class InterestController {
         return ResponseEntity.ok(ApiResponse.success("Interest accruals retrieved", responses));
     }
 
+    @GetMapping("/accruals/progress")
+    public ResponseEntity<ApiResponse<List<AccrualPartitionProgressResponse>>> getAccrualProgress(
+            @RequestParam(value = "date", required = false) java.time.LocalDate date) {
+        java.time.LocalDate accrualDate = date != null ? date : java.time.LocalDate.now();
+        List<AccrualPartitionProgressResponse> responses = interestService.getAccrualProgress(accrualDate);
+        return ResponseEntity.ok(ApiResponse.success("Interest accrual progress retrieved", responses));
+    }
+
     @PostMapping("/jobs/accrual:trigger")
     public ResponseEntity<ApiResponse<Integer>> triggerDailyAccrual(
             @RequestParam(value = "date", required = false) java.time.LocalDate date) {
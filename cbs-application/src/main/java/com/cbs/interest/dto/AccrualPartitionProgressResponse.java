@@ -0,0 +1,40 @@
+package com.cbs.interest.dto;
+
+import com.cbs.interest.model.InterestAccrualCheckpoint;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record AccrualPartitionProgressResponse(
+        LocalDate accrualDate,
+        String productCode,
+        int partitionIndex,
+        long fromAccountId,
+        long toAccountId,
+        long lastAccountId,
+        long accruedCount,
+        boolean completed,
+        Instant startedAt,
+        Instant completedAt,
+        Long elapsedMillis
+) {
+    public static AccrualPartitionProgressResponse from(InterestAccrualCheckpoint checkpoint) {
+        Long elapsedMillis = checkpoint.getStartedAt() == null || checkpoint.getCompletedAt() == null
+                ? null
+                : Duration.between(checkpoint.getStartedAt(), checkpoint.getCompletedAt()).toMillis();
+        return new AccrualPartitionProgressResponse(
+                checkpoint.getAccrualDate(),
+                checkpoint.getProductCode(),
+                checkpoint.getPartitionIndex(),
+                checkpoint.getFromAccountId(),
+                checkpoint.getToAccountId(),
+                checkpoint.getLastAccountId(),
+                checkpoint.getAccruedCount(),
+                checkpoint.isCompleted(),
+                checkpoint.getStartedAt(),
+                checkpoint.getCompletedAt(),
+                elapsedMillis
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.cbs.interest.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record RateTierRequest(
+        @NotNull @DecimalMin("0.00") @Digits(integer = 17, fraction = 2) BigDecimal minBalance,
+        @NotNull @DecimalMin("0.01") @DecimalMax("100.00") @Digits(integer = 3, fraction = 2) BigDecimal annualRate
+) {
+}
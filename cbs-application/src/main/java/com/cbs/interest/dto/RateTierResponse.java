@@ -0,0 +1,14 @@
+package com.cbs.interest.dto;
+
+import com.cbs.interest.model.InterestRateTier;
+
+import java.math.BigDecimal;
+
+public record RateTierResponse(
+        BigDecimal minBalance,
+        BigDecimal annualRate
+) {
+    public static RateTierResponse from(InterestRateTier tier) {
+        return new RateTierResponse(tier.getMinBalance(), tier.getAnnualRate());
+    }
+}
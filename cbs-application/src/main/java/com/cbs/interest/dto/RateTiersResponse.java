@@ -0,0 +1,24 @@
+package com.cbs.interest.dto;
+
+import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestRateTier;
+import com.cbs.interest.model.InterestTierMethod;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record RateTiersResponse(
+        String productCode,
+        BigDecimal baseAnnualRate,
+        InterestTierMethod tierMethod,
+        List<RateTierResponse> tiers
+) {
+    public static RateTiersResponse from(InterestConfig config, List<InterestRateTier> tiers) {
+        return new RateTiersResponse(
+                config.getProductCode(),
+                config.getAnnualRate(),
+                config.getTierMethod(),
+                tiers.stream().map(RateTierResponse::from).toList()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.cbs.interest.dto;
+
+import com.cbs.interest.model.InterestTierMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ReplaceRateTiersRequest(
+        @NotNull InterestTierMethod tierMethod,
+        @NotNull @Size(max = 20) List<@Valid RateTierRequest> tiers
+) {
+}
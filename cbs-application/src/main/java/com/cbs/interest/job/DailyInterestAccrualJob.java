@@ -32,4 +32,20 @@ public class DailyInterestAccrualJob {
             LOGGER.error("Daily Interest Accrual Job failed", e);
         }
     }
+
+    /**
+     * Runs every 5 minutes (after the previous run finishes) to finish earlier accrual days that a crash or
+     * failure left incomplete
+     */
+    @Scheduled(fixedDelayString = "${cbs.interest.accrual.resume-interval-ms:300000}")
+    public void resumeInterruptedAccruals() {
+        try {
+            int accruedCount = interestService.resumeInterruptedAccruals(LocalDate.now());
+            if (accruedCount > 0) {
+                LOGGER.info("Resumed interrupted interest accruals. Accounts processed: {}", accruedCount);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Resuming interrupted interest accruals failed", e);
+        }
+    }
 }
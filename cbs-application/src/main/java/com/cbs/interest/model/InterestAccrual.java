@@ -8,17 +8,26 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "interest_accruals")
+@Table(
+        name = "interest_accruals",
+        indexes = {
+                @Index(name = "idx_interest_accruals_accrual_date_account_id", columnList = "accrualDate, accountId"),
+                @Index(name = "idx_interest_accruals_status_account_id", columnList = "status, accountId")
+        }
+)
 public class InterestAccrual extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accruals_seq")
+    @SequenceGenerator(name = "interest_accruals_seq", sequenceName = "interest_accruals_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -43,6 +52,10 @@ public class InterestAccrual extends AuditableEntity {
     @Column(name = "capitalization_date")
     private LocalDate capitalizationDate;
 
+    // Database transaction that capitalized the row; scopes the restore of a rejected posting
+    @Column(name = "capitalization_txid")
+    private Long capitalizationTxid;
+
     public InterestAccrual() {
     }
 
@@ -99,4 +112,8 @@ public class InterestAccrual extends AuditableEntity {
         this.capitalizationDate = capitalizationDate;
     }
 
+    public Long getCapitalizationTxid() {
+        return capitalizationTxid;
+    }
+
 }
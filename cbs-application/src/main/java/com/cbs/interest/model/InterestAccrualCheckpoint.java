@@ -0,0 +1,136 @@
+package com.cbs.interest.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of one account id partition of a product's daily accrual. Advanced in the same
+ * transaction as each chunk of accruals, so an interrupted run resumes after {@code lastAccountId}.
+ */
+@Entity
+@Table(
+        name = "interest_accrual_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_interest_accrual_checkpoints_date_product_partition",
+                columnNames = {"accrual_date", "product_code", "partition_index"})
+)
+public class InterestAccrualCheckpoint extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "product_code", nullable = false, length = 32)
+    private String productCode;
+
+    @Column(name = "partition_index", nullable = false)
+    private int partitionIndex;
+
+    @Column(name = "from_account_id", nullable = false)
+    private long fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private long toAccountId;
+
+    @Column(name = "last_account_id", nullable = false)
+    private long lastAccountId;
+
+    @Column(name = "accrued_count", nullable = false)
+    private long accruedCount;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public InterestAccrualCheckpoint() {
+    }
+
+    public InterestAccrualCheckpoint(LocalDate accrualDate,
+            String productCode,
+            int partitionIndex,
+            long fromAccountId,
+            long toAccountId) {
+        this.accrualDate = accrualDate;
+        this.productCode = productCode;
+        this.partitionIndex = partitionIndex;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.lastAccountId = fromAccountId - 1;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getAccrualDate() {
+        return accrualDate;
+    }
+
+    public String getProductCode() {
+        return productCode;
+    }
+
+    public int getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public long getToAccountId() {
+        return toAccountId;
+    }
+
+    public long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public long getAccruedCount() {
+        return accruedCount;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void start() {
+        if (startedAt == null) {
+            startedAt = Instant.now();
+        }
+    }
+
+    public void advance(long lastAccountId, int accrued) {
+        this.lastAccountId = lastAccountId;
+        this.accruedCount += accrued;
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.completedAt = Instant.now();
+    }
+}
@@ -41,6 +41,10 @@ public class InterestConfig extends AuditableEntity {
     @Column(nullable = false, length = 16)
     private InterestStatus status = InterestStatus.ACTIVE;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier_method", nullable = false, length = 16)
+    private InterestTierMethod tierMethod = InterestTierMethod.TIERED;
+
     public InterestConfig() {
     }
 
@@ -78,6 +82,10 @@ public class InterestConfig extends AuditableEntity {
         return status;
     }
 
+    public InterestTierMethod getTierMethod() {
+        return tierMethod;
+    }
+
     public void setAnnualRate(BigDecimal annualRate) {
         this.annualRate = annualRate;
     }
@@ -93,4 +101,8 @@ public class InterestConfig extends AuditableEntity {
     public void setStatus(InterestStatus status) {
         this.status = status;
     }
+
+    public void setTierMethod(InterestTierMethod tierMethod) {
+        this.tierMethod = tierMethod;
+    }
 }
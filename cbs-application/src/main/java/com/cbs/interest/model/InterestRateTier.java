@@ -0,0 +1,63 @@
+package com.cbs.interest.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+
+/**
+ * Annual rate applied from {@code minBalance} upwards. Balances below a product's lowest tier
+ * accrue at the config's own annual rate.
+ */
+@Entity
+@Table(
+        name = "interest_rate_tiers",
+        uniqueConstraints = @UniqueConstraint(name = "uk_interest_rate_tiers_product_min_balance",
+                columnNames = {"product_code", "min_balance"})
+)
+public class InterestRateTier extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_code", nullable = false, length = 32)
+    private String productCode;
+
+    @Column(name = "min_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal minBalance;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal annualRate;
+
+    public InterestRateTier() {
+    }
+
+    public InterestRateTier(String productCode, BigDecimal minBalance, BigDecimal annualRate) {
+        this.productCode = productCode;
+        this.minBalance = minBalance;
+        this.annualRate = annualRate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getProductCode() {
+        return productCode;
+    }
+
+    public BigDecimal getMinBalance() {
+        return minBalance;
+    }
+
+    public BigDecimal getAnnualRate() {
+        return annualRate;
+    }
+}
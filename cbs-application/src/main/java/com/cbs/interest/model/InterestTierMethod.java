@@ -0,0 +1,10 @@
+package com.cbs.interest.model;
+
+/**
+ * How a product's rate tiers apply to a balance: TIERED accrues the whole balance at the rate of
+ * the highest tier it reaches, BANDED accrues each slice of the balance at the rate of its band.
+ */
+public enum InterestTierMethod {
+    TIERED,
+    BANDED
+}
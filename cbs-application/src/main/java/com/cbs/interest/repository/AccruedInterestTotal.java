@@ -0,0 +1,12 @@
+package com.cbs.interest.repository;
+
+import java.math.BigDecimal;
+
+public interface AccruedInterestTotal {
+
+    Long getAccountId();
+
+    BigDecimal getTotalAccrued();
+
+    Long getLastAccrualId();
+}
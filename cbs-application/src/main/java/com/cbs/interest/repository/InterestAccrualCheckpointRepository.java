@@ -0,0 +1,34 @@
+package com.cbs.interest.repository;
+
+import com.cbs.interest.model.InterestAccrualCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface InterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpoint, Long> {
+
+    boolean existsByAccrualDateAndProductCode(LocalDate accrualDate, String productCode);
+
+    List<InterestAccrualCheckpoint> findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+            LocalDate accrualDate);
+
+    List<InterestAccrualCheckpoint> findByAccrualDateOrderByProductCodeAscPartitionIndexAsc(LocalDate accrualDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select checkpoint from InterestAccrualCheckpoint checkpoint where checkpoint.id = :id")
+    Optional<InterestAccrualCheckpoint> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("""
+            select distinct checkpoint.accrualDate
+            from InterestAccrualCheckpoint checkpoint
+            where checkpoint.completed = false and checkpoint.accrualDate < :before
+            order by checkpoint.accrualDate
+            """)
+    List<LocalDate> findIncompleteAccrualDatesBefore(@Param("before") LocalDate before);
+}
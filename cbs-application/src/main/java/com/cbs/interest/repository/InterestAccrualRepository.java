@@ -1,8 +1,16 @@
 package com.cbs.interest.repository;
 
+import com.cbs.interest.model.AccrualStatus;
 import com.cbs.interest.model.InterestAccrual;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, Long> {
@@ -13,5 +21,91 @@ public interface InterestAccrualRepository extends JpaRepository<InterestAccrual
 
     boolean existsByAccountIdAndAccrualDate(Long accountId, java.time.LocalDate accrualDate);
 
-    List<InterestAccrual> findByStatus(com.cbs.interest.model.AccrualStatus status);
+    @Query("""
+            select accrual.accountId
+            from InterestAccrual accrual
+            where accrual.accrualDate = :accrualDate and accrual.accountId in :accountIds
+            """)
+    List<Long> findAccruedAccountIds(@Param("accrualDate") LocalDate accrualDate,
+            @Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Simple-basis accrual computed in one statement for the ACTIVE, positive-balance accounts of
+     * {@code accountType} in {@code (afterId, toId]} that have no accrual for the date yet.
+     * {@code round} on numeric rounds half away from zero, matching HALF_UP for these amounts.
+     */
+    @Modifying
+    @Query(value = """
+            insert into interest_accruals (id, account_id, product_code, principal_amount, accrued_amount,
+                                           accrual_date, status, created_at, updated_at)
+            select nextval('interest_accruals_seq'), account.id, :productCode, account.balance,
+                   round(account.balance * :dailyRate, 2), :accrualDate, 'ACCRUED', now(), now()
+            from accounts account
+            where account.type = :accountType
+              and account.status = 'ACTIVE'
+              and account.balance > 0
+              and account.id > :afterId
+              and account.id <= :toId
+              and not exists (
+                  select 1
+                  from interest_accruals accrual
+                  where accrual.account_id = account.id and accrual.accrual_date = :accrualDate)
+            """, nativeQuery = true)
+    int insertSimpleAccruals(@Param("productCode") String productCode,
+            @Param("accountType") String accountType,
+            @Param("dailyRate") BigDecimal dailyRate,
+            @Param("accrualDate") LocalDate accrualDate,
+            @Param("afterId") Long afterId,
+            @Param("toId") Long toId);
+
+    @Query("""
+            select distinct accrual.accountId
+            from InterestAccrual accrual
+            where accrual.status = :status and accrual.accountId > :afterAccountId
+            order by accrual.accountId
+            """)
+    List<Long> findAccountIdsByStatusAfter(@Param("status") AccrualStatus status,
+            @Param("afterAccountId") Long afterAccountId,
+            Pageable pageable);
+
+    /**
+     * Marks the ACCRUED rows of the given accounts CAPITALIZED and returns their per-account sums
+     * from the same statement, so a row accrued concurrently is either summed and marked or left
+     * for the next run. The highest accrual id of each sum identifies the rows it covers. Rows are
+     * stamped with the current database transaction id so {@link #restoreAccrued} can tell them from
+     * rows an earlier run capitalized on the same date.
+     */
+    @Query(value = """
+            with capitalized as (
+                update interest_accruals
+                set status = 'CAPITALIZED', capitalization_date = :capitalizationDate,
+                    capitalization_txid = txid_current(), updated_at = now()
+                where status = 'ACCRUED' and account_id in (:accountIds)
+                returning id, account_id, accrued_amount
+            )
+            select account_id as "accountId", sum(accrued_amount) as "totalAccrued",
+                   max(id) as "lastAccrualId"
+            from capitalized
+            group by account_id
+            order by account_id
+            """, nativeQuery = true)
+    List<AccruedInterestTotal> capitalizeAccrued(@Param("accountIds") Collection<Long> accountIds,
+            @Param("capitalizationDate") LocalDate capitalizationDate);
+
+    /**
+     * Returns to ACCRUED the rows of the given accounts that {@link #capitalizeAccrued} marked in the
+     * current database transaction. Rows an earlier run capitalized on the same date were posted and
+     * credited, so they are left alone.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update interest_accruals
+            set status = 'ACCRUED', capitalization_date = null, capitalization_txid = null, updated_at = now()
+            where account_id in (:accountIds)
+              and status = 'CAPITALIZED'
+              and capitalization_date = :capitalizationDate
+              and capitalization_txid = txid_current()
+            """, nativeQuery = true)
+    int restoreAccrued(@Param("accountIds") Collection<Long> accountIds,
+            @Param("capitalizationDate") LocalDate capitalizationDate);
 }
@@ -0,0 +1,19 @@
+package com.cbs.interest.repository;
+
+import com.cbs.interest.model.InterestRateTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface InterestRateTierRepository extends JpaRepository<InterestRateTier, Long> {
+
+    List<InterestRateTier> findByProductCodeOrderByMinBalanceAsc(String productCode);
+
+    // Bulk delete so replacement tiers with the same min balance can be inserted in the same transaction
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from InterestRateTier tier where tier.productCode = :productCode")
+    int deleteByProductCode(@Param("productCode") String productCode);
+}
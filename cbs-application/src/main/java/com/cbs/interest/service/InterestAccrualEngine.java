@@ -0,0 +1,331 @@
+package com.cbs.interest.service;
+
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.repository.AccountBalanceView;
+import com.cbs.account.repository.AccountIdRange;
+import com.cbs.account.service.AccountService;
+import com.cbs.common.lock.JobLock;
+import com.cbs.interest.dto.AccrualPartitionProgressResponse;
+import com.cbs.interest.model.InterestAccrual;
+import com.cbs.interest.model.InterestAccrualCheckpoint;
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestStatus;
+import com.cbs.interest.repository.InterestAccrualCheckpointRepository;
+import com.cbs.interest.repository.InterestAccrualRepository;
+import com.cbs.interest.repository.InterestConfigRepository;
+import com.cbs.interest.repository.InterestRateTierRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Daily interest accrual over every account of each active product. Each product's account id
+ * range is split into partitions that are accrued in parallel by a bounded worker pool. Within a
+ * partition, accounts are read in keyset pages; each page is checked against existing accruals
+ * with one query, inserted as a batch and committed together with the partition's checkpoint, so
+ * a failed or interrupted run resumes after the last committed chunk instead of starting over.
+ *
+ * <p>Each product's rates, including its balance tiers, are compiled into an {@link InterestRateTable}
+ * once per run. With {@code cbs.interest.accrual.in-database} enabled, simple-basis products
+ * without tiers are accrued by a single {@code INSERT ... SELECT} per partition instead of reading
+ * accounts into the JVM.
+ *
+ * <p>Runs are serialized across instances by a cluster-wide job lock, so two schedulers never
+ * accrue the same day's partitions concurrently.
+ */
+@Service
+public class InterestAccrualEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterestAccrualEngine.class);
+    private static final String JOB_LOCK = "interest-accrual";
+
+    private final InterestConfigRepository interestConfigRepository;
+    private final InterestAccrualRepository interestAccrualRepository;
+    private final InterestAccrualCheckpointRepository checkpointRepository;
+    private final InterestRateTierRepository rateTierRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final JobLock jobLock;
+    private final ExecutorService executor;
+    private final int partitions;
+    private final int chunkSize;
+    private final boolean inDatabase;
+
+    public InterestAccrualEngine(InterestConfigRepository interestConfigRepository,
+            InterestAccrualRepository interestAccrualRepository,
+            InterestAccrualCheckpointRepository checkpointRepository,
+            InterestRateTierRepository rateTierRepository,
+            AccountService accountService,
+            PlatformTransactionManager transactionManager,
+            JobLock jobLock,
+            MeterRegistry meterRegistry,
+            @Value("${cbs.interest.accrual.parallelism:4}") int parallelism,
+            @Value("${cbs.interest.accrual.partitions:8}") int partitions,
+            @Value("${cbs.interest.accrual.chunk-size:1000}") int chunkSize,
+            @Value("${cbs.interest.accrual.in-database:false}") boolean inDatabase) {
+        this.interestConfigRepository = interestConfigRepository;
+        this.interestAccrualRepository = interestAccrualRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.rateTierRepository = rateTierRepository;
+        this.accountService = accountService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobLock = jobLock;
+        this.meterRegistry = meterRegistry;
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        this.inDatabase = inDatabase;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "interest-accrual-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Accrues one day of interest for {@code processDate}, continuing from its checkpoints if an
+     * earlier attempt stopped part way, and returns the number of accruals created by this call.
+     */
+    public int accrue(LocalDate processDate) {
+        try (JobLock.Handle lock = jobLock.lock(JOB_LOCK)) {
+            return accrueDay(processDate);
+        }
+    }
+
+    /**
+     * Finishes accrual days before {@code today} that were left incomplete. Does nothing while
+     * another accrual is running in any instance.
+     */
+    public int resumeInterrupted(LocalDate today) {
+        Optional<JobLock.Handle> held = jobLock.tryLock(JOB_LOCK);
+        if (held.isEmpty()) {
+            return 0;
+        }
+        try (JobLock.Handle lock = held.get()) {
+            int accrued = 0;
+            for (LocalDate accrualDate : checkpointRepository.findIncompleteAccrualDatesBefore(today)) {
+                LOGGER.info("Resuming interrupted interest accrual for {}", accrualDate);
+                accrued += accrueDay(accrualDate);
+            }
+            return accrued;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccrualPartitionProgressResponse> getProgress(LocalDate accrualDate) {
+        return checkpointRepository.findByAccrualDateOrderByProductCodeAscPartitionIndexAsc(accrualDate).stream()
+                .map(AccrualPartitionProgressResponse::from)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int accrueDay(LocalDate processDate) {
+        List<AccrualTarget> targets = transactionTemplate.execute(status -> openPartitions(processDate));
+
+        AtomicInteger accrued = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (AccrualTarget target : targets) {
+            futures.add(executor.submit(() -> accrued.addAndGet(accruePartition(target, processDate))));
+        }
+        int failed = awaitPartitions(futures);
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " interest accrual partitions failed for " + processDate
+                    + " and will be resumed");
+        }
+        return accrued.get();
+    }
+
+    private List<AccrualTarget> openPartitions(LocalDate processDate) {
+        Map<String, InterestConfig> activeConfigs = new LinkedHashMap<>();
+        interestConfigRepository.findAll().stream()
+                .filter(config -> config.getStatus() == InterestStatus.ACTIVE)
+                .forEach(config -> activeConfigs.put(config.getProductCode(), config));
+
+        for (InterestConfig config : activeConfigs.values()) {
+            AccountType accountType = accountType(config);
+            if (accountType != null && !checkpointRepository.existsByAccrualDateAndProductCode(
+                    processDate, config.getProductCode())) {
+                checkpointRepository.saveAll(split(processDate, config.getProductCode(),
+                        accountService.findAccountIdRange(accountType, AccountStatus.ACTIVE)));
+            }
+        }
+
+        Map<String, InterestRateTable> rateTables = new HashMap<>();
+        List<AccrualTarget> targets = new ArrayList<>();
+        for (InterestAccrualCheckpoint checkpoint : checkpointRepository
+                .findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(processDate)) {
+            InterestConfig config = activeConfigs.get(checkpoint.getProductCode());
+            if (config != null) {
+                InterestRateTable rateTable = rateTables.computeIfAbsent(config.getProductCode(),
+                        productCode -> InterestRateTable.compile(config,
+                                rateTierRepository.findByProductCodeOrderByMinBalanceAsc(productCode), 1));
+                targets.add(new AccrualTarget(checkpoint.getId(), checkpoint.getPartitionIndex(),
+                        accountType(config), config, rateTable));
+            }
+        }
+        return targets;
+    }
+
+    private List<InterestAccrualCheckpoint> split(LocalDate processDate, String productCode, AccountIdRange range) {
+        if (range == null || range.getMinId() == null) {
+            // Nothing to accrue; an empty partition still records that the product was covered for the day.
+            return List.of(new InterestAccrualCheckpoint(processDate, productCode, 0, 1, 0));
+        }
+        long minId = range.getMinId();
+        long maxId = range.getMaxId();
+        long partitionSize = Math.max(1, (maxId - minId + partitions) / partitions);
+        List<InterestAccrualCheckpoint> checkpoints = new ArrayList<>(partitions);
+        int index = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += partitionSize) {
+            checkpoints.add(new InterestAccrualCheckpoint(processDate, productCode, index++, fromId,
+                    Math.min(fromId + partitionSize - 1, maxId)));
+        }
+        return checkpoints;
+    }
+
+    private int accruePartition(AccrualTarget target, LocalDate processDate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int accrued = 0;
+        if (inDatabase && target.config().getInterestBasis() == InterestBasis.SIMPLE
+                && target.rateTable().isFlat()) {
+            accrued = transactionTemplate.execute(status -> accruePartitionInDatabase(target, processDate));
+        } else {
+            ChunkResult chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> accrueChunk(target, processDate));
+                accrued += chunk.accrued();
+            } while (!chunk.completed());
+        }
+        long elapsedNanos = sample.stop(Timer.builder("interest.accrual.partition.duration")
+                .description("Time spent accruing one account id partition")
+                .tag("product", target.config().getProductCode())
+                .register(meterRegistry));
+        LOGGER.info("Accrued {} accounts of {} partition {} for {} in {} ms", accrued,
+                target.config().getProductCode(), target.partitionIndex(), processDate,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return accrued;
+    }
+
+    private int accruePartitionInDatabase(AccrualTarget target, LocalDate processDate) {
+        InterestAccrualCheckpoint checkpoint = checkpointRepository.findByIdForUpdate(target.checkpointId())
+                .orElseThrow(() -> new IllegalStateException("Checkpoint not found: " + target.checkpointId()));
+        if (checkpoint.isCompleted()) {
+            return 0;
+        }
+        checkpoint.start();
+
+        InterestConfig config = target.config();
+        int accrued = interestAccrualRepository.insertSimpleAccruals(config.getProductCode(),
+                target.accountType().name(), target.rateTable().flatFactor(),
+                processDate, checkpoint.getLastAccountId(), checkpoint.getToAccountId());
+        checkpoint.advance(checkpoint.getToAccountId(), accrued);
+        checkpoint.complete();
+        return accrued;
+    }
+
+    private ChunkResult accrueChunk(AccrualTarget target, LocalDate processDate) {
+        InterestAccrualCheckpoint checkpoint = checkpointRepository.findByIdForUpdate(target.checkpointId())
+                .orElseThrow(() -> new IllegalStateException("Checkpoint not found: " + target.checkpointId()));
+        if (checkpoint.isCompleted()) {
+            return new ChunkResult(0, true);
+        }
+        checkpoint.start();
+
+        List<AccountBalanceView> accounts = accountService.listPositiveBalancesAfter(target.accountType(),
+                AccountStatus.ACTIVE, checkpoint.getLastAccountId(), checkpoint.getToAccountId(), chunkSize);
+        if (accounts.isEmpty()) {
+            checkpoint.complete();
+            return new ChunkResult(0, true);
+        }
+
+        Set<Long> alreadyAccrued = new HashSet<>(interestAccrualRepository.findAccruedAccountIds(
+                processDate, accounts.stream().map(AccountBalanceView::getId).toList()));
+        InterestConfig config = target.config();
+        List<InterestAccrual> accruals = new ArrayList<>(accounts.size());
+        for (AccountBalanceView account : accounts) {
+            if (alreadyAccrued.contains(account.getId())) {
+                continue;
+            }
+            BigDecimal accruedAmount = target.rateTable().accrue(account.getBalance());
+            accruals.add(new InterestAccrual(
+                    account.getId(), config.getProductCode(), account.getBalance(), accruedAmount, processDate));
+        }
+        interestAccrualRepository.saveAll(accruals);
+
+        checkpoint.advance(accounts.getLast().getId(), accruals.size());
+        boolean completed = accounts.size() < chunkSize;
+        if (completed) {
+            checkpoint.complete();
+        }
+        return new ChunkResult(accruals.size(), completed);
+    }
+
+    private int awaitPartitions(List<Future<?>> futures) {
+        int failed = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException exception) {
+                failed++;
+                LOGGER.error("Interest accrual partition failed", exception.getCause());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for interest accrual", exception);
+            }
+        }
+        return failed;
+    }
+
+    private static AccountType accountType(InterestConfig config) {
+        try {
+            return AccountType.valueOf(config.getProductCode());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record AccrualTarget(Long checkpointId, int partitionIndex, AccountType accountType,
+            InterestConfig config, InterestRateTable rateTable) {
+    }
+
+    private record ChunkResult(int accrued, boolean completed) {
+    }
+}
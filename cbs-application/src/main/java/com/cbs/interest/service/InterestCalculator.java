@@ -0,0 +1,38 @@
+package com.cbs.interest.service;
+
+import com.cbs.interest.model.InterestBasis;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+final class InterestCalculator {
+
+    private InterestCalculator() {
+    }
+
+    static BigDecimal accruedAmount(BigDecimal principal,
+            BigDecimal annualRate,
+            Integer frequencyDays,
+            InterestBasis basis) {
+        return accruedAmount(principal, ratePerPeriod(annualRate, frequencyDays), basis);
+    }
+
+    /**
+     * Period rate rounded to 12 places. The in-database accrual binds this value and applies
+     * {@code round(balance * rate, 2)}, which rounds like {@link RoundingMode#HALF_UP}.
+     */
+    static BigDecimal ratePerPeriod(BigDecimal annualRate, Integer frequencyDays) {
+        return annualRate
+                .divide(BigDecimal.valueOf(100), 12, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(frequencyDays))
+                .divide(BigDecimal.valueOf(365), 12, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal accruedAmount(BigDecimal principal, BigDecimal ratePerPeriod, InterestBasis basis) {
+        BigDecimal base = basis == InterestBasis.SIMPLE
+                ? principal
+                : principal.add(principal.multiply(ratePerPeriod));
+
+        return base.multiply(ratePerPeriod).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,147 @@
+package com.cbs.interest.service;
+
+import com.cbs.account.dto.AccountResponse;
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.service.AccountService;
+import com.cbs.interest.model.AccrualStatus;
+import com.cbs.interest.repository.AccruedInterestTotal;
+import com.cbs.interest.repository.InterestAccrualRepository;
+import com.cbs.ledger.dto.BatchEntryResult;
+import com.cbs.ledger.dto.BatchPostingResponse;
+import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.ledger.service.LedgerPostingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Month-end capitalization of ACCRUED interest, one chunk of accounts at a time. Each chunk marks
+ * its accruals CAPITALIZED and sums them per account in one statement, posts the ledger entries as
+ * a single batch, credits the balances and commits, so memory stays bounded by the chunk size and
+ * a failed run resumes with the accounts that still have ACCRUED interest.
+ */
+@Service
+public class InterestCapitalizationEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterestCapitalizationEngine.class);
+
+    private final InterestAccrualRepository interestAccrualRepository;
+    private final AccountService accountService;
+    private final LedgerPostingService ledgerPostingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public InterestCapitalizationEngine(InterestAccrualRepository interestAccrualRepository,
+            AccountService accountService,
+            LedgerPostingService ledgerPostingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${cbs.interest.capitalization.chunk-size:500}") int chunkSize) {
+        this.interestAccrualRepository = interestAccrualRepository;
+        this.accountService = accountService;
+        this.ledgerPostingService = ledgerPostingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Capitalizes every account with ACCRUED interest and returns the number of accounts credited.
+     * Accounts that are not ACTIVE, or whose ledger posting is rejected, keep their accruals for
+     * the next run.
+     */
+    public int capitalize(LocalDate processDate) {
+        int capitalized = 0;
+        long afterAccountId = 0;
+        ChunkResult chunk;
+        do {
+            long after = afterAccountId;
+            chunk = transactionTemplate.execute(status -> capitalizeChunk(after, processDate));
+            capitalized += chunk.credited();
+            afterAccountId = chunk.lastAccountId();
+        } while (chunk.hasMore());
+        return capitalized;
+    }
+
+    private ChunkResult capitalizeChunk(long afterAccountId, LocalDate processDate) {
+        List<Long> accountIds = interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED,
+                afterAccountId, PageRequest.of(0, chunkSize));
+        if (accountIds.isEmpty()) {
+            return new ChunkResult(0, afterAccountId, false);
+        }
+        boolean hasMore = accountIds.size() == chunkSize;
+        long lastAccountId = accountIds.getLast();
+
+        Map<Long, AccountResponse> accounts = accountService.getAccounts(accountIds).stream()
+                .filter(account -> account.status() == AccountStatus.ACTIVE)
+                .collect(Collectors.toMap(AccountResponse::id, Function.identity()));
+        if (accounts.isEmpty()) {
+            return new ChunkResult(0, lastAccountId, hasMore);
+        }
+
+        List<AccruedInterestTotal> totals = new ArrayList<>();
+        List<PostPolicyEntryRequest> postings = new ArrayList<>();
+        for (AccruedInterestTotal total : interestAccrualRepository.capitalizeAccrued(accounts.keySet(),
+                processDate)) {
+            if (total.getTotalAccrued().compareTo(BigDecimal.ZERO) <= 0) {
+                continue;
+            }
+            String accountCode = accounts.get(total.getAccountId()).accountNumber();
+            totals.add(total);
+            // Keyed on the accrual set rather than the date, so a second run on the same date
+            // posts its own entry while a retry of this chunk finds the one it already posted
+            postings.add(new PostPolicyEntryRequest(
+                    "INT-CAP-" + accountCode + "-" + total.getLastAccrualId(),
+                    "Monthly interest capitalization",
+                    processDate,
+                    LedgerOperationType.INTEREST,
+                    total.getTotalAccrued(),
+                    accountCode,
+                    null));
+        }
+        if (postings.isEmpty()) {
+            return new ChunkResult(0, lastAccountId, hasMore);
+        }
+
+        BatchPostingResponse posted = ledgerPostingService.postPolicyEntries(postings);
+        Map<Long, BigDecimal> credits = new HashMap<>();
+        List<Long> rejected = new ArrayList<>();
+        for (BatchEntryResult result : posted.results()) {
+            AccruedInterestTotal total = totals.get(result.index());
+            // An existing reference means an earlier attempt posted this same accrual set before rolling back
+            if (result.posted() || "LEDGER_REFERENCE_EXISTS".equals(result.errorCode())) {
+                credits.put(total.getAccountId(), total.getTotalAccrued());
+            } else {
+                rejected.add(total.getAccountId());
+                LOGGER.warn("Interest capitalization of account {} was rejected by the ledger: {} {}",
+                        total.getAccountId(), result.errorCode(), result.message());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            interestAccrualRepository.restoreAccrued(rejected, processDate);
+        }
+
+        Set<Long> credited = accountService.creditBalances(credits);
+        if (credited.size() != credits.size()) {
+            throw new IllegalStateException("Accounts left ACTIVE status during interest capitalization after "
+                    + afterAccountId);
+        }
+        return new ChunkResult(credited.size(), lastAccountId, hasMore);
+    }
+
+    private record ChunkResult(int credited, long lastAccountId, boolean hasMore) {
+    }
+}
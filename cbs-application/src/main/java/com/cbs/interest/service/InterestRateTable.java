@@ -0,0 +1,93 @@
+package com.cbs.interest.service;
+
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestRateTier;
+import com.cbs.interest.model.InterestTierMethod;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A product's rates compiled once per run: the period rate of every balance tier is divided out up
+ * front, so accruing an account is a tier lookup, one multiply(-add) and a rounding. A TIERED result
+ * matches {@link InterestCalculator} at the rate of the tier the balance reaches.
+ */
+final class InterestRateTable {
+
+    private final InterestTierMethod tierMethod;
+    private final BigDecimal[] lowerBounds;
+    // Per-period multiplier of each tier; folds the compounding term in for COMPOUND products
+    private final BigDecimal[] factors;
+    // BANDED only: unrounded accrual of all the bands below each tier
+    private final BigDecimal[] bandBases;
+
+    private InterestRateTable(InterestTierMethod tierMethod, BigDecimal[] lowerBounds, BigDecimal[] factors) {
+        this.tierMethod = tierMethod;
+        this.lowerBounds = lowerBounds;
+        this.factors = factors;
+        this.bandBases = new BigDecimal[factors.length];
+        bandBases[0] = BigDecimal.ZERO;
+        for (int tier = 1; tier < factors.length; tier++) {
+            bandBases[tier] = bandBases[tier - 1]
+                    .add(lowerBounds[tier].subtract(lowerBounds[tier - 1]).multiply(factors[tier - 1]));
+        }
+    }
+
+    static InterestRateTable compile(InterestConfig config, List<InterestRateTier> tiers, int frequencyDays) {
+        List<InterestRateTier> sorted = new ArrayList<>(tiers);
+        sorted.sort(Comparator.comparing(InterestRateTier::getMinBalance));
+
+        List<BigDecimal> lowerBounds = new ArrayList<>();
+        List<BigDecimal> factors = new ArrayList<>();
+        lowerBounds.add(BigDecimal.ZERO);
+        factors.add(factor(config.getAnnualRate(), frequencyDays, config.getInterestBasis()));
+        for (InterestRateTier tier : sorted) {
+            BigDecimal factor = factor(tier.getAnnualRate(), frequencyDays, config.getInterestBasis());
+            if (tier.getMinBalance().signum() <= 0) {
+                // A tier from zero replaces the config's base rate
+                factors.set(0, factor);
+            } else {
+                lowerBounds.add(tier.getMinBalance());
+                factors.add(factor);
+            }
+        }
+        return new InterestRateTable(config.getTierMethod(), lowerBounds.toArray(BigDecimal[]::new),
+                factors.toArray(BigDecimal[]::new));
+    }
+
+    BigDecimal accrue(BigDecimal balance) {
+        int tier = lowerBounds.length - 1;
+        while (tier > 0 && balance.compareTo(lowerBounds[tier]) < 0) {
+            tier--;
+        }
+        BigDecimal accrued = tierMethod == InterestTierMethod.BANDED
+                ? bandBases[tier].add(balance.subtract(lowerBounds[tier]).multiply(factors[tier]))
+                : balance.multiply(factors[tier]);
+        return accrued.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    boolean isFlat() {
+        return factors.length == 1;
+    }
+
+    /**
+     * Per-period multiplier of a flat table; for SIMPLE products this is the period rate the
+     * in-database accrual binds.
+     */
+    BigDecimal flatFactor() {
+        if (!isFlat()) {
+            throw new IllegalStateException("Rate table has " + factors.length + " tiers");
+        }
+        return factors[0];
+    }
+
+    private static BigDecimal factor(BigDecimal annualRate, int frequencyDays, InterestBasis basis) {
+        BigDecimal rate = InterestCalculator.ratePerPeriod(annualRate, frequencyDays);
+        // principal * (1 + r) * r == principal * (r + r^2), exactly, as BigDecimal multiplication does not round
+        return basis == InterestBasis.SIMPLE ? rate : rate.add(rate.multiply(rate));
+    }
+}
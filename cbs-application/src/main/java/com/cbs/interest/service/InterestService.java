@@ -1,52 +1,52 @@
 package com.cbs.interest.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.interest.dto.AccrualPartitionProgressResponse;
 import com.cbs.interest.dto.CreateInterestConfigRequest;
 import com.cbs.interest.dto.InterestAccrualResponse;
 import com.cbs.interest.dto.InterestConfigResponse;
+import com.cbs.interest.dto.RateTierRequest;
+import com.cbs.interest.dto.RateTiersResponse;
+import com.cbs.interest.dto.ReplaceRateTiersRequest;
 import com.cbs.interest.dto.RunAccrualRequest;
 import com.cbs.interest.dto.UpdateInterestConfigRequest;
 import com.cbs.interest.model.InterestAccrual;
-import com.cbs.interest.model.InterestBasis;
 import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestRateTier;
 import com.cbs.interest.model.InterestStatus;
 import com.cbs.interest.repository.InterestAccrualRepository;
 import com.cbs.interest.repository.InterestConfigRepository;
-import com.cbs.account.dto.AccountResponse;
-import com.cbs.account.dto.BalanceUpdateRequest;
-import com.cbs.account.service.AccountService;
-import com.cbs.interest.model.AccrualStatus;
-import com.cbs.ledger.dto.PostPolicyEntryRequest;
-import com.cbs.ledger.model.LedgerOperationType;
-import com.cbs.ledger.service.LedgerPostingService;
+import com.cbs.interest.repository.InterestRateTierRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class InterestService {
 
     private final InterestConfigRepository interestConfigRepository;
     private final InterestAccrualRepository interestAccrualRepository;
-    private final AccountService accountService;
-    private final LedgerPostingService ledgerPostingService;
+    private final InterestRateTierRepository rateTierRepository;
+    private final InterestAccrualEngine interestAccrualEngine;
+    private final InterestCapitalizationEngine interestCapitalizationEngine;
 
     public InterestService(InterestConfigRepository interestConfigRepository,
             InterestAccrualRepository interestAccrualRepository,
-            AccountService accountService,
-            LedgerPostingService ledgerPostingService) {
+            InterestRateTierRepository rateTierRepository,
+            InterestAccrualEngine interestAccrualEngine,
+            InterestCapitalizationEngine interestCapitalizationEngine) {
         this.interestConfigRepository = interestConfigRepository;
         this.interestAccrualRepository = interestAccrualRepository;
-        this.accountService = accountService;
-        this.ledgerPostingService = ledgerPostingService;
+        this.rateTierRepository = rateTierRepository;
+        this.interestAccrualEngine = interestAccrualEngine;
+        this.interestCapitalizationEngine = interestCapitalizationEngine;
     }
 
     @Transactional
@@ -98,6 +98,34 @@ public class InterestService {
                 .toList();
     }
 
+    @Transactional
+    public RateTiersResponse replaceRateTiers(String productCode, ReplaceRateTiersRequest request) {
+        InterestConfig config = findConfig(productCode);
+        Set<BigDecimal> minBalances = new HashSet<>();
+        for (RateTierRequest tier : request.tiers()) {
+            if (!minBalances.add(tier.minBalance().setScale(2, RoundingMode.HALF_UP))) {
+                throw new ApiException("INTEREST_TIER_DUPLICATE_BALANCE",
+                        "Rate tiers must have distinct minimum balances");
+            }
+        }
+
+        config.setTierMethod(request.tierMethod());
+        interestConfigRepository.save(config);
+        rateTierRepository.deleteByProductCode(config.getProductCode());
+        List<InterestRateTier> tiers = rateTierRepository.saveAll(request.tiers().stream()
+                .sorted(Comparator.comparing(RateTierRequest::minBalance))
+                .map(tier -> new InterestRateTier(config.getProductCode(), tier.minBalance(), tier.annualRate()))
+                .toList());
+        return RateTiersResponse.from(config, tiers);
+    }
+
+    @Transactional(readOnly = true)
+    public RateTiersResponse getRateTiers(String productCode) {
+        InterestConfig config = findConfig(productCode);
+        return RateTiersResponse.from(config,
+                rateTierRepository.findByProductCodeOrderByMinBalanceAsc(config.getProductCode()));
+    }
+
     @Transactional
     public InterestAccrualResponse runAccrual(RunAccrualRequest request) {
         InterestConfig config = findConfig(request.productCode());
@@ -105,11 +133,11 @@ public class InterestService {
             throw new ApiException("INTEREST_CONFIG_INACTIVE", "Interest config is not active");
         }
 
-        BigDecimal accruedAmount = calculateAccruedAmount(
-                request.principalAmount(),
-                config.getAnnualRate(),
-                config.getAccrualFrequencyDays(),
-                config.getInterestBasis());
+        BigDecimal accruedAmount = InterestRateTable.compile(
+                        config,
+                        rateTierRepository.findByProductCodeOrderByMinBalanceAsc(config.getProductCode()),
+                        config.getAccrualFrequencyDays())
+                .accrue(request.principalAmount());
 
         InterestAccrual accrual = new InterestAccrual(
                 request.accountId(),
@@ -145,96 +173,20 @@ public class InterestService {
         return accruals.stream().map(InterestAccrualResponse::from).toList();
     }
 
-    @Transactional
     public int calculateDailyAccrualsForAllAccounts(LocalDate processDate) {
-        int accruedCount = 0;
-        List<InterestConfig> activeConfigs = interestConfigRepository.findAll().stream()
-                .filter(config -> config.getStatus() == InterestStatus.ACTIVE)
-                .toList();
-
-        for (InterestConfig config : activeConfigs) {
-            com.cbs.account.model.AccountType targetType;
-            try {
-                targetType = com.cbs.account.model.AccountType.valueOf(config.getProductCode());
-            } catch (IllegalArgumentException e) {
-                continue;
-            }
-
-            List<AccountResponse> eligibleAccounts = accountService.listAccountsByTypeAndStatus(
-                    targetType, com.cbs.account.model.AccountStatus.ACTIVE);
-
-            for (AccountResponse account : eligibleAccounts) {
-                BigDecimal balance = account.balance();
-                if (balance.compareTo(BigDecimal.ZERO) > 0 &&
-                        !interestAccrualRepository.existsByAccountIdAndAccrualDate(account.id(), processDate)) {
-
-                    BigDecimal accruedAmount = calculateAccruedAmount(
-                            balance,
-                            config.getAnnualRate(),
-                            1,
-                            config.getInterestBasis());
+        return interestAccrualEngine.accrue(processDate);
+    }
 
-                    InterestAccrual accrual = new InterestAccrual(
-                            account.id(),
-                            config.getProductCode(),
-                            balance,
-                            accruedAmount,
-                            processDate);
+    public int resumeInterruptedAccruals(LocalDate today) {
+        return interestAccrualEngine.resumeInterrupted(today);
+    }
 
-                    interestAccrualRepository.save(accrual);
-                    accruedCount++;
-                }
-            }
-        }
-        return accruedCount;
+    public List<AccrualPartitionProgressResponse> getAccrualProgress(LocalDate accrualDate) {
+        return interestAccrualEngine.getProgress(accrualDate);
     }
 
-    @Transactional
     public int capitalizeMonthlyAccruals(LocalDate processDate) {
-        int capitalizedCount = 0;
-        List<InterestAccrual> pendingAccruals = interestAccrualRepository.findByStatus(AccrualStatus.ACCRUED);
-
-        Map<Long, List<InterestAccrual>> accrualsByAccount = pendingAccruals.stream()
-                .collect(Collectors.groupingBy(InterestAccrual::getAccountId));
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-        String dateSuffix = processDate.format(formatter);
-
-        for (Map.Entry<Long, List<InterestAccrual>> entry : accrualsByAccount.entrySet()) {
-            Long accountId = entry.getKey();
-            List<InterestAccrual> accountAccruals = entry.getValue();
-
-            BigDecimal totalAccrued = accountAccruals.stream()
-                    .map(InterestAccrual::getAccruedAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            if (totalAccrued.compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
-            }
-
-            AccountResponse accountRes = accountService.getAccount(accountId);
-            String accountCode = accountRes.accountNumber();
-
-            accountService.creditBalance(accountId, new BalanceUpdateRequest(totalAccrued, accountRes.currency()));
-
-            String reference = "INT-CAP-" + accountCode + "-" + dateSuffix;
-            ledgerPostingService.postPolicyEntry(new PostPolicyEntryRequest(
-                    reference,
-                    "Monthly interest capitalization",
-                    processDate,
-                    LedgerOperationType.INTEREST,
-                    totalAccrued,
-                    accountCode,
-                    null));
-
-            accountAccruals.forEach(accrual -> {
-                accrual.setStatus(AccrualStatus.CAPITALIZED);
-                accrual.setCapitalizationDate(processDate);
-                interestAccrualRepository.save(accrual);
-            });
-            capitalizedCount++;
-        }
-        return capitalizedCount;
+        return interestCapitalizationEngine.capitalize(processDate);
     }
 
     private InterestConfig findConfig(String productCode) {
@@ -243,22 +195,6 @@ public class InterestService {
                 .orElseThrow(() -> new ApiException("INTEREST_CONFIG_NOT_FOUND", "Interest config not found"));
     }
 
-    private BigDecimal calculateAccruedAmount(BigDecimal principal,
-            BigDecimal annualRate,
-            Integer frequencyDays,
-            InterestBasis basis) {
-        BigDecimal ratePerPeriod = annualRate
-                .divide(BigDecimal.valueOf(100), 12, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(frequencyDays))
-                .divide(BigDecimal.valueOf(365), 12, RoundingMode.HALF_UP);
-
-        BigDecimal base = basis == InterestBasis.SIMPLE
-                ? principal
-                : principal.add(principal.multiply(ratePerPeriod));
-
-        return base.multiply(ratePerPeriod).setScale(2, RoundingMode.HALF_UP);
-    }
-
     private String normalizeProductCode(String productCode) {
         return productCode.trim().toUpperCase();
     }
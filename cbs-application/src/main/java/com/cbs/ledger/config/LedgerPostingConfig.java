@@ -0,0 +1,9 @@
+package com.cbs.ledger.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PostingTemplateProperties.class)
+public class LedgerPostingConfig {
+}
@@ -0,0 +1,24 @@
+package com.cbs.ledger.config;
+
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.ledger.model.PostingAccountSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posting templates for policy entries, keyed by operation type. Every line of a template posts the
+ * full request amount.
+ */
+@ConfigurationProperties(prefix = "cbs.ledger.posting")
+public record PostingTemplateProperties(Map<LedgerOperationType, List<LineTemplate>> templates) {
+
+    public PostingTemplateProperties {
+        templates = templates == null ? Map.of() : templates;
+    }
+
+    public record LineTemplate(EntryType entryType, PostingAccountSource account, String accountCode) {
+    }
+}
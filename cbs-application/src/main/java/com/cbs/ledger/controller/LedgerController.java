@@ -4,28 +4,47 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import com.cbs.common.api.ApiResponse;
 import com.cbs.ledger.dto.AccountResponse;
+import com.cbs.ledger.dto.BalanceCheckResponse;
 import com.cbs.ledger.dto.BalanceResponse;
+import com.cbs.ledger.dto.BatchPostingResponse;
 import com.cbs.ledger.dto.CreateAccountRequest;
+import com.cbs.ledger.dto.DailyBalanceRebuildResponse;
+import com.cbs.ledger.dto.JournalLogVerificationResponse;
+import com.cbs.ledger.dto.LedgerVerificationFindingResponse;
+import com.cbs.ledger.dto.LedgerVerificationRunResponse;
+import com.cbs.ledger.dto.PostJournalEntriesRequest;
 import com.cbs.ledger.dto.PostJournalEntryRequest;
 import com.cbs.ledger.dto.PostJournalEntryResponse;
 import com.cbs.ledger.dto.PostPolicyEntryRequest;
 import com.cbs.ledger.dto.ReconciliationResponse;
+import com.cbs.ledger.dto.UpdateLedgerAccountStatusRequest;
+import com.cbs.ledger.journal.JournalSegmentStore;
+import com.cbs.ledger.model.TrialBalanceFormat;
 import com.cbs.ledger.service.LedgerAccountService;
+import com.cbs.ledger.service.LedgerBalanceService;
+import com.cbs.ledger.service.LedgerIntegrityService;
 import com.cbs.ledger.service.LedgerPostingService;
 import com.cbs.ledger.service.LedgerQueryService;
+import com.cbs.ledger.service.TrialBalanceExportService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -39,13 +58,25 @@ public class LedgerController {
     private final LedgerAccountService ledgerAccountService;
     private final LedgerPostingService ledgerPostingService;
     private final LedgerQueryService ledgerQueryService;
+    private final LedgerBalanceService ledgerBalanceService;
+    private final JournalSegmentStore journalSegmentStore;
+    private final TrialBalanceExportService trialBalanceExportService;
+    private final LedgerIntegrityService ledgerIntegrityService;
 
     public LedgerController(LedgerAccountService ledgerAccountService,
             LedgerPostingService ledgerPostingService,
-            LedgerQueryService ledgerQueryService) {
+            LedgerQueryService ledgerQueryService,
+            LedgerBalanceService ledgerBalanceService,
+            JournalSegmentStore journalSegmentStore,
+            TrialBalanceExportService trialBalanceExportService,
+            LedgerIntegrityService ledgerIntegrityService) {
         this.ledgerAccountService = ledgerAccountService;
         this.ledgerPostingService = ledgerPostingService;
         this.ledgerQueryService = ledgerQueryService;
+        this.ledgerBalanceService = ledgerBalanceService;
+        this.journalSegmentStore = journalSegmentStore;
+        this.trialBalanceExportService = trialBalanceExportService;
+        this.ledgerIntegrityService = ledgerIntegrityService;
     }
 
     @PostMapping("/accounts")
@@ -60,6 +91,14 @@ public class LedgerController {
         return ResponseEntity.ok(ApiResponse.success("Accounts fetched", ledgerAccountService.listAccounts()));
     }
 
+    @PatchMapping("/accounts/{accountCode}/status")
+    public ResponseEntity<ApiResponse<AccountResponse>> updateAccountStatus(
+            @PathVariable("accountCode") @NotBlank String accountCode,
+            @Valid @RequestBody UpdateLedgerAccountStatusRequest request) {
+        AccountResponse response = ledgerAccountService.updateAccountStatus(accountCode, request.active());
+        return ResponseEntity.ok(ApiResponse.success("Account status updated", response));
+    }
+
     @PostMapping("/entries")
     public ResponseEntity<ApiResponse<PostJournalEntryResponse>> postEntry(
             @Valid @RequestBody PostJournalEntryRequest request) {
@@ -67,6 +106,13 @@ public class LedgerController {
         return ResponseEntity.ok(ApiResponse.success("Journal entry posted", response));
     }
 
+    @PostMapping("/entries/batch")
+    public ResponseEntity<ApiResponse<BatchPostingResponse>> postEntries(
+            @Valid @RequestBody PostJournalEntriesRequest request) {
+        BatchPostingResponse response = ledgerPostingService.postEntries(request.entries());
+        return ResponseEntity.ok(ApiResponse.success("Journal entry batch processed", response));
+    }
+
     @PostMapping("/entries/policy")
     public ResponseEntity<ApiResponse<PostJournalEntryResponse>> postPolicyEntry(
             @Valid @RequestBody PostPolicyEntryRequest request) {
@@ -81,6 +127,52 @@ public class LedgerController {
         return ResponseEntity.ok(ApiResponse.success("Balance fetched", response));
     }
 
+    @GetMapping("/balance-checks")
+    public ResponseEntity<ApiResponse<BalanceCheckResponse>> checkBalances() {
+        BalanceCheckResponse response = ledgerBalanceService.checkConsistency();
+        return ResponseEntity.ok(ApiResponse.success("Balance check completed", response));
+    }
+
+    @PostMapping("/balance-checks/rebuild")
+    public ResponseEntity<ApiResponse<BalanceCheckResponse>> rebuildBalances() {
+        BalanceCheckResponse response = ledgerBalanceService.rebuildBalances();
+        return ResponseEntity.ok(ApiResponse.success("Balances rebuilt", response));
+    }
+
+    @GetMapping("/journal-log/verification")
+    public ResponseEntity<ApiResponse<JournalLogVerificationResponse>> verifyJournalLog() {
+        JournalLogVerificationResponse response = journalSegmentStore.verify();
+        return ResponseEntity.ok(ApiResponse.success("Journal log verified", response));
+    }
+
+    @PostMapping("/doctor/runs")
+    public ResponseEntity<ApiResponse<LedgerVerificationRunResponse>> runVerification() {
+        LedgerVerificationRunResponse response = ledgerIntegrityService.runVerification();
+        return ResponseEntity.ok(ApiResponse.success("Ledger verification advanced", response));
+    }
+
+    @GetMapping("/doctor/runs/latest")
+    public ResponseEntity<ApiResponse<LedgerVerificationRunResponse>> getLatestVerification() {
+        LedgerVerificationRunResponse response = ledgerIntegrityService.getLatestRun();
+        return ResponseEntity.ok(ApiResponse.success("Ledger verification fetched", response));
+    }
+
+    @GetMapping("/doctor/runs/{runId}/findings")
+    public ResponseEntity<ApiResponse<List<LedgerVerificationFindingResponse>>> getVerificationFindings(
+            @PathVariable("runId") Long runId,
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        List<LedgerVerificationFindingResponse> response = ledgerIntegrityService.getFindings(runId, limit);
+        return ResponseEntity.ok(ApiResponse.success("Ledger verification findings fetched", response));
+    }
+
+    @PostMapping("/daily-balances/rebuild")
+    public ResponseEntity<ApiResponse<DailyBalanceRebuildResponse>> rebuildDailyBalances(
+            @RequestParam("fromDate") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam("toDate") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        DailyBalanceRebuildResponse response = ledgerBalanceService.rebuildDailyBalances(fromDate, toDate);
+        return ResponseEntity.ok(ApiResponse.success("Daily balances rebuilt", response));
+    }
+
     @GetMapping("/reconciliation")
     public ResponseEntity<ApiResponse<ReconciliationResponse>> reconcile(
             @RequestParam("fromDate") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
@@ -88,4 +180,23 @@ public class LedgerController {
         ReconciliationResponse response = ledgerQueryService.reconcile(fromDate, toDate);
         return ResponseEntity.ok(ApiResponse.success("Reconciliation completed", response));
     }
+
+    @GetMapping("/trial-balance")
+    public ResponseEntity<StreamingResponseBody> exportTrialBalance(
+            @RequestParam("fromDate") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam("toDate") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "format", defaultValue = "NDJSON") TrialBalanceFormat format) {
+        trialBalanceExportService.validateDateRange(fromDate, toDate);
+        StreamingResponseBody body = outputStream -> trialBalanceExportService
+                .writeTrialBalance(fromDate, toDate, format, outputStream);
+
+        if (format == TrialBalanceFormat.CSV) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"trial-balance-" + fromDate + "-" + toDate + ".csv\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
@@ -0,0 +1,10 @@
+package com.cbs.ledger.dto;
+
+import java.util.List;
+
+public record BalanceCheckResponse(
+        int checkedAccounts,
+        boolean consistent,
+        List<BalanceMismatch> mismatches
+) {
+}
@@ -0,0 +1,12 @@
+package com.cbs.ledger.dto;
+
+import java.math.BigDecimal;
+
+public record BalanceMismatch(
+        String accountCode,
+        BigDecimal storedDebit,
+        BigDecimal storedCredit,
+        BigDecimal computedDebit,
+        BigDecimal computedCredit
+) {
+}
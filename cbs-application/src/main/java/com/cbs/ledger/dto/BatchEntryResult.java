@@ -0,0 +1,23 @@
+package com.cbs.ledger.dto;
+
+import java.math.BigDecimal;
+
+public record BatchEntryResult(
+        int index,
+        String reference,
+        boolean posted,
+        Long entryId,
+        BigDecimal totalDebit,
+        BigDecimal totalCredit,
+        String errorCode,
+        String message
+) {
+    public static BatchEntryResult posted(int index, PostJournalEntryResponse response) {
+        return new BatchEntryResult(index, response.reference(), true, response.entryId(),
+                response.totalDebit(), response.totalCredit(), null, null);
+    }
+
+    public static BatchEntryResult failed(int index, String reference, String errorCode, String message) {
+        return new BatchEntryResult(index, reference, false, null, null, null, errorCode, message);
+    }
+}
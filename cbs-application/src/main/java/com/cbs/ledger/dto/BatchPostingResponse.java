@@ -0,0 +1,11 @@
+package com.cbs.ledger.dto;
+
+import java.util.List;
+
+public record BatchPostingResponse(
+        int requested,
+        int posted,
+        int failed,
+        List<BatchEntryResult> results
+) {
+}
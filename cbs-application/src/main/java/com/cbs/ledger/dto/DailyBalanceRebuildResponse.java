@@ -0,0 +1,10 @@
+package com.cbs.ledger.dto;
+
+import java.time.LocalDate;
+
+public record DailyBalanceRebuildResponse(
+        LocalDate fromDate,
+        LocalDate toDate,
+        int rowsWritten
+) {
+}
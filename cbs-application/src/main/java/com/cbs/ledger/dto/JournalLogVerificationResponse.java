@@ -0,0 +1,11 @@
+package com.cbs.ledger.dto;
+
+public record JournalLogVerificationResponse(
+        boolean enabled,
+        int segments,
+        long verifiedRecords,
+        boolean intact,
+        Long firstInvalidSequence,
+        String detail
+) {
+}
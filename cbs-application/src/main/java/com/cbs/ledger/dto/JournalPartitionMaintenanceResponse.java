@@ -0,0 +1,14 @@
+package com.cbs.ledger.dto;
+
+import java.util.List;
+
+public record JournalPartitionMaintenanceResponse(
+        boolean partitioned,
+        List<String> createdPartitions,
+        List<String> detachedPartitions
+) {
+
+    public static JournalPartitionMaintenanceResponse unpartitioned() {
+        return new JournalPartitionMaintenanceResponse(false, List.of(), List.of());
+    }
+}
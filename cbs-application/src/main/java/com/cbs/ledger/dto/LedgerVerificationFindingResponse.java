@@ -0,0 +1,22 @@
+package com.cbs.ledger.dto;
+
+import com.cbs.ledger.model.LedgerVerificationFinding;
+import com.cbs.ledger.model.LedgerVerificationFindingType;
+
+public record LedgerVerificationFindingResponse(
+        Long id,
+        LedgerVerificationFindingType findingType,
+        Long journalEntryId,
+        String accountCode,
+        String detail
+) {
+    public static LedgerVerificationFindingResponse fromEntity(LedgerVerificationFinding finding) {
+        return new LedgerVerificationFindingResponse(
+                finding.getId(),
+                finding.getFindingType(),
+                finding.getJournalEntryId(),
+                finding.getAccountCode(),
+                finding.getDetail()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.cbs.ledger.dto;
+
+import com.cbs.ledger.model.LedgerVerificationRun;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+
+import java.time.Instant;
+
+public record LedgerVerificationRunResponse(
+        Long runId,
+        LedgerVerificationStatus status,
+        Instant cutoff,
+        long upperEntryId,
+        int totalPartitions,
+        int completedPartitions,
+        long unbalancedEntries,
+        long inactiveAccountLines,
+        Integer balanceMismatches,
+        Instant startedAt,
+        Instant completedAt
+) {
+    public static LedgerVerificationRunResponse fromEntity(LedgerVerificationRun run) {
+        return new LedgerVerificationRunResponse(
+                run.getId(),
+                run.getStatus(),
+                run.getCutoff(),
+                run.getUpperEntryId(),
+                run.getTotalPartitions(),
+                run.getCompletedPartitions(),
+                run.getUnbalancedEntries(),
+                run.getInactiveAccountLines(),
+                run.getBalanceMismatches(),
+                run.getCreatedAt(),
+                run.getCompletedAt()
+        );
+    }
+}
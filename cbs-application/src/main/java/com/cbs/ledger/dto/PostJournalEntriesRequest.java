@@ -0,0 +1,12 @@
+package com.cbs.ledger.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PostJournalEntriesRequest(
+        @NotNull @Size(min = 1, max = 1000) List<@Valid PostJournalEntryRequest> entries
+) {
+}
@@ -0,0 +1,15 @@
+package com.cbs.ledger.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public record ReverseJournalEntryRequest(
+        @NotBlank @Size(max = 64) String originalReference,
+        @NotBlank @Size(max = 64) String reference,
+        @NotBlank @Size(max = 255) String description,
+        @NotNull LocalDate valueDate
+) {
+}
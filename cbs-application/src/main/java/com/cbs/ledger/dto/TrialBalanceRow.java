@@ -0,0 +1,15 @@
+package com.cbs.ledger.dto;
+
+import com.cbs.ledger.model.AccountType;
+
+import java.math.BigDecimal;
+
+public record TrialBalanceRow(
+        String accountCode,
+        String accountName,
+        AccountType accountType,
+        BigDecimal totalDebit,
+        BigDecimal totalCredit,
+        BigDecimal net
+) {
+}
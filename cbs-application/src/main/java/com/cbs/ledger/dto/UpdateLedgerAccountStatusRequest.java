@@ -0,0 +1,6 @@
+package com.cbs.ledger.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateLedgerAccountStatusRequest(@NotNull Boolean active) {
+}
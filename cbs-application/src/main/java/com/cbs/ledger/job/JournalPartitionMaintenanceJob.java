@@ -0,0 +1,50 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.JournalPartitionMaintenanceResponse;
+import com.cbs.ledger.service.JournalPartitionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class JournalPartitionMaintenanceJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalPartitionMaintenanceJob.class);
+
+    private final JournalPartitionService journalPartitionService;
+
+    public JournalPartitionMaintenanceJob(JournalPartitionService journalPartitionService) {
+        this.journalPartitionService = journalPartitionService;
+    }
+
+    /**
+     * Runs once at startup so the current month's partitions exist before the first posting
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executeMaintenance();
+    }
+
+    /**
+     * Runs every night at 00:30 to pre-create upcoming monthly partitions and detach expired ones
+     */
+    @Scheduled(cron = "${cbs.ledger.partitioning.cron:0 30 0 * * *}")
+    public void executeMaintenance() {
+        if (!journalPartitionService.isEnabled()) {
+            return;
+        }
+        LOGGER.info("Starting Journal Partition Maintenance Job...");
+        try {
+            JournalPartitionMaintenanceResponse response = journalPartitionService.maintainPartitions(LocalDate.now());
+            LOGGER.info("Journal Partition Maintenance Job finished. Created {}, detached {}",
+                    response.createdPartitions(), response.detachedPartitions());
+        } catch (Exception e) {
+            LOGGER.error("Journal Partition Maintenance Job failed", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.DailyBalanceRebuildResponse;
+import com.cbs.ledger.service.LedgerBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class LedgerDailyBalanceRebuildJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerDailyBalanceRebuildJob.class);
+
+    private final LedgerBalanceService ledgerBalanceService;
+
+    public LedgerDailyBalanceRebuildJob(LedgerBalanceService ledgerBalanceService) {
+        this.ledgerBalanceService = ledgerBalanceService;
+    }
+
+    /**
+     * Runs every day at 00:30 to re-derive the previous day's rollup from journal lines
+     */
+    @Scheduled(cron = "${cbs.ledger.daily-balances.rebuild-cron:0 30 0 * * *}")
+    public void executeDailyRebuild() {
+        LocalDate previousDay = LocalDate.now().minusDays(1);
+        LOGGER.info("Starting Ledger Daily Balance Rebuild Job for {}...", previousDay);
+        try {
+            DailyBalanceRebuildResponse response = ledgerBalanceService.rebuildDailyBalances(previousDay, previousDay);
+            LOGGER.info("Ledger Daily Balance Rebuild Job completed successfully. Rows written: {}",
+                    response.rowsWritten());
+        } catch (Exception e) {
+            LOGGER.error("Ledger Daily Balance Rebuild Job failed", e);
+        }
+    }
+}
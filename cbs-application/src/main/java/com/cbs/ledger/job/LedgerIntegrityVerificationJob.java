@@ -0,0 +1,35 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.LedgerVerificationRunResponse;
+import com.cbs.ledger.service.LedgerIntegrityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LedgerIntegrityVerificationJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerIntegrityVerificationJob.class);
+
+    private final LedgerIntegrityService ledgerIntegrityService;
+
+    public LedgerIntegrityVerificationJob(LedgerIntegrityService ledgerIntegrityService) {
+        this.ledgerIntegrityService = ledgerIntegrityService;
+    }
+
+    /**
+     * Runs every night at 01:00 and advances the open verification run by a bounded number of partitions
+     */
+    @Scheduled(cron = "${cbs.ledger.doctor.cron:0 0 1 * * *}")
+    public void executeVerification() {
+        LOGGER.info("Starting Ledger Integrity Verification Job...");
+        try {
+            LedgerVerificationRunResponse response = ledgerIntegrityService.runVerification();
+            LOGGER.info("Ledger Integrity Verification Job finished. Run {} is {} with {}/{} partitions verified",
+                    response.runId(), response.status(), response.completedPartitions(), response.totalPartitions());
+        } catch (Exception e) {
+            LOGGER.error("Ledger Integrity Verification Job failed", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.cbs.ledger.journal;
+
+import com.cbs.ledger.model.EntryType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Fixed-width binary layout of the journal log.
+ *
+ * <p>Segment header (64 bytes): magic, format version, segment index, first sequence and the
+ * seed hash (the last record hash of the previous segment). Record (160 bytes): sequence,
+ * value date as epoch day, entry type, amount as a 16-byte unscaled value at scale 4,
+ * reference (64 bytes), account code (32 bytes) and SHA-256 of the previous hash plus the
+ * 128-byte payload.
+ */
+final class JournalLogCodec {
+
+    static final int MAGIC = 0x43424A4C;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int PAYLOAD_SIZE = 128;
+    static final int HASH_SIZE = 32;
+    static final int RECORD_SIZE = PAYLOAD_SIZE + HASH_SIZE;
+    static final int AMOUNT_SCALE = 4;
+
+    private static final int AMOUNT_SIZE = 16;
+    private static final int REFERENCE_SIZE = 64;
+    private static final int ACCOUNT_CODE_SIZE = 32;
+
+    private JournalLogCodec() {
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    static void writeHeader(ByteBuffer buffer, long segmentIndex, long firstSequence, byte[] seedHash) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(segmentIndex);
+        buffer.putLong(firstSequence);
+        buffer.put(seedHash);
+        buffer.put(new byte[HEADER_SIZE - 24 - HASH_SIZE]);
+    }
+
+    static SegmentHeader readHeader(ByteBuffer buffer) {
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != MAGIC || version != FORMAT_VERSION) {
+            throw new IllegalStateException("Not a journal log segment (magic " + Integer.toHexString(magic)
+                    + ", version " + version + ")");
+        }
+        long segmentIndex = buffer.getLong();
+        long firstSequence = buffer.getLong();
+        byte[] seedHash = new byte[HASH_SIZE];
+        buffer.get(seedHash);
+        buffer.position(buffer.position() + HEADER_SIZE - 24 - HASH_SIZE);
+        return new SegmentHeader(segmentIndex, firstSequence, seedHash);
+    }
+
+    /**
+     * Writes one record at the buffer position and returns its hash, which chains into the next record.
+     */
+    static byte[] writeRecord(ByteBuffer buffer, MessageDigest digest, byte[] previousHash, long sequence,
+            String reference, LocalDate valueDate, String accountCode, EntryType entryType, BigDecimal amount) {
+        int start = buffer.position();
+        buffer.putLong(sequence);
+        buffer.putInt(Math.toIntExact(valueDate.toEpochDay()));
+        buffer.put((byte) (entryType == EntryType.DEBIT ? 0 : 1));
+        buffer.put(new byte[3]);
+        buffer.put(encodeAmount(amount));
+        buffer.put(encodeText(reference, REFERENCE_SIZE));
+        buffer.put(encodeText(accountCode, ACCOUNT_CODE_SIZE));
+
+        byte[] hash = hash(digest, previousHash, buffer, start);
+        buffer.put(hash);
+        return hash;
+    }
+
+    static JournalLogRecord readRecord(ByteBuffer buffer) {
+        int start = buffer.position();
+        long sequence = buffer.getLong();
+        LocalDate valueDate = LocalDate.ofEpochDay(buffer.getInt());
+        EntryType entryType = buffer.get() == 0 ? EntryType.DEBIT : EntryType.CREDIT;
+        buffer.position(buffer.position() + 3);
+        byte[] amount = new byte[AMOUNT_SIZE];
+        buffer.get(amount);
+        String reference = decodeText(buffer, REFERENCE_SIZE);
+        String accountCode = decodeText(buffer, ACCOUNT_CODE_SIZE);
+        byte[] hash = new byte[HASH_SIZE];
+        buffer.get(hash);
+        buffer.position(start + RECORD_SIZE);
+        return new JournalLogRecord(sequence, reference, valueDate, accountCode, entryType,
+                new BigDecimal(new BigInteger(amount), AMOUNT_SCALE), HexFormat.of().formatHex(hash));
+    }
+
+    /**
+     * Recomputes the hash of the record at {@code start} and compares it with the stored one.
+     */
+    static boolean verifyRecord(ByteBuffer buffer, int start, MessageDigest digest, byte[] previousHash) {
+        byte[] expected = hash(digest, previousHash, buffer, start);
+        byte[] stored = new byte[HASH_SIZE];
+        buffer.get(start + PAYLOAD_SIZE, stored);
+        return Arrays.equals(expected, stored);
+    }
+
+    static byte[] storedHash(ByteBuffer buffer, int start) {
+        byte[] stored = new byte[HASH_SIZE];
+        buffer.get(start + PAYLOAD_SIZE, stored);
+        return stored;
+    }
+
+    private static byte[] hash(MessageDigest digest, byte[] previousHash, ByteBuffer buffer, int start) {
+        digest.reset();
+        digest.update(previousHash);
+        digest.update(buffer.slice(start, PAYLOAD_SIZE));
+        return digest.digest();
+    }
+
+    private static byte[] encodeAmount(BigDecimal amount) {
+        byte[] unscaled = amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().toByteArray();
+        if (unscaled.length > AMOUNT_SIZE) {
+            throw new IllegalArgumentException("Amount does not fit the journal log record: " + amount);
+        }
+        byte[] encoded = new byte[AMOUNT_SIZE];
+        byte sign = (byte) (amount.signum() < 0 ? 0xFF : 0x00);
+        Arrays.fill(encoded, 0, AMOUNT_SIZE - unscaled.length, sign);
+        System.arraycopy(unscaled, 0, encoded, AMOUNT_SIZE - unscaled.length, unscaled.length);
+        return encoded;
+    }
+
+    private static byte[] encodeText(String value, int size) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > size) {
+            throw new IllegalArgumentException("Value does not fit " + size + " bytes: " + value);
+        }
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private static String decodeText(ByteBuffer buffer, int size) {
+        byte[] bytes = new byte[size];
+        buffer.get(bytes);
+        int length = 0;
+        while (length < size && bytes[length] != 0) {
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    record SegmentHeader(long segmentIndex, long firstSequence, byte[] seedHash) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.cbs.ledger.journal;
+
+import com.cbs.ledger.model.EntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record JournalLogRecord(
+        long sequence,
+        String reference,
+        LocalDate valueDate,
+        String accountCode,
+        EntryType entryType,
+        BigDecimal amount,
+        String hash
+) {
+}
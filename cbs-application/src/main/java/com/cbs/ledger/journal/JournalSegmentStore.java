@@ -0,0 +1,546 @@
+package com.cbs.ledger.journal;
+
+import com.cbs.ledger.dto.JournalLogVerificationResponse;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.JournalEntry;
+import com.cbs.ledger.model.JournalEntryLine;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.JournalLogLine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Optional append-only binary copy of every posted journal line, split into fixed-size
+ * segments and hash-chained across segments. Lines are appended after the posting
+ * transaction commits, so the log never holds an entry the database rolled back.
+ * A failed append, or a crash between commit and append, leaves a gap that is backfilled
+ * from the database on the next append or at startup; until then {@link #verify()} reports
+ * the log as not intact. Reads map each segment read-only and never touch Postgres.
+ */
+@Component
+public class JournalSegmentStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalSegmentStore.class);
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String GAP_FILE = "journal-log.gap";
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long recordsPerSegment;
+    private final boolean fsync;
+    private final JournalEntryLineRepository journalEntryLineRepository;
+    private final TransactionTemplate readTemplate;
+    private final MessageDigest writeDigest = JournalLogCodec.newDigest();
+    // Entries a backfill appended while their own after-commit append was still pending
+    private final Set<String> backfilledReferences = new HashSet<>();
+
+    private FileChannel channel;
+    private long segmentIndex;
+    private long segmentRecords;
+    private long nextSequence;
+    private byte[] lastHash;
+    private long highWaterMark;
+    private Gap gap;
+
+    public JournalSegmentStore(
+            @Value("${cbs.ledger.journal-log.enabled:false}") boolean enabled,
+            @Value("${cbs.ledger.journal-log.directory:data/journal-log}") String directory,
+            @Value("${cbs.ledger.journal-log.records-per-segment:1000000}") long recordsPerSegment,
+            @Value("${cbs.ledger.journal-log.fsync:true}") boolean fsync,
+            JournalEntryLineRepository journalEntryLineRepository,
+            PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.recordsPerSegment = recordsPerSegment;
+        this.fsync = fsync;
+        this.journalEntryLineRepository = journalEntryLineRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Captures the lines of the given entries and appends them once the current transaction
+     * commits, or immediately when no transaction is active.
+     */
+    public void appendAfterCommit(List<JournalEntry> journalEntries) {
+        if (!enabled) {
+            return;
+        }
+
+        List<PendingLine> pending = new ArrayList<>();
+        for (JournalEntry journalEntry : journalEntries) {
+            for (JournalEntryLine line : journalEntry.getLines()) {
+                pending.add(new PendingLine(line.getId(), journalEntry.getReference(), journalEntry.getValueDate(),
+                        line.getAccountCode(), line.getEntryType(), line.getAmount()));
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(pending);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    append(pending);
+                } catch (RuntimeException exception) {
+                    LOGGER.error("Failed to append {} committed journal lines to the journal log; "
+                            + "they will be backfilled from the database", pending.size(), exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * Backfills what the previous run left out: the gap recorded by a failed append, and lines
+     * committed above the high-water mark (the last line of the log's tail entry) that a crash
+     * kept from being appended. A failure here keeps the gap open for the next append.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfillAtStartup();
+        } catch (RuntimeException exception) {
+            LOGGER.error("Failed to backfill the journal log at startup", exception);
+        }
+    }
+
+    /**
+     * Streams every record in sequence order from memory-mapped segments.
+     */
+    public void replay(Consumer<JournalLogRecord> consumer) {
+        replayFrom(0, consumer);
+    }
+
+    /**
+     * Recomputes the hash chain over every segment and reports the first record that does not match.
+     */
+    public JournalLogVerificationResponse verify() {
+        if (!enabled) {
+            return new JournalLogVerificationResponse(false, 0, 0, true, null, "Journal log is disabled");
+        }
+
+        Gap pending;
+        synchronized (this) {
+            pending = gap;
+        }
+        List<SegmentView> segments = snapshotSegments();
+        MessageDigest digest = JournalLogCodec.newDigest();
+        byte[] previousHash = new byte[JournalLogCodec.HASH_SIZE];
+        long expectedSequence = 0;
+        long verified = 0;
+        for (SegmentView segment : segments) {
+            MappedByteBuffer buffer = map(segment);
+            JournalLogCodec.SegmentHeader header = JournalLogCodec.readHeader(buffer);
+            if (header.segmentIndex() != segment.index() || header.firstSequence() != expectedSequence
+                    || !Arrays.equals(header.seedHash(), previousHash)) {
+                return new JournalLogVerificationResponse(true, segments.size(), verified, false, expectedSequence,
+                        "Segment " + segment.index() + " header does not chain from the previous segment");
+            }
+            for (long i = 0; i < segment.records(); i++) {
+                int start = buffer.position();
+                if (buffer.getLong(start) != expectedSequence
+                        || !JournalLogCodec.verifyRecord(buffer, start, digest, previousHash)) {
+                    return new JournalLogVerificationResponse(true, segments.size(), verified, false,
+                            expectedSequence, "Record hash mismatch in segment " + segment.index());
+                }
+                previousHash = JournalLogCodec.storedHash(buffer, start);
+                buffer.position(start + JournalLogCodec.RECORD_SIZE);
+                expectedSequence++;
+                verified++;
+            }
+        }
+        if (pending != null) {
+            return new JournalLogVerificationResponse(true, segments.size(), verified, false,
+                    pending.fromSequence(), "Committed journal lines from line " + pending.fromLineId()
+                            + " are missing from the log until the next backfill");
+        }
+        return new JournalLogVerificationResponse(true, segments.size(), verified, true, null, null);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            LOGGER.warn("Failed to close journal log segment {}", segmentIndex, exception);
+        }
+        channel = null;
+    }
+
+    synchronized void append(List<PendingLine> lines) {
+        long fromSequence = nextSequence;
+        try {
+            ensureOpen();
+            fromSequence = nextSequence;
+            if (gap != null) {
+                backfill(gap, true);
+            }
+            List<PendingLine> fresh = lines.stream()
+                    .filter(line -> !backfilledReferences.contains(line.reference()))
+                    .toList();
+            lines.forEach(line -> backfilledReferences.remove(line.reference()));
+            writeRecords(fresh);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException exception) {
+            // Drop writer state so the next append recovers from what actually reached disk.
+            close();
+            recordGap(lines, fromSequence);
+            throw asUnchecked(exception);
+        }
+    }
+
+    synchronized void backfillAtStartup() {
+        try {
+            ensureOpen();
+            Gap pending = gap != null ? gap : readGapFile();
+            Tail tail = readTail();
+            if (tail != null) {
+                Long tailLineId = readTemplate.execute(
+                        status -> journalEntryLineRepository.findMaxLineIdByReference(tail.reference()));
+                if (tailLineId != null) {
+                    highWaterMark = Math.max(highWaterMark, tailLineId);
+                    Gap aboveMark = new Gap(tailLineId + 1, tail.segmentFirstSequence(), Set.of());
+                    pending = pending != null ? pending.merge(aboveMark) : aboveMark;
+                }
+            }
+            if (pending == null) {
+                return;
+            }
+            gap = pending;
+            backfill(pending, false);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException exception) {
+            close();
+            throw asUnchecked(exception);
+        }
+    }
+
+    /**
+     * Appends the committed lines from the gap's first line id on that the log does not hold yet.
+     * Records already written since the gap's first sequence are matched per reference in line
+     * order, so an entry cut off mid-append is completed rather than duplicated.
+     */
+    private void backfill(Gap pending, boolean trackInFlight) throws IOException {
+        Map<String, Integer> logged = new HashMap<>();
+        replayFrom(pending.fromSequence(), record -> logged.merge(record.reference(), 1, Integer::sum));
+
+        long fromLineId = pending.fromLineId();
+        long appended = 0;
+        List<JournalLogLine> chunk;
+        do {
+            long chunkStart = fromLineId;
+            chunk = readTemplate.execute(status -> journalEntryLineRepository.findLogLinesFrom(chunkStart,
+                    PageRequest.of(0, BACKFILL_CHUNK_SIZE)));
+            List<PendingLine> missing = new ArrayList<>();
+            for (JournalLogLine line : chunk) {
+                if (logged.merge(line.getReference(), -1, Integer::sum) >= 0) {
+                    continue;
+                }
+                missing.add(new PendingLine(line.getLineId(), line.getReference(), line.getValueDate(),
+                        line.getAccountCode(), line.getEntryType(), line.getAmount()));
+                if (trackInFlight && !pending.failedReferences().contains(line.getReference())) {
+                    backfilledReferences.add(line.getReference());
+                }
+            }
+            writeRecords(missing);
+            appended += missing.size();
+            if (!chunk.isEmpty()) {
+                fromLineId = chunk.get(chunk.size() - 1).getLineId() + 1;
+            }
+        } while (chunk.size() == BACKFILL_CHUNK_SIZE);
+
+        gap = null;
+        Files.deleteIfExists(directory.resolve(GAP_FILE));
+        if (appended > 0) {
+            LOGGER.warn("Backfilled {} committed journal lines into the journal log from line {}",
+                    appended, pending.fromLineId());
+        }
+    }
+
+    private void writeRecords(List<PendingLine> lines) throws IOException {
+        int offset = 0;
+        while (offset < lines.size()) {
+            if (segmentRecords == recordsPerSegment) {
+                rollSegment();
+            }
+            int count = (int) Math.min(lines.size() - offset, recordsPerSegment - segmentRecords);
+            ByteBuffer buffer = ByteBuffer.allocate(count * JournalLogCodec.RECORD_SIZE);
+            for (PendingLine line : lines.subList(offset, offset + count)) {
+                lastHash = JournalLogCodec.writeRecord(buffer, writeDigest, lastHash, nextSequence++,
+                        line.reference(), line.valueDate(), line.accountCode(), line.entryType(), line.amount());
+                if (line.lineId() != null) {
+                    highWaterMark = Math.max(highWaterMark, line.lineId());
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            segmentRecords += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Opens or widens the gap to cover a failed append and records it next to the segments, so a
+     * restart still backfills it.
+     */
+    private void recordGap(List<PendingLine> lines, long fromSequence) {
+        long fromLineId = lines.stream()
+                .map(PendingLine::lineId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .min()
+                .orElse(highWaterMark + 1);
+        Set<String> references = lines.stream().map(PendingLine::reference).collect(Collectors.toSet());
+        Gap failed = new Gap(fromLineId, fromSequence, references);
+        gap = gap != null ? gap.merge(failed) : failed;
+        try {
+            Files.writeString(directory.resolve(GAP_FILE), gap.fromLineId() + " " + gap.fromSequence());
+        } catch (IOException exception) {
+            LOGGER.error("Failed to record the journal log gap from line {}", gap.fromLineId(), exception);
+        }
+    }
+
+    private Gap readGapFile() throws IOException {
+        Path gapFile = directory.resolve(GAP_FILE);
+        if (!Files.exists(gapFile)) {
+            return null;
+        }
+        String[] fields = Files.readString(gapFile).trim().split(" ");
+        return new Gap(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Set.of());
+    }
+
+    private Tail readTail() {
+        List<SegmentView> segments = snapshotSegments();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            SegmentView segment = segments.get(i);
+            if (segment.records() == 0) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(segment);
+            long firstSequence = JournalLogCodec.readHeader(buffer).firstSequence();
+            buffer.position(JournalLogCodec.HEADER_SIZE
+                    + Math.toIntExact((segment.records() - 1) * JournalLogCodec.RECORD_SIZE));
+            return new Tail(JournalLogCodec.readRecord(buffer).reference(), firstSequence);
+        }
+        return null;
+    }
+
+    private void replayFrom(long fromSequence, Consumer<JournalLogRecord> consumer) {
+        for (SegmentView segment : snapshotSegments()) {
+            MappedByteBuffer buffer = map(segment);
+            long skip = Math.max(0, fromSequence - JournalLogCodec.readHeader(buffer).firstSequence());
+            if (skip >= segment.records()) {
+                continue;
+            }
+            buffer.position(JournalLogCodec.HEADER_SIZE + Math.toIntExact(skip * JournalLogCodec.RECORD_SIZE));
+            for (long i = skip; i < segment.records(); i++) {
+                consumer.accept(JournalLogCodec.readRecord(buffer));
+            }
+        }
+    }
+
+    private RuntimeException asUnchecked(Exception exception) {
+        if (exception instanceof IOException ioException) {
+            return new UncheckedIOException("Failed to append to journal log", ioException);
+        }
+        return (RuntimeException) exception;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segmentFiles = listSegmentFiles();
+        if (segmentFiles.isEmpty()) {
+            openNewSegment(0, 0, new byte[JournalLogCodec.HASH_SIZE]);
+            return;
+        }
+
+        Path last = segmentFiles.get(segmentFiles.size() - 1);
+        FileChannel lastChannel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer headerBuffer = ByteBuffer.allocate(JournalLogCodec.HEADER_SIZE);
+        while (headerBuffer.hasRemaining() && lastChannel.read(headerBuffer) >= 0) {
+            // read until the header is complete
+        }
+        headerBuffer.flip();
+        JournalLogCodec.SegmentHeader header = JournalLogCodec.readHeader(headerBuffer);
+        long records = (lastChannel.size() - JournalLogCodec.HEADER_SIZE) / JournalLogCodec.RECORD_SIZE;
+        long validSize = JournalLogCodec.HEADER_SIZE + records * JournalLogCodec.RECORD_SIZE;
+        if (lastChannel.size() > validSize) {
+            LOGGER.warn("Truncating partial record at the end of journal log segment {}", header.segmentIndex());
+            lastChannel.truncate(validSize);
+        }
+
+        lastHash = header.seedHash();
+        if (records > 0) {
+            ByteBuffer hashBuffer = ByteBuffer.allocate(JournalLogCodec.HASH_SIZE);
+            lastChannel.read(hashBuffer, validSize - JournalLogCodec.HASH_SIZE);
+            lastHash = hashBuffer.array();
+        }
+        lastChannel.position(validSize);
+        channel = lastChannel;
+        segmentIndex = header.segmentIndex();
+        segmentRecords = records;
+        nextSequence = header.firstSequence() + records;
+    }
+
+    private void rollSegment() throws IOException {
+        channel.force(false);
+        channel.close();
+        openNewSegment(segmentIndex + 1, nextSequence, lastHash);
+    }
+
+    private void openNewSegment(long index, long firstSequence, byte[] seedHash) throws IOException {
+        FileChannel newChannel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(JournalLogCodec.HEADER_SIZE);
+        JournalLogCodec.writeHeader(header, index, firstSequence, seedHash);
+        header.flip();
+        while (header.hasRemaining()) {
+            newChannel.write(header);
+        }
+        channel = newChannel;
+        segmentIndex = index;
+        segmentRecords = 0;
+        nextSequence = firstSequence;
+        lastHash = seedHash;
+    }
+
+    /**
+     * Lists segments with their record counts. The active segment is bounded by the records the
+     * writer has completed, so readers never observe a half-written record.
+     */
+    private List<SegmentView> snapshotSegments() {
+        long activeIndex;
+        long activeRecords;
+        synchronized (this) {
+            activeIndex = channel != null ? segmentIndex : -1;
+            activeRecords = segmentRecords;
+        }
+        try {
+            List<SegmentView> segments = new ArrayList<>();
+            for (Path path : listSegmentFiles()) {
+                long index = parseSegmentIndex(path);
+                long records = index == activeIndex ? activeRecords
+                        : (Files.size(path) - JournalLogCodec.HEADER_SIZE) / JournalLogCodec.RECORD_SIZE;
+                segments.add(new SegmentView(index, path, Math.max(records, 0)));
+            }
+            return segments;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to list journal log segments", exception);
+        }
+    }
+
+    private MappedByteBuffer map(SegmentView segment) {
+        try (FileChannel readChannel = FileChannel.open(segment.path(), StandardOpenOption.READ)) {
+            long length = JournalLogCodec.HEADER_SIZE + segment.records() * JournalLogCodec.RECORD_SIZE;
+            return readChannel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to map journal log segment " + segment.index(), exception);
+        }
+    }
+
+    private List<Path> listSegmentFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private long parseSegmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record PendingLine(Long lineId, String reference, LocalDate valueDate, String accountCode,
+            EntryType entryType, BigDecimal amount) {
+    }
+
+    /**
+     * Committed lines from {@code fromLineId} on may be missing; records from {@code fromSequence}
+     * on are the only ones that can already hold some of them.
+     */
+    private record Gap(long fromLineId, long fromSequence, Set<String> failedReferences) {
+
+        private Gap merge(Gap other) {
+            Set<String> references = new HashSet<>(failedReferences);
+            references.addAll(other.failedReferences);
+            return new Gap(Math.min(fromLineId, other.fromLineId), Math.min(fromSequence, other.fromSequence),
+                    references);
+        }
+    }
+
+    private record Tail(String reference, long segmentFirstSequence) {
+    }
+
+    private record SegmentView(long index, Path path, long records) {
+    }
+}
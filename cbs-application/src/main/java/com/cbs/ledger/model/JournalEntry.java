@@ -7,7 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
@@ -19,12 +21,14 @@ import java.util.List;
 @Entity
 @Table(
         name = "journal_entries",
-        uniqueConstraints = @UniqueConstraint(name = "uk_journal_entries_reference", columnNames = "reference")
+        uniqueConstraints = @UniqueConstraint(name = "uk_journal_entries_reference", columnNames = "reference"),
+        indexes = @Index(name = "idx_journal_entries_created_at", columnList = "created_at")
 )
 public class JournalEntry extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entries_seq")
+    @SequenceGenerator(name = "journal_entries_seq", sequenceName = "journal_entries_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 64)
@@ -9,18 +9,26 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "journal_entry_lines")
+@Table(
+        name = "journal_entry_lines",
+        indexes = @Index(name = "idx_journal_entry_lines_entry", columnList = "journal_entry_id")
+)
 public class JournalEntryLine extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_lines_seq")
+    @SequenceGenerator(name = "journal_entry_lines_seq", sequenceName = "journal_entry_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -38,6 +46,14 @@ public class JournalEntryLine extends AuditableEntity {
     @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal amount;
 
+    // Copied from the owning entry so partitioned schemas can route lines by value date
+    @Column(name = "value_date", updatable = false)
+    private LocalDate valueDate;
+
+    // Known when the line is built from a cached account, so reading it never loads the account reference
+    @Transient
+    private String accountCode;
+
     public JournalEntryLine() {
     }
 
@@ -47,8 +63,14 @@ public class JournalEntryLine extends AuditableEntity {
         this.amount = amount;
     }
 
+    public JournalEntryLine(LedgerAccount account, String accountCode, EntryType entryType, BigDecimal amount) {
+        this(account, entryType, amount);
+        this.accountCode = accountCode;
+    }
+
     void setJournalEntry(JournalEntry journalEntry) {
         this.journalEntry = journalEntry;
+        this.valueDate = journalEntry.getValueDate();
     }
 
     public Long getId() {
@@ -63,6 +85,10 @@ public class JournalEntryLine extends AuditableEntity {
         return account;
     }
 
+    public String getAccountCode() {
+        return accountCode != null ? accountCode : account.getCode();
+    }
+
     public EntryType getEntryType() {
         return entryType;
     }
@@ -70,4 +96,8 @@ public class JournalEntryLine extends AuditableEntity {
     public BigDecimal getAmount() {
         return amount;
     }
+
+    public LocalDate getValueDate() {
+        return valueDate;
+    }
 }
@@ -11,6 +11,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
+import java.time.Instant;
+
 @Entity
 @Table(
         name = "ledger_accounts",
@@ -35,6 +37,12 @@ public class LedgerAccount extends AuditableEntity {
     @Column(nullable = false)
     private boolean active = true;
 
+    /**
+     * When the account was last deactivated; lines posted after this instant should not exist.
+     */
+    @Column(name = "deactivated_at")
+    private Instant deactivatedAt;
+
     public LedgerAccount() {
     }
 
@@ -63,4 +71,17 @@ public class LedgerAccount extends AuditableEntity {
     public boolean isActive() {
         return active;
     }
+
+    public Instant getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    public void setActive(boolean active) {
+        if (this.active && !active) {
+            deactivatedAt = Instant.now();
+        } else if (active) {
+            deactivatedAt = null;
+        }
+        this.active = active;
+    }
 }
@@ -0,0 +1,49 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "ledger_account_balances")
+public class LedgerAccountBalance extends AuditableEntity {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "total_debit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+
+    @Column(name = "total_credit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+
+    public LedgerAccountBalance() {
+    }
+
+    public LedgerAccountBalance(Long accountId, BigDecimal totalDebit, BigDecimal totalCredit) {
+        this.accountId = accountId;
+        this.totalDebit = totalDebit;
+        this.totalCredit = totalCredit;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+
+    public BigDecimal getBalance() {
+        return totalDebit.subtract(totalCredit);
+    }
+}
@@ -0,0 +1,68 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-account totals of a journal month captured as its partitions are detached into the archive
+ * schema. Written once per month and never updated.
+ */
+@Entity
+@Table(
+        name = "ledger_archived_balances",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_archived_balances_account_month",
+                columnNames = {"account_id", "archive_month"}),
+        indexes = @Index(name = "idx_ledger_archived_balances_month", columnList = "archive_month")
+)
+public class LedgerArchivedBalance extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "archive_month", nullable = false)
+    private LocalDate archiveMonth;
+
+    @Column(name = "total_debit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+
+    @Column(name = "total_credit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+
+    public LedgerArchivedBalance() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getArchiveMonth() {
+        return archiveMonth;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+}
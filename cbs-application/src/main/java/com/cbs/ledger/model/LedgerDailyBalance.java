@@ -0,0 +1,75 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "ledger_daily_balances",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_daily_balances_account_date",
+                columnNames = {"account_id", "value_date"}),
+        indexes = @Index(name = "idx_ledger_daily_balances_value_date", columnList = "value_date")
+)
+public class LedgerDailyBalance extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "value_date", nullable = false)
+    private LocalDate valueDate;
+
+    @Column(name = "total_debit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+
+    @Column(name = "total_credit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+
+    /**
+     * Entries are counted once, against the first account of the entry in code order,
+     * so summing this column over any set of rows yields distinct journal entries.
+     */
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    public LedgerDailyBalance() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getValueDate() {
+        return valueDate;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(
+        name = "ledger_verification_findings",
+        indexes = @Index(name = "idx_ledger_verification_findings_run", columnList = "run_id")
+)
+public class LedgerVerificationFinding extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "finding_type", nullable = false, length = 32)
+    private LedgerVerificationFindingType findingType;
+
+    @Column(name = "journal_entry_id")
+    private Long journalEntryId;
+
+    @Column(name = "account_code", length = 32)
+    private String accountCode;
+
+    @Column(nullable = false, length = 255)
+    private String detail;
+
+    public LedgerVerificationFinding() {
+    }
+
+    public LedgerVerificationFinding(Long runId, LedgerVerificationFindingType findingType, Long journalEntryId,
+            String accountCode, String detail) {
+        this.runId = runId;
+        this.findingType = findingType;
+        this.journalEntryId = journalEntryId;
+        this.accountCode = accountCode;
+        this.detail = detail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public LedgerVerificationFindingType getFindingType() {
+        return findingType;
+    }
+
+    public Long getJournalEntryId() {
+        return journalEntryId;
+    }
+
+    public String getAccountCode() {
+        return accountCode;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,7 @@
+package com.cbs.ledger.model;
+
+public enum LedgerVerificationFindingType {
+    UNBALANCED_ENTRY,
+    INACTIVE_ACCOUNT,
+    BALANCE_MISMATCH
+}
@@ -0,0 +1,92 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Inclusive journal entry id range checked in one transaction; {@code completed} is the checkpoint.
+ */
+@Entity
+@Table(
+        name = "ledger_verification_partitions",
+        indexes = @Index(name = "idx_ledger_verification_partitions_run", columnList = "run_id, completed")
+)
+public class LedgerVerificationPartition extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "from_entry_id", nullable = false)
+    private long fromEntryId;
+
+    @Column(name = "to_entry_id", nullable = false)
+    private long toEntryId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "unbalanced_entries", nullable = false)
+    private long unbalancedEntries;
+
+    @Column(name = "inactive_account_lines", nullable = false)
+    private long inactiveAccountLines;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public LedgerVerificationPartition() {
+    }
+
+    public LedgerVerificationPartition(Long runId, long fromEntryId, long toEntryId) {
+        this.runId = runId;
+        this.fromEntryId = fromEntryId;
+        this.toEntryId = toEntryId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public long getFromEntryId() {
+        return fromEntryId;
+    }
+
+    public long getToEntryId() {
+        return toEntryId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getUnbalancedEntries() {
+        return unbalancedEntries;
+    }
+
+    public long getInactiveAccountLines() {
+        return inactiveAccountLines;
+    }
+
+    public void complete(long unbalancedEntries, long inactiveAccountLines) {
+        this.unbalancedEntries = unbalancedEntries;
+        this.inactiveAccountLines = inactiveAccountLines;
+        this.completed = true;
+        this.completedAt = Instant.now();
+    }
+}
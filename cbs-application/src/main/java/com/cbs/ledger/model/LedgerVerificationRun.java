@@ -0,0 +1,116 @@
+package com.cbs.ledger.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One pass of the ledger integrity verifier. Entries up to {@code upperEntryId} created before
+ * {@code cutoff} are verified partition by partition; anything else is only folded into the final
+ * balance comparison.
+ */
+@Entity
+@Table(name = "ledger_verification_runs")
+public class LedgerVerificationRun extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private LedgerVerificationStatus status = LedgerVerificationStatus.RUNNING;
+
+    @Column(nullable = false)
+    private Instant cutoff;
+
+    @Column(name = "upper_entry_id", nullable = false)
+    private long upperEntryId;
+
+    @Column(name = "total_partitions", nullable = false)
+    private int totalPartitions;
+
+    @Column(name = "completed_partitions", nullable = false)
+    private int completedPartitions;
+
+    @Column(name = "unbalanced_entries", nullable = false)
+    private long unbalancedEntries;
+
+    @Column(name = "inactive_account_lines", nullable = false)
+    private long inactiveAccountLines;
+
+    @Column(name = "balance_mismatches")
+    private Integer balanceMismatches;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public LedgerVerificationRun() {
+    }
+
+    public LedgerVerificationRun(Instant cutoff, long upperEntryId, int totalPartitions) {
+        this.cutoff = cutoff;
+        this.upperEntryId = upperEntryId;
+        this.totalPartitions = totalPartitions;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LedgerVerificationStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCutoff() {
+        return cutoff;
+    }
+
+    public long getUpperEntryId() {
+        return upperEntryId;
+    }
+
+    public int getTotalPartitions() {
+        return totalPartitions;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions;
+    }
+
+    public long getUnbalancedEntries() {
+        return unbalancedEntries;
+    }
+
+    public long getInactiveAccountLines() {
+        return inactiveAccountLines;
+    }
+
+    public Integer getBalanceMismatches() {
+        return balanceMismatches;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void updateProgress(int completedPartitions, long unbalancedEntries, long inactiveAccountLines) {
+        this.completedPartitions = completedPartitions;
+        this.unbalancedEntries = unbalancedEntries;
+        this.inactiveAccountLines = inactiveAccountLines;
+    }
+
+    public void complete(int balanceMismatches) {
+        this.balanceMismatches = balanceMismatches;
+        this.status = LedgerVerificationStatus.COMPLETED;
+        this.completedAt = Instant.now();
+    }
+}
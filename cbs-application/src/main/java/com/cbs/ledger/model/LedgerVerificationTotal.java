@@ -0,0 +1,63 @@
+package com.cbs.ledger.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-account line totals recomputed by a verification run, accumulated partition by partition.
+ */
+@Entity
+@Table(
+        name = "ledger_verification_totals",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_verification_totals_run_account",
+                columnNames = {"run_id", "account_id"})
+)
+public class LedgerVerificationTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "total_debit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+
+    @Column(name = "total_credit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+
+    public LedgerVerificationTotal() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+}
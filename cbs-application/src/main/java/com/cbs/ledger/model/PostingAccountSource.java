@@ -0,0 +1,13 @@
+package com.cbs.ledger.model;
+
+/**
+ * Where a posting template line takes its account from.
+ */
+public enum PostingAccountSource {
+    /** The account code of the policy request. */
+    REQUEST,
+    /** The counterparty of the request, falling back to the line's account code when one is configured. */
+    COUNTERPARTY,
+    /** The line's configured account code. */
+    FIXED
+}
@@ -0,0 +1,6 @@
+package com.cbs.ledger.model;
+
+public enum TrialBalanceFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,8 @@
+package com.cbs.ledger.repository;
+
+public interface InactiveAccountLine {
+
+    Long getJournalEntryId();
+
+    String getAccountCode();
+}
@@ -2,12 +2,15 @@ package com.cbs.ledger.repository;
 
 import com.cbs.ledger.model.EntryType;
 import com.cbs.ledger.model.JournalEntryLine;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 public interface JournalEntryLineRepository extends JpaRepository<JournalEntryLine, Long> {
 
@@ -28,4 +31,66 @@ public interface JournalEntryLineRepository extends JpaRepository<JournalEntryLi
     BigDecimal sumAmountByEntryTypeAndDateRange(@Param("entryType") EntryType entryType,
                                                 @Param("fromDate") LocalDate fromDate,
                                                 @Param("toDate") LocalDate toDate);
+
+    @Query("""
+            select line.account.id as accountId,
+                   coalesce(sum(case when line.entryType = :debit then line.amount else 0 end), 0) as totalDebit,
+                   coalesce(sum(case when line.entryType = :credit then line.amount else 0 end), 0) as totalCredit
+            from JournalEntryLine line
+            group by line.account.id
+            """)
+    List<LedgerAccountTotals> sumAmountsGroupedByAccount(@Param("debit") EntryType debit,
+                                                         @Param("credit") EntryType credit);
+
+    @Query(value = """
+            select entry.id as "journalEntryId",
+                   coalesce(sum(case when line.entry_type = 'DEBIT' then line.amount end), 0) as "totalDebit",
+                   coalesce(sum(case when line.entry_type = 'CREDIT' then line.amount end), 0) as "totalCredit"
+            from journal_entries entry
+            join journal_entry_lines line on line.journal_entry_id = entry.id
+            where entry.id between :fromId and :toId
+              and entry.created_at < :cutoff
+            group by entry.id
+            having coalesce(sum(case when line.entry_type = 'DEBIT' then line.amount end), 0)
+                <> coalesce(sum(case when line.entry_type = 'CREDIT' then line.amount end), 0)
+            """, nativeQuery = true)
+    List<UnbalancedEntry> findUnbalancedEntries(@Param("fromId") long fromId,
+                                                @Param("toId") long toId,
+                                                @Param("cutoff") Instant cutoff);
+
+    @Query(value = """
+            select entry.id as "journalEntryId", account.code as "accountCode"
+            from journal_entries entry
+            join journal_entry_lines line on line.journal_entry_id = entry.id
+            join ledger_accounts account on account.id = line.account_id
+            where entry.id between :fromId and :toId
+              and entry.created_at < :cutoff
+              and account.deactivated_at is not null
+              and entry.created_at >= account.deactivated_at
+            """, nativeQuery = true)
+    List<InactiveAccountLine> findLinesOnInactiveAccounts(@Param("fromId") long fromId,
+                                                          @Param("toId") long toId,
+                                                          @Param("cutoff") Instant cutoff);
+
+    @Query("""
+            select max(line.id)
+            from JournalEntryLine line
+            where line.journalEntry.reference = :reference
+            """)
+    Long findMaxLineIdByReference(@Param("reference") String reference);
+
+    @Query("""
+            select line.id as lineId,
+                   entry.reference as reference,
+                   entry.valueDate as valueDate,
+                   account.code as accountCode,
+                   line.entryType as entryType,
+                   line.amount as amount
+            from JournalEntryLine line
+            join line.journalEntry entry
+            join line.account account
+            where line.id >= :fromLineId
+            order by line.id
+            """)
+    List<JournalLogLine> findLogLinesFrom(@Param("fromLineId") long fromLineId, Pageable pageable);
 }
@@ -2,11 +2,33 @@ package com.cbs.ledger.repository;
 
 import com.cbs.ledger.model.JournalEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
     boolean existsByReference(String reference);
 
     long countByValueDateBetween(LocalDate fromDate, LocalDate toDate);
+
+    @Query("select entry.reference from JournalEntry entry where entry.reference in :references")
+    List<String> findExistingReferences(@Param("references") Collection<String> references);
+
+    @Query("""
+            select distinct entry
+            from JournalEntry entry
+            join fetch entry.lines line
+            join fetch line.account
+            where entry.reference in :references
+            """)
+    List<JournalEntry> findWithLinesByReferenceIn(@Param("references") Collection<String> references);
+
+    @Query("select min(entry.id) from JournalEntry entry")
+    Long findMinId();
+
+    @Query("select max(entry.id) from JournalEntry entry")
+    Long findMaxId();
 }
@@ -0,0 +1,21 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.EntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface JournalLogLine {
+
+    Long getLineId();
+
+    String getReference();
+
+    LocalDate getValueDate();
+
+    String getAccountCode();
+
+    EntryType getEntryType();
+
+    BigDecimal getAmount();
+}
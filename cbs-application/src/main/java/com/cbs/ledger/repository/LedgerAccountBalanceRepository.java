@@ -0,0 +1,78 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerAccountBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface LedgerAccountBalanceRepository extends JpaRepository<LedgerAccountBalance, Long> {
+
+    @Modifying
+    @Query("""
+            update LedgerAccountBalance balance
+            set balance.totalDebit = balance.totalDebit + :debit,
+                balance.totalCredit = balance.totalCredit + :credit,
+                balance.updatedAt = :now
+            where balance.accountId = :accountId
+            """)
+    int applyDelta(@Param("accountId") Long accountId,
+                   @Param("debit") BigDecimal debit,
+                   @Param("credit") BigDecimal credit,
+                   @Param("now") Instant now);
+
+    /**
+     * Seeds a missing snapshot from the account's attached lines plus the totals of months
+     * already detached into the archive schema.
+     */
+    @Modifying
+    @Query(value = """
+            insert into ledger_account_balances (account_id, total_debit, total_credit, created_at, updated_at)
+            select :accountId,
+                   coalesce(sum(combined.total_debit), 0),
+                   coalesce(sum(combined.total_credit), 0),
+                   :now,
+                   :now
+            from (
+                select case when line.entry_type = 'DEBIT' then line.amount else 0 end as total_debit,
+                       case when line.entry_type = 'CREDIT' then line.amount else 0 end as total_credit
+                from journal_entry_lines line
+                where line.account_id = :accountId
+                union all
+                select archived.total_debit, archived.total_credit
+                from ledger_archived_balances archived
+                where archived.account_id = :accountId
+            ) combined
+            on conflict (account_id) do nothing
+            """, nativeQuery = true)
+    int insertFromLinesIfAbsent(@Param("accountId") Long accountId, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+            insert into ledger_account_balances (account_id, total_debit, total_credit, created_at, updated_at)
+            select account.id,
+                   coalesce(sum(combined.total_debit), 0),
+                   coalesce(sum(combined.total_credit), 0),
+                   :now,
+                   :now
+            from ledger_accounts account
+            left join (
+                select line.account_id,
+                       case when line.entry_type = 'DEBIT' then line.amount else 0 end as total_debit,
+                       case when line.entry_type = 'CREDIT' then line.amount else 0 end as total_credit
+                from journal_entry_lines line
+                union all
+                select archived.account_id, archived.total_debit, archived.total_credit
+                from ledger_archived_balances archived
+            ) combined on combined.account_id = account.id
+            group by account.id
+            on conflict (account_id) do update
+            set total_debit = excluded.total_debit,
+                total_credit = excluded.total_credit,
+                updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int rebuildAllFromLines(@Param("now") Instant now);
+}
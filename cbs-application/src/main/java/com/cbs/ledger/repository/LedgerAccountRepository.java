@@ -3,6 +3,7 @@ package com.cbs.ledger.repository;
 import com.cbs.ledger.model.LedgerAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +12,7 @@ public interface LedgerAccountRepository extends JpaRepository<LedgerAccount, Lo
 
     Optional<LedgerAccount> findByCode(String code);
 
+    List<LedgerAccount> findByCodeIn(Collection<String> codes);
+
     List<LedgerAccount> findAllByOrderByCodeAsc();
 }
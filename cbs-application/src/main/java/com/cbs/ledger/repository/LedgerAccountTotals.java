@@ -0,0 +1,12 @@
+package com.cbs.ledger.repository;
+
+import java.math.BigDecimal;
+
+public interface LedgerAccountTotals {
+
+    Long getAccountId();
+
+    BigDecimal getTotalDebit();
+
+    BigDecimal getTotalCredit();
+}
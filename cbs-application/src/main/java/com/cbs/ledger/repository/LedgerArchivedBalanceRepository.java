@@ -0,0 +1,29 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerArchivedBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LedgerArchivedBalanceRepository extends JpaRepository<LedgerArchivedBalance, Long> {
+
+    @Query("""
+            select archived.accountId as accountId,
+                   sum(archived.totalDebit) as totalDebit,
+                   sum(archived.totalCredit) as totalCredit
+            from LedgerArchivedBalance archived
+            group by archived.accountId
+            """)
+    List<LedgerAccountTotals> sumGroupedByAccount();
+
+    @Query("""
+            select distinct archived.archiveMonth
+            from LedgerArchivedBalance archived
+            where archived.archiveMonth between :fromMonth and :toMonth
+            """)
+    List<LocalDate> findArchiveMonthsBetween(@Param("fromMonth") LocalDate fromMonth,
+                                             @Param("toMonth") LocalDate toMonth);
+}
@@ -0,0 +1,100 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerDailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+public interface LedgerDailyBalanceRepository extends JpaRepository<LedgerDailyBalance, Long> {
+
+    /**
+     * Adds a posting's delta to one account-day. The shared advisory lock on the value date lets
+     * postings run concurrently but waits for a rebuild of that date to commit.
+     */
+    @Modifying
+    @Query(value = """
+            with date_lock as (
+                select pg_advisory_xact_lock_shared(hashtext('ledger_daily_balances'),
+                        cast(:valueDate as date) - date '1970-01-01')
+            )
+            insert into ledger_daily_balances
+                (account_id, value_date, total_debit, total_credit, entry_count, created_at, updated_at)
+            select :accountId, :valueDate, :debit, :credit, :entryCount, :now, :now
+            from date_lock
+            on conflict (account_id, value_date) do update
+            set total_debit = ledger_daily_balances.total_debit + excluded.total_debit,
+                total_credit = ledger_daily_balances.total_credit + excluded.total_credit,
+                entry_count = ledger_daily_balances.entry_count + excluded.entry_count,
+                updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int upsertDelta(@Param("accountId") Long accountId,
+                    @Param("valueDate") LocalDate valueDate,
+                    @Param("debit") BigDecimal debit,
+                    @Param("credit") BigDecimal credit,
+                    @Param("entryCount") long entryCount,
+                    @Param("now") Instant now);
+
+    @Query("""
+            select coalesce(sum(daily.totalDebit), 0) as totalDebit,
+                   coalesce(sum(daily.totalCredit), 0) as totalCredit,
+                   coalesce(sum(daily.entryCount), 0) as entryCount
+            from LedgerDailyBalance daily
+            where daily.valueDate between :fromDate and :toDate
+            """)
+    LedgerDailyTotals sumByValueDateBetween(@Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Takes the exclusive advisory lock on one value date until the transaction ends, holding back
+     * only the postings for that date.
+     */
+    @Query(value = """
+            select count(*)
+            from (
+                select pg_advisory_xact_lock(hashtext('ledger_daily_balances'),
+                        cast(:valueDate as date) - date '1970-01-01')
+            ) date_lock
+            """, nativeQuery = true)
+    long lockDateForRebuild(@Param("valueDate") LocalDate valueDate);
+
+    @Modifying
+    @Query("delete from LedgerDailyBalance daily where daily.valueDate between :fromDate and :toDate")
+    int deleteByValueDateBetween(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query(value = """
+            with ranged as (
+                select line.journal_entry_id, line.account_id, line.entry_type, line.amount,
+                       entry.value_date, account.code
+                from journal_entry_lines line
+                join journal_entries entry on entry.id = line.journal_entry_id
+                join ledger_accounts account on account.id = line.account_id
+                where entry.value_date between :fromDate and :toDate
+            ),
+            lead as (
+                select journal_entry_id, min(code) as code
+                from ranged
+                group by journal_entry_id
+            )
+            insert into ledger_daily_balances
+                (account_id, value_date, total_debit, total_credit, entry_count, created_at, updated_at)
+            select ranged.account_id,
+                   ranged.value_date,
+                   coalesce(sum(case when ranged.entry_type = 'DEBIT' then ranged.amount end), 0),
+                   coalesce(sum(case when ranged.entry_type = 'CREDIT' then ranged.amount end), 0),
+                   count(distinct case when ranged.code = lead.code then ranged.journal_entry_id end),
+                   :now,
+                   :now
+            from ranged
+            join lead on lead.journal_entry_id = ranged.journal_entry_id
+            group by ranged.account_id, ranged.value_date
+            """, nativeQuery = true)
+    int insertFromLines(@Param("fromDate") LocalDate fromDate,
+                        @Param("toDate") LocalDate toDate,
+                        @Param("now") Instant now);
+}
@@ -0,0 +1,12 @@
+package com.cbs.ledger.repository;
+
+import java.math.BigDecimal;
+
+public interface LedgerDailyTotals {
+
+    BigDecimal getTotalDebit();
+
+    BigDecimal getTotalCredit();
+
+    Long getEntryCount();
+}
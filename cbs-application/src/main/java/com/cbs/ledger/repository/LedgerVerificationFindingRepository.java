@@ -0,0 +1,12 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerVerificationFinding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LedgerVerificationFindingRepository extends JpaRepository<LedgerVerificationFinding, Long> {
+
+    List<LedgerVerificationFinding> findByRunIdOrderByIdAsc(Long runId, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerVerificationPartition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerVerificationPartitionRepository extends JpaRepository<LedgerVerificationPartition, Long> {
+
+    List<LedgerVerificationPartition> findByRunIdAndCompletedFalseOrderByFromEntryIdAsc(Long runId,
+                                                                                       Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select partition from LedgerVerificationPartition partition where partition.id = :id")
+    Optional<LedgerVerificationPartition> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("""
+            select count(partition) as completedPartitions,
+                   coalesce(sum(partition.unbalancedEntries), 0) as unbalancedEntries,
+                   coalesce(sum(partition.inactiveAccountLines), 0) as inactiveAccountLines
+            from LedgerVerificationPartition partition
+            where partition.runId = :runId and partition.completed = true
+            """)
+    LedgerVerificationProgress summarizeCompleted(@Param("runId") Long runId);
+}
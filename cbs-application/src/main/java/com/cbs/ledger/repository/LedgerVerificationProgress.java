@@ -0,0 +1,10 @@
+package com.cbs.ledger.repository;
+
+public interface LedgerVerificationProgress {
+
+    Long getCompletedPartitions();
+
+    Long getUnbalancedEntries();
+
+    Long getInactiveAccountLines();
+}
@@ -0,0 +1,14 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerVerificationRun;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface LedgerVerificationRunRepository extends JpaRepository<LedgerVerificationRun, Long> {
+
+    Optional<LedgerVerificationRun> findFirstByStatusOrderByIdDesc(LedgerVerificationStatus status);
+
+    Optional<LedgerVerificationRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,84 @@
+package com.cbs.ledger.repository;
+
+import com.cbs.ledger.model.LedgerVerificationTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface LedgerVerificationTotalRepository extends JpaRepository<LedgerVerificationTotal, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into ledger_verification_totals (run_id, account_id, total_debit, total_credit,
+                                                    created_at, updated_at)
+            select :runId,
+                   line.account_id,
+                   coalesce(sum(case when line.entry_type = 'DEBIT' then line.amount end), 0),
+                   coalesce(sum(case when line.entry_type = 'CREDIT' then line.amount end), 0),
+                   now(),
+                   now()
+            from journal_entries entry
+            join journal_entry_lines line on line.journal_entry_id = entry.id
+            where entry.id between :fromId and :toId
+              and entry.created_at < :cutoff
+            group by line.account_id
+            on conflict (run_id, account_id) do update
+            set total_debit = ledger_verification_totals.total_debit + excluded.total_debit,
+                total_credit = ledger_verification_totals.total_credit + excluded.total_credit,
+                updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int accumulateFromLines(@Param("runId") Long runId,
+                            @Param("fromId") long fromId,
+                            @Param("toId") long toId,
+                            @Param("cutoff") Instant cutoff);
+
+    /**
+     * Compares stored balances with the run totals plus every line the partitions skipped and the
+     * totals of archived months, in one statement so both sides come from the same snapshot.
+     */
+    @Query(value = """
+            with recomputed as (
+                select combined.account_id,
+                       sum(combined.total_debit) as total_debit,
+                       sum(combined.total_credit) as total_credit
+                from (
+                    select total.account_id, total.total_debit, total.total_credit
+                    from ledger_verification_totals total
+                    where total.run_id = :runId
+                    union all
+                    select line.account_id,
+                           case when line.entry_type = 'DEBIT' then line.amount else 0 end,
+                           case when line.entry_type = 'CREDIT' then line.amount else 0 end
+                    from journal_entries entry
+                    join journal_entry_lines line on line.journal_entry_id = entry.id
+                    where entry.id > :upperEntryId or entry.created_at >= :cutoff
+                    union all
+                    select archived.account_id, archived.total_debit, archived.total_credit
+                    from ledger_archived_balances archived
+                ) combined
+                group by combined.account_id
+            )
+            select account.code as "accountCode",
+                   coalesce(balance.total_debit, 0) as "storedDebit",
+                   coalesce(balance.total_credit, 0) as "storedCredit",
+                   coalesce(recomputed.total_debit, 0) as "computedDebit",
+                   coalesce(recomputed.total_credit, 0) as "computedCredit"
+            from recomputed
+            full join ledger_account_balances balance on balance.account_id = recomputed.account_id
+            join ledger_accounts account on account.id = coalesce(recomputed.account_id, balance.account_id)
+            where coalesce(balance.total_debit, 0) <> coalesce(recomputed.total_debit, 0)
+               or coalesce(balance.total_credit, 0) <> coalesce(recomputed.total_credit, 0)
+            order by account.code
+            """, nativeQuery = true)
+    List<RecomputedBalanceMismatch> findBalanceMismatches(@Param("runId") Long runId,
+                                                         @Param("upperEntryId") long upperEntryId,
+                                                         @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from LedgerVerificationTotal total where total.runId = :runId")
+    int deleteByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,16 @@
+package com.cbs.ledger.repository;
+
+import java.math.BigDecimal;
+
+public interface RecomputedBalanceMismatch {
+
+    String getAccountCode();
+
+    BigDecimal getStoredDebit();
+
+    BigDecimal getStoredCredit();
+
+    BigDecimal getComputedDebit();
+
+    BigDecimal getComputedCredit();
+}
@@ -0,0 +1,230 @@
+package com.cbs.ledger.service;
+
+import com.cbs.ledger.dto.JournalPartitionMaintenanceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly value-date partitions of the journal tables once they have been converted
+ * by {@code V004__partition_journal_tables.sql}. Future months are created ahead of time so
+ * postings never fall into the default partition, and months beyond the retention window are
+ * detached and moved to the archive schema. Rows that did land in the default partition for a
+ * month are moved into that month's partition when it is created. The per-account totals of an
+ * archived month are kept in {@code ledger_archived_balances}, so balance checks and rebuilds
+ * still account for its lines.
+ */
+@Service
+public class JournalPartitionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalPartitionService.class);
+
+    static final String ENTRIES_TABLE = "journal_entries";
+    static final String LINES_TABLE = "journal_entry_lines";
+    static final String LINES_ENTRY_FOREIGN_KEY = "fk_journal_entry_lines_entry";
+    static final String DEFAULT_PARTITION_SUFFIX = "_default";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+
+    private static final String IS_PARTITIONED_SQL =
+            "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass(?))";
+
+    private static final String LIST_PARTITIONS_SQL = """
+            select child.relname
+            from pg_inherits inheritance
+            join pg_class child on child.oid = inheritance.inhrelid
+            where inheritance.inhparent = to_regclass(?)
+            order by child.relname
+            """;
+
+    private static final String ARCHIVE_TOTALS_SQL = """
+            insert into ledger_archived_balances
+                (account_id, archive_month, total_debit, total_credit, created_at, updated_at)
+            select line.account_id,
+                   date '%s',
+                   coalesce(sum(case when line.entry_type = 'DEBIT' then line.amount end), 0),
+                   coalesce(sum(case when line.entry_type = 'CREDIT' then line.amount end), 0),
+                   now(),
+                   now()
+            from %s line
+            group by line.account_id
+            on conflict (account_id, archive_month) do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public JournalPartitionService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${cbs.ledger.partitioning.enabled:false}") boolean enabled,
+            @Value("${cbs.ledger.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${cbs.ledger.partitioning.retention-months:0}") int retentionMonths,
+            @Value("${cbs.ledger.partitioning.archive-schema:ledger_archive}") String archiveSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates missing partitions from the current month up to {@code months-ahead} months out and,
+     * when a retention period is configured, detaches older months. A retention of zero keeps
+     * every month attached.
+     */
+    public JournalPartitionMaintenanceResponse maintainPartitions(LocalDate today) {
+        if (!enabled) {
+            return JournalPartitionMaintenanceResponse.unpartitioned();
+        }
+        if (!isPartitioned(ENTRIES_TABLE) || !isPartitioned(LINES_TABLE)) {
+            LOGGER.warn("Journal partitioning is enabled but {} and {} are not partitioned tables",
+                    ENTRIES_TABLE, LINES_TABLE);
+            return JournalPartitionMaintenanceResponse.unpartitioned();
+        }
+
+        YearMonth currentMonth = YearMonth.from(today);
+        List<String> created = new ArrayList<>();
+        List<String> existingEntries = listPartitions(ENTRIES_TABLE);
+        List<String> existingLines = listPartitions(LINES_TABLE);
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            YearMonth month = currentMonth.plusMonths(offset);
+            // Entries first so a line partition never exists without its entry partition
+            List<String> missing = new ArrayList<>();
+            if (!existingEntries.contains(partitionName(ENTRIES_TABLE, month))) {
+                missing.add(ENTRIES_TABLE);
+            }
+            if (!existingLines.contains(partitionName(LINES_TABLE, month))) {
+                missing.add(LINES_TABLE);
+            }
+            if (missing.isEmpty()) {
+                continue;
+            }
+
+            boolean defaultHasRows = hasDefaultRows(ENTRIES_TABLE, existingEntries, month)
+                    || hasDefaultRows(LINES_TABLE, existingLines, month);
+            if (defaultHasRows) {
+                transactionTemplate.executeWithoutResult(status -> moveDefaultRows(missing, month));
+            } else {
+                for (String table : missing) {
+                    jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+                            .formatted(partitionName(table, month), table, month.atDay(1), month.plusMonths(1).atDay(1)));
+                }
+            }
+            for (String table : missing) {
+                created.add(partitionName(table, month));
+            }
+        }
+
+        List<String> detached = new ArrayList<>();
+        if (retentionMonths > 0) {
+            YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+            jdbcTemplate.execute("create schema if not exists " + archiveSchema);
+            // Lines first: an entry partition cannot be detached while attached lines still reference it
+            for (String table : List.of(LINES_TABLE, ENTRIES_TABLE)) {
+                for (String partition : listPartitions(table)) {
+                    YearMonth month = partitionMonth(partition);
+                    if (month != null && month.isBefore(oldestRetained)) {
+                        transactionTemplate.executeWithoutResult(status -> detachPartition(table, partition, month));
+                        detached.add(partition);
+                    }
+                }
+            }
+        }
+
+        return new JournalPartitionMaintenanceResponse(true, List.copyOf(created), List.copyOf(detached));
+    }
+
+    /**
+     * Records the month's per-account totals and detaches the partition in one transaction, so the
+     * lines leave the balance checks exactly when their totals enter them.
+     */
+    private void detachPartition(String table, String partition, YearMonth month) {
+        if (LINES_TABLE.equals(table)) {
+            jdbcTemplate.execute(ARCHIVE_TOTALS_SQL.formatted(month.atDay(1), partition));
+        }
+        jdbcTemplate.execute("alter table %s detach partition %s".formatted(table, partition));
+        if (LINES_TABLE.equals(table)) {
+            jdbcTemplate.execute("alter table %s drop constraint if exists %s"
+                    .formatted(partition, LINES_ENTRY_FOREIGN_KEY));
+        }
+        jdbcTemplate.execute("alter table %s set schema %s".formatted(partition, archiveSchema));
+    }
+
+    private boolean hasDefaultRows(String table, List<String> existing, YearMonth month) {
+        String defaultPartition = table + DEFAULT_PARTITION_SUFFIX;
+        if (!existing.contains(defaultPartition)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from %s where value_date >= ? and value_date < ?)".formatted(defaultPartition),
+                Boolean.class, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Postgres refuses to attach a partition while the default partition holds rows in its range,
+     * so the rows are copied into a standalone table that is then attached in their place. Lines
+     * leave the default before entries so the foreign key never sees an orphan, and the deleted
+     * entries' references are restored because the reference trigger drops them on delete.
+     */
+    private void moveDefaultRows(List<String> tables, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        for (String table : tables.reversed()) {
+            String partition = partitionName(table, month);
+            jdbcTemplate.execute("create table %s (like %s including defaults including constraints)"
+                    .formatted(partition, table));
+            jdbcTemplate.execute("insert into %s select * from %s%s where value_date >= '%s' and value_date < '%s'"
+                    .formatted(partition, table, DEFAULT_PARTITION_SUFFIX, from, to));
+            jdbcTemplate.execute("delete from %s%s where value_date >= '%s' and value_date < '%s'"
+                    .formatted(table, DEFAULT_PARTITION_SUFFIX, from, to));
+            if (ENTRIES_TABLE.equals(table)) {
+                jdbcTemplate.execute(("insert into journal_entry_references (reference) select reference from %s"
+                        + " on conflict do nothing").formatted(partition));
+            }
+        }
+        for (String table : tables) {
+            jdbcTemplate.execute("alter table %s attach partition %s for values from ('%s') to ('%s')"
+                    .formatted(table, partitionName(table, month), from, to));
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class, table));
+    }
+
+    private List<String> listPartitions(String table) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return "%s_p%04d_%02d".formatted(table, month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth partitionMonth(String partition) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+        if (!matcher.find()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.cbs.ledger.service;
+
+import com.cbs.ledger.model.LedgerAccount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the chart of accounts keyed by normalized account code. Loaded
+ * entities are copied into immutable snapshots, so no managed entity outlives its session.
+ * Every invalidation bumps a version; a load that raced with an invalidation is
+ * discarded instead of re-populating the cache with a stale account.
+ */
+@Component
+public class LedgerAccountCache {
+
+    private final Map<String, LedgerAccountSnapshot> accounts = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public LedgerAccountCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("ledger.account.cache.requests")
+                .description("Ledger account lookups served by the chart-of-accounts cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ledger.account.cache.requests")
+                .description("Ledger account lookups served by the chart-of-accounts cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("ledger.account.cache.invalidations")
+                .description("Chart-of-accounts cache invalidations")
+                .register(meterRegistry);
+        Gauge.builder("ledger.account.cache.size", accounts, Map::size)
+                .description("Ledger accounts currently cached")
+                .register(meterRegistry);
+        Gauge.builder("ledger.account.cache.version", version, AtomicLong::get)
+                .description("Chart-of-accounts cache version")
+                .register(meterRegistry);
+    }
+
+    public Optional<LedgerAccountSnapshot> get(String code, Function<String, Optional<LedgerAccount>> loader) {
+        LedgerAccountSnapshot cached = accounts.get(code);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        long loadVersion = version.get();
+        Optional<LedgerAccountSnapshot> loaded = loader.apply(code).map(LedgerAccountSnapshot::from);
+        loaded.ifPresent(account -> put(account, loadVersion));
+        return loaded;
+    }
+
+    public Map<String, LedgerAccountSnapshot> getAll(Collection<String> codes,
+            Function<Collection<String>, List<LedgerAccount>> loader) {
+        Map<String, LedgerAccountSnapshot> found = new HashMap<>();
+        List<String> missing = codes.stream()
+                .filter(code -> {
+                    LedgerAccountSnapshot cached = accounts.get(code);
+                    if (cached == null) {
+                        return true;
+                    }
+                    found.put(code, cached);
+                    return false;
+                })
+                .toList();
+        hits.increment(found.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        misses.increment(missing.size());
+        long loadVersion = version.get();
+        for (LedgerAccount loaded : loader.apply(missing)) {
+            LedgerAccountSnapshot account = LedgerAccountSnapshot.from(loaded);
+            found.put(account.code(), account);
+            put(account, loadVersion);
+        }
+        return found;
+    }
+
+    /**
+     * Drops every cached account now and again once the surrounding transaction completes,
+     * so readers cannot re-cache the pre-change row while the change is still uncommitted.
+     */
+    public void invalidate() {
+        evictAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAll();
+                }
+            });
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    private void put(LedgerAccountSnapshot account, long loadVersion) {
+        accounts.put(account.code(), account);
+        if (version.get() != loadVersion) {
+            accounts.remove(account.code(), account);
+        }
+    }
+
+    private void evictAll() {
+        version.incrementAndGet();
+        accounts.clear();
+        invalidations.increment();
+    }
+}
@@ -8,15 +8,20 @@ import com.cbs.ledger.repository.LedgerAccountRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class LedgerAccountService {
 
     private final LedgerAccountRepository ledgerAccountRepository;
+    private final LedgerAccountCache ledgerAccountCache;
 
-    public LedgerAccountService(LedgerAccountRepository ledgerAccountRepository) {
+    public LedgerAccountService(LedgerAccountRepository ledgerAccountRepository,
+                                LedgerAccountCache ledgerAccountCache) {
         this.ledgerAccountRepository = ledgerAccountRepository;
+        this.ledgerAccountCache = ledgerAccountCache;
     }
 
     @Transactional
@@ -27,7 +32,20 @@ public class LedgerAccountService {
         }
 
         LedgerAccount account = new LedgerAccount(code, request.name().trim(), request.type());
-        return AccountResponse.fromEntity(ledgerAccountRepository.save(account));
+        LedgerAccount savedAccount = ledgerAccountRepository.save(account);
+        ledgerAccountCache.invalidate();
+        return AccountResponse.fromEntity(savedAccount);
+    }
+
+    @Transactional
+    public AccountResponse updateAccountStatus(String accountCode, boolean active) {
+        String code = normalizeCode(accountCode);
+        LedgerAccount account = ledgerAccountRepository.findByCode(code)
+                .orElseThrow(() -> new ApiException("LEDGER_ACCOUNT_NOT_FOUND", "Account not found: " + code));
+        account.setActive(active);
+        LedgerAccount savedAccount = ledgerAccountRepository.save(account);
+        ledgerAccountCache.invalidate();
+        return AccountResponse.fromEntity(savedAccount);
     }
 
     @Transactional(readOnly = true)
@@ -39,21 +57,38 @@ public class LedgerAccountService {
     }
 
     @Transactional(readOnly = true)
-    public LedgerAccount getAccountByCode(String accountCode) {
+    public LedgerAccountSnapshot getAccountByCode(String accountCode) {
         String code = normalizeCode(accountCode);
-        return ledgerAccountRepository.findByCode(code)
+        return ledgerAccountCache.get(code, ledgerAccountRepository::findByCode)
                 .orElseThrow(() -> new ApiException("LEDGER_ACCOUNT_NOT_FOUND", "Account not found: " + code));
     }
 
     @Transactional(readOnly = true)
-    public LedgerAccount getActiveAccountByCode(String accountCode) {
-        LedgerAccount account = getAccountByCode(accountCode);
-        if (!account.isActive()) {
-            throw new ApiException("LEDGER_ACCOUNT_INACTIVE", "Account is inactive: " + account.getCode());
+    public LedgerAccountSnapshot getActiveAccountByCode(String accountCode) {
+        LedgerAccountSnapshot account = getAccountByCode(accountCode);
+        if (!account.active()) {
+            throw new ApiException("LEDGER_ACCOUNT_INACTIVE", "Account is inactive: " + account.code());
         }
         return account;
     }
 
+    @Transactional(readOnly = true)
+    public Map<String, LedgerAccountSnapshot> getAccountsByCodes(Collection<String> accountCodes) {
+        List<String> codes = accountCodes.stream()
+                .map(this::normalizeCode)
+                .distinct()
+                .toList();
+        return ledgerAccountCache.getAll(codes, ledgerAccountRepository::findByCodeIn);
+    }
+
+    /**
+     * Returns an uninitialized reference to the snapshot's account for the caller's session,
+     * so journal lines can point at it without reloading the row.
+     */
+    public LedgerAccount getReference(LedgerAccountSnapshot account) {
+        return ledgerAccountRepository.getReferenceById(account.id());
+    }
+
     private String normalizeCode(String code) {
         return code.trim().toUpperCase();
     }
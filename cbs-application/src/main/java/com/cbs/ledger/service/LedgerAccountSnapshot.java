@@ -0,0 +1,15 @@
+package com.cbs.ledger.service;
+
+import com.cbs.ledger.model.AccountType;
+import com.cbs.ledger.model.LedgerAccount;
+
+/**
+ * Immutable copy of the chart-of-accounts fields the posting path needs. Cached snapshots are
+ * shared across threads; postings attach lines through a reference resolved in their own session.
+ */
+public record LedgerAccountSnapshot(Long id, String code, AccountType type, boolean active) {
+
+    public static LedgerAccountSnapshot from(LedgerAccount account) {
+        return new LedgerAccountSnapshot(account.getId(), account.getCode(), account.getType(), account.isActive());
+    }
+}
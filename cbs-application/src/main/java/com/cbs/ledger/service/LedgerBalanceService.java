@@ -0,0 +1,234 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BalanceCheckResponse;
+import com.cbs.ledger.dto.BalanceMismatch;
+import com.cbs.ledger.dto.DailyBalanceRebuildResponse;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.JournalEntry;
+import com.cbs.ledger.model.JournalEntryLine;
+import com.cbs.ledger.model.LedgerAccount;
+import com.cbs.ledger.model.LedgerAccountBalance;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.LedgerAccountBalanceRepository;
+import com.cbs.ledger.repository.LedgerAccountRepository;
+import com.cbs.ledger.repository.LedgerAccountTotals;
+import com.cbs.ledger.repository.LedgerArchivedBalanceRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class LedgerBalanceService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerBalanceService.class);
+
+    private final LedgerAccountBalanceRepository ledgerAccountBalanceRepository;
+    private final JournalEntryLineRepository journalEntryLineRepository;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+    private final LedgerArchivedBalanceRepository ledgerArchivedBalanceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LedgerBalanceService(LedgerAccountBalanceRepository ledgerAccountBalanceRepository,
+                                JournalEntryLineRepository journalEntryLineRepository,
+                                LedgerAccountRepository ledgerAccountRepository,
+                                LedgerDailyBalanceRepository ledgerDailyBalanceRepository,
+                                LedgerArchivedBalanceRepository ledgerArchivedBalanceRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.ledgerAccountBalanceRepository = ledgerAccountBalanceRepository;
+        this.journalEntryLineRepository = journalEntryLineRepository;
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.ledgerDailyBalanceRepository = ledgerDailyBalanceRepository;
+        this.ledgerArchivedBalanceRepository = ledgerArchivedBalanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public void applyEntry(JournalEntry journalEntry) {
+        applyEntries(List.of(journalEntry));
+    }
+
+    /**
+     * Adds the lines of freshly saved (and flushed) entries to the per-account balance
+     * snapshots and to the daily rollups, with one write per account and per account-day.
+     * Rows are written in code order so concurrent postings lock them consistently.
+     * A missing snapshot is seeded from the account's full line history, which already
+     * contains the new lines.
+     */
+    @Transactional
+    public void applyEntries(List<JournalEntry> journalEntries) {
+        Map<String, AccountDelta> balanceDeltas = new TreeMap<>();
+        Map<DailyKey, AccountDelta> dailyDeltas = new TreeMap<>();
+        for (JournalEntry journalEntry : journalEntries) {
+            String leadCode = null;
+            for (JournalEntryLine line : journalEntry.getLines()) {
+                String accountCode = line.getAccountCode();
+                Long accountId = line.getAccount().getId();
+                balanceDeltas.computeIfAbsent(accountCode, code -> new AccountDelta(accountId))
+                        .add(line.getEntryType(), line.getAmount());
+                dailyDeltas.computeIfAbsent(new DailyKey(accountCode, journalEntry.getValueDate()),
+                        key -> new AccountDelta(accountId))
+                        .add(line.getEntryType(), line.getAmount());
+                if (leadCode == null || accountCode.compareTo(leadCode) < 0) {
+                    leadCode = accountCode;
+                }
+            }
+            if (leadCode != null) {
+                dailyDeltas.get(new DailyKey(leadCode, journalEntry.getValueDate())).entryCount++;
+            }
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<DailyKey, AccountDelta> daily : dailyDeltas.entrySet()) {
+            AccountDelta delta = daily.getValue();
+            ledgerDailyBalanceRepository.upsertDelta(delta.accountId, daily.getKey().valueDate(),
+                    delta.debit, delta.credit, delta.entryCount, now);
+        }
+        for (AccountDelta delta : balanceDeltas.values()) {
+            Long accountId = delta.accountId;
+            if (ledgerAccountBalanceRepository.applyDelta(accountId, delta.debit, delta.credit, now) > 0) {
+                continue;
+            }
+            if (ledgerAccountBalanceRepository.insertFromLinesIfAbsent(accountId, now) == 0) {
+                ledgerAccountBalanceRepository.applyDelta(accountId, delta.debit, delta.credit, now);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LedgerAccountBalance> findBalance(Long accountId) {
+        return ledgerAccountBalanceRepository.findById(accountId);
+    }
+
+    /**
+     * Compares each stored snapshot with the sum of the account's attached lines plus the totals
+     * of months already detached into the archive schema.
+     */
+    @Transactional(readOnly = true)
+    public BalanceCheckResponse checkConsistency() {
+        Map<Long, LedgerAccountBalance> stored = ledgerAccountBalanceRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(LedgerAccountBalance::getAccountId, Function.identity()));
+        Map<Long, AccountDelta> computed = new HashMap<>();
+        addTotals(computed, journalEntryLineRepository.sumAmountsGroupedByAccount(EntryType.DEBIT, EntryType.CREDIT));
+        addTotals(computed, ledgerArchivedBalanceRepository.sumGroupedByAccount());
+
+        List<LedgerAccount> accounts = ledgerAccountRepository.findAllByOrderByCodeAsc();
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        for (LedgerAccount account : accounts) {
+            LedgerAccountBalance balance = stored.get(account.getId());
+            AccountDelta totals = computed.get(account.getId());
+            BigDecimal computedDebit = totals != null ? totals.debit : BigDecimal.ZERO;
+            BigDecimal computedCredit = totals != null ? totals.credit : BigDecimal.ZERO;
+
+            if (balance == null) {
+                if (computedDebit.signum() != 0 || computedCredit.signum() != 0) {
+                    mismatches.add(new BalanceMismatch(account.getCode(), null, null, computedDebit, computedCredit));
+                }
+            } else if (balance.getTotalDebit().compareTo(computedDebit) != 0
+                    || balance.getTotalCredit().compareTo(computedCredit) != 0) {
+                mismatches.add(new BalanceMismatch(account.getCode(), balance.getTotalDebit(),
+                        balance.getTotalCredit(), computedDebit, computedCredit));
+            }
+        }
+
+        return new BalanceCheckResponse(accounts.size(), mismatches.isEmpty(), mismatches);
+    }
+
+    private static void addTotals(Map<Long, AccountDelta> computed, List<LedgerAccountTotals> totals) {
+        for (LedgerAccountTotals total : totals) {
+            AccountDelta delta = computed.computeIfAbsent(total.getAccountId(), AccountDelta::new);
+            delta.debit = delta.debit.add(total.getTotalDebit());
+            delta.credit = delta.credit.add(total.getTotalCredit());
+        }
+    }
+
+    @Transactional
+    public BalanceCheckResponse rebuildBalances() {
+        ledgerAccountBalanceRepository.rebuildAllFromLines(Instant.now());
+        return checkConsistency();
+    }
+
+    /**
+     * Recomputes the daily rollup for a value-date range from journal lines, one date per
+     * transaction. Each date's advisory lock holds back only the postings for that date until the
+     * rebuilt rows are committed, so their deltas land on top of the rebuilt totals instead of
+     * being lost or counted twice. Dates in months already detached into the archive schema are
+     * skipped: their lines are gone, so a rebuild would only wipe the rollup rows kept for them.
+     */
+    public DailyBalanceRebuildResponse rebuildDailyBalances(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new ApiException("LEDGER_INVALID_DATE_RANGE", "fromDate must be before or equal to toDate");
+        }
+
+        Set<LocalDate> archivedMonths = Set.copyOf(ledgerArchivedBalanceRepository.findArchiveMonthsBetween(
+                fromDate.withDayOfMonth(1), toDate.withDayOfMonth(1)));
+        if (!archivedMonths.isEmpty()) {
+            LOGGER.info("Skipping archived months {} while rebuilding daily balances", archivedMonths);
+        }
+
+        int rows = 0;
+        for (LocalDate valueDate = fromDate; !valueDate.isAfter(toDate); valueDate = valueDate.plusDays(1)) {
+            if (archivedMonths.contains(valueDate.withDayOfMonth(1))) {
+                continue;
+            }
+            LocalDate date = valueDate;
+            rows += transactionTemplate.execute(status -> rebuildDate(date));
+        }
+        return new DailyBalanceRebuildResponse(fromDate, toDate, rows);
+    }
+
+    private int rebuildDate(LocalDate valueDate) {
+        ledgerDailyBalanceRepository.lockDateForRebuild(valueDate);
+        ledgerDailyBalanceRepository.deleteByValueDateBetween(valueDate, valueDate);
+        return ledgerDailyBalanceRepository.insertFromLines(valueDate, valueDate, Instant.now());
+    }
+
+    private record DailyKey(String accountCode, LocalDate valueDate) implements Comparable<DailyKey> {
+
+        @Override
+        public int compareTo(DailyKey other) {
+            int byCode = accountCode.compareTo(other.accountCode);
+            return byCode != 0 ? byCode : valueDate.compareTo(other.valueDate);
+        }
+    }
+
+    private static final class AccountDelta {
+        private final Long accountId;
+        private BigDecimal debit = BigDecimal.ZERO;
+        private BigDecimal credit = BigDecimal.ZERO;
+        private long entryCount;
+
+        private AccountDelta(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        private void add(EntryType entryType, BigDecimal amount) {
+            if (entryType == EntryType.DEBIT) {
+                debit = debit.add(amount);
+            } else {
+                credit = credit.add(amount);
+            }
+        }
+    }
+}
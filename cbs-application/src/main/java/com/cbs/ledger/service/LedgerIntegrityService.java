@@ -0,0 +1,261 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.common.lock.JobLock;
+import com.cbs.ledger.dto.LedgerVerificationFindingResponse;
+import com.cbs.ledger.dto.LedgerVerificationRunResponse;
+import com.cbs.ledger.model.LedgerVerificationFinding;
+import com.cbs.ledger.model.LedgerVerificationFindingType;
+import com.cbs.ledger.model.LedgerVerificationPartition;
+import com.cbs.ledger.model.LedgerVerificationRun;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import com.cbs.ledger.repository.InactiveAccountLine;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerVerificationFindingRepository;
+import com.cbs.ledger.repository.LedgerVerificationPartitionRepository;
+import com.cbs.ledger.repository.LedgerVerificationProgress;
+import com.cbs.ledger.repository.LedgerVerificationRunRepository;
+import com.cbs.ledger.repository.LedgerVerificationTotalRepository;
+import com.cbs.ledger.repository.RecomputedBalanceMismatch;
+import com.cbs.ledger.repository.UnbalancedEntry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ledger doctor: verifies that every journal entry balances, that no line was posted to an account
+ * after it was deactivated, and that stored balances match balances recomputed from lines.
+ *
+ * <p>The journal entry id space is split into partitions that are verified in parallel, each in its
+ * own transaction. A completed partition is a checkpoint, so a run can be spread across several
+ * invocations and resumes where the previous one stopped. Only one instance of the service runs
+ * verification at a time, guarded by a cluster-wide job lock.
+ */
+@Service
+public class LedgerIntegrityService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerIntegrityService.class);
+    private static final String JOB_LOCK = "ledger-verification";
+
+    private final LedgerVerificationRunRepository runRepository;
+    private final LedgerVerificationPartitionRepository partitionRepository;
+    private final LedgerVerificationFindingRepository findingRepository;
+    private final LedgerVerificationTotalRepository totalRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalEntryLineRepository journalEntryLineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLock jobLock;
+    private final ExecutorService executor;
+    private final long partitionSize;
+    private final int maxPartitionsPerRun;
+    private final int maxFindingsPerPartition;
+    private final long settleSeconds;
+
+    public LedgerIntegrityService(LedgerVerificationRunRepository runRepository,
+            LedgerVerificationPartitionRepository partitionRepository,
+            LedgerVerificationFindingRepository findingRepository,
+            LedgerVerificationTotalRepository totalRepository,
+            JournalEntryRepository journalEntryRepository,
+            JournalEntryLineRepository journalEntryLineRepository,
+            PlatformTransactionManager transactionManager,
+            JobLock jobLock,
+            @Value("${cbs.ledger.doctor.parallelism:4}") int parallelism,
+            @Value("${cbs.ledger.doctor.partition-size:50000}") long partitionSize,
+            @Value("${cbs.ledger.doctor.max-partitions-per-run:500}") int maxPartitionsPerRun,
+            @Value("${cbs.ledger.doctor.max-findings-per-partition:100}") int maxFindingsPerPartition,
+            @Value("${cbs.ledger.doctor.settle-seconds:300}") long settleSeconds) {
+        this.runRepository = runRepository;
+        this.partitionRepository = partitionRepository;
+        this.findingRepository = findingRepository;
+        this.totalRepository = totalRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.journalEntryLineRepository = journalEntryLineRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobLock = jobLock;
+        this.partitionSize = partitionSize;
+        this.maxPartitionsPerRun = maxPartitionsPerRun;
+        this.maxFindingsPerPartition = maxFindingsPerPartition;
+        this.settleSeconds = settleSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ledger-doctor-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Resumes the open run, or starts a new one, and verifies up to the configured number of
+     * pending partitions. The run is completed once its last partition has been verified.
+     */
+    public LedgerVerificationRunResponse runVerification() {
+        JobLock.Handle lock = jobLock.tryLock(JOB_LOCK)
+                .orElseThrow(() -> new ApiException("LEDGER_VERIFICATION_IN_PROGRESS",
+                        "A ledger verification is already running", HttpStatus.CONFLICT));
+        try (lock) {
+            LedgerVerificationRun run = transactionTemplate.execute(status -> resumeOrStartRun());
+            List<LedgerVerificationPartition> pending = partitionRepository
+                    .findByRunIdAndCompletedFalseOrderByFromEntryIdAsc(run.getId(),
+                            PageRequest.of(0, maxPartitionsPerRun));
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (LedgerVerificationPartition partition : pending) {
+                futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(
+                        status -> verifyPartition(run, partition.getId()))));
+            }
+            int failed = awaitPartitions(futures);
+            if (failed > 0) {
+                LOGGER.warn("{} ledger verification partitions of run {} failed and will be retried", failed,
+                        run.getId());
+            }
+
+            return transactionTemplate.execute(status -> updateRun(run.getId()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerVerificationRunResponse getLatestRun() {
+        return runRepository.findFirstByOrderByIdDesc()
+                .map(LedgerVerificationRunResponse::fromEntity)
+                .orElseThrow(() -> new ApiException("LEDGER_VERIFICATION_NOT_FOUND",
+                        "No ledger verification has been run", HttpStatus.NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerVerificationFindingResponse> getFindings(Long runId, int limit) {
+        return findingRepository.findByRunIdOrderByIdAsc(runId, PageRequest.of(0, limit))
+                .stream()
+                .map(LedgerVerificationFindingResponse::fromEntity)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LedgerVerificationRun resumeOrStartRun() {
+        return runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING)
+                .orElseGet(this::startRun);
+    }
+
+    private LedgerVerificationRun startRun() {
+        // Entries younger than the settle window may still be in flight; they go to the balance check only.
+        Instant cutoff = Instant.now().minusSeconds(settleSeconds);
+        Long minId = journalEntryRepository.findMinId();
+        Long maxId = journalEntryRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return runRepository.save(new LedgerVerificationRun(cutoff, 0L, 0));
+        }
+
+        int totalPartitions = Math.toIntExact((maxId - minId) / partitionSize + 1);
+        LedgerVerificationRun run = runRepository.save(new LedgerVerificationRun(cutoff, maxId, totalPartitions));
+        List<LedgerVerificationPartition> partitions = new ArrayList<>(totalPartitions);
+        for (long fromId = minId; fromId <= maxId; fromId += partitionSize) {
+            partitions.add(new LedgerVerificationPartition(run.getId(), fromId,
+                    Math.min(fromId + partitionSize - 1, maxId)));
+        }
+        partitionRepository.saveAll(partitions);
+        LOGGER.info("Started ledger verification run {} over entry ids {}..{} in {} partitions", run.getId(),
+                minId, maxId, totalPartitions);
+        return run;
+    }
+
+    private void verifyPartition(LedgerVerificationRun run, Long partitionId) {
+        LedgerVerificationPartition partition = partitionRepository.findByIdForUpdate(partitionId)
+                .orElseThrow(() -> new IllegalStateException("Partition not found: " + partitionId));
+        if (partition.isCompleted()) {
+            return;
+        }
+
+        long fromId = partition.getFromEntryId();
+        long toId = partition.getToEntryId();
+        List<UnbalancedEntry> unbalanced = journalEntryLineRepository
+                .findUnbalancedEntries(fromId, toId, run.getCutoff());
+        List<InactiveAccountLine> inactive = journalEntryLineRepository
+                .findLinesOnInactiveAccounts(fromId, toId, run.getCutoff());
+        totalRepository.accumulateFromLines(run.getId(), fromId, toId, run.getCutoff());
+
+        List<LedgerVerificationFinding> findings = new ArrayList<>();
+        unbalanced.stream().limit(maxFindingsPerPartition).forEach(entry -> findings.add(
+                new LedgerVerificationFinding(run.getId(), LedgerVerificationFindingType.UNBALANCED_ENTRY,
+                        entry.getJournalEntryId(), null,
+                        "Debit " + entry.getTotalDebit() + " does not equal credit " + entry.getTotalCredit())));
+        inactive.stream().limit(maxFindingsPerPartition).forEach(line -> findings.add(
+                new LedgerVerificationFinding(run.getId(), LedgerVerificationFindingType.INACTIVE_ACCOUNT,
+                        line.getJournalEntryId(), line.getAccountCode(),
+                        "Line posted after the account was deactivated")));
+        findingRepository.saveAll(findings);
+
+        partition.complete(unbalanced.size(), inactive.size());
+        partitionRepository.save(partition);
+    }
+
+    private LedgerVerificationRunResponse updateRun(Long runId) {
+        LedgerVerificationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Verification run not found: " + runId));
+        LedgerVerificationProgress progress = partitionRepository.summarizeCompleted(runId);
+        run.updateProgress(Math.toIntExact(progress.getCompletedPartitions()), progress.getUnbalancedEntries(),
+                progress.getInactiveAccountLines());
+
+        if (run.getStatus() == LedgerVerificationStatus.RUNNING
+                && run.getCompletedPartitions() == run.getTotalPartitions()) {
+            List<RecomputedBalanceMismatch> mismatches = totalRepository
+                    .findBalanceMismatches(runId, run.getUpperEntryId(), run.getCutoff());
+            findingRepository.saveAll(mismatches.stream()
+                    .map(mismatch -> new LedgerVerificationFinding(runId,
+                            LedgerVerificationFindingType.BALANCE_MISMATCH, null, mismatch.getAccountCode(),
+                            "Stored " + mismatch.getStoredDebit() + "/" + mismatch.getStoredCredit()
+                                    + " but recomputed " + mismatch.getComputedDebit() + "/"
+                                    + mismatch.getComputedCredit()))
+                    .toList());
+            totalRepository.deleteByRunId(runId);
+            run.complete(mismatches.size());
+            LOGGER.info("Completed ledger verification run {}: {} unbalanced entries, {} inactive account lines, "
+                    + "{} balance mismatches", runId, run.getUnbalancedEntries(), run.getInactiveAccountLines(),
+                    mismatches.size());
+        }
+        return LedgerVerificationRunResponse.fromEntity(runRepository.save(run));
+    }
+
+    private int awaitPartitions(List<Future<?>> futures) {
+        int failed = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException exception) {
+                failed++;
+                LOGGER.error("Ledger verification partition failed", exception.getCause());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for ledger verification", exception);
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,122 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Posting latency, line-count and rejection meters. Postings are tagged by operation (the
+ * {@code LedgerOperationType} for policy entries, {@code MANUAL} or {@code BATCH} otherwise) and by
+ * outcome ({@code success}, the {@link ApiException} error code, or {@code error}).
+ */
+@Component
+public class LedgerPostingMetrics {
+
+    static final String MANUAL_OPERATION = "MANUAL";
+    static final String BATCH_OPERATION = "BATCH";
+    static final String REVERSAL_OPERATION = "REVERSAL";
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    public enum Phase {
+        REFERENCE_CHECK("reference_check"),
+        ACCOUNT_RESOLUTION("account_resolution"),
+        INSERT("insert"),
+        BALANCE_UPDATE("balance_update");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<String, Timer> postingTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> lineSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    public LedgerPostingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("ledger.posting.phase")
+                    .description("Time spent in each step of posting a journal entry")
+                    .tag("phase", phase.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        // Register the business rejections up front so dashboards see them at zero.
+        rejectionCounter("LEDGER_UNBALANCED_ENTRY");
+        rejectionCounter("LEDGER_REFERENCE_EXISTS");
+    }
+
+    /**
+     * Times a posting and records its line count and outcome. Rejections are rethrown unchanged.
+     */
+    public <T> T recordPosting(String operation, int lineCount, Supplier<T> posting) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = posting.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (ApiException exception) {
+            outcome = exception.getErrorCode();
+            rejectionCounter(outcome).increment();
+            throw exception;
+        } finally {
+            postingTimer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lineSummary(operation).record(lineCount);
+        }
+    }
+
+    public <T> T recordPhase(Phase phase, Supplier<T> step) {
+        return phaseTimers.get(phase).record(step);
+    }
+
+    public void recordPhase(Phase phase, Runnable step) {
+        phaseTimers.get(phase).record(step);
+    }
+
+    /**
+     * Counts an entry rejected inside a batch, where the batch itself still succeeds.
+     */
+    public void recordRejection(String errorCode) {
+        rejectionCounter(errorCode).increment();
+    }
+
+    private Timer postingTimer(String operation, String outcome) {
+        return postingTimers.computeIfAbsent(operation + '|' + outcome, key -> Timer.builder("ledger.posting")
+                .description("Journal entry posting latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary lineSummary(String operation) {
+        return lineSummaries.computeIfAbsent(operation, key -> DistributionSummary.builder("ledger.posting.lines")
+                .description("Journal lines per posting call")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter rejectionCounter(String errorCode) {
+        return rejectionCounters.computeIfAbsent(errorCode, key -> Counter.builder("ledger.posting.rejections")
+                .description("Journal entries rejected by posting rules")
+                .tag("reason", errorCode)
+                .register(meterRegistry));
+    }
+}
@@ -1,15 +1,17 @@
 package com.cbs.ledger.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BatchEntryResult;
+import com.cbs.ledger.dto.BatchPostingResponse;
 import com.cbs.ledger.dto.JournalLineRequest;
 import com.cbs.ledger.dto.PostJournalEntryRequest;
 import com.cbs.ledger.dto.PostPolicyEntryRequest;
 import com.cbs.ledger.dto.PostJournalEntryResponse;
+import com.cbs.ledger.dto.ReverseJournalEntryRequest;
+import com.cbs.ledger.journal.JournalSegmentStore;
 import com.cbs.ledger.model.EntryType;
 import com.cbs.ledger.model.JournalEntry;
 import com.cbs.ledger.model.JournalEntryLine;
-import com.cbs.ledger.model.LedgerOperationType;
-import com.cbs.ledger.model.LedgerAccount;
 import com.cbs.ledger.repository.JournalEntryRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -17,107 +19,357 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class LedgerPostingService {
 
-    private static final String PAYMENT_CLEARING_ACCOUNT = "PAYMENT-CLEARING";
-    private static final String CASH_SETTLEMENT_ACCOUNT = "CASH-SETTLEMENT";
-    private static final String FEE_INCOME_ACCOUNT = "FEE-INCOME";
-    private static final String INTEREST_EXPENSE_ACCOUNT = "INTEREST-EXPENSE";
+    private static final int REFERENCE_LOOKUP_CHUNK_SIZE = 1000;
 
     private final JournalEntryRepository journalEntryRepository;
     private final LedgerAccountService ledgerAccountService;
+    private final LedgerBalanceService ledgerBalanceService;
+    private final JournalSegmentStore journalSegmentStore;
+    private final PostingTemplateRegistry postingTemplateRegistry;
+    private final LedgerPostingMetrics postingMetrics;
 
     public LedgerPostingService(JournalEntryRepository journalEntryRepository,
-            LedgerAccountService ledgerAccountService) {
+            LedgerAccountService ledgerAccountService,
+            LedgerBalanceService ledgerBalanceService,
+            JournalSegmentStore journalSegmentStore,
+            PostingTemplateRegistry postingTemplateRegistry,
+            LedgerPostingMetrics postingMetrics) {
         this.journalEntryRepository = journalEntryRepository;
         this.ledgerAccountService = ledgerAccountService;
+        this.ledgerBalanceService = ledgerBalanceService;
+        this.journalSegmentStore = journalSegmentStore;
+        this.postingTemplateRegistry = postingTemplateRegistry;
+        this.postingMetrics = postingMetrics;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public PostJournalEntryResponse postEntry(PostJournalEntryRequest request) {
-        String reference = request.reference().trim();
-        if (journalEntryRepository.existsByReference(reference)) {
-            throw new ApiException("LEDGER_REFERENCE_EXISTS", "Reference already posted: " + reference);
+        return postingMetrics.recordPosting(LedgerPostingMetrics.MANUAL_OPERATION, request.lines().size(), () -> {
+            String reference = request.reference().trim();
+            checkReferenceNotPosted(reference);
+            PreparedEntry prepared = postingMetrics.recordPhase(LedgerPostingMetrics.Phase.ACCOUNT_RESOLUTION,
+                    () -> prepareEntry(0, request, reference, ledgerAccountService::getActiveAccountByCode));
+            return persist(prepared);
+        });
+    }
+
+    /**
+     * Posts a batch of entries in a single transaction. References and account codes are
+     * resolved with one query each, and entries failing validation are reported without
+     * affecting the rest of the batch.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BatchPostingResponse postEntries(List<PostJournalEntryRequest> requests) {
+        int lineCount = requests.stream().mapToInt(request -> request.lines().size()).sum();
+        return postingMetrics.recordPosting(LedgerPostingMetrics.BATCH_OPERATION, lineCount,
+                () -> postBatch(requests));
+    }
+
+    /**
+     * Posts a policy entry from the compiled template of its operation type.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public PostJournalEntryResponse postPolicyEntry(PostPolicyEntryRequest request) {
+        PostingTemplate template = postingTemplateRegistry.get(request.operationType());
+        return postingMetrics.recordPosting(request.operationType().name(), template.lineCount(), () -> {
+            String[] accountCodes = template.resolveAccountCodes(request.accountCode().trim().toUpperCase(),
+                    normalizeCounterpartyCode(request.counterpartyAccountCode()));
+            String reference = request.reference().trim();
+            checkReferenceNotPosted(reference);
+
+            JournalEntry journalEntry = new JournalEntry(reference, request.description().trim(),
+                    request.valueDate());
+            BigDecimal amount = request.amount().setScale(4, RoundingMode.HALF_UP);
+            postingMetrics.recordPhase(LedgerPostingMetrics.Phase.ACCOUNT_RESOLUTION, () -> {
+                for (int line = 0; line < template.lineCount(); line++) {
+                    LedgerAccountSnapshot account = ledgerAccountService.getActiveAccountByCode(accountCodes[line]);
+                    journalEntry.addLine(new JournalEntryLine(ledgerAccountService.getReference(account),
+                            account.code(), template.entryType(line), amount));
+                }
+            });
+            BigDecimal total = template.total(amount);
+            return persist(new PreparedEntry(0, journalEntry, total, total));
+        });
+    }
+
+    /**
+     * Whether the entry posted under the request's reference is the one the request describes: the
+     * same value date and the same lines, with the same accounts, sides and amounts. References are
+     * shared by every module, so a retry uses this to tell its own earlier entry from another one.
+     */
+    @Transactional(readOnly = true)
+    public boolean matchesPostedEntry(PostPolicyEntryRequest request) {
+        PostJournalEntryRequest expected = expandPolicyEntry(request);
+        List<String> expectedLines = expected.lines().stream()
+                .map(line -> lineKey(line.accountCode(), line.entryType(), line.amount()))
+                .sorted()
+                .toList();
+        return journalEntryRepository.findWithLinesByReferenceIn(List.of(expected.reference().trim())).stream()
+                .findFirst()
+                .filter(entry -> entry.getValueDate().equals(expected.valueDate()))
+                .map(entry -> entry.getLines().stream()
+                        .map(line -> lineKey(line.getAccountCode(), line.getEntryType(), line.getAmount()))
+                        .sorted()
+                        .toList())
+                .filter(expectedLines::equals)
+                .isPresent();
+    }
+
+    /**
+     * Posts the mirror of an already posted entry: the same accounts and amounts with debit and
+     * credit swapped, so the original's effect on every balance is cancelled.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public PostJournalEntryResponse postReversal(ReverseJournalEntryRequest request) {
+        JournalEntry original = findOriginalEntries(List.of(request)).get(request.originalReference().trim());
+        if (original == null) {
+            throw new ApiException("LEDGER_ENTRY_NOT_FOUND",
+                    "Journal entry not found: " + request.originalReference().trim());
+        }
+        PostJournalEntryRequest mirror = mirrorRequest(original, request);
+        return postingMetrics.recordPosting(LedgerPostingMetrics.REVERSAL_OPERATION, mirror.lines().size(), () -> {
+            String reference = mirror.reference().trim();
+            checkReferenceNotPosted(reference);
+            PreparedEntry prepared = postingMetrics.recordPhase(LedgerPostingMetrics.Phase.ACCOUNT_RESOLUTION,
+                    () -> prepareEntry(0, mirror, reference, ledgerAccountService::getActiveAccountByCode));
+            return persist(prepared);
+        });
+    }
+
+    /**
+     * Posts reversals for many entries in a single transaction, loading the originals with one
+     * query per chunk of references. Results are reported per request, in request order.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BatchPostingResponse postReversals(List<ReverseJournalEntryRequest> requests) {
+        Map<String, JournalEntry> originals = findOriginalEntries(requests);
+        List<PostJournalEntryRequest> mirrors = new ArrayList<>(requests.size());
+        List<Integer> mirrorIndexes = new ArrayList<>(requests.size());
+        BatchEntryResult[] results = new BatchEntryResult[requests.size()];
+        for (int index = 0; index < requests.size(); index++) {
+            ReverseJournalEntryRequest request = requests.get(index);
+            JournalEntry original = originals.get(request.originalReference().trim());
+            if (original == null) {
+                postingMetrics.recordRejection("LEDGER_ENTRY_NOT_FOUND");
+                results[index] = BatchEntryResult.failed(index, request.reference().trim(), "LEDGER_ENTRY_NOT_FOUND",
+                        "Journal entry not found: " + request.originalReference().trim());
+                continue;
+            }
+            mirrors.add(mirrorRequest(original, request));
+            mirrorIndexes.add(index);
+        }
+
+        int lineCount = mirrors.stream().mapToInt(mirror -> mirror.lines().size()).sum();
+        BatchPostingResponse posted = postingMetrics.recordPosting(LedgerPostingMetrics.REVERSAL_OPERATION,
+                lineCount, () -> postBatch(mirrors));
+        return mergeResults(results, mirrorIndexes, posted);
+    }
+
+    /**
+     * Posts many policy entries in a single transaction through the batch path, so references and
+     * account codes are resolved with one query each. Results are reported per request, in request
+     * order.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BatchPostingResponse postPolicyEntries(List<PostPolicyEntryRequest> requests) {
+        List<PostJournalEntryRequest> entries = new ArrayList<>(requests.size());
+        List<Integer> entryIndexes = new ArrayList<>(requests.size());
+        BatchEntryResult[] results = new BatchEntryResult[requests.size()];
+        for (int index = 0; index < requests.size(); index++) {
+            PostPolicyEntryRequest request = requests.get(index);
+            try {
+                entries.add(expandPolicyEntry(request));
+                entryIndexes.add(index);
+            } catch (ApiException exception) {
+                postingMetrics.recordRejection(exception.getErrorCode());
+                results[index] = BatchEntryResult.failed(index, request.reference().trim(), exception.getErrorCode(),
+                        exception.getMessage());
+            }
+        }
+
+        int lineCount = entries.stream().mapToInt(entry -> entry.lines().size()).sum();
+        BatchPostingResponse posted = postingMetrics.recordPosting(LedgerPostingMetrics.BATCH_OPERATION,
+                lineCount, () -> postBatch(entries));
+        return mergeResults(results, entryIndexes, posted);
+    }
+
+    private BatchPostingResponse mergeResults(BatchEntryResult[] results, List<Integer> requestIndexes,
+            BatchPostingResponse posted) {
+        for (BatchEntryResult result : posted.results()) {
+            int index = requestIndexes.get(result.index());
+            results[index] = new BatchEntryResult(index, result.reference(), result.posted(), result.entryId(),
+                    result.totalDebit(), result.totalCredit(), result.errorCode(), result.message());
         }
+        return new BatchPostingResponse(results.length, posted.posted(), results.length - posted.posted(),
+                List.of(results));
+    }
+
+    private static String lineKey(String accountCode, EntryType entryType, BigDecimal amount) {
+        return accountCode.trim().toUpperCase() + ":" + entryType + ":"
+                + amount.setScale(4, RoundingMode.HALF_UP).toPlainString();
+    }
 
+    private PostJournalEntryRequest expandPolicyEntry(PostPolicyEntryRequest request) {
+        PostingTemplate template = postingTemplateRegistry.get(request.operationType());
+        String[] accountCodes = template.resolveAccountCodes(request.accountCode().trim().toUpperCase(),
+                normalizeCounterpartyCode(request.counterpartyAccountCode()));
+        List<JournalLineRequest> lines = new ArrayList<>(template.lineCount());
+        for (int line = 0; line < template.lineCount(); line++) {
+            lines.add(new JournalLineRequest(accountCodes[line], template.entryType(line), request.amount()));
+        }
+        return new PostJournalEntryRequest(request.reference(), request.description(), request.valueDate(), lines);
+    }
+
+    private BatchPostingResponse postBatch(List<PostJournalEntryRequest> requests) {
+        Set<String> existingReferences = postingMetrics.recordPhase(LedgerPostingMetrics.Phase.REFERENCE_CHECK,
+                () -> findExistingReferences(requests));
+        Map<String, LedgerAccountSnapshot> accounts = postingMetrics.recordPhase(
+                LedgerPostingMetrics.Phase.ACCOUNT_RESOLUTION,
+                () -> ledgerAccountService.getAccountsByCodes(requests.stream()
+                        .flatMap(request -> request.lines().stream())
+                        .map(JournalLineRequest::accountCode)
+                        .toList()));
+
+        Set<String> batchReferences = new HashSet<>();
+        List<PreparedEntry> preparedEntries = new ArrayList<>();
+        BatchEntryResult[] results = new BatchEntryResult[requests.size()];
+        for (int index = 0; index < requests.size(); index++) {
+            PostJournalEntryRequest request = requests.get(index);
+            String reference = request.reference().trim();
+            try {
+                if (!batchReferences.add(reference) || existingReferences.contains(reference)) {
+                    throw new ApiException("LEDGER_REFERENCE_EXISTS", "Reference already posted: " + reference);
+                }
+                preparedEntries.add(prepareEntry(index, request, reference,
+                        accountCode -> resolveActiveAccount(accounts, accountCode)));
+            } catch (ApiException exception) {
+                postingMetrics.recordRejection(exception.getErrorCode());
+                results[index] = BatchEntryResult.failed(index, reference, exception.getErrorCode(),
+                        exception.getMessage());
+            }
+        }
+
+        List<JournalEntry> journalEntries = preparedEntries.stream().map(PreparedEntry::journalEntry).toList();
+        postingMetrics.recordPhase(LedgerPostingMetrics.Phase.INSERT, () -> {
+            journalEntryRepository.saveAll(journalEntries);
+            journalEntryRepository.flush();
+        });
+        postingMetrics.recordPhase(LedgerPostingMetrics.Phase.BALANCE_UPDATE,
+                () -> ledgerBalanceService.applyEntries(journalEntries));
+        journalSegmentStore.appendAfterCommit(journalEntries);
+
+        for (PreparedEntry prepared : preparedEntries) {
+            results[prepared.index()] = BatchEntryResult.posted(prepared.index(), prepared.toResponse());
+        }
+        return new BatchPostingResponse(requests.size(), preparedEntries.size(),
+                requests.size() - preparedEntries.size(), List.of(results));
+    }
+
+    private PreparedEntry prepareEntry(int index, PostJournalEntryRequest request, String reference,
+            Function<String, LedgerAccountSnapshot> accountResolver) {
         JournalEntry journalEntry = new JournalEntry(reference, request.description().trim(), request.valueDate());
         BigDecimal totalDebit = BigDecimal.ZERO;
         BigDecimal totalCredit = BigDecimal.ZERO;
 
         for (JournalLineRequest lineRequest : request.lines()) {
-            LedgerAccount account = ledgerAccountService.getActiveAccountByCode(lineRequest.accountCode());
+            LedgerAccountSnapshot account = accountResolver.apply(lineRequest.accountCode());
             BigDecimal amount = lineRequest.amount().setScale(4, RoundingMode.HALF_UP);
             if (lineRequest.entryType() == EntryType.DEBIT) {
                 totalDebit = totalDebit.add(amount);
             } else {
                 totalCredit = totalCredit.add(amount);
             }
-            journalEntry.addLine(new JournalEntryLine(account, lineRequest.entryType(), amount));
+            journalEntry.addLine(new JournalEntryLine(ledgerAccountService.getReference(account), account.code(),
+                    lineRequest.entryType(), amount));
         }
 
         if (totalDebit.compareTo(totalCredit) != 0) {
             throw new ApiException("LEDGER_UNBALANCED_ENTRY", "Debit and credit totals must be equal");
         }
+        return new PreparedEntry(index, journalEntry, totalDebit, totalCredit);
+    }
 
-        JournalEntry savedEntry = journalEntryRepository.save(journalEntry);
-        return new PostJournalEntryResponse(savedEntry.getId(), savedEntry.getReference(), totalDebit, totalCredit);
+    private void checkReferenceNotPosted(String reference) {
+        boolean exists = postingMetrics.recordPhase(LedgerPostingMetrics.Phase.REFERENCE_CHECK,
+                () -> journalEntryRepository.existsByReference(reference));
+        if (exists) {
+            throw new ApiException("LEDGER_REFERENCE_EXISTS", "Reference already posted: " + reference);
+        }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public PostJournalEntryResponse postPolicyEntry(PostPolicyEntryRequest request) {
-        String accountCode = request.accountCode().trim().toUpperCase();
-        String counterpartyCode = normalizeCounterpartyCode(request.counterpartyAccountCode());
-        LedgerOperationType operationType = request.operationType();
-
-        return switch (operationType) {
-            case PAYMENT -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(accountCode, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(resolveOrDefault(counterpartyCode, PAYMENT_CLEARING_ACCOUNT),
-                                    EntryType.CREDIT, request.amount()))));
-            case TRANSFER -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(accountCode, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(requireCounterparty(counterpartyCode, operationType),
-                                    EntryType.CREDIT, request.amount()))));
-            case DEPOSIT -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(accountCode, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(CASH_SETTLEMENT_ACCOUNT, EntryType.CREDIT, request.amount()))));
-            case WITHDRAWAL -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(CASH_SETTLEMENT_ACCOUNT, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(accountCode, EntryType.CREDIT, request.amount()))));
-            case FEE -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(accountCode, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(FEE_INCOME_ACCOUNT, EntryType.CREDIT, request.amount()))));
-            case INTEREST -> postEntry(new PostJournalEntryRequest(
-                    request.reference(),
-                    request.description(),
-                    request.valueDate(),
-                    List.of(
-                            new JournalLineRequest(INTEREST_EXPENSE_ACCOUNT, EntryType.DEBIT, request.amount()),
-                            new JournalLineRequest(accountCode, EntryType.CREDIT, request.amount()))));
-        };
+    private PostJournalEntryResponse persist(PreparedEntry prepared) {
+        JournalEntry savedEntry = postingMetrics.recordPhase(LedgerPostingMetrics.Phase.INSERT, () -> {
+            JournalEntry saved = journalEntryRepository.save(prepared.journalEntry());
+            journalEntryRepository.flush();
+            return saved;
+        });
+        postingMetrics.recordPhase(LedgerPostingMetrics.Phase.BALANCE_UPDATE,
+                () -> ledgerBalanceService.applyEntry(savedEntry));
+        journalSegmentStore.appendAfterCommit(List.of(savedEntry));
+        return new PostJournalEntryResponse(savedEntry.getId(), savedEntry.getReference(),
+                prepared.totalDebit(), prepared.totalCredit());
+    }
+
+    private Map<String, JournalEntry> findOriginalEntries(List<ReverseJournalEntryRequest> requests) {
+        List<String> references = requests.stream()
+                .map(request -> request.originalReference().trim())
+                .distinct()
+                .toList();
+        Map<String, JournalEntry> originals = new HashMap<>();
+        postingMetrics.recordPhase(LedgerPostingMetrics.Phase.REFERENCE_CHECK, () -> {
+            for (int from = 0; from < references.size(); from += REFERENCE_LOOKUP_CHUNK_SIZE) {
+                int to = Math.min(from + REFERENCE_LOOKUP_CHUNK_SIZE, references.size());
+                journalEntryRepository.findWithLinesByReferenceIn(references.subList(from, to))
+                        .forEach(entry -> originals.put(entry.getReference(), entry));
+            }
+        });
+        return originals;
+    }
+
+    private PostJournalEntryRequest mirrorRequest(JournalEntry original, ReverseJournalEntryRequest request) {
+        List<JournalLineRequest> lines = original.getLines().stream()
+                .map(line -> new JournalLineRequest(line.getAccountCode(),
+                        line.getEntryType() == EntryType.DEBIT ? EntryType.CREDIT : EntryType.DEBIT,
+                        line.getAmount()))
+                .toList();
+        return new PostJournalEntryRequest(request.reference(), request.description(), request.valueDate(), lines);
+    }
+
+    private Set<String> findExistingReferences(List<PostJournalEntryRequest> requests) {
+        List<String> references = requests.stream()
+                .map(request -> request.reference().trim())
+                .distinct()
+                .toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < references.size(); from += REFERENCE_LOOKUP_CHUNK_SIZE) {
+            int to = Math.min(from + REFERENCE_LOOKUP_CHUNK_SIZE, references.size());
+            existing.addAll(journalEntryRepository.findExistingReferences(references.subList(from, to)));
+        }
+        return existing;
+    }
+
+    private LedgerAccountSnapshot resolveActiveAccount(Map<String, LedgerAccountSnapshot> accounts,
+            String accountCode) {
+        String code = accountCode.trim().toUpperCase();
+        LedgerAccountSnapshot account = accounts.get(code);
+        if (account == null) {
+            throw new ApiException("LEDGER_ACCOUNT_NOT_FOUND", "Account not found: " + code);
+        }
+        if (!account.active()) {
+            throw new ApiException("LEDGER_ACCOUNT_INACTIVE", "Account is inactive: " + account.code());
+        }
+        return account;
     }
 
     private String normalizeCounterpartyCode(String counterpartyAccountCode) {
@@ -127,16 +379,11 @@ public class LedgerPostingService {
         return counterpartyAccountCode.trim().toUpperCase();
     }
 
-    private String requireCounterparty(String counterpartyCode, LedgerOperationType operationType) {
-        if (counterpartyCode == null) {
-            throw new ApiException(
-                    "LEDGER_POLICY_COUNTERPARTY_REQUIRED",
-                    "Counterparty account code is required for operation type: " + operationType);
-        }
-        return counterpartyCode;
-    }
+    private record PreparedEntry(int index, JournalEntry journalEntry, BigDecimal totalDebit, BigDecimal totalCredit) {
 
-    private String resolveOrDefault(String accountCode, String defaultAccountCode) {
-        return accountCode != null ? accountCode : defaultAccountCode;
+        private PostJournalEntryResponse toResponse() {
+            return new PostJournalEntryResponse(journalEntry.getId(), journalEntry.getReference(),
+                    totalDebit, totalCredit);
+        }
     }
 }
@@ -4,9 +4,9 @@ import com.cbs.common.exception.ApiException;
 import com.cbs.ledger.dto.BalanceResponse;
 import com.cbs.ledger.dto.ReconciliationResponse;
 import com.cbs.ledger.model.EntryType;
-import com.cbs.ledger.model.LedgerAccount;
 import com.cbs.ledger.repository.JournalEntryLineRepository;
-import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
+import com.cbs.ledger.repository.LedgerDailyTotals;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,24 +18,26 @@ public class LedgerQueryService {
 
     private final LedgerAccountService ledgerAccountService;
     private final JournalEntryLineRepository journalEntryLineRepository;
-    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+    private final LedgerBalanceService ledgerBalanceService;
 
     public LedgerQueryService(LedgerAccountService ledgerAccountService,
                               JournalEntryLineRepository journalEntryLineRepository,
-                              JournalEntryRepository journalEntryRepository) {
+                              LedgerDailyBalanceRepository ledgerDailyBalanceRepository,
+                              LedgerBalanceService ledgerBalanceService) {
         this.ledgerAccountService = ledgerAccountService;
         this.journalEntryLineRepository = journalEntryLineRepository;
-        this.journalEntryRepository = journalEntryRepository;
+        this.ledgerDailyBalanceRepository = ledgerDailyBalanceRepository;
+        this.ledgerBalanceService = ledgerBalanceService;
     }
 
     @Transactional(readOnly = true)
     public BalanceResponse getGlBalance(String accountCode) {
-        LedgerAccount account = ledgerAccountService.getAccountByCode(accountCode);
-        BigDecimal totalDebit = journalEntryLineRepository
-                .sumAmountByAccountCodeAndEntryType(account.getCode(), EntryType.DEBIT);
-        BigDecimal totalCredit = journalEntryLineRepository
-                .sumAmountByAccountCodeAndEntryType(account.getCode(), EntryType.CREDIT);
-        return new BalanceResponse(account.getCode(), totalDebit, totalCredit, totalDebit.subtract(totalCredit));
+        LedgerAccountSnapshot account = ledgerAccountService.getAccountByCode(accountCode);
+        return ledgerBalanceService.findBalance(account.id())
+                .map(balance -> new BalanceResponse(account.code(), balance.getTotalDebit(),
+                        balance.getTotalCredit(), balance.getBalance()))
+                .orElseGet(() -> sumBalanceFromLines(account));
     }
 
     @Transactional(readOnly = true)
@@ -44,11 +46,9 @@ public class LedgerQueryService {
             throw new ApiException("LEDGER_INVALID_DATE_RANGE", "fromDate must be before or equal to toDate");
         }
 
-        BigDecimal totalDebit = journalEntryLineRepository
-                .sumAmountByEntryTypeAndDateRange(EntryType.DEBIT, fromDate, toDate);
-        BigDecimal totalCredit = journalEntryLineRepository
-                .sumAmountByEntryTypeAndDateRange(EntryType.CREDIT, fromDate, toDate);
-        long entryCount = journalEntryRepository.countByValueDateBetween(fromDate, toDate);
+        LedgerDailyTotals totals = ledgerDailyBalanceRepository.sumByValueDateBetween(fromDate, toDate);
+        BigDecimal totalDebit = totals.getTotalDebit();
+        BigDecimal totalCredit = totals.getTotalCredit();
 
         return new ReconciliationResponse(
                 fromDate,
@@ -56,7 +56,15 @@ public class LedgerQueryService {
                 totalDebit,
                 totalCredit,
                 totalDebit.compareTo(totalCredit) == 0,
-                entryCount
+                totals.getEntryCount()
         );
     }
+
+    private BalanceResponse sumBalanceFromLines(LedgerAccountSnapshot account) {
+        BigDecimal totalDebit = journalEntryLineRepository
+                .sumAmountByAccountCodeAndEntryType(account.code(), EntryType.DEBIT);
+        BigDecimal totalCredit = journalEntryLineRepository
+                .sumAmountByAccountCodeAndEntryType(account.code(), EntryType.CREDIT);
+        return new BalanceResponse(account.code(), totalDebit, totalCredit, totalDebit.subtract(totalCredit));
+    }
 }
@@ -0,0 +1,74 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.ledger.model.PostingAccountSource;
+
+import java.math.BigDecimal;
+
+/**
+ * Compiled posting template: fixed account codes are normalized once and the template is known to
+ * balance, so applying it only resolves the request-specific codes.
+ */
+final class PostingTemplate {
+
+    private final LedgerOperationType operationType;
+    private final EntryType[] entryTypes;
+    private final PostingAccountSource[] sources;
+    private final String[] accountCodes;
+    private final BigDecimal debitLineCount;
+
+    PostingTemplate(LedgerOperationType operationType, EntryType[] entryTypes, PostingAccountSource[] sources,
+            String[] accountCodes, int debitLineCount) {
+        this.operationType = operationType;
+        this.entryTypes = entryTypes;
+        this.sources = sources;
+        this.accountCodes = accountCodes;
+        this.debitLineCount = BigDecimal.valueOf(debitLineCount);
+    }
+
+    LedgerOperationType operationType() {
+        return operationType;
+    }
+
+    int lineCount() {
+        return entryTypes.length;
+    }
+
+    EntryType entryType(int line) {
+        return entryTypes[line];
+    }
+
+    /**
+     * Returns the account code of every line for the given normalized request codes.
+     */
+    String[] resolveAccountCodes(String accountCode, String counterpartyCode) {
+        String[] resolved = new String[accountCodes.length];
+        for (int line = 0; line < resolved.length; line++) {
+            resolved[line] = switch (sources[line]) {
+                case REQUEST -> accountCode;
+                case FIXED -> accountCodes[line];
+                case COUNTERPARTY -> {
+                    if (counterpartyCode != null) {
+                        yield counterpartyCode;
+                    }
+                    if (accountCodes[line] == null) {
+                        throw new ApiException(
+                                "LEDGER_POLICY_COUNTERPARTY_REQUIRED",
+                                "Counterparty account code is required for operation type: " + operationType);
+                    }
+                    yield accountCodes[line];
+                }
+            };
+        }
+        return resolved;
+    }
+
+    /**
+     * Debit (and credit) total of an entry posting {@code amount} on every line.
+     */
+    BigDecimal total(BigDecimal amount) {
+        return amount.multiply(debitLineCount);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.config.PostingTemplateProperties;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.ledger.model.PostingAccountSource;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the configured posting templates at startup and fails fast when an operation type has no
+ * template or a template cannot balance.
+ */
+@Component
+public class PostingTemplateRegistry {
+
+    private final Map<LedgerOperationType, PostingTemplate> templates = new EnumMap<>(LedgerOperationType.class);
+
+    public PostingTemplateRegistry(PostingTemplateProperties properties) {
+        for (LedgerOperationType operationType : LedgerOperationType.values()) {
+            List<PostingTemplateProperties.LineTemplate> lines = properties.templates().get(operationType);
+            if (lines == null || lines.isEmpty()) {
+                throw new IllegalStateException("No posting template configured for operation type: " + operationType);
+            }
+            templates.put(operationType, compile(operationType, lines));
+        }
+    }
+
+    PostingTemplate get(LedgerOperationType operationType) {
+        PostingTemplate template = templates.get(operationType);
+        if (template == null) {
+            throw new ApiException("LEDGER_POLICY_TEMPLATE_NOT_FOUND",
+                    "No posting template for operation type: " + operationType);
+        }
+        return template;
+    }
+
+    private PostingTemplate compile(LedgerOperationType operationType,
+            List<PostingTemplateProperties.LineTemplate> lines) {
+        int size = lines.size();
+        EntryType[] entryTypes = new EntryType[size];
+        PostingAccountSource[] sources = new PostingAccountSource[size];
+        String[] accountCodes = new String[size];
+        int debitLines = 0;
+
+        for (int index = 0; index < size; index++) {
+            PostingTemplateProperties.LineTemplate line = lines.get(index);
+            if (line.entryType() == null || line.account() == null) {
+                throw invalid(operationType, "line " + index + " needs an entry type and an account source");
+            }
+            String code = line.accountCode() == null || line.accountCode().isBlank()
+                    ? null
+                    : line.accountCode().trim().toUpperCase();
+            if (line.account() == PostingAccountSource.FIXED && code == null) {
+                throw invalid(operationType, "line " + index + " is FIXED but has no account code");
+            }
+            if (line.account() == PostingAccountSource.REQUEST && code != null) {
+                throw invalid(operationType, "line " + index + " takes the request account and cannot set one");
+            }
+
+            entryTypes[index] = line.entryType();
+            sources[index] = line.account();
+            accountCodes[index] = code;
+            if (line.entryType() == EntryType.DEBIT) {
+                debitLines++;
+            }
+        }
+
+        if (debitLines == 0 || debitLines * 2 != size) {
+            throw invalid(operationType, "debit and credit line counts must be equal");
+        }
+        return new PostingTemplate(operationType, entryTypes, sources, accountCodes, debitLines);
+    }
+
+    private IllegalStateException invalid(LedgerOperationType operationType, String reason) {
+        return new IllegalStateException("Invalid posting template for " + operationType + ": " + reason);
+    }
+}
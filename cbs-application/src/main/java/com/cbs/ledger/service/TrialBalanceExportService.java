@@ -0,0 +1,138 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.TrialBalanceRow;
+import com.cbs.ledger.model.AccountType;
+import com.cbs.ledger.model.TrialBalanceFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Streams per-account trial balance rows straight from a forward-only cursor over the daily
+ * rollup, so memory stays flat regardless of chart size or history length.
+ */
+@Service
+public class TrialBalanceExportService {
+
+    static final String CSV_HEADER = "accountCode,accountName,accountType,totalDebit,totalCredit,net";
+
+    private static final String TRIAL_BALANCE_SQL = """
+            select a.code, a.name, a.type, t.total_debit, t.total_credit
+            from (
+                select account_id, sum(total_debit) as total_debit, sum(total_credit) as total_credit
+                from ledger_daily_balances
+                where value_date between ? and ?
+                group by account_id
+            ) t
+            join ledger_accounts a on a.id = t.account_id
+            order by a.code
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TrialBalanceExportService(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${cbs.ledger.trial-balance.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void validateDateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new ApiException("LEDGER_INVALID_DATE_RANGE", "fromDate must be before or equal to toDate");
+        }
+    }
+
+    /**
+     * Writes the trial balance for the date range to the stream. Runs in a read-only transaction
+     * because the Postgres driver only honours the fetch size with auto-commit disabled.
+     */
+    @Transactional(readOnly = true)
+    public void writeTrialBalance(LocalDate fromDate, LocalDate toDate, TrialBalanceFormat format,
+            OutputStream outputStream) throws IOException {
+        validateDateRange(fromDate, toDate);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == TrialBalanceFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(TRIAL_BALANCE_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setDate(1, Date.valueOf(fromDate));
+                statement.setDate(2, Date.valueOf(toDate));
+                return statement;
+            }, resultSet -> {
+                try {
+                    writeRow(writer, format, mapRow(resultSet));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        writer.flush();
+    }
+
+    private TrialBalanceRow mapRow(ResultSet resultSet) throws SQLException {
+        BigDecimal totalDebit = resultSet.getBigDecimal(4);
+        BigDecimal totalCredit = resultSet.getBigDecimal(5);
+        return new TrialBalanceRow(
+                resultSet.getString(1),
+                resultSet.getString(2),
+                AccountType.valueOf(resultSet.getString(3)),
+                totalDebit,
+                totalCredit,
+                totalDebit.subtract(totalCredit));
+    }
+
+    private void writeRow(Writer writer, TrialBalanceFormat format, TrialBalanceRow row) throws IOException {
+        if (format == TrialBalanceFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            writer.write(csvField(row.accountCode()));
+            writer.write(',');
+            writer.write(csvField(row.accountName()));
+            writer.write(',');
+            writer.write(row.accountType().name());
+            writer.write(',');
+            writer.write(row.totalDebit().toPlainString());
+            writer.write(',');
+            writer.write(row.totalCredit().toPlainString());
+            writer.write(',');
+            writer.write(row.net().toPlainString());
+        }
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,6 +1,7 @@
 package com.cbs.notification.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
 import com.cbs.notification.dto.CreateNotificationRequest;
 import com.cbs.notification.dto.NotificationResponse;
 import com.cbs.notification.dto.NotificationStatusReasonRequest;
@@ -18,14 +19,22 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final IdempotencyService idempotencyService;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               IdempotencyService idempotencyService) {
         this.notificationRepository = notificationRepository;
+        this.idempotencyService = idempotencyService;
     }
 
     @Transactional
     public NotificationResponse createNotification(CreateNotificationRequest request) {
         String reference = normalizeReference(request.reference());
+        return idempotencyService.execute("NOTIFICATION", reference, request, NotificationResponse.class,
+                () -> doCreateNotification(request, reference));
+    }
+
+    private NotificationResponse doCreateNotification(CreateNotificationRequest request, String reference) {
         if (notificationRepository.existsByReference(reference)) {
             throw new ApiException("NOTIFICATION_REFERENCE_EXISTS", "Reference already exists");
         }
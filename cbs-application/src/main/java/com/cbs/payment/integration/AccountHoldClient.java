@@ -0,0 +1,12 @@
+package com.cbs.payment.integration;
+
+import com.cbs.payment.model.Payment;
+
+public interface AccountHoldClient {
+
+    void placeHold(Payment payment);
+
+    void captureHold(Payment payment);
+
+    void releaseHold(Payment payment);
+}
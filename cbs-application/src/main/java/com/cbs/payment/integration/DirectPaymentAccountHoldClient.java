@@ -0,0 +1,81 @@
+package com.cbs.payment.integration;
+
+import com.cbs.account.dto.BalanceUpdateRequest;
+import com.cbs.account.dto.CurrencyResponse;
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.service.AccountHoldService;
+import com.cbs.account.service.AccountService;
+import com.cbs.common.exception.ApiException;
+import com.cbs.payment.model.Payment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class DirectPaymentAccountHoldClient implements AccountHoldClient {
+
+    private final AccountHoldService accountHoldService;
+    private final AccountService accountService;
+    private final boolean holdsEnabled;
+    private final Duration holdTtl;
+
+    public DirectPaymentAccountHoldClient(AccountHoldService accountHoldService,
+            AccountService accountService,
+            @Value("${cbs.account.holds.enabled:true}") boolean holdsEnabled,
+            @Value("${cbs.payment.holds.ttl:P3D}") Duration holdTtl) {
+        this.accountHoldService = accountHoldService;
+        this.accountService = accountService;
+        this.holdsEnabled = holdsEnabled;
+        this.holdTtl = holdTtl;
+    }
+
+    @Override
+    public void placeHold(Payment payment) {
+        if (!holdsEnabled) {
+            return;
+        }
+        accountHoldService.placeHold(new PlaceHoldRequest(
+                payment.getSourceAccountId(),
+                AccountHoldType.PAYMENT,
+                payment.getReference(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                Instant.now().plus(holdTtl)));
+    }
+
+    /**
+     * Debits the source by capturing its hold and, when the destination is an account of this bank,
+     * credits it in the same transaction. A destination outside the bank is paid by the payment
+     * rail, so only the source moves. A hold captured before is not credited twice.
+     */
+    @Override
+    public void captureHold(Payment payment) {
+        if (!holdsEnabled || !accountHoldService.captureHold(AccountHoldType.PAYMENT, payment.getReference())) {
+            return;
+        }
+        Long destinationAccountId = payment.getDestinationAccountId();
+        if (destinationAccountId == null) {
+            return;
+        }
+        List<CurrencyResponse> destination = accountService.getAccountCurrencies(List.of(destinationAccountId));
+        if (destination.isEmpty()) {
+            return;
+        }
+        if (!destination.get(0).currency().name().equals(payment.getCurrency())) {
+            throw new ApiException("CURRENCY_MISMATCH",
+                    "Expected " + destination.get(0).currency() + " but received " + payment.getCurrency());
+        }
+        accountService.creditBalance(destinationAccountId, new BalanceUpdateRequest(payment.getAmount()));
+    }
+
+    @Override
+    public void releaseHold(Payment payment) {
+        if (holdsEnabled) {
+            accountHoldService.releaseHold(AccountHoldType.PAYMENT, payment.getReference());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cbs.payment.integration;
 
+import com.cbs.common.exception.ApiException;
 import com.cbs.ledger.dto.PostPolicyEntryRequest;
 import com.cbs.ledger.model.LedgerOperationType;
 import com.cbs.ledger.service.LedgerPostingService;
@@ -9,6 +10,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DirectPaymentLedgerPostingClient implements LedgerPostingClient {
 
+    private static final String REFERENCE_EXISTS = "LEDGER_REFERENCE_EXISTS";
+
     private final LedgerPostingService ledgerPostingService;
     private final boolean postingEnabled;
 
@@ -20,10 +23,33 @@ public class DirectPaymentLedgerPostingClient implements LedgerPostingClient {
 
     @Override
     public void postPayment(Payment payment) {
+        if (postingEnabled) {
+            ledgerPostingService.postPolicyEntry(policyEntry(payment));
+        }
+    }
+
+    /**
+     * A matching entry is what an earlier attempt left behind when the ledger committed but the
+     * payment's own update did not.
+     */
+    @Override
+    public void repostPayment(Payment payment) {
         if (!postingEnabled) {
             return;
         }
-        PostPolicyEntryRequest request = new PostPolicyEntryRequest(
+        PostPolicyEntryRequest request = policyEntry(payment);
+        try {
+            ledgerPostingService.postPolicyEntry(request);
+        } catch (ApiException exception) {
+            if (!REFERENCE_EXISTS.equals(exception.getErrorCode())
+                    || !ledgerPostingService.matchesPostedEntry(request)) {
+                throw exception;
+            }
+        }
+    }
+
+    private static PostPolicyEntryRequest policyEntry(Payment payment) {
+        return new PostPolicyEntryRequest(
                 payment.getReference(),
                 payment.getDescription(),
                 payment.getValueDate(),
@@ -31,6 +57,5 @@ public class DirectPaymentLedgerPostingClient implements LedgerPostingClient {
                 payment.getAmount(),
                 payment.getSourceAccountId().toString(),
                 payment.getDestinationAccountId() == null ? null : payment.getDestinationAccountId().toString());
-        ledgerPostingService.postPolicyEntry(request);
     }
 }
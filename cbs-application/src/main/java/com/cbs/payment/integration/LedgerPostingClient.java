@@ -5,4 +5,11 @@ import com.cbs.payment.model.Payment;
 public interface LedgerPostingClient {
 
     void postPayment(Payment payment);
+
+    /**
+     * Posts a payment again after an attempt that may already have reached the ledger. An entry
+     * under its reference counts as posted only if it carries this payment's amount, accounts and
+     * operation; any other entry is rejected as it would be on a first posting.
+     */
+    void repostPayment(Payment payment);
 }
@@ -0,0 +1,38 @@
+package com.cbs.payment.job;
+
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.payment.service.PaymentRetryWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cbs.payment.retry.enabled", havingValue = "true", matchIfMissing = true)
+public class FailedPaymentRetryJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailedPaymentRetryJob.class);
+
+    private final PaymentRetryWorker paymentRetryWorker;
+
+    public FailedPaymentRetryJob(PaymentRetryWorker paymentRetryWorker) {
+        this.paymentRetryWorker = paymentRetryWorker;
+    }
+
+    /**
+     * Runs every minute (after the previous run finishes) to retry failed payments whose backoff has elapsed
+     */
+    @Scheduled(fixedDelayString = "${cbs.payment.retry.poll-interval-ms:60000}")
+    public void executeRetries() {
+        try {
+            RetryBatchResult result = paymentRetryWorker.retryDueFailures();
+            if (result.claimed() > 0) {
+                LOGGER.info("Failed Payment Retry Job retried {} payments: {} succeeded, {} failed, {} exhausted",
+                        result.claimed(), result.succeeded(), result.failed(), result.exhausted());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed Payment Retry Job failed", e);
+        }
+    }
+}
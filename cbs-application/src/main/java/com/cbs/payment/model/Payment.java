@@ -8,16 +8,20 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
 @Table(
         name = "payments",
-        uniqueConstraints = @UniqueConstraint(name = "uk_payments_reference", columnNames = "reference")
+        uniqueConstraints = @UniqueConstraint(name = "uk_payments_reference", columnNames = "reference"),
+        indexes = @Index(name = "idx_payments_status_next_retry_at", columnList = "status, nextRetryAt")
 )
 public class Payment extends AuditableEntity {
 
@@ -60,6 +64,13 @@ public class Payment extends AuditableEntity {
     @Column(length = 255)
     private String failureReason;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int retryAttempts;
+
+    @Column
+    private Instant nextRetryAt;
+
     public Payment() {
     }
 
@@ -131,6 +142,14 @@ public class Payment extends AuditableEntity {
         return failureReason;
     }
 
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public Instant getNextRetryAt() {
+        return nextRetryAt;
+    }
+
     public void setStatus(PaymentStatus status) {
         this.status = status;
     }
@@ -138,4 +157,12 @@ public class Payment extends AuditableEntity {
     public void setFailureReason(String failureReason) {
         this.failureReason = failureReason;
     }
+
+    /**
+     * Counts an automatic retry that failed and schedules the next one.
+     */
+    public void recordFailedRetry(Instant nextRetryAt) {
+        this.retryAttempts++;
+        this.nextRetryAt = nextRetryAt;
+    }
 }
@@ -2,9 +2,15 @@ package com.cbs.payment.repository;
 
 import com.cbs.payment.model.Payment;
 import com.cbs.payment.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
@@ -17,4 +23,40 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByDestinationAccountIdOrderByIdDesc(Long destinationAccountId);
 
     List<Payment> findByStatusOrderByIdDesc(PaymentStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select payment from Payment payment where payment.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Lists FAILED payments due for an automatic retry without locking them; each one is claimed
+     * with {@link #claimDueRetry} in its own transaction.
+     */
+    @Query(value = """
+            select id
+            from payments
+            where status = 'FAILED'
+              and retry_attempts < :maxAttempts
+              and (next_retry_at is null or next_retry_at <= :now)
+            order by id
+            limit :limit
+            """, nativeQuery = true)
+    List<Long> findDueRetryIds(@Param("maxAttempts") int maxAttempts, @Param("now") Instant now,
+            @Param("limit") int limit);
+
+    /**
+     * Locks the payment if it is still due for an automatic retry, skipping it when another
+     * worker holds it.
+     */
+    @Query(value = """
+            select *
+            from payments
+            where id = :id
+              and status = 'FAILED'
+              and retry_attempts < :maxAttempts
+              and (next_retry_at is null or next_retry_at <= :now)
+            for update skip locked
+            """, nativeQuery = true)
+    Optional<Payment> claimDueRetry(@Param("id") Long id, @Param("maxAttempts") int maxAttempts,
+            @Param("now") Instant now);
 }
@@ -0,0 +1,38 @@
+package com.cbs.payment.service;
+
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.common.retry.RetryRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Retries FAILED payment postings in the background with exponential backoff until
+ * {@code cbs.payment.retry.max-attempts} is used up.
+ */
+@Service
+public class PaymentRetryWorker {
+
+    private final PaymentService paymentService;
+    private final RetryRunner retryRunner;
+
+    public PaymentRetryWorker(PaymentService paymentService,
+                              MeterRegistry meterRegistry,
+                              @Value("${cbs.payment.retry.batch-size:100}") int batchSize,
+                              @Value("${cbs.payment.retry.max-batches-per-run:10}") int maxBatchesPerRun,
+                              @Value("${cbs.payment.retry.max-attempts:5}") int maxAttempts,
+                              @Value("${cbs.payment.retry.initial-backoff:PT30S}") Duration initialBackoff,
+                              @Value("${cbs.payment.retry.max-backoff:PT30M}") Duration maxBackoff,
+                              @Value("${cbs.payment.retry.multiplier:2.0}") double multiplier) {
+        this.paymentService = paymentService;
+        this.retryRunner = new RetryRunner("payment", meterRegistry, batchSize, maxBatchesPerRun, maxAttempts,
+                new RetryBackoff(initialBackoff, maxBackoff, multiplier));
+    }
+
+    public RetryBatchResult retryDueFailures() {
+        return retryRunner.run(paymentService::retryFailedPayments);
+    }
+}
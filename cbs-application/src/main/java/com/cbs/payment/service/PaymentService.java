@@ -1,34 +1,61 @@
 package com.cbs.payment.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
 import com.cbs.payment.dto.CreatePaymentRequest;
 import com.cbs.payment.dto.PaymentResponse;
 import com.cbs.payment.dto.PaymentStatusUpdateRequest;
+import com.cbs.payment.integration.AccountHoldClient;
 import com.cbs.payment.integration.LedgerPostingClient;
 import com.cbs.payment.model.Payment;
 import com.cbs.payment.model.PaymentStatus;
 import com.cbs.payment.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class PaymentService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaymentService.class);
+
     private final PaymentRepository paymentRepository;
     private final LedgerPostingClient ledgerPostingClient;
+    private final IdempotencyService idempotencyService;
+    private final AccountHoldClient accountHoldClient;
+    private final TransactionTemplate transactionTemplate;
 
     public PaymentService(PaymentRepository paymentRepository,
-                          LedgerPostingClient ledgerPostingClient) {
+                          LedgerPostingClient ledgerPostingClient,
+                          IdempotencyService idempotencyService,
+                          AccountHoldClient accountHoldClient,
+                          PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.ledgerPostingClient = ledgerPostingClient;
+        this.idempotencyService = idempotencyService;
+        this.accountHoldClient = accountHoldClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Transactional
     public PaymentResponse createPayment(CreatePaymentRequest request) {
         String reference = normalizeReference(request.reference());
+        return idempotencyService.execute("PAYMENT", reference, request, PaymentResponse.class,
+                () -> doCreatePayment(request, reference));
+    }
+
+    private PaymentResponse doCreatePayment(CreatePaymentRequest request, String reference) {
         if (paymentRepository.existsByReference(reference)) {
             throw new ApiException("PAYMENT_REFERENCE_EXISTS", "Reference already exists");
         }
@@ -45,19 +72,15 @@ public class PaymentService {
                 request.valueDate()
         );
 
+        // Funds stay reserved while the payment is in flight or failed and awaiting a retry
+        accountHoldClient.placeHold(payment);
         Payment createdPayment = paymentRepository.save(payment);
         createdPayment.setStatus(PaymentStatus.PROCESSING);
         Payment processingPayment = paymentRepository.save(createdPayment);
 
-        try {
-            ledgerPostingClient.postPayment(processingPayment);
-            processingPayment.setStatus(PaymentStatus.COMPLETED);
-            processingPayment.setFailureReason(null);
-        } catch (ApiException exception) {
-            processingPayment.setStatus(PaymentStatus.FAILED);
-            processingPayment.setFailureReason(truncateReason(exception.getMessage()));
+        if (postToLedger(processingPayment, false)) {
+            completePosted(processingPayment);
         }
-
         return PaymentResponse.from(paymentRepository.save(processingPayment));
     }
 
@@ -101,6 +124,7 @@ public class PaymentService {
 
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setFailureReason(null);
+        accountHoldClient.captureHold(payment);
         return PaymentResponse.from(paymentRepository.save(payment));
     }
 
@@ -121,12 +145,18 @@ public class PaymentService {
 
         payment.setStatus(PaymentStatus.CANCELLED);
         payment.setFailureReason(request.reason().trim());
+        accountHoldClient.releaseHold(payment);
         return PaymentResponse.from(paymentRepository.save(payment));
     }
 
+    /**
+     * Posts a FAILED payment again. The row is locked so the retry worker or a second manual retry
+     * cannot post it concurrently.
+     */
     @Transactional
     public PaymentResponse retryPosting(Long paymentId) {
-        Payment payment = findPayment(paymentId);
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new ApiException("PAYMENT_NOT_FOUND", "Payment not found"));
 
         if (payment.getStatus() != PaymentStatus.FAILED) {
             throw new ApiException("PAYMENT_NOT_FAILED", "Only failed payment can be retried");
@@ -136,16 +166,103 @@ public class PaymentService {
         payment.setFailureReason(null);
         Payment processingPayment = paymentRepository.save(payment);
 
+        if (postToLedger(processingPayment, true)) {
+            completePosted(processingPayment);
+        }
+        return PaymentResponse.from(paymentRepository.save(processingPayment));
+    }
+
+    /**
+     * Retries a chunk of FAILED payments due for an automatic retry, each in its own transaction so
+     * an unexpected failure rolls back only that payment and cannot lose the attempts counted for
+     * the others. Each payment is claimed again under a row lock, so one that another worker holds
+     * or has already retried is skipped. A failure counts the attempt and schedules the next one
+     * with {@code backoff}; the last allowed attempt releases the payment's hold instead, since no
+     * automatic retry will capture it.
+     */
+    public RetryBatchResult retryFailedPayments(int limit, int maxAttempts, RetryBackoff backoff) {
+        Instant now = Instant.now();
+        List<Long> paymentIds = paymentRepository.findDueRetryIds(maxAttempts, now, limit);
+
+        int claimed = 0;
+        int failed = 0;
+        int exhausted = 0;
+        for (Long paymentId : paymentIds) {
+            RetryOutcome outcome;
+            try {
+                outcome = transactionTemplate.execute(status -> retryDuePayment(paymentId, maxAttempts, backoff, now));
+            } catch (RuntimeException exception) {
+                LOGGER.warn("Automatic retry of payment {} failed", paymentId, exception);
+                outcome = transactionTemplate.execute(status -> paymentRepository
+                        .claimDueRetry(paymentId, maxAttempts, now)
+                        .map(payment -> recordFailedRetry(payment, exception.getMessage(), maxAttempts, backoff, now))
+                        .orElse(RetryOutcome.SKIPPED));
+            }
+            if (outcome != RetryOutcome.SKIPPED) {
+                claimed++;
+            }
+            if (outcome == RetryOutcome.FAILED) {
+                failed++;
+            } else if (outcome == RetryOutcome.EXHAUSTED) {
+                exhausted++;
+            }
+        }
+        return new RetryBatchResult(claimed, claimed - failed - exhausted, failed, exhausted);
+    }
+
+    private RetryOutcome retryDuePayment(Long paymentId, int maxAttempts, RetryBackoff backoff, Instant now) {
+        Payment payment = paymentRepository.claimDueRetry(paymentId, maxAttempts, now).orElse(null);
+        if (payment == null) {
+            return RetryOutcome.SKIPPED;
+        }
+        if (!postToLedger(payment, true)) {
+            return recordFailedRetry(payment, payment.getFailureReason(), maxAttempts, backoff, now);
+        }
+        completePosted(payment);
+        return RetryOutcome.SUCCEEDED;
+    }
+
+    private RetryOutcome recordFailedRetry(Payment payment, String reason, int maxAttempts, RetryBackoff backoff,
+            Instant now) {
+        payment.setStatus(PaymentStatus.FAILED);
+        payment.setFailureReason(truncateReason(reason));
+        payment.recordFailedRetry(backoff.nextAttemptAt(payment.getRetryAttempts() + 1, now));
+        if (payment.getRetryAttempts() < maxAttempts) {
+            return RetryOutcome.FAILED;
+        }
+        accountHoldClient.releaseHold(payment);
+        return RetryOutcome.EXHAUSTED;
+    }
+
+    /**
+     * Posts the payment's journal entry and returns whether it is in the ledger. A rejection leaves
+     * the payment FAILED with the reason. Only a retry may find its own earlier entry under the
+     * reference; a first posting that finds it taken is rejected.
+     */
+    private boolean postToLedger(Payment payment, boolean retry) {
         try {
-            ledgerPostingClient.postPayment(processingPayment);
-            processingPayment.setStatus(PaymentStatus.COMPLETED);
-            processingPayment.setFailureReason(null);
+            if (retry) {
+                ledgerPostingClient.repostPayment(payment);
+            } else {
+                ledgerPostingClient.postPayment(payment);
+            }
+            return true;
         } catch (ApiException exception) {
-            processingPayment.setStatus(PaymentStatus.FAILED);
-            processingPayment.setFailureReason(truncateReason(exception.getMessage()));
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setFailureReason(truncateReason(exception.getMessage()));
+            return false;
         }
+    }
 
-        return PaymentResponse.from(paymentRepository.save(processingPayment));
+    /**
+     * Completes a payment whose entry is in the ledger. Capturing the hold, which also credits a
+     * destination account of this bank, is not a posting failure: if it fails, the surrounding
+     * transaction rolls back and a later retry finds the entry already posted and captures again.
+     */
+    private void completePosted(Payment payment) {
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setFailureReason(null);
+        accountHoldClient.captureHold(payment);
     }
 
     private Payment findPayment(Long paymentId) {
@@ -183,4 +300,11 @@ public class PaymentService {
         }
         return reason.length() <= 255 ? reason : reason.substring(0, 255);
     }
+
+    private enum RetryOutcome {
+        SUCCEEDED,
+        FAILED,
+        EXHAUSTED,
+        SKIPPED
+    }
 }
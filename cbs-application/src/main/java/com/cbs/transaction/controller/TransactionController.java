@@ -3,11 +3,24 @@ package com.cbs.transaction.controller;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import com.cbs.common.api.ApiResponse;
+import com.cbs.transaction.dto.BulkReversalResponse;
+import com.cbs.transaction.dto.BulkReverseTransactionsRequest;
 import com.cbs.transaction.dto.CreateTransactionRequest;
 import com.cbs.transaction.dto.ReverseTransactionRequest;
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.dto.TransactionPageResponse;
 import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.dto.TransactionStatusEventResponse;
+import com.cbs.transaction.model.BulkTransactionFormat;
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionType;
+import com.cbs.transaction.service.TransactionBulkIngestionService;
+import com.cbs.transaction.service.TransactionBulkReversalService;
+import com.cbs.transaction.service.TransactionPostingLanes;
 import com.cbs.transaction.service.TransactionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,7 +30,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,18 +42,37 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionBulkIngestionService transactionBulkIngestionService;
+    private final TransactionBulkReversalService transactionBulkReversalService;
+    private final TransactionPostingLanes transactionPostingLanes;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+            TransactionBulkIngestionService transactionBulkIngestionService,
+            TransactionBulkReversalService transactionBulkReversalService,
+            TransactionPostingLanes transactionPostingLanes) {
         this.transactionService = transactionService;
+        this.transactionBulkIngestionService = transactionBulkIngestionService;
+        this.transactionBulkReversalService = transactionBulkReversalService;
+        this.transactionPostingLanes = transactionPostingLanes;
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<TransactionResponse>> createTransaction(
             @Valid @RequestBody CreateTransactionRequest request) {
-        TransactionResponse response = transactionService.createTransaction(request);
+        TransactionResponse response = transactionPostingLanes.execute(request.accountId(),
+                () -> transactionService.createTransaction(request));
         return ResponseEntity.ok(ApiResponse.success("Transaction created", response));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> ingestTransactions(
+            @RequestParam(value = "format", defaultValue = "NDJSON") BulkTransactionFormat format,
+            InputStream inputStream) {
+        StreamingResponseBody body = outputStream -> transactionBulkIngestionService
+                .ingest(inputStream, format, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(
             @PathVariable("transactionId") Long transactionId) {
@@ -45,26 +80,51 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transaction retrieved", response));
     }
 
+    @GetMapping("/{transactionId}/status-history")
+    public ResponseEntity<ApiResponse<List<TransactionStatusEventResponse>>> getStatusHistory(
+            @PathVariable("transactionId") Long transactionId) {
+        List<TransactionStatusEventResponse> responses = transactionService.getStatusHistory(transactionId);
+        return ResponseEntity.ok(ApiResponse.success("Transaction status history retrieved", responses));
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TransactionResponse>>> listTransactions(
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> listTransactions(
             @RequestParam(value = "accountId", required = false) Long accountId,
-            @RequestParam(value = "customerId", required = false) Long customerId) {
-        List<TransactionResponse> responses = transactionService.listTransactions(accountId, customerId);
-        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", responses));
+            @RequestParam(value = "customerId", required = false) Long customerId,
+            @RequestParam(value = "fromDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "type", required = false) TransactionType type,
+            @RequestParam(value = "status", required = false) TransactionStatus status,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        TransactionPageResponse response = transactionService.listTransactions(
+                new TransactionHistoryFilter(accountId, customerId, fromDate, toDate, type, status), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", response));
     }
 
     @PatchMapping("/{transactionId}/reverse")
     public ResponseEntity<ApiResponse<TransactionResponse>> reverseTransaction(
             @PathVariable("transactionId") Long transactionId,
             @Valid @RequestBody ReverseTransactionRequest request) {
-        TransactionResponse response = transactionService.reverseTransaction(transactionId, request);
+        TransactionResponse response = transactionPostingLanes.execute(transactionService.laneAccountId(transactionId),
+                () -> transactionService.reverseTransaction(transactionId, request));
         return ResponseEntity.ok(ApiResponse.success("Transaction reversed", response));
     }
 
+    @PostMapping("/reversals")
+    public ResponseEntity<ApiResponse<BulkReversalResponse>> reverseTransactions(
+            @Valid @RequestBody BulkReverseTransactionsRequest request) {
+        BulkReversalResponse response = transactionBulkReversalService.reverseByReferencePrefix(request);
+        return ResponseEntity.ok(ApiResponse.success("Transactions reversed", response));
+    }
+
     @PatchMapping("/{transactionId}/retry-posting")
     public ResponseEntity<ApiResponse<TransactionResponse>> retryPosting(
             @PathVariable("transactionId") Long transactionId) {
-        TransactionResponse response = transactionService.retryPosting(transactionId);
+        TransactionResponse response = transactionPostingLanes.execute(transactionService.laneAccountId(transactionId),
+                () -> transactionService.retryPosting(transactionId));
         return ResponseEntity.ok(ApiResponse.success("Transaction posting retried", response));
     }
 }
@@ -0,0 +1,11 @@
+package com.cbs.transaction.dto;
+
+import java.util.List;
+
+public record BulkReversalResponse(
+        int matched,
+        int reversed,
+        int failed,
+        Long lastTransactionId,
+        List<ReversalFailure> failures) {
+}
@@ -0,0 +1,10 @@
+package com.cbs.transaction.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record BulkReverseTransactionsRequest(
+        @NotBlank @Size(min = 3, max = 64) String referencePrefix,
+        @NotBlank @Size(max = 255) String reason
+) {
+}
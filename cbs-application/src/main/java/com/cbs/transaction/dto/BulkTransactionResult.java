@@ -0,0 +1,20 @@
+package com.cbs.transaction.dto;
+
+import com.cbs.transaction.model.TransactionStatus;
+
+public record BulkTransactionResult(
+        long lineNumber,
+        String reference,
+        Long transactionId,
+        TransactionStatus status,
+        String errorCode,
+        String message) {
+    public static BulkTransactionResult created(long lineNumber, TransactionResponse transaction) {
+        return new BulkTransactionResult(lineNumber, transaction.reference(), transaction.id(), transaction.status(),
+                null, transaction.failureReason());
+    }
+
+    public static BulkTransactionResult rejected(long lineNumber, String reference, String errorCode, String message) {
+        return new BulkTransactionResult(lineNumber, reference, null, null, errorCode, message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.cbs.transaction.dto;
+
+public record ReversalFailure(
+        Long transactionId,
+        String reference,
+        String errorCode,
+        String message) {
+}
@@ -0,0 +1,15 @@
+package com.cbs.transaction.dto;
+
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionType;
+
+import java.time.LocalDate;
+
+public record TransactionHistoryFilter(
+        Long accountId,
+        Long customerId,
+        LocalDate fromDate,
+        LocalDate toDate,
+        TransactionType type,
+        TransactionStatus status) {
+}
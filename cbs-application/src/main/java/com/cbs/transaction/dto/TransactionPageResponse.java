@@ -0,0 +1,12 @@
+package com.cbs.transaction.dto;
+
+import java.util.List;
+
+/**
+ * One page of transaction history, newest first. Pass {@code nextCursor} back as {@code cursor}
+ * to fetch the following page; it is null on the last page.
+ */
+public record TransactionPageResponse(
+        List<TransactionResponse> items,
+        Long nextCursor) {
+}
@@ -0,0 +1,15 @@
+package com.cbs.transaction.dto;
+
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionStatusEvent;
+
+import java.time.Instant;
+
+public record TransactionStatusEventResponse(
+        TransactionStatus status,
+        String detail,
+        Instant occurredAt) {
+    public static TransactionStatusEventResponse from(TransactionStatusEvent event) {
+        return new TransactionStatusEventResponse(event.getStatus(), event.getDetail(), event.getCreatedAt());
+    }
+}
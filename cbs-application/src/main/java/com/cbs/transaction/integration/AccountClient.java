@@ -1,5 +1,10 @@
 package com.cbs.transaction.integration;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface AccountClient {
     String getAccountCurrency(Long accountId);
+
+    Map<Long, String> getAccountCurrencies(Collection<Long> accountIds);
 }
@@ -1,8 +1,13 @@
 package com.cbs.transaction.integration;
 
+import com.cbs.account.dto.CurrencyResponse;
 import com.cbs.account.service.AccountService;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 public class DirectAccountClient implements AccountClient {
 
@@ -17,4 +22,10 @@ public class DirectAccountClient implements AccountClient {
         return accountService.getAccountCurrency(accountId)
                 .currency().name();
     }
+
+    @Override
+    public Map<Long, String> getAccountCurrencies(Collection<Long> accountIds) {
+        return accountService.getAccountCurrencies(accountIds).stream()
+                .collect(Collectors.toMap(CurrencyResponse::accountId, currency -> currency.currency().name()));
+    }
 }
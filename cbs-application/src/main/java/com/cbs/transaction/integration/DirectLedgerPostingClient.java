@@ -1,14 +1,22 @@
 package com.cbs.transaction.integration;
 
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BatchEntryResult;
 import com.cbs.ledger.dto.PostPolicyEntryRequest;
-import com.cbs.ledger.model.LedgerOperationType;
 import com.cbs.ledger.service.LedgerPostingService;
 import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "direct", matchIfMissing = true)
 public class DirectLedgerPostingClient implements LedgerPostingClient {
 
+    private static final String REFERENCE_EXISTS = "LEDGER_REFERENCE_EXISTS";
+
     private final LedgerPostingService ledgerPostingService;
     private final boolean postingEnabled;
 
@@ -19,19 +27,56 @@ public class DirectLedgerPostingClient implements LedgerPostingClient {
     }
 
     @Override
-    public void postTransaction(Transaction transaction) {
+    public TransactionStatus postTransaction(Transaction transaction) {
+        if (!postingEnabled) {
+            return TransactionStatus.POSTED;
+        }
+        ledgerPostingService.postPolicyEntry(LedgerPostingRequests.policyEntry(transaction));
+        return TransactionStatus.POSTED;
+    }
+
+    /**
+     * A matching entry is what an earlier attempt left behind when the ledger committed but the
+     * transaction's own update did not.
+     */
+    @Override
+    public TransactionStatus repostTransaction(Transaction transaction) {
         if (!postingEnabled) {
-            return;
+            return TransactionStatus.POSTED;
+        }
+        PostPolicyEntryRequest request = LedgerPostingRequests.policyEntry(transaction);
+        try {
+            ledgerPostingService.postPolicyEntry(request);
+        } catch (ApiException exception) {
+            if (!REFERENCE_EXISTS.equals(exception.getErrorCode())
+                    || !ledgerPostingService.matchesPostedEntry(request)) {
+                throw exception;
+            }
+        }
+        return TransactionStatus.POSTED;
+    }
+
+    /**
+     * Posts the chunk through the ledger's batch path in one ledger transaction. A reference that
+     * is already taken is rejected like any other posting failure.
+     */
+    @Override
+    public List<LedgerPostingResult> postTransactions(List<Transaction> transactions) {
+        if (!postingEnabled || transactions.isEmpty()) {
+            return transactions.stream().map(transaction -> LedgerPostingResult.accepted(TransactionStatus.POSTED))
+                    .toList();
+        }
+        return ledgerPostingService.postPolicyEntries(
+                        transactions.stream().map(LedgerPostingRequests::policyEntry).toList())
+                .results().stream()
+                .map(DirectLedgerPostingClient::toPostingResult)
+                .toList();
+    }
+
+    private static LedgerPostingResult toPostingResult(BatchEntryResult result) {
+        if (result.posted()) {
+            return LedgerPostingResult.accepted(TransactionStatus.POSTED);
         }
-        PostPolicyEntryRequest request = new PostPolicyEntryRequest(
-                transaction.getReference(),
-                transaction.getDescription(),
-                transaction.getValueDate(),
-                LedgerOperationType.valueOf(transaction.getType().name()),
-                transaction.getAmount(),
-                transaction.getAccountId().toString(),
-                transaction.getCounterpartyAccountId() == null ? null
-                        : transaction.getCounterpartyAccountId().toString());
-        ledgerPostingService.postPolicyEntry(request);
+        return LedgerPostingResult.rejected(result.message());
     }
 }
@@ -0,0 +1,66 @@
+package com.cbs.transaction.integration;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BatchEntryResult;
+import com.cbs.ledger.dto.BatchPostingResponse;
+import com.cbs.ledger.dto.ReverseJournalEntryRequest;
+import com.cbs.ledger.service.LedgerPostingService;
+import com.cbs.transaction.dto.ReversalFailure;
+import com.cbs.transaction.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posts reversals synchronously in both posting modes: a transaction can only be reversed once
+ * it is POSTED, so its original entry is always in the ledger already.
+ */
+@Component
+public class DirectLedgerReversalClient implements LedgerReversalClient {
+
+    private static final String REFERENCE_EXISTS = "LEDGER_REFERENCE_EXISTS";
+
+    private final LedgerPostingService ledgerPostingService;
+    private final boolean postingEnabled;
+
+    public DirectLedgerReversalClient(LedgerPostingService ledgerPostingService,
+            @Value("${ledger.posting.enabled:true}") boolean postingEnabled) {
+        this.ledgerPostingService = ledgerPostingService;
+        this.postingEnabled = postingEnabled;
+    }
+
+    @Override
+    public void postReversal(Transaction transaction) {
+        if (!postingEnabled) {
+            return;
+        }
+        try {
+            ledgerPostingService.postReversal(LedgerPostingRequests.reversal(transaction));
+        } catch (ApiException exception) {
+            if (!REFERENCE_EXISTS.equals(exception.getErrorCode())) {
+                throw exception;
+            }
+        }
+    }
+
+    @Override
+    public List<ReversalFailure> postReversals(List<Transaction> transactions) {
+        if (!postingEnabled || transactions.isEmpty()) {
+            return List.of();
+        }
+        BatchPostingResponse response = ledgerPostingService.postReversals(
+                transactions.stream().map(LedgerPostingRequests::reversal).toList());
+        List<ReversalFailure> failures = new ArrayList<>();
+        for (BatchEntryResult result : response.results()) {
+            if (result.posted() || REFERENCE_EXISTS.equals(result.errorCode())) {
+                continue;
+            }
+            Transaction transaction = transactions.get(result.index());
+            failures.add(new ReversalFailure(transaction.getId(), transaction.getReference(), result.errorCode(),
+                    result.message()));
+        }
+        return failures;
+    }
+}
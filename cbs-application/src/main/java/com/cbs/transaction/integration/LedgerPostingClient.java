@@ -1,8 +1,30 @@
 package com.cbs.transaction.integration;
 
 import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+
+import java.util.List;
 
 public interface LedgerPostingClient {
 
-    void postTransaction(Transaction transaction);
+    /**
+     * Hands the transaction to the ledger and returns the status it is in afterwards: POSTED when
+     * posting completed synchronously, PROCESSING when it will complete asynchronously. Posting
+     * rejections are thrown as {@code ApiException}.
+     */
+    TransactionStatus postTransaction(Transaction transaction);
+
+    /**
+     * Posts a transaction again after an attempt that may already have reached the ledger. An entry
+     * under its reference counts as posted only if it carries this transaction's amount, accounts
+     * and operation; any other entry is rejected as it would be on a first posting.
+     */
+    TransactionStatus repostTransaction(Transaction transaction);
+
+    /**
+     * Hands a chunk of transactions to the ledger in one call and returns their results in the
+     * same order. Rejections of single transactions are reported in the results; only a failure of
+     * the call as a whole is thrown.
+     */
+    List<LedgerPostingResult> postTransactions(List<Transaction> transactions);
 }
@@ -0,0 +1,43 @@
+package com.cbs.transaction.integration;
+
+import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.dto.ReverseJournalEntryRequest;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.transaction.model.Transaction;
+
+import java.time.LocalDate;
+
+public final class LedgerPostingRequests {
+
+    private LedgerPostingRequests() {
+    }
+
+    public static PostPolicyEntryRequest policyEntry(Transaction transaction) {
+        return new PostPolicyEntryRequest(
+                transaction.getReference(),
+                transaction.getDescription(),
+                transaction.getValueDate(),
+                LedgerOperationType.valueOf(transaction.getType().name()),
+                transaction.getAmount(),
+                transaction.getAccountId().toString(),
+                transaction.getCounterpartyAccountId() == null ? null
+                        : transaction.getCounterpartyAccountId().toString());
+    }
+
+    /**
+     * Mirrors the transaction's journal entry under a reference derived from the transaction id,
+     * which stays within the ledger's 64 characters whatever the original reference length.
+     */
+    public static ReverseJournalEntryRequest reversal(Transaction transaction) {
+        String description = "Reversal of " + transaction.getReference() + ": " + transaction.getReversalReason();
+        return new ReverseJournalEntryRequest(
+                transaction.getReference(),
+                reversalReference(transaction),
+                description.length() <= 255 ? description : description.substring(0, 255),
+                LocalDate.now());
+    }
+
+    private static String reversalReference(Transaction transaction) {
+        return "TXREV-" + transaction.getId();
+    }
+}
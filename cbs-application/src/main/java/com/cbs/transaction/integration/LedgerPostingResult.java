@@ -0,0 +1,18 @@
+package com.cbs.transaction.integration;
+
+import com.cbs.transaction.model.TransactionStatus;
+
+/**
+ * Outcome of one transaction of a batched posting: the status it is in afterwards and, when the
+ * ledger rejected it, the reason.
+ */
+public record LedgerPostingResult(TransactionStatus status, String failureReason) {
+
+    public static LedgerPostingResult accepted(TransactionStatus status) {
+        return new LedgerPostingResult(status, null);
+    }
+
+    public static LedgerPostingResult rejected(String failureReason) {
+        return new LedgerPostingResult(TransactionStatus.FAILED, failureReason);
+    }
+}
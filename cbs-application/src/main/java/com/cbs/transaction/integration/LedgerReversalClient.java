@@ -0,0 +1,21 @@
+package com.cbs.transaction.integration;
+
+import com.cbs.transaction.dto.ReversalFailure;
+import com.cbs.transaction.model.Transaction;
+
+import java.util.List;
+
+public interface LedgerReversalClient {
+
+    /**
+     * Posts the compensating entry of a posted transaction. A reversal that is already in the
+     * ledger counts as posted; other rejections are thrown as {@code ApiException}.
+     */
+    void postReversal(Transaction transaction);
+
+    /**
+     * Posts compensating entries for a chunk of transactions in one ledger transaction and returns
+     * the ones that could not be reversed.
+     */
+    List<ReversalFailure> postReversals(List<Transaction> transactions);
+}
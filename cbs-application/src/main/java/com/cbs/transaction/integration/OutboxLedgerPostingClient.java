@@ -0,0 +1,53 @@
+package com.cbs.transaction.integration;
+
+import com.cbs.transaction.model.LedgerPostingOutboxEntry;
+import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.repository.LedgerPostingOutboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Queues the posting in the outbox within the caller's transaction, so the transaction row and
+ * its pending posting commit or roll back together. {@code LedgerOutboxRelay} posts it later.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "outbox")
+public class OutboxLedgerPostingClient implements LedgerPostingClient {
+
+    private final LedgerPostingOutboxRepository ledgerPostingOutboxRepository;
+
+    public OutboxLedgerPostingClient(LedgerPostingOutboxRepository ledgerPostingOutboxRepository) {
+        this.ledgerPostingOutboxRepository = ledgerPostingOutboxRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TransactionStatus postTransaction(Transaction transaction) {
+        ledgerPostingOutboxRepository.save(new LedgerPostingOutboxEntry(transaction.getId()));
+        return TransactionStatus.PROCESSING;
+    }
+
+    /**
+     * Queued like a first posting; the relay checks an existing entry against the transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TransactionStatus repostTransaction(Transaction transaction) {
+        return postTransaction(transaction);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<LedgerPostingResult> postTransactions(List<Transaction> transactions) {
+        ledgerPostingOutboxRepository.saveAll(transactions.stream()
+                .map(transaction -> new LedgerPostingOutboxEntry(transaction.getId()))
+                .toList());
+        return transactions.stream().map(transaction -> LedgerPostingResult.accepted(TransactionStatus.PROCESSING))
+                .toList();
+    }
+}
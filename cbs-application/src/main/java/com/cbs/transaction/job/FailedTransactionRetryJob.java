@@ -0,0 +1,38 @@
+package com.cbs.transaction.job;
+
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.transaction.service.TransactionRetryWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cbs.transaction.retry.enabled", havingValue = "true", matchIfMissing = true)
+public class FailedTransactionRetryJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailedTransactionRetryJob.class);
+
+    private final TransactionRetryWorker transactionRetryWorker;
+
+    public FailedTransactionRetryJob(TransactionRetryWorker transactionRetryWorker) {
+        this.transactionRetryWorker = transactionRetryWorker;
+    }
+
+    /**
+     * Runs every minute (after the previous run finishes) to retry failed transactions whose backoff has elapsed
+     */
+    @Scheduled(fixedDelayString = "${cbs.transaction.retry.poll-interval-ms:60000}")
+    public void executeRetries() {
+        try {
+            RetryBatchResult result = transactionRetryWorker.retryDueFailures();
+            if (result.claimed() > 0) {
+                LOGGER.info("Failed Transaction Retry Job retried {} transactions: {} succeeded, {} failed, {} exhausted",
+                        result.claimed(), result.succeeded(), result.failed(), result.exhausted());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed Transaction Retry Job failed", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.cbs.transaction.job;
+
+import com.cbs.transaction.service.LedgerOutboxRelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "outbox")
+public class LedgerOutboxRelayJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerOutboxRelayJob.class);
+
+    private final LedgerOutboxRelay ledgerOutboxRelay;
+
+    public LedgerOutboxRelayJob(LedgerOutboxRelay ledgerOutboxRelay) {
+        this.ledgerOutboxRelay = ledgerOutboxRelay;
+    }
+
+    /**
+     * Runs every second (after the previous run finishes) to post queued transactions to the ledger
+     */
+    @Scheduled(fixedDelayString = "${ledger.posting.outbox.poll-interval-ms:1000}")
+    public void executeRelay() {
+        try {
+            int relayed = ledgerOutboxRelay.relayPending();
+            if (relayed > 0) {
+                LOGGER.debug("Ledger Outbox Relay Job relayed {} postings", relayed);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Ledger Outbox Relay Job failed", e);
+        }
+    }
+}
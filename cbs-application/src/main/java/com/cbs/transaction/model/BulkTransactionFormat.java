@@ -0,0 +1,6 @@
+package com.cbs.transaction.model;
+
+public enum BulkTransactionFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,47 @@
+package com.cbs.transaction.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A transaction waiting to be posted to the ledger by the outbox relay. Written in the same
+ * database transaction as the transaction row and deleted once the posting outcome is recorded.
+ */
+@Entity
+@Table(
+        name = "ledger_posting_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_posting_outbox_transaction", columnNames = "transaction_id")
+)
+public class LedgerPostingOutboxEntry extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_posting_outbox_seq")
+    @SequenceGenerator(name = "ledger_posting_outbox_seq", sequenceName = "ledger_posting_outbox_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    public LedgerPostingOutboxEntry() {
+    }
+
+    public LedgerPostingOutboxEntry(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+}
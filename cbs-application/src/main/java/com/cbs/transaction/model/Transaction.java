@@ -8,18 +8,31 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions", uniqueConstraints = @UniqueConstraint(name = "uk_transactions_reference", columnNames = "reference"))
+@Table(
+        name = "transactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transactions_reference", columnNames = "reference"),
+        indexes = {
+                @Index(name = "idx_transactions_account_id_id", columnList = "accountId, id"),
+                @Index(name = "idx_transactions_customer_id_id", columnList = "customerId, id"),
+                @Index(name = "idx_transactions_status_next_retry_at", columnList = "status, nextRetryAt")
+        }
+)
 public class Transaction extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -63,6 +76,13 @@ public class Transaction extends AuditableEntity {
     @Column(length = 255)
     private String failureReason;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int retryAttempts;
+
+    @Column
+    private Instant nextRetryAt;
+
     public Transaction() {
     }
 
@@ -144,6 +164,14 @@ public class Transaction extends AuditableEntity {
         return failureReason;
     }
 
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public Instant getNextRetryAt() {
+        return nextRetryAt;
+    }
+
     public void setStatus(TransactionStatus status) {
         this.status = status;
     }
@@ -155,4 +183,12 @@ public class Transaction extends AuditableEntity {
     public void setFailureReason(String failureReason) {
         this.failureReason = failureReason;
     }
+
+    /**
+     * Counts an automatic retry that failed and schedules the next one.
+     */
+    public void recordFailedRetry(Instant nextRetryAt) {
+        this.retryAttempts++;
+        this.nextRetryAt = nextRetryAt;
+    }
 }
@@ -0,0 +1,66 @@
+package com.cbs.transaction.model;
+
+import com.cbs.common.model.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Append-only record of a status a transaction passed through. Transactions are written once in
+ * their final state, so the intermediate states only survive here.
+ */
+@Entity
+@Table(
+        name = "transaction_status_events",
+        indexes = @Index(name = "idx_transaction_status_events_transaction", columnList = "transaction_id")
+)
+public class TransactionStatusEvent extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_status_events_seq")
+    @SequenceGenerator(name = "transaction_status_events_seq", sequenceName = "transaction_status_events_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionStatus status;
+
+    @Column(length = 255)
+    private String detail;
+
+    public TransactionStatusEvent() {
+    }
+
+    public TransactionStatusEvent(Long transactionId, TransactionStatus status, String detail) {
+        this.transactionId = transactionId;
+        this.status = status;
+        this.detail = detail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cbs.transaction.repository;
+
+import com.cbs.transaction.model.LedgerPostingOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LedgerPostingOutboxRepository extends JpaRepository<LedgerPostingOutboxEntry, Long> {
+
+    /**
+     * Locks the oldest entries, skipping rows another relay instance already holds.
+     */
+    @Query(value = """
+            select *
+            from ledger_posting_outbox
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<LedgerPostingOutboxEntry> lockNextBatch(@Param("limit") int limit);
+}
@@ -1,17 +1,51 @@
 package com.cbs.transaction.repository;
 
 import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
 
     boolean existsByReference(String reference);
 
-    List<Transaction> findByAccountIdOrderByIdDesc(Long accountId);
+    @Query("select transaction.reference from Transaction transaction where transaction.reference in :references")
+    List<String> findExistingReferences(@Param("references") Collection<String> references);
 
-    List<Transaction> findByCustomerIdOrderByIdDesc(Long customerId);
+    @Query("select transaction.accountId from Transaction transaction where transaction.id = :id")
+    Optional<Long> findAccountIdById(@Param("id") Long id);
 
-    List<Transaction> findByAccountIdAndCustomerIdOrderByIdDesc(Long accountId, Long customerId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select transaction from Transaction transaction where transaction.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks FAILED transactions due for an automatic retry, skipping rows another worker holds.
+     */
+    @Query(value = """
+            select *
+            from transactions
+            where status = 'FAILED'
+              and retry_attempts < :maxAttempts
+              and (next_retry_at is null or next_retry_at <= :now)
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<Transaction> claimDueRetries(@Param("maxAttempts") int maxAttempts, @Param("now") Instant now,
+            @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Transaction> findByReferenceStartingWithAndStatusAndIdGreaterThanOrderByIdAsc(String referencePrefix,
+            TransactionStatus status, Long id, Limit limit);
 }
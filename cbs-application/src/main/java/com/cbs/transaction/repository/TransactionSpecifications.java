@@ -0,0 +1,48 @@
+package com.cbs.transaction.repository;
+
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.model.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Matches the filter and, when a cursor is given, only rows older than it. Absent filters add
+     * no predicate, so each combination gets a plan that can use the (account_id, id) or
+     * (customer_id, id) index.
+     */
+    public static Specification<Transaction> history(TransactionHistoryFilter filter, Long beforeId) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.accountId() != null) {
+                predicates.add(builder.equal(root.get("accountId"), filter.accountId()));
+            }
+            if (filter.customerId() != null) {
+                predicates.add(builder.equal(root.get("customerId"), filter.customerId()));
+            }
+            if (filter.fromDate() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("valueDate"), filter.fromDate()));
+            }
+            if (filter.toDate() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("valueDate"), filter.toDate()));
+            }
+            if (filter.type() != null) {
+                predicates.add(builder.equal(root.get("type"), filter.type()));
+            }
+            if (filter.status() != null) {
+                predicates.add(builder.equal(root.get("status"), filter.status()));
+            }
+            if (beforeId != null) {
+                predicates.add(builder.lessThan(root.get("id"), beforeId));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
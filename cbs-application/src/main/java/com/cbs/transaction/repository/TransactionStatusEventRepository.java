@@ -0,0 +1,11 @@
+package com.cbs.transaction.repository;
+
+import com.cbs.transaction.model.TransactionStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TransactionStatusEventRepository extends JpaRepository<TransactionStatusEvent, Long> {
+
+    List<TransactionStatusEvent> findByTransactionIdOrderByIdAsc(Long transactionId);
+}
@@ -0,0 +1,181 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.service.LedgerPostingService;
+import com.cbs.transaction.integration.LedgerPostingRequests;
+import com.cbs.transaction.model.LedgerPostingOutboxEntry;
+import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionStatusEvent;
+import com.cbs.transaction.repository.LedgerPostingOutboxRepository;
+import com.cbs.transaction.repository.TransactionRepository;
+import com.cbs.transaction.repository.TransactionStatusEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the ledger posting outbox. Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, so
+ * several application instances can relay concurrently without posting the same entry twice.
+ * Ledger postings commit on their own; if a batch rolls back after some of them committed, the
+ * re-relay sees {@code LEDGER_REFERENCE_EXISTS} and records those transactions as POSTED once
+ * the existing entry is confirmed to be theirs. Failures are contained per entry: the transaction
+ * is marked FAILED for the retry worker and its outbox row is removed with the batch, so one bad
+ * row cannot hold the head of the outbox.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "outbox")
+public class LedgerOutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LedgerOutboxRelay.class);
+
+    private static final String REFERENCE_EXISTS = "LEDGER_REFERENCE_EXISTS";
+
+    private final LedgerPostingOutboxRepository ledgerPostingOutboxRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionStatusEventRepository transactionStatusEventRepository;
+    private final LedgerPostingService ledgerPostingService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean postingEnabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer lagTimer;
+    private final Counter postedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong depth = new AtomicLong();
+
+    public LedgerOutboxRelay(LedgerPostingOutboxRepository ledgerPostingOutboxRepository,
+            TransactionRepository transactionRepository,
+            TransactionStatusEventRepository transactionStatusEventRepository,
+            LedgerPostingService ledgerPostingService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.posting.enabled:true}") boolean postingEnabled,
+            @Value("${ledger.posting.outbox.batch-size:100}") int batchSize,
+            @Value("${ledger.posting.outbox.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.ledgerPostingOutboxRepository = ledgerPostingOutboxRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionStatusEventRepository = transactionStatusEventRepository;
+        this.ledgerPostingService = ledgerPostingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postingEnabled = postingEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lagTimer = Timer.builder("transaction.outbox.lag")
+                .description("Time from queueing a ledger posting to recording its outcome")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.postedCounter = relayedCounter(meterRegistry, "posted");
+        this.failedCounter = relayedCounter(meterRegistry, "failed");
+        Gauge.builder("transaction.outbox.depth", depth, AtomicLong::get)
+                .description("Ledger postings waiting in the outbox after the last relay run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is empty or the per-run batch limit is reached, and returns
+     * the number of entries relayed.
+     */
+    public int relayPending() {
+        int relayed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int count = relayBatch();
+            relayed += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        depth.set(ledgerPostingOutboxRepository.count());
+        return relayed;
+    }
+
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<LedgerPostingOutboxEntry> entries = ledgerPostingOutboxRepository.lockNextBatch(batchSize);
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            Map<Long, Transaction> transactions = transactionRepository
+                    .findAllById(entries.stream().map(LedgerPostingOutboxEntry::getTransactionId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+            Instant now = Instant.now();
+            List<TransactionStatusEvent> events = new ArrayList<>(entries.size());
+            for (LedgerPostingOutboxEntry entry : entries) {
+                Transaction transaction = transactions.get(entry.getTransactionId());
+                if (transaction != null && transaction.getStatus() == TransactionStatus.PROCESSING) {
+                    TransactionStatus outcome = post(transaction);
+                    events.add(new TransactionStatusEvent(transaction.getId(), outcome, transaction.getFailureReason()));
+                    (outcome == TransactionStatus.POSTED ? postedCounter : failedCounter).increment();
+                }
+                lagTimer.record(Duration.between(entry.getCreatedAt(), now));
+            }
+            transactionStatusEventRepository.saveAll(events);
+            ledgerPostingOutboxRepository.deleteAllInBatch(entries);
+            return entries.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private TransactionStatus post(Transaction transaction) {
+        try {
+            if (postingEnabled) {
+                postOrMatch(LedgerPostingRequests.policyEntry(transaction));
+            }
+        } catch (ApiException exception) {
+            return fail(transaction, exception.getMessage());
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Relaying the ledger posting of transaction {} failed", transaction.getId(), exception);
+            return fail(transaction, exception.getMessage());
+        }
+        transaction.setStatus(TransactionStatus.POSTED);
+        return TransactionStatus.POSTED;
+    }
+
+    /**
+     * An entry under the reference is accepted only if it is the one this transaction posts;
+     * references are shared with every other module.
+     */
+    private void postOrMatch(PostPolicyEntryRequest request) {
+        try {
+            ledgerPostingService.postPolicyEntry(request);
+        } catch (ApiException exception) {
+            if (!REFERENCE_EXISTS.equals(exception.getErrorCode())
+                    || !ledgerPostingService.matchesPostedEntry(request)) {
+                throw exception;
+            }
+        }
+    }
+
+    private static TransactionStatus fail(Transaction transaction, String reason) {
+        transaction.setStatus(TransactionStatus.FAILED);
+        transaction.setFailureReason(TransactionService.truncateReason(reason));
+        return TransactionStatus.FAILED;
+    }
+
+    private static Counter relayedCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("transaction.outbox.relayed")
+                .description("Ledger postings relayed from the outbox")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,337 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.transaction.dto.BulkTransactionResult;
+import com.cbs.transaction.dto.CreateTransactionRequest;
+import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.integration.AccountClient;
+import com.cbs.transaction.model.BulkTransactionFormat;
+import com.cbs.transaction.model.TransactionType;
+import com.cbs.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests payroll and settlement files line by line. Lines are parsed incrementally and handled
+ * in chunks: references are checked with one set-based query per chunk, account currencies come
+ * from a map filled once per account, and each chunk is persisted and posted in its own
+ * transaction. Results are written back as NDJSON after every chunk, so neither side holds the
+ * whole file. Every line gets a result: failures are reported on the lines they affect and never
+ * abort the stream. Duplicate references are caught within a chunk by the chunk's own lookup and
+ * across chunks by the database check, since earlier chunks are already committed.
+ */
+@Service
+public class TransactionBulkIngestionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionBulkIngestionService.class);
+
+    static final List<String> CSV_COLUMNS = List.of("customerId", "accountId", "counterpartyAccountId", "cardId",
+            "type", "amount", "currency", "description", "reference", "valueDate");
+
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final AccountClient accountClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public TransactionBulkIngestionService(TransactionService transactionService,
+            TransactionRepository transactionRepository,
+            AccountClient accountClient,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${cbs.transaction.bulk.chunk-size:500}") int chunkSize) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.accountClient = accountClient;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public void ingest(InputStream inputStream, BulkTransactionFormat format, OutputStream outputStream)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Map<Long, String> accountCurrencies = new HashMap<>();
+        long lineNumber = 0;
+
+        Map<String, Integer> csvColumns = null;
+        if (format == BulkTransactionFormat.CSV) {
+            lineNumber++;
+            String header = reader.readLine();
+            csvColumns = header == null ? Map.of() : indexColumns(splitCsv(header));
+            if (!csvColumns.keySet().containsAll(CSV_COLUMNS)) {
+                writeResults(List.of(BulkTransactionResult.rejected(lineNumber, null, "BULK_INVALID_HEADER",
+                        "CSV header must contain " + String.join(",", CSV_COLUMNS))), writer);
+                return;
+            }
+        }
+
+        List<BulkLine> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(format == BulkTransactionFormat.CSV
+                    ? parseCsvLine(lineNumber, line, csvColumns)
+                    : parseJsonLine(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                writeResults(processChunkSafely(chunk, accountCurrencies), writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(processChunkSafely(chunk, accountCurrencies), writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Creation failures are already isolated per line, so what can still fail here are the chunk's
+     * lookups, which run before anything is created: every line of the chunk is reported as not
+     * processed and the stream moves on to the next chunk.
+     */
+    private List<BulkTransactionResult> processChunkSafely(List<BulkLine> chunk,
+            Map<Long, String> accountCurrencies) {
+        try {
+            return processChunk(chunk, accountCurrencies);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Bulk ingestion chunk of {} lines failed", chunk.size(), exception);
+            return chunk.stream()
+                    .map(line -> BulkTransactionResult.rejected(line.lineNumber(), line.reference(),
+                            "BULK_CHUNK_FAILED", "Line was not processed, resubmit it"))
+                    .toList();
+        }
+    }
+
+    private List<BulkTransactionResult> processChunk(List<BulkLine> chunk, Map<Long, String> accountCurrencies) {
+        Map<Long, BulkTransactionResult> results = new TreeMap<>();
+        Map<String, Long> chunkReferences = new HashMap<>();
+        List<BulkLine> candidates = new ArrayList<>();
+
+        for (BulkLine line : chunk) {
+            if (line.error() != null) {
+                results.put(line.lineNumber(), BulkTransactionResult.rejected(
+                        line.lineNumber(), null, "BULK_INVALID_LINE", line.error()));
+                continue;
+            }
+            Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(line.request());
+            if (!violations.isEmpty()) {
+                results.put(line.lineNumber(), BulkTransactionResult.rejected(
+                        line.lineNumber(), line.request().reference(), "VALIDATION_ERROR", describe(violations)));
+                continue;
+            }
+            Long firstLineNumber = chunkReferences.putIfAbsent(line.reference(), line.lineNumber());
+            if (firstLineNumber != null) {
+                results.put(line.lineNumber(), BulkTransactionResult.rejected(line.lineNumber(), line.reference(),
+                        "TRANSACTION_REFERENCE_EXISTS", "Reference already used on line " + firstLineNumber));
+                continue;
+            }
+            candidates.add(line);
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existingReferences = new HashSet<>(
+                    transactionRepository.findExistingReferences(chunkReferences.keySet()));
+            loadMissingCurrencies(candidates, accountCurrencies);
+
+            List<BulkLine> batchable = new ArrayList<>();
+            for (BulkLine line : candidates) {
+                String accountCurrency = accountCurrencies.get(line.request().accountId());
+                String transactionCurrency = line.request().currency().trim().toUpperCase();
+                if (existingReferences.contains(line.reference())) {
+                    results.put(line.lineNumber(), BulkTransactionResult.rejected(line.lineNumber(),
+                            line.reference(), "TRANSACTION_REFERENCE_EXISTS", "Reference already exists"));
+                } else if (accountCurrency == null) {
+                    results.put(line.lineNumber(), BulkTransactionResult.rejected(line.lineNumber(),
+                            line.reference(), "ACCOUNT_NOT_FOUND", "Account not found"));
+                } else if (!accountCurrency.equals(transactionCurrency)) {
+                    results.put(line.lineNumber(), BulkTransactionResult.rejected(line.lineNumber(),
+                            line.reference(), "CURRENCY_MISMATCH", "Account currency is " + accountCurrency
+                                    + " but transaction uses " + transactionCurrency));
+                } else if (line.request().cardId() != null) {
+                    // Card limits are enforced per transaction, so card lines take the single-create path
+                    results.put(line.lineNumber(), createIndividually(line));
+                } else {
+                    batchable.add(line);
+                }
+            }
+            createBatch(batchable, results);
+        }
+        return List.copyOf(results.values());
+    }
+
+    private void createBatch(List<BulkLine> lines, Map<Long, BulkTransactionResult> results) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            List<TransactionResponse> created = transactionService.createTransactions(
+                    lines.stream().map(BulkLine::request).toList());
+            for (int i = 0; i < lines.size(); i++) {
+                long lineNumber = lines.get(i).lineNumber();
+                results.put(lineNumber, BulkTransactionResult.created(lineNumber, created.get(i)));
+            }
+        } catch (RuntimeException exception) {
+            // The chunk rolled back, typically because a concurrent writer took one of the references
+            LOGGER.warn("Bulk ingestion batch of {} lines failed; creating them one by one", lines.size(), exception);
+            lines.forEach(line -> results.put(line.lineNumber(), createIndividually(line)));
+        }
+    }
+
+    private BulkTransactionResult createIndividually(BulkLine line) {
+        try {
+            return BulkTransactionResult.created(line.lineNumber(), transactionService.createTransaction(line.request()));
+        } catch (ApiException exception) {
+            return BulkTransactionResult.rejected(line.lineNumber(), line.reference(), exception.getErrorCode(),
+                    exception.getMessage());
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Bulk ingestion of line {} failed", line.lineNumber(), exception);
+            return BulkTransactionResult.rejected(line.lineNumber(), line.reference(), "BULK_LINE_FAILED",
+                    "Line could not be created, resubmit it");
+        }
+    }
+
+    private void loadMissingCurrencies(List<BulkLine> lines, Map<Long, String> accountCurrencies) {
+        Set<Long> missingAccountIds = lines.stream()
+                .map(line -> line.request().accountId())
+                .filter(accountId -> !accountCurrencies.containsKey(accountId))
+                .collect(Collectors.toSet());
+        if (!missingAccountIds.isEmpty()) {
+            accountCurrencies.putAll(accountClient.getAccountCurrencies(missingAccountIds));
+        }
+    }
+
+    private void writeResults(List<BulkTransactionResult> results, Writer writer) throws IOException {
+        for (BulkTransactionResult result : results) {
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private BulkLine parseJsonLine(long lineNumber, String line) {
+        try {
+            return BulkLine.parsed(lineNumber, objectMapper.readValue(line, CreateTransactionRequest.class));
+        } catch (JsonProcessingException exception) {
+            return BulkLine.invalid(lineNumber, "Malformed JSON line");
+        }
+    }
+
+    private BulkLine parseCsvLine(long lineNumber, String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        try {
+            return BulkLine.parsed(lineNumber, new CreateTransactionRequest(
+                    csvValue(fields, columns, "customerId", Long::valueOf),
+                    csvValue(fields, columns, "accountId", Long::valueOf),
+                    csvValue(fields, columns, "counterpartyAccountId", Long::valueOf),
+                    csvValue(fields, columns, "cardId", Long::valueOf),
+                    csvValue(fields, columns, "type", value -> TransactionType.valueOf(value.toUpperCase())),
+                    csvValue(fields, columns, "amount", BigDecimal::new),
+                    csvValue(fields, columns, "currency", Function.identity()),
+                    csvValue(fields, columns, "description", Function.identity()),
+                    csvValue(fields, columns, "reference", Function.identity()),
+                    csvValue(fields, columns, "valueDate", LocalDate::parse)));
+        } catch (IllegalArgumentException exception) {
+            return BulkLine.invalid(lineNumber, exception.getMessage());
+        }
+    }
+
+    private static <T> T csvValue(List<String> fields, Map<String, Integer> columns, String column,
+            Function<String, T> converter) {
+        int index = columns.get(column);
+        if (index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        try {
+            return converter.apply(fields.get(index).trim());
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid value for column " + column);
+        }
+    }
+
+    private static Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        return columns;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char current = line.charAt(i);
+            if (quoted) {
+                if (current == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (current == '"') {
+                    quoted = false;
+                } else {
+                    field.append(current);
+                }
+            } else if (current == '"') {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String describe(Set<ConstraintViolation<CreateTransactionRequest>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record BulkLine(long lineNumber, CreateTransactionRequest request, String reference, String error) {
+
+        static BulkLine parsed(long lineNumber, CreateTransactionRequest request) {
+            String reference = request.reference() == null ? null : request.reference().trim().toUpperCase();
+            return new BulkLine(lineNumber, request, reference, null);
+        }
+
+        static BulkLine invalid(long lineNumber, String error) {
+            return new BulkLine(lineNumber, null, null, error);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cbs.transaction.service;
+
+import com.cbs.transaction.dto.BulkReversalResponse;
+import com.cbs.transaction.dto.BulkReverseTransactionsRequest;
+import com.cbs.transaction.dto.ReversalFailure;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reverses every POSTED transaction under a reference prefix, such as all lines of a bad payroll
+ * file. Transactions are walked in id order in chunks, each reversed and committed on its own,
+ * so a large run never holds one long transaction and failed reversals do not block the rest.
+ */
+@Service
+public class TransactionBulkReversalService {
+
+    private final TransactionService transactionService;
+    private final int chunkSize;
+
+    public TransactionBulkReversalService(TransactionService transactionService,
+            @Value("${cbs.transaction.reversal.chunk-size:500}") int chunkSize) {
+        this.transactionService = transactionService;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkReversalResponse reverseByReferencePrefix(BulkReverseTransactionsRequest request) {
+        String referencePrefix = request.referencePrefix().trim().toUpperCase();
+        String reason = request.reason().trim();
+
+        int matched = 0;
+        int reversed = 0;
+        Long afterId = 0L;
+        List<ReversalFailure> failures = new ArrayList<>();
+        BulkReversalResponse chunk;
+        do {
+            chunk = transactionService.reverseTransactions(referencePrefix, reason, afterId, chunkSize);
+            matched += chunk.matched();
+            reversed += chunk.reversed();
+            failures.addAll(chunk.failures());
+            afterId = chunk.lastTransactionId();
+        } while (chunk.matched() == chunkSize);
+
+        return new BulkReversalResponse(matched, reversed, failures.size(), afterId, failures);
+    }
+}
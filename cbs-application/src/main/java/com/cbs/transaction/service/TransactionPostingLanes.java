@@ -0,0 +1,141 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer lanes for transaction processing. Work is routed by account id, so everything for
+ * one account runs in submission order on one thread while different accounts run in parallel.
+ * Same-account requests queue in memory instead of piling up on row locks in Postgres. Each lane
+ * publishes its queue depth ({@code transaction.lane.depth}), queueing delay
+ * ({@code transaction.lane.wait}) and run time ({@code transaction.lane.execution}).
+ *
+ * <p>Only single-transaction requests are routed here: create, reverse and manual retry. Lanes
+ * order work per account; they do not make it exclusive. A transfer runs on the lane of its
+ * account only, so work for its counterparty account can still run concurrently on another lane.
+ * Bulk ingestion, bulk reversal and the automatic retry worker handle chunks spanning many
+ * accounts and bypass the lanes. For all of these, correctness still rests on the database: row
+ * locks on the transaction, the reference constraint and the ledger's per-account balance
+ * updates. The lanes only cut contention for the common single-account case.
+ */
+@Component
+public class TransactionPostingLanes {
+
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final List<Timer> waitTimers;
+    private final List<Timer> executionTimers;
+
+    public TransactionPostingLanes(MeterRegistry meterRegistry,
+            @Value("${cbs.transaction.lanes.count:0}") int laneCount,
+            @Value("${cbs.transaction.lanes.queue-capacity:1000}") int queueCapacity) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ArrayList<>(count);
+        this.waitTimers = new ArrayList<>(count);
+        this.executionTimers = new ArrayList<>(count);
+        for (int lane = 0; lane < count; lane++) {
+            String name = "transaction-lane-" + lane;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            lanes.add(executor);
+
+            String tag = Integer.toString(lane);
+            Gauge.builder("transaction.lane.depth", executor, pool -> pool.getQueue().size())
+                    .description("Transactions waiting in a posting lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            waitTimers.add(Timer.builder("transaction.lane.wait")
+                    .description("Time a transaction spent queued in its posting lane")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            executionTimers.add(Timer.builder("transaction.lane.execution")
+                    .description("Time a posting lane spent processing a transaction")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs the work on the account's lane and waits for its result. Exceptions thrown by the work
+     * are rethrown unchanged; a full lane is rejected with 503 rather than run out of order.
+     */
+    public <T> T execute(Long accountId, Supplier<T> work) {
+        int lane = laneFor(accountId);
+        // Already on this lane (nested call): queueing behind ourselves would deadlock
+        if (Integer.valueOf(lane).equals(CURRENT_LANE.get())) {
+            return work.get();
+        }
+
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = lanes.get(lane).submit(() -> {
+                waitTimers.get(lane).record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                CURRENT_LANE.set(lane);
+                try {
+                    return executionTimers.get(lane).record(work);
+                } finally {
+                    CURRENT_LANE.remove();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            throw new ApiException("TRANSACTION_LANE_BUSY",
+                    "Too many transactions are queued for this account, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("TRANSACTION_LANE_INTERRUPTED", "Interrupted while waiting for posting lane",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    int laneCount() {
+        return lanes.size();
+    }
+
+    int laneFor(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId), lanes.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.common.retry.RetryRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Retries FAILED ledger postings in the background with exponential backoff until
+ * {@code cbs.transaction.retry.max-attempts} is used up.
+ */
+@Service
+public class TransactionRetryWorker {
+
+    private final TransactionService transactionService;
+    private final RetryRunner retryRunner;
+
+    public TransactionRetryWorker(TransactionService transactionService,
+            MeterRegistry meterRegistry,
+            @Value("${cbs.transaction.retry.batch-size:100}") int batchSize,
+            @Value("${cbs.transaction.retry.max-batches-per-run:10}") int maxBatchesPerRun,
+            @Value("${cbs.transaction.retry.max-attempts:5}") int maxAttempts,
+            @Value("${cbs.transaction.retry.initial-backoff:PT30S}") Duration initialBackoff,
+            @Value("${cbs.transaction.retry.max-backoff:PT30M}") Duration maxBackoff,
+            @Value("${cbs.transaction.retry.multiplier:2.0}") double multiplier) {
+        this.transactionService = transactionService;
+        this.retryRunner = new RetryRunner("transaction", meterRegistry, batchSize, maxBatchesPerRun, maxAttempts,
+                new RetryBackoff(initialBackoff, maxBackoff, multiplier));
+    }
+
+    public RetryBatchResult retryDueFailures() {
+        return retryRunner.run(transactionService::retryFailedTransactions);
+    }
+}
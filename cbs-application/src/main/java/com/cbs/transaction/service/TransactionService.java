@@ -2,40 +2,94 @@ package com.cbs.transaction.service;
 
 import com.cbs.card.service.CardSpendingService;
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.transaction.dto.BulkReversalResponse;
 import com.cbs.transaction.dto.CreateTransactionRequest;
+import com.cbs.transaction.dto.ReversalFailure;
 import com.cbs.transaction.dto.ReverseTransactionRequest;
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.dto.TransactionPageResponse;
 import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.dto.TransactionStatusEventResponse;
 import com.cbs.transaction.integration.AccountClient;
 import com.cbs.transaction.integration.LedgerPostingClient;
+import com.cbs.transaction.integration.LedgerPostingResult;
+import com.cbs.transaction.integration.LedgerReversalClient;
 import com.cbs.transaction.model.Transaction;
 import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionStatusEvent;
 import com.cbs.transaction.repository.TransactionRepository;
+import com.cbs.transaction.repository.TransactionSpecifications;
+import com.cbs.transaction.repository.TransactionStatusEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionService.class);
+
+    private static final String REFERENCE_CONSTRAINT = "uk_transactions_reference";
+
     private final TransactionRepository transactionRepository;
+    private final TransactionStatusEventRepository transactionStatusEventRepository;
     private final LedgerPostingClient ledgerPostingClient;
+    private final LedgerReversalClient ledgerReversalClient;
     private final AccountClient accountClient;
     private final CardSpendingService cardSpendingService;
+    private final IdempotencyService idempotencyService;
+    private final int maxPageSize;
 
     public TransactionService(TransactionRepository transactionRepository,
+            TransactionStatusEventRepository transactionStatusEventRepository,
             LedgerPostingClient ledgerPostingClient,
+            LedgerReversalClient ledgerReversalClient,
             AccountClient accountClient,
-            CardSpendingService cardSpendingService) {
+            CardSpendingService cardSpendingService,
+            IdempotencyService idempotencyService,
+            @Value("${cbs.transaction.history.max-page-size:200}") int maxPageSize) {
         this.transactionRepository = transactionRepository;
+        this.transactionStatusEventRepository = transactionStatusEventRepository;
         this.ledgerPostingClient = ledgerPostingClient;
+        this.ledgerReversalClient = ledgerReversalClient;
         this.accountClient = accountClient;
         this.cardSpendingService = cardSpendingService;
+        this.idempotencyService = idempotencyService;
+        this.maxPageSize = maxPageSize;
     }
 
+    /**
+     * Runs the INITIATED, PROCESSING, POSTED/FAILED state machine in memory, so the transaction row
+     * is written by a single insert in its final state, or in PROCESSING when the ledger client
+     * queues the posting in the outbox, instead of an insert followed by status updates. Ledger
+     * posting commits on its own, so a reference lookup rejects duplicates before it runs; the
+     * unique constraint still catches concurrent duplicates. The status journal gets one row per
+     * state passed through, sent as one JDBC batch at commit since it uses sequence ids. A retry
+     * with the same reference and payload returns the original response without running again.
+     */
     @Transactional
     public TransactionResponse createTransaction(CreateTransactionRequest request) {
         String reference = normalizeReference(request.reference());
+        return idempotencyService.execute("TRANSACTION", reference, request, TransactionResponse.class,
+                () -> doCreateTransaction(request, reference));
+    }
+
+    private TransactionResponse doCreateTransaction(CreateTransactionRequest request, String reference) {
         if (transactionRepository.existsByReference(reference)) {
             throw new ApiException("TRANSACTION_REFERENCE_EXISTS", "Reference already exists");
         }
@@ -54,32 +108,52 @@ public class TransactionService {
                     request.cardId(), request.amount(), reference);
         }
 
-        Transaction transaction = new Transaction(
-                request.customerId(),
-                request.accountId(),
-                request.counterpartyAccountId(),
-                request.cardId(),
-                request.type(),
-                request.amount(),
-                request.currency().trim().toUpperCase(),
-                request.description().trim(),
-                reference,
-                request.valueDate());
-
-        Transaction createdTransaction = transactionRepository.save(transaction);
-        createdTransaction.setStatus(TransactionStatus.PROCESSING);
-        Transaction processingTransaction = transactionRepository.save(createdTransaction);
+        Transaction transaction = newTransaction(request, reference);
+        transaction.setStatus(TransactionStatus.PROCESSING);
+        // Persisting only assigns the sequence id; the row is inserted in its final state at flush
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        postToLedger(savedTransaction, false);
 
         try {
-            ledgerPostingClient.postTransaction(processingTransaction);
-            processingTransaction.setStatus(TransactionStatus.POSTED);
-            processingTransaction.setFailureReason(null);
-        } catch (ApiException exception) {
-            processingTransaction.setStatus(TransactionStatus.FAILED);
-            processingTransaction.setFailureReason(truncateReason(exception.getMessage()));
+            transactionRepository.flush();
+        } catch (DataIntegrityViolationException exception) {
+            if (isReferenceViolation(exception)) {
+                throw new ApiException("TRANSACTION_REFERENCE_EXISTS", "Reference already exists");
+            }
+            throw exception;
         }
 
-        return TransactionResponse.from(transactionRepository.save(processingTransaction));
+        transactionStatusEventRepository.saveAll(statusEvents(savedTransaction,
+                TransactionStatus.INITIATED, TransactionStatus.PROCESSING));
+        return TransactionResponse.from(savedTransaction);
+    }
+
+    /**
+     * Creates a chunk of transactions whose references, currencies and payloads the caller has
+     * already validated, and which carry no card. Rows are inserted as PROCESSING in one batch
+     * before posting, so a duplicate that slipped past the caller fails the chunk before any
+     * ledger entry commits. The chunk is then posted with one batched ledger call; if that call
+     * fails as a whole, each transaction is posted on its own and any failure leaves it FAILED for
+     * the retry worker instead of failing the chunk.
+     */
+    @Transactional
+    public List<TransactionResponse> createTransactions(List<CreateTransactionRequest> requests) {
+        List<Transaction> transactions = requests.stream()
+                .map(request -> {
+                    Transaction transaction = newTransaction(request, normalizeReference(request.reference()));
+                    transaction.setStatus(TransactionStatus.PROCESSING);
+                    return transaction;
+                })
+                .toList();
+        List<Transaction> savedTransactions = transactionRepository.saveAllAndFlush(transactions);
+        postChunkToLedger(savedTransactions);
+
+        List<TransactionStatusEvent> events = new ArrayList<>(savedTransactions.size() * 3);
+        for (Transaction transaction : savedTransactions) {
+            events.addAll(statusEvents(transaction, TransactionStatus.INITIATED, TransactionStatus.PROCESSING));
+        }
+        transactionStatusEventRepository.saveAll(events);
+        return savedTransactions.stream().map(TransactionResponse::from).toList();
     }
 
     @Transactional(readOnly = true)
@@ -87,28 +161,49 @@ public class TransactionService {
         return TransactionResponse.from(findTransaction(transactionId));
     }
 
-    @Transactional(readOnly = true)
-    public List<TransactionResponse> listTransactions(Long accountId, Long customerId) {
-        List<Transaction> transactions;
+    /**
+     * Account whose posting lane runs work on the transaction, read as a single column. A missing
+     * transaction is keyed by its own id, so the call still runs on a lane and reports the 404
+     * from there.
+     */
+    public Long laneAccountId(Long transactionId) {
+        return transactionRepository.findAccountIdById(transactionId).orElse(transactionId);
+    }
 
-        if (accountId != null && customerId != null) {
-            transactions = transactionRepository.findByAccountIdAndCustomerIdOrderByIdDesc(accountId, customerId);
-        } else if (accountId != null) {
-            transactions = transactionRepository.findByAccountIdOrderByIdDesc(accountId);
-        } else if (customerId != null) {
-            transactions = transactionRepository.findByCustomerIdOrderByIdDesc(customerId);
-        } else {
-            transactions = transactionRepository.findAll().stream()
-                    .sorted((left, right) -> right.getId().compareTo(left.getId()))
-                    .toList();
+    /**
+     * Returns one page of history ordered by id descending, using the last id of the previous page
+     * as the cursor instead of an offset so deep pages cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse listTransactions(TransactionHistoryFilter filter, Long cursor, int limit) {
+        if (limit < 1) {
+            throw new ApiException("TRANSACTION_INVALID_PAGE_SIZE", "limit must be positive");
+        }
+        if (filter.fromDate() != null && filter.toDate() != null && filter.fromDate().isAfter(filter.toDate())) {
+            throw new ApiException("TRANSACTION_INVALID_DATE_RANGE", "fromDate must be before or equal to toDate");
         }
 
-        return transactions.stream().map(TransactionResponse::from).toList();
+        int pageSize = Math.min(limit, maxPageSize);
+        // One extra row tells whether another page exists without a count query
+        List<Transaction> transactions = transactionRepository.findBy(
+                TransactionSpecifications.history(filter, cursor),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(pageSize + 1).all());
+
+        boolean hasMore = transactions.size() > pageSize;
+        List<Transaction> page = hasMore ? transactions.subList(0, pageSize) : transactions;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new TransactionPageResponse(page.stream().map(TransactionResponse::from).toList(), nextCursor);
     }
 
+    /**
+     * Posts the compensating journal entry, then marks the transaction REVERSED. The row is locked
+     * so a concurrent bulk reversal cannot reverse it a second time; a rejected ledger posting
+     * leaves the transaction POSTED.
+     */
     @Transactional
     public TransactionResponse reverseTransaction(Long transactionId, ReverseTransactionRequest request) {
-        Transaction transaction = findTransaction(transactionId);
+        Transaction transaction = transactionRepository.findByIdForUpdate(transactionId)
+                .orElseThrow(() -> new ApiException("TRANSACTION_NOT_FOUND", "Transaction not found"));
 
         if (transaction.getStatus() == TransactionStatus.INITIATED
                 || transaction.getStatus() == TransactionStatus.PROCESSING) {
@@ -123,16 +218,58 @@ public class TransactionService {
             throw new ApiException("TRANSACTION_FAILED", "Failed transaction cannot be reversed");
         }
 
-        transaction.setStatus(TransactionStatus.REVERSED);
         transaction.setReversalReason(request.reason().trim());
+        ledgerReversalClient.postReversal(transaction);
+        transaction.setStatus(TransactionStatus.REVERSED);
         transaction.setFailureReason(null);
 
-        return TransactionResponse.from(transactionRepository.save(transaction));
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionStatusEventRepository.saveAll(List.of(new TransactionStatusEvent(
+                savedTransaction.getId(), TransactionStatus.REVERSED, savedTransaction.getReversalReason())));
+        return TransactionResponse.from(savedTransaction);
     }
 
+    /**
+     * Reverses the next chunk of POSTED transactions whose reference starts with the prefix and
+     * whose id is above {@code afterId}. The chunk is locked, reversed in the ledger as one batch,
+     * and only the transactions whose compensating entry posted are marked REVERSED.
+     */
+    @Transactional
+    public BulkReversalResponse reverseTransactions(String referencePrefix, String reason, Long afterId, int limit) {
+        List<Transaction> transactions = transactionRepository
+                .findByReferenceStartingWithAndStatusAndIdGreaterThanOrderByIdAsc(referencePrefix,
+                        TransactionStatus.POSTED, afterId, Limit.of(limit));
+        if (transactions.isEmpty()) {
+            return new BulkReversalResponse(0, 0, 0, afterId, List.of());
+        }
+        transactions.forEach(transaction -> transaction.setReversalReason(reason));
+
+        List<ReversalFailure> failures = ledgerReversalClient.postReversals(transactions);
+        Map<Long, ReversalFailure> failuresById = failures.stream()
+                .collect(Collectors.toMap(ReversalFailure::transactionId, Function.identity()));
+        List<TransactionStatusEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            if (failuresById.containsKey(transaction.getId())) {
+                transaction.setReversalReason(null);
+                continue;
+            }
+            transaction.setStatus(TransactionStatus.REVERSED);
+            transaction.setFailureReason(null);
+            events.add(new TransactionStatusEvent(transaction.getId(), TransactionStatus.REVERSED, reason));
+        }
+        transactionStatusEventRepository.saveAll(events);
+        return new BulkReversalResponse(transactions.size(), events.size(), failures.size(),
+                transactions.get(transactions.size() - 1).getId(), failures);
+    }
+
+    /**
+     * Posts a FAILED transaction again. The row is locked so the retry worker or a second manual
+     * retry cannot post it concurrently.
+     */
     @Transactional
     public TransactionResponse retryPosting(Long transactionId) {
-        Transaction transaction = findTransaction(transactionId);
+        Transaction transaction = transactionRepository.findByIdForUpdate(transactionId)
+                .orElseThrow(() -> new ApiException("TRANSACTION_NOT_FOUND", "Transaction not found"));
 
         if (transaction.getStatus() != TransactionStatus.FAILED) {
             throw new ApiException("TRANSACTION_NOT_FAILED", "Only failed transaction can be retried");
@@ -140,18 +277,131 @@ public class TransactionService {
 
         transaction.setStatus(TransactionStatus.PROCESSING);
         transaction.setFailureReason(null);
-        Transaction processingTransaction = transactionRepository.save(transaction);
+        postToLedger(transaction, true);
 
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionStatusEventRepository.saveAll(statusEvents(savedTransaction, TransactionStatus.PROCESSING));
+        return TransactionResponse.from(savedTransaction);
+    }
+
+    /**
+     * Claims a chunk of FAILED transactions due for an automatic retry and posts them again. A
+     * failure counts the attempt and schedules the next one with {@code backoff}. Failures are
+     * contained per transaction, so one unexpected exception cannot roll back the chunk and lose
+     * the attempts counted for the others.
+     */
+    @Transactional
+    public RetryBatchResult retryFailedTransactions(int limit, int maxAttempts, RetryBackoff backoff) {
+        Instant now = Instant.now();
+        List<Transaction> transactions = transactionRepository.claimDueRetries(maxAttempts, now, limit);
+        if (transactions.isEmpty()) {
+            return RetryBatchResult.empty();
+        }
+
+        int failed = 0;
+        int exhausted = 0;
+        List<TransactionStatusEvent> events = new ArrayList<>(transactions.size() * 2);
+        for (Transaction transaction : transactions) {
+            transaction.setStatus(TransactionStatus.PROCESSING);
+            postToLedgerIsolated(transaction, true);
+            events.addAll(statusEvents(transaction, TransactionStatus.PROCESSING));
+            if (transaction.getStatus() == TransactionStatus.FAILED) {
+                transaction.recordFailedRetry(backoff.nextAttemptAt(transaction.getRetryAttempts() + 1, now));
+                if (transaction.getRetryAttempts() >= maxAttempts) {
+                    exhausted++;
+                } else {
+                    failed++;
+                }
+            }
+        }
+        transactionStatusEventRepository.saveAll(events);
+        return new RetryBatchResult(transactions.size(), transactions.size() - failed - exhausted, failed, exhausted);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionStatusEventResponse> getStatusHistory(Long transactionId) {
+        findTransaction(transactionId);
+        return transactionStatusEventRepository.findByTransactionIdOrderByIdAsc(transactionId).stream()
+                .map(TransactionStatusEventResponse::from)
+                .toList();
+    }
+
+    private Transaction newTransaction(CreateTransactionRequest request, String reference) {
+        return new Transaction(
+                request.customerId(),
+                request.accountId(),
+                request.counterpartyAccountId(),
+                request.cardId(),
+                request.type(),
+                request.amount(),
+                request.currency().trim().toUpperCase(),
+                request.description().trim(),
+                reference,
+                request.valueDate());
+    }
+
+    /**
+     * Only a retry may find its own earlier entry under the reference; a first posting that finds
+     * the reference taken fails like any other rejection.
+     */
+    private void postToLedger(Transaction transaction, boolean retry) {
         try {
-            ledgerPostingClient.postTransaction(processingTransaction);
-            processingTransaction.setStatus(TransactionStatus.POSTED);
-            processingTransaction.setFailureReason(null);
+            transaction.setStatus(retry
+                    ? ledgerPostingClient.repostTransaction(transaction)
+                    : ledgerPostingClient.postTransaction(transaction));
+            transaction.setFailureReason(null);
         } catch (ApiException exception) {
-            processingTransaction.setStatus(TransactionStatus.FAILED);
-            processingTransaction.setFailureReason(truncateReason(exception.getMessage()));
+            transaction.setStatus(TransactionStatus.FAILED);
+            transaction.setFailureReason(truncateReason(exception.getMessage()));
+        }
+    }
+
+    private void postChunkToLedger(List<Transaction> transactions) {
+        List<LedgerPostingResult> results;
+        try {
+            results = ledgerPostingClient.postTransactions(transactions);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Batched ledger posting of {} transactions failed; posting them one by one",
+                    transactions.size(), exception);
+            transactions.forEach(transaction -> postToLedgerIsolated(transaction, false));
+            return;
+        }
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            LedgerPostingResult result = results.get(i);
+            transaction.setStatus(result.status());
+            transaction.setFailureReason(truncateReason(result.failureReason()));
         }
+    }
+
+    private void postToLedgerIsolated(Transaction transaction, boolean retry) {
+        try {
+            postToLedger(transaction, retry);
+        } catch (RuntimeException exception) {
+            transaction.setStatus(TransactionStatus.FAILED);
+            transaction.setFailureReason(truncateReason(exception.getMessage()));
+        }
+    }
+
+    /**
+     * Journals the statuses the transaction passed through, then its current status unless it is
+     * still the last of those, as after an outbox hand-off that leaves it PROCESSING.
+     */
+    private List<TransactionStatusEvent> statusEvents(Transaction transaction, TransactionStatus... passedThrough) {
+        List<TransactionStatusEvent> events = new ArrayList<>(passedThrough.length + 1);
+        for (TransactionStatus status : passedThrough) {
+            events.add(new TransactionStatusEvent(transaction.getId(), status, null));
+        }
+        if (transaction.getStatus() != passedThrough[passedThrough.length - 1]) {
+            events.add(new TransactionStatusEvent(
+                    transaction.getId(), transaction.getStatus(), transaction.getFailureReason()));
+        }
+        return events;
+    }
 
-        return TransactionResponse.from(transactionRepository.save(processingTransaction));
+    private boolean isReferenceViolation(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.contains(REFERENCE_CONSTRAINT);
     }
 
     private Transaction findTransaction(Long transactionId) {
@@ -163,7 +413,7 @@ public class TransactionService {
         return reference.trim().toUpperCase();
     }
 
-    private String truncateReason(String reason) {
+    static String truncateReason(String reason) {
         if (reason == null) {
             return null;
         }
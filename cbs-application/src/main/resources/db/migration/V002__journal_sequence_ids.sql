@@ -0,0 +1,9 @@
+-- Migration to switch journal entry and line ids from IDENTITY to pooled sequences so Hibernate can batch inserts
+
+-- Sequences use the same increment as the entity allocationSize (50)
+CREATE SEQUENCE IF NOT EXISTS journal_entries_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS journal_entry_lines_seq INCREMENT BY 50;
+
+-- Start above existing ids, leaving one allocation block of headroom
+SELECT setval('journal_entries_seq', COALESCE(MAX(id), 0) + 51) FROM journal_entries;
+SELECT setval('journal_entry_lines_seq', COALESCE(MAX(id), 0) + 51) FROM journal_entry_lines;
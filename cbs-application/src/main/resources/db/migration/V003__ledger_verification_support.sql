@@ -0,0 +1,8 @@
+-- Migration supporting the partitioned ledger integrity verifier
+
+-- Records when an account was deactivated so lines posted afterwards can be detected
+ALTER TABLE ledger_accounts ADD COLUMN IF NOT EXISTS deactivated_at TIMESTAMP WITH TIME ZONE;
+
+-- Partitions scan lines by journal entry id range; the tail of a run is found by creation time
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_journal_entry_lines_entry ON journal_entry_lines (journal_entry_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_journal_entries_created_at ON journal_entries (created_at);
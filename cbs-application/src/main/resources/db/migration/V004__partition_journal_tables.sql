@@ -0,0 +1,107 @@
+-- Migration converting journal_entries and journal_entry_lines into tables range-partitioned by value_date month
+-- Run once with the application stopped, then start it with the "partitioned" profile, which switches ddl-auto
+-- to validate and lets JournalPartitionMaintenanceJob pre-create future months and detach expired ones.
+
+BEGIN;
+
+-- Lines carry their entry's value date so both tables partition on the same key
+ALTER TABLE journal_entry_lines ADD COLUMN IF NOT EXISTS value_date DATE;
+UPDATE journal_entry_lines line
+SET value_date = entry.value_date
+FROM journal_entries entry
+WHERE entry.id = line.journal_entry_id
+  AND line.value_date IS NULL;
+
+ALTER TABLE journal_entry_lines RENAME TO journal_entry_lines_unpartitioned;
+ALTER TABLE journal_entries RENAME TO journal_entries_unpartitioned;
+
+-- Postgres requires the partition key in every unique constraint, so primary keys become (id, value_date)
+CREATE TABLE journal_entries (
+    id BIGINT NOT NULL,
+    reference VARCHAR(64) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    value_date DATE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_journal_entries PRIMARY KEY (id, value_date)
+) PARTITION BY RANGE (value_date);
+
+CREATE TABLE journal_entry_lines (
+    id BIGINT NOT NULL,
+    journal_entry_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    entry_type VARCHAR(8) NOT NULL CHECK (entry_type IN ('DEBIT', 'CREDIT')),
+    amount NUMERIC(19, 4) NOT NULL,
+    value_date DATE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_journal_entry_lines PRIMARY KEY (id, value_date),
+    CONSTRAINT fk_journal_entry_lines_entry FOREIGN KEY (journal_entry_id, value_date)
+        REFERENCES journal_entries (id, value_date),
+    CONSTRAINT fk_journal_entry_lines_account FOREIGN KEY (account_id) REFERENCES ledger_accounts (id)
+) PARTITION BY RANGE (value_date);
+
+-- Monthly partitions covering existing data up to three months ahead; back-dated outliers land in the default
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', COALESCE((SELECT MIN(value_date) FROM journal_entries_unpartitioned), CURRENT_DATE));
+    last_month DATE := date_trunc('month', GREATEST(COALESCE((SELECT MAX(value_date) FROM journal_entries_unpartitioned), CURRENT_DATE), CURRENT_DATE)) + INTERVAL '3 months';
+    partition_month DATE := first_month;
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF journal_entries FOR VALUES FROM (%L) TO (%L)',
+                'journal_entries_p' || to_char(partition_month, 'YYYY_MM'),
+                partition_month, (partition_month + INTERVAL '1 month')::DATE);
+        EXECUTE format('CREATE TABLE %I PARTITION OF journal_entry_lines FOR VALUES FROM (%L) TO (%L)',
+                'journal_entry_lines_p' || to_char(partition_month, 'YYYY_MM'),
+                partition_month, (partition_month + INTERVAL '1 month')::DATE);
+        partition_month := (partition_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+CREATE TABLE journal_entries_default PARTITION OF journal_entries DEFAULT;
+CREATE TABLE journal_entry_lines_default PARTITION OF journal_entry_lines DEFAULT;
+
+INSERT INTO journal_entries (id, reference, description, value_date, created_at, updated_at)
+SELECT id, reference, description, value_date, created_at, updated_at
+FROM journal_entries_unpartitioned;
+
+INSERT INTO journal_entry_lines (id, journal_entry_id, account_id, entry_type, amount, value_date, created_at, updated_at)
+SELECT id, journal_entry_id, account_id, entry_type, amount, value_date, created_at, updated_at
+FROM journal_entry_lines_unpartitioned;
+
+DROP TABLE journal_entry_lines_unpartitioned;
+DROP TABLE journal_entries_unpartitioned;
+
+-- References stay globally unique across partitions through a side table kept in step by trigger;
+-- it reuses the original constraint name so duplicate postings fail exactly as before
+CREATE TABLE journal_entry_references (
+    reference VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_journal_entries_reference PRIMARY KEY (reference)
+);
+
+INSERT INTO journal_entry_references (reference)
+SELECT reference FROM journal_entries;
+
+CREATE OR REPLACE FUNCTION journal_entry_reference_guard() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO journal_entry_references (reference) VALUES (NEW.reference);
+        RETURN NEW;
+    END IF;
+    DELETE FROM journal_entry_references WHERE reference = OLD.reference;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_journal_entries_reference
+    AFTER INSERT OR DELETE ON journal_entries
+    FOR EACH ROW EXECUTE FUNCTION journal_entry_reference_guard();
+
+-- Indexes are declared on the parents and cascade to every current and future partition
+CREATE INDEX idx_journal_entries_created_at ON journal_entries (created_at);
+CREATE INDEX idx_journal_entries_reference ON journal_entries (reference);
+CREATE INDEX idx_journal_entry_lines_entry ON journal_entry_lines (journal_entry_id);
+CREATE INDEX idx_journal_entry_lines_account ON journal_entry_lines (account_id);
+
+COMMIT;
@@ -0,0 +1,7 @@
+-- Migration to switch transaction ids from IDENTITY to a pooled sequence so bulk ingestion can batch inserts
+
+-- Sequence uses the same increment as the entity allocationSize (50)
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+
+-- Start above existing ids, leaving one allocation block of headroom
+SELECT setval('transactions_seq', COALESCE(MAX(id), 0) + 51) FROM transactions;
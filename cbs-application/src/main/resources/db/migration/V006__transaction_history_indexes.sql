@@ -0,0 +1,5 @@
+-- Migration supporting keyset-paginated transaction history
+
+-- Account and customer history pages seek on (filter column, id) and walk the index backwards
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_account_id_id ON transactions (account_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_customer_id_id ON transactions (customer_id, id);
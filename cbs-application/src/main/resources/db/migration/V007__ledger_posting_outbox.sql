@@ -0,0 +1,11 @@
+-- Migration adding the ledger posting outbox used when ledger.posting.mode=outbox
+
+CREATE SEQUENCE IF NOT EXISTS ledger_posting_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ledger_posting_outbox (
+    id BIGINT PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_ledger_posting_outbox_transaction UNIQUE (transaction_id)
+);
@@ -0,0 +1,11 @@
+-- Migration adding attempt tracking for the background retry of failed transactions and payments
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS retry_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP WITH TIME ZONE;
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS retry_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP WITH TIME ZONE;
+
+-- Supports the retry workers' claim query (status = 'FAILED' and next_retry_at due)
+CREATE INDEX IF NOT EXISTS idx_transactions_status_next_retry_at ON transactions (status, next_retry_at);
+CREATE INDEX IF NOT EXISTS idx_payments_status_next_retry_at ON payments (status, next_retry_at);
@@ -0,0 +1,5 @@
+-- Migration adding an optimistic-lock version to accounts
+
+-- Balance updates run as single conditional UPDATE statements that bump the version; entity saves
+-- (e.g. status changes) carry the version so they cannot overwrite a concurrently updated balance
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,27 @@
+-- Migration adding authorization holds and the per-account held total behind available balance
+
+CREATE SEQUENCE IF NOT EXISTS account_holds_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS account_holds (
+    id BIGINT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    hold_type VARCHAR(32) NOT NULL,
+    reference VARCHAR(64) NOT NULL,
+    amount NUMERIC(19, 2) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    closed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_account_holds_type_reference UNIQUE (hold_type, reference)
+);
+
+CREATE INDEX IF NOT EXISTS idx_account_holds_account_id_status ON account_holds (account_id, status);
+-- Supports the expiry sweeper's claim query
+CREATE INDEX IF NOT EXISTS idx_account_holds_status_expires_at ON account_holds (status, expires_at);
+
+-- One row per account that has ever held funds; locked instead of accounts when holds change
+CREATE TABLE IF NOT EXISTS account_hold_totals (
+    account_id BIGINT PRIMARY KEY,
+    held_amount NUMERIC(19, 2) NOT NULL DEFAULT 0
+);
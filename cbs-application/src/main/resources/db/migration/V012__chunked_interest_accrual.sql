@@ -0,0 +1,25 @@
+-- Migration for the chunked daily interest accrual: batched accrual inserts, keyset account reads and checkpoints
+
+-- Accrual ids move from IDENTITY to a pooled sequence so each chunk is inserted as a JDBC batch
+CREATE SEQUENCE IF NOT EXISTS interest_accruals_seq INCREMENT BY 50;
+SELECT setval('interest_accruals_seq', COALESCE(MAX(id), 0) + 51) FROM interest_accruals;
+
+-- Set-based "already accrued" check per chunk
+CREATE INDEX IF NOT EXISTS idx_interest_accruals_accrual_date_account_id ON interest_accruals (accrual_date, account_id);
+
+-- Keyset paging of eligible accounts by product
+CREATE INDEX IF NOT EXISTS idx_accounts_type_status_id ON accounts (type, status, id);
+
+-- One row per accrual date and product; advanced in the same transaction as each chunk
+CREATE TABLE IF NOT EXISTS interest_accrual_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    accrual_date DATE NOT NULL,
+    product_code VARCHAR(32) NOT NULL,
+    last_account_id BIGINT NOT NULL DEFAULT 0,
+    accrued_count BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_interest_accrual_checkpoints_date_product UNIQUE (accrual_date, product_code)
+);
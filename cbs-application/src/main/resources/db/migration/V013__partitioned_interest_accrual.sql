@@ -0,0 +1,10 @@
+-- Migration splitting each product's daily accrual checkpoint into account id partitions processed in parallel
+
+ALTER TABLE interest_accrual_checkpoints ADD COLUMN IF NOT EXISTS partition_index INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE interest_accrual_checkpoints ADD COLUMN IF NOT EXISTS from_account_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE interest_accrual_checkpoints ADD COLUMN IF NOT EXISTS to_account_id BIGINT NOT NULL DEFAULT 9223372036854775807;
+ALTER TABLE interest_accrual_checkpoints ADD COLUMN IF NOT EXISTS started_at TIMESTAMP WITH TIME ZONE;
+
+ALTER TABLE interest_accrual_checkpoints DROP CONSTRAINT IF EXISTS uk_interest_accrual_checkpoints_date_product;
+ALTER TABLE interest_accrual_checkpoints ADD CONSTRAINT uk_interest_accrual_checkpoints_date_product_partition
+    UNIQUE (accrual_date, product_code, partition_index);
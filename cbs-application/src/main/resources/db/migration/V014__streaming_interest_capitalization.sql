@@ -0,0 +1,3 @@
+-- Migration supporting the chunked month-end capitalization, which walks accounts with ACCRUED interest by id
+
+CREATE INDEX IF NOT EXISTS idx_interest_accruals_status_account_id ON interest_accruals (status, account_id);
@@ -0,0 +1,13 @@
+-- Migration adding balance tiers to interest products, compiled into a rate table once per accrual run
+
+ALTER TABLE interest_configs ADD COLUMN IF NOT EXISTS tier_method VARCHAR(16) NOT NULL DEFAULT 'TIERED';
+
+CREATE TABLE IF NOT EXISTS interest_rate_tiers (
+    id BIGSERIAL PRIMARY KEY,
+    product_code VARCHAR(32) NOT NULL,
+    min_balance NUMERIC(19, 2) NOT NULL,
+    annual_rate NUMERIC(5, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_interest_rate_tiers_product_min_balance UNIQUE (product_code, min_balance)
+);
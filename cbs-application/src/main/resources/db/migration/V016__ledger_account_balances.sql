@@ -0,0 +1,22 @@
+-- Migration adding the per-account GL balance snapshots maintained on every posting
+
+CREATE TABLE IF NOT EXISTS ledger_account_balances (
+    account_id BIGINT PRIMARY KEY REFERENCES ledger_accounts (id),
+    total_debit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    total_credit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Seed a snapshot for every existing account from its full line history, so the consistency check
+-- and balance reads agree with the journal from the first posting after deployment
+INSERT INTO ledger_account_balances (account_id, total_debit, total_credit, created_at, updated_at)
+SELECT account.id,
+       COALESCE(SUM(CASE WHEN line.entry_type = 'DEBIT' THEN line.amount END), 0),
+       COALESCE(SUM(CASE WHEN line.entry_type = 'CREDIT' THEN line.amount END), 0),
+       now(),
+       now()
+FROM ledger_accounts account
+LEFT JOIN journal_entry_lines line ON line.account_id = account.id
+GROUP BY account.id
+ON CONFLICT (account_id) DO NOTHING;
@@ -0,0 +1,42 @@
+-- Migration adding the daily GL rollup read by reconciliation and the trial balance export
+
+CREATE TABLE IF NOT EXISTS ledger_daily_balances (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    value_date DATE NOT NULL,
+    total_debit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    total_credit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_ledger_daily_balances_account_date UNIQUE (account_id, value_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_daily_balances_value_date ON ledger_daily_balances (value_date);
+
+-- Backfill the whole journal history, counting each entry once against its first account in code order
+-- like LedgerBalanceService does, so reconcile and the trial balance are correct before the first rebuild
+WITH lines AS (
+    SELECT line.journal_entry_id, line.account_id, line.entry_type, line.amount, entry.value_date, account.code
+    FROM journal_entry_lines line
+    JOIN journal_entries entry ON entry.id = line.journal_entry_id
+    JOIN ledger_accounts account ON account.id = line.account_id
+),
+lead AS (
+    SELECT journal_entry_id, MIN(code) AS code
+    FROM lines
+    GROUP BY journal_entry_id
+)
+INSERT INTO ledger_daily_balances
+    (account_id, value_date, total_debit, total_credit, entry_count, created_at, updated_at)
+SELECT lines.account_id,
+       lines.value_date,
+       COALESCE(SUM(CASE WHEN lines.entry_type = 'DEBIT' THEN lines.amount END), 0),
+       COALESCE(SUM(CASE WHEN lines.entry_type = 'CREDIT' THEN lines.amount END), 0),
+       COUNT(DISTINCT CASE WHEN lines.code = lead.code THEN lines.journal_entry_id END),
+       now(),
+       now()
+FROM lines
+JOIN lead ON lead.journal_entry_id = lines.journal_entry_id
+GROUP BY lines.account_id, lines.value_date
+ON CONFLICT (account_id, value_date) DO NOTHING;
@@ -0,0 +1,58 @@
+-- Migration adding the tables behind the resumable ledger integrity verifier
+
+CREATE TABLE IF NOT EXISTS ledger_verification_runs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    cutoff TIMESTAMP WITH TIME ZONE NOT NULL,
+    upper_entry_id BIGINT NOT NULL,
+    total_partitions INTEGER NOT NULL,
+    completed_partitions INTEGER NOT NULL DEFAULT 0,
+    unbalanced_entries BIGINT NOT NULL DEFAULT 0,
+    inactive_account_lines BIGINT NOT NULL DEFAULT 0,
+    balance_mismatches INTEGER,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- One row per journal entry id range; a resumed run picks up the partitions not yet completed
+CREATE TABLE IF NOT EXISTS ledger_verification_partitions (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES ledger_verification_runs (id),
+    from_entry_id BIGINT NOT NULL,
+    to_entry_id BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    unbalanced_entries BIGINT NOT NULL DEFAULT 0,
+    inactive_account_lines BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_verification_partitions_run
+    ON ledger_verification_partitions (run_id, completed);
+
+-- Per-account debit and credit totals accumulated by the partitions of a run
+CREATE TABLE IF NOT EXISTS ledger_verification_totals (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES ledger_verification_runs (id),
+    account_id BIGINT NOT NULL REFERENCES ledger_accounts (id),
+    total_debit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    total_credit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_ledger_verification_totals_run_account UNIQUE (run_id, account_id)
+);
+
+CREATE TABLE IF NOT EXISTS ledger_verification_findings (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES ledger_verification_runs (id),
+    finding_type VARCHAR(32) NOT NULL,
+    journal_entry_id BIGINT,
+    account_code VARCHAR(32),
+    detail VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_verification_findings_run ON ledger_verification_findings (run_id);
@@ -0,0 +1,15 @@
+-- Migration adding per-account totals of journal months detached into the archive schema, so balance
+-- checks and rebuilds still account for lines that are no longer attached to journal_entry_lines
+
+CREATE TABLE IF NOT EXISTS ledger_archived_balances (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    archive_month DATE NOT NULL,
+    total_debit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    total_credit NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_ledger_archived_balances_account_month UNIQUE (account_id, archive_month)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_archived_balances_month ON ledger_archived_balances (archive_month);
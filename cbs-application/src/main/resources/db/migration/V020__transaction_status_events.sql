@@ -0,0 +1,14 @@
+-- Migration adding the append-only status history of transactions
+
+CREATE SEQUENCE IF NOT EXISTS transaction_status_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transaction_status_events (
+    id BIGINT PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    detail VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_status_events_transaction ON transaction_status_events (transaction_id);
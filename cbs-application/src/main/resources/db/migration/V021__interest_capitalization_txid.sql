@@ -0,0 +1,4 @@
+-- Migration recording which database transaction capitalized an accrual, so a rejected posting restores
+-- only the rows its own chunk marked and not those an earlier run on the same date already credited
+
+ALTER TABLE interest_accruals ADD COLUMN IF NOT EXISTS capitalization_txid BIGINT;
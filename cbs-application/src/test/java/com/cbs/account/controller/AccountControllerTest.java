@@ -1,10 +1,12 @@
 package com.cbs.account.controller;
 
 import com.cbs.account.dto.AccountResponse;
+import com.cbs.account.dto.AvailableBalanceResponse;
 import com.cbs.common.exception.GlobalExceptionHandler;
 import com.cbs.account.model.AccountStatus;
 import com.cbs.account.model.AccountType;
 import com.cbs.account.model.Currency;
+import com.cbs.account.service.AccountHoldService;
 import com.cbs.account.service.AccountService;
 import com.cbs.common.exception.ApiException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,6 +22,7 @@ import java.math.BigDecimal;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -45,6 +48,9 @@ class AccountControllerTest {
         @MockBean
         private AccountService accountService;
 
+        @MockBean
+        private AccountHoldService accountHoldService;
+
         @Test
         void createAccount_returnsSuccessResponse() throws Exception {
                 AccountResponse response = new AccountResponse(
@@ -107,6 +113,18 @@ class AccountControllerTest {
                                 .andExpect(jsonPath("$.message").value("Insufficient balance"));
         }
 
+        @Test
+        void getAvailableBalance_returnsBalanceNetOfHolds() throws Exception {
+                when(accountHoldService.getAvailableBalance(7L)).thenReturn(new AvailableBalanceResponse(
+                                7L, Currency.TRY, new BigDecimal("500.00"), new BigDecimal("120.00"),
+                                new BigDecimal("380.00")));
+
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/available-balance", 7))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.heldAmount").value(120.00))
+                                .andExpect(jsonPath("$.data.availableBalance").value(380.00));
+        }
+
         private record AmountPayload(BigDecimal amount) {
         }
 }
@@ -0,0 +1,198 @@
+package com.cbs.account.service;
+
+import com.cbs.account.dto.AccountHoldResponse;
+import com.cbs.account.dto.AvailableBalanceResponse;
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.Account;
+import com.cbs.account.model.AccountHold;
+import com.cbs.account.model.AccountHoldStatus;
+import com.cbs.account.model.AccountHoldTotal;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountHoldRepository;
+import com.cbs.account.repository.AccountHoldTotalRepository;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.common.exception.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountHoldServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountHoldRepository accountHoldRepository;
+
+    @Mock
+    private AccountHoldTotalRepository accountHoldTotalRepository;
+
+    private AccountHoldService accountHoldService;
+
+    @BeforeEach
+    void setUp() {
+        accountHoldService = new AccountHoldService(accountRepository, accountHoldRepository,
+                accountHoldTotalRepository);
+    }
+
+    @Test
+    void placeHold_addsAmountToHeldTotalWhenAvailableBalanceCoversIt() {
+        AccountHoldTotal total = heldTotal("30.00");
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(activeAccount(1L)));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+        when(accountRepository.findBalanceById(1L)).thenReturn(new BigDecimal("100.00"));
+        when(accountHoldRepository.save(any(AccountHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AccountHoldResponse response = accountHoldService.placeHold(request("PAY-1", "70.00", "TRY"));
+
+        assertEquals(AccountHoldStatus.ACTIVE, response.status());
+        assertEquals(new BigDecimal("100.00"), total.getHeldAmount());
+    }
+
+    @Test
+    void placeHold_rejectsAmountAboveAvailableBalance() {
+        AccountHoldTotal total = heldTotal("30.00");
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(activeAccount(1L)));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+        when(accountRepository.findBalanceById(1L)).thenReturn(new BigDecimal("100.00"));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> accountHoldService.placeHold(request("PAY-2", "70.01", null)));
+
+        assertEquals("INSUFFICIENT_AVAILABLE_BALANCE", exception.getErrorCode());
+        assertEquals(new BigDecimal("30.00"), total.getHeldAmount());
+        verify(accountHoldRepository, never()).save(any(AccountHold.class));
+    }
+
+    @Test
+    void placeHold_rejectsCurrencyMismatch() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(activeAccount(1L)));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> accountHoldService.placeHold(request("PAY-3", "10.00", "USD")));
+
+        assertEquals("CURRENCY_MISMATCH", exception.getErrorCode());
+    }
+
+    @Test
+    void releaseHold_returnsActiveHoldToAvailableBalanceOnce() {
+        AccountHold hold = new AccountHold(1L, AccountHoldType.PAYMENT, "PAY-4", new BigDecimal("40.00"),
+                Instant.now().plusSeconds(60));
+        AccountHoldTotal total = heldTotal("40.00");
+        when(accountHoldRepository.findByHoldTypeAndReferenceForUpdate(AccountHoldType.PAYMENT, "PAY-4"))
+                .thenReturn(Optional.of(hold));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+
+        assertTrue(accountHoldService.releaseHold(AccountHoldType.PAYMENT, "PAY-4"));
+        assertFalse(accountHoldService.releaseHold(AccountHoldType.PAYMENT, "PAY-4"));
+
+        assertEquals(AccountHoldStatus.RELEASED, hold.getStatus());
+        assertEquals(0, BigDecimal.ZERO.compareTo(total.getHeldAmount()));
+    }
+
+    @Test
+    void captureHold_debitsBalanceAndDropsHeldAmountOnce() {
+        AccountHold hold = new AccountHold(1L, AccountHoldType.PAYMENT, "PAY-5", new BigDecimal("40.00"),
+                Instant.now().plusSeconds(60));
+        AccountHoldTotal total = heldTotal("50.00");
+        when(accountHoldRepository.findByHoldTypeAndReferenceForUpdate(AccountHoldType.PAYMENT, "PAY-5"))
+                .thenReturn(Optional.of(hold));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+
+        assertTrue(accountHoldService.captureHold(AccountHoldType.PAYMENT, "PAY-5"));
+        assertFalse(accountHoldService.captureHold(AccountHoldType.PAYMENT, "PAY-5"));
+
+        assertEquals(AccountHoldStatus.CAPTURED, hold.getStatus());
+        assertEquals(new BigDecimal("10.00"), total.getHeldAmount());
+        verify(accountRepository).debitCapturedHold(eq(1L), eq(new BigDecimal("40.00")), any(Instant.class));
+        verify(accountHoldTotalRepository).lockTotal(1L);
+    }
+
+    @Test
+    void captureHold_rejectsExpiredHoldWhenAvailableBalanceNoLongerCoversIt() {
+        AccountHold hold = new AccountHold(1L, AccountHoldType.PAYMENT, "PAY-6", new BigDecimal("40.00"),
+                Instant.EPOCH);
+        hold.close(AccountHoldStatus.EXPIRED, Instant.EPOCH);
+        AccountHoldTotal total = heldTotal("70.00");
+        when(accountHoldRepository.findByHoldTypeAndReferenceForUpdate(AccountHoldType.PAYMENT, "PAY-6"))
+                .thenReturn(Optional.of(hold));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+        when(accountRepository.debitBalance(eq(1L), eq(new BigDecimal("40.00")), eq(new BigDecimal("70.00")),
+                eq(AccountStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> accountHoldService.captureHold(AccountHoldType.PAYMENT, "PAY-6"));
+
+        assertEquals("INSUFFICIENT_AVAILABLE_BALANCE", exception.getErrorCode());
+        assertEquals(new BigDecimal("70.00"), total.getHeldAmount());
+        verify(accountRepository, never()).debitCapturedHold(any(), any(), any());
+    }
+
+    @Test
+    void expireDueHolds_subtractsExpiredAmountsPerAccount() {
+        AccountHold first = new AccountHold(1L, AccountHoldType.CARD_AUTHORIZATION, "AUTH-1",
+                new BigDecimal("10.00"), Instant.EPOCH);
+        AccountHold second = new AccountHold(1L, AccountHoldType.CARD_AUTHORIZATION, "AUTH-2",
+                new BigDecimal("15.00"), Instant.EPOCH);
+        AccountHoldTotal total = heldTotal("40.00");
+        when(accountHoldRepository.claimExpired(any(Instant.class), anyInt())).thenReturn(List.of(first, second));
+        when(accountHoldTotalRepository.lockTotal(1L)).thenReturn(total);
+
+        int expired = accountHoldService.expireDueHolds(100);
+
+        assertEquals(2, expired);
+        assertEquals(AccountHoldStatus.EXPIRED, first.getStatus());
+        assertEquals(new BigDecimal("15.00"), total.getHeldAmount());
+        verify(accountHoldTotalRepository).lockTotal(1L);
+    }
+
+    @Test
+    void getAvailableBalance_subtractsHeldTotalFromBalance() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(activeAccount(1L)));
+        when(accountHoldTotalRepository.findById(1L)).thenReturn(Optional.of(heldTotal("25.00")));
+
+        AvailableBalanceResponse response = accountHoldService.getAvailableBalance(1L);
+
+        assertEquals(new BigDecimal("75.00"), response.availableBalance());
+    }
+
+    private static Account activeAccount(Long id) {
+        Account account = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, new BigDecimal("100.00"));
+        account.setId(id);
+        account.setStatus(AccountStatus.ACTIVE);
+        return account;
+    }
+
+    private static AccountHoldTotal heldTotal(String amount) {
+        AccountHoldTotal total = new AccountHoldTotal();
+        total.add(new BigDecimal(amount));
+        return total;
+    }
+
+    private static PlaceHoldRequest request(String reference, String amount, String currency) {
+        return new PlaceHoldRequest(1L, AccountHoldType.PAYMENT, reference, new BigDecimal(amount), currency,
+                Instant.now().plusSeconds(3600));
+    }
+}
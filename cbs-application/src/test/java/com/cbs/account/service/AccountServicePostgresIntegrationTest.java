@@ -2,11 +2,17 @@ package com.cbs.account.service;
 
 import com.cbs.account.dto.AccountResponse;
 import com.cbs.account.dto.BalanceUpdateRequest;
+import com.cbs.account.dto.AvailableBalanceResponse;
 import com.cbs.account.dto.CreateAccountRequest;
+import com.cbs.account.dto.PlaceHoldRequest;
 import com.cbs.account.model.Account;
+import com.cbs.account.model.AccountHoldType;
 import com.cbs.account.model.AccountType;
 import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountHoldRepository;
+import com.cbs.account.repository.AccountHoldTotalRepository;
 import com.cbs.account.repository.AccountRepository;
+import com.cbs.common.exception.ApiException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +21,19 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(properties = {
@@ -34,14 +51,27 @@ class AccountServicePostgresIntegrationTest {
         registry.add("spring.datasource.password", () -> System.getProperty("it.db.password", "test"));
     }
 
+    private static final int WRITERS = 64;
+
     @Autowired
     private AccountService accountService;
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountHoldService accountHoldService;
+
+    @Autowired
+    private AccountHoldRepository accountHoldRepository;
+
+    @Autowired
+    private AccountHoldTotalRepository accountHoldTotalRepository;
+
     @AfterEach
     void cleanUp() {
+        accountHoldRepository.deleteAll();
+        accountHoldTotalRepository.deleteAll();
         accountRepository.deleteAll();
     }
 
@@ -77,4 +107,97 @@ class AccountServicePostgresIntegrationTest {
         Account persisted = accountRepository.findById(created.id()).orElseThrow();
         assertEquals(new BigDecimal("230.25"), persisted.getBalance());
     }
-}
\ No newline at end of file
+
+    @Test
+    void concurrentDebitsNeverOverdrawInPostgres() throws Exception {
+        AccountResponse created = accountService.createAccount(new CreateAccountRequest(
+                103L,
+                "TR-ACC-0003",
+                AccountType.CHECKING,
+                Currency.TRY,
+                new BigDecimal("400.00")));
+
+        List<Boolean> outcomes = runConcurrently(WRITERS, () -> {
+            try {
+                accountService.debitBalance(created.id(), new BalanceUpdateRequest(new BigDecimal("10.00")));
+                return true;
+            } catch (ApiException exception) {
+                assertEquals("INSUFFICIENT_BALANCE", exception.getErrorCode());
+                return false;
+            }
+        });
+
+        assertEquals(40, outcomes.stream().filter(Boolean::booleanValue).count());
+        assertEquals(new BigDecimal("0.00"), accountRepository.findById(created.id()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void concurrentCreditsAndDebitsLoseNoUpdatesInPostgres() throws Exception {
+        AccountResponse created = accountService.createAccount(new CreateAccountRequest(
+                104L,
+                "TR-ACC-0004",
+                AccountType.CHECKING,
+                Currency.TRY,
+                new BigDecimal("1000.00")));
+        AtomicInteger writer = new AtomicInteger();
+
+        runConcurrently(WRITERS, () -> {
+            if (writer.getAndIncrement() % 2 == 0) {
+                accountService.creditBalance(created.id(), new BalanceUpdateRequest(new BigDecimal("7.25")));
+            } else {
+                accountService.debitBalance(created.id(), new BalanceUpdateRequest(new BigDecimal("3.00")));
+            }
+            return true;
+        });
+
+        // 32 credits of 7.25 and 32 debits of 3.00
+        Account persisted = accountRepository.findById(created.id()).orElseThrow();
+        assertEquals(new BigDecimal("1136.00"), persisted.getBalance());
+        assertEquals(WRITERS, persisted.getVersion().intValue());
+    }
+
+    @Test
+    void holdsReduceAvailableBalanceAndBlockDebitsInPostgres() {
+        AccountResponse created = accountService.createAccount(new CreateAccountRequest(
+                105L,
+                "TR-ACC-0005",
+                AccountType.CHECKING,
+                Currency.TRY,
+                new BigDecimal("100.00")));
+        accountHoldService.placeHold(new PlaceHoldRequest(created.id(), AccountHoldType.PAYMENT, "HOLD-IT-1",
+                new BigDecimal("60.00"), "TRY", Instant.now().plusSeconds(3600)));
+
+        ApiException exception = assertThrows(ApiException.class, () -> accountService.debitBalance(created.id(),
+                new BalanceUpdateRequest(new BigDecimal("50.00"))));
+        assertEquals("INSUFFICIENT_BALANCE", exception.getErrorCode());
+
+        accountHoldService.releaseHold(AccountHoldType.PAYMENT, "HOLD-IT-1");
+        accountService.debitBalance(created.id(), new BalanceUpdateRequest(new BigDecimal("50.00")));
+
+        AvailableBalanceResponse available = accountHoldService.getAvailableBalance(created.id());
+        assertEquals(new BigDecimal("50.00"), available.balance());
+        assertEquals(new BigDecimal("0.00"), available.heldAmount());
+    }
+
+    private static <T> List<T> runConcurrently(int writers, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>(writers);
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(writers);
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.cbs.account.dto.BalanceUpdateRequest;
 import com.cbs.account.dto.CreateAccountRequest;
 import com.cbs.account.dto.UpdateAccountStatusRequest;
 import com.cbs.account.model.Account;
+import com.cbs.account.model.AccountHoldTotal;
 import com.cbs.account.model.AccountStatus;
 import com.cbs.account.model.AccountType;
 import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountHoldTotalRepository;
 import com.cbs.account.repository.AccountRepository;
 import com.cbs.common.exception.ApiException;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +19,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +36,14 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountHoldTotalRepository accountHoldTotalRepository;
+
     private AccountService accountService;
 
     @BeforeEach
     void setUp() {
-        accountService = new AccountService(accountRepository);
+        accountService = new AccountService(accountRepository, accountHoldTotalRepository);
     }
 
     @Test
@@ -106,8 +115,11 @@ class AccountServiceTest {
     @Test
     void debitBalance_succeedsWhenCurrencyIsNullForBackwardCompatibility() {
         Account account = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, BigDecimal.valueOf(100));
-        when(accountRepository.findById(11L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Account debited = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, new BigDecimal("80.00"));
+        when(accountRepository.findById(11L)).thenReturn(Optional.of(account), Optional.of(debited));
+        when(accountHoldTotalRepository.lockTotal(11L)).thenReturn(new AccountHoldTotal());
+        when(accountRepository.debitBalance(eq(11L), eq(BigDecimal.valueOf(20)), eq(BigDecimal.ZERO),
+                eq(AccountStatus.ACTIVE), any(Instant.class))).thenReturn(1);
 
         BalanceUpdateRequest request = new BalanceUpdateRequest(BigDecimal.valueOf(20), null);
         AccountResponse response = accountService.debitBalance(11L, request);
@@ -115,6 +127,54 @@ class AccountServiceTest {
         assertEquals(0, new BigDecimal("80.00").compareTo(response.balance()));
     }
 
+    @Test
+    void debitBalance_throwsWhenConcurrentDebitDrainsBalanceFirst() {
+        Account account = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, BigDecimal.valueOf(100));
+        Account drained = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, BigDecimal.valueOf(10));
+        when(accountRepository.findById(13L)).thenReturn(Optional.of(account), Optional.of(drained));
+        when(accountHoldTotalRepository.lockTotal(13L)).thenReturn(new AccountHoldTotal());
+        when(accountRepository.debitBalance(eq(13L), eq(BigDecimal.valueOf(60)), eq(BigDecimal.ZERO),
+                eq(AccountStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+
+        ApiException exception = assertThrows(
+                ApiException.class,
+                () -> accountService.debitBalance(13L, new BalanceUpdateRequest(BigDecimal.valueOf(60))));
+
+        assertEquals("INSUFFICIENT_BALANCE", exception.getErrorCode());
+    }
+
+    @Test
+    void debitBalance_passesHeldAmountSoHoldsCannotBeSpent() {
+        Account account = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, BigDecimal.valueOf(100));
+        AccountHoldTotal total = new AccountHoldTotal();
+        total.add(BigDecimal.valueOf(70));
+        when(accountRepository.findById(15L)).thenReturn(Optional.of(account), Optional.of(account));
+        when(accountHoldTotalRepository.lockTotal(15L)).thenReturn(total);
+        when(accountRepository.debitBalance(eq(15L), eq(BigDecimal.valueOf(50)), eq(BigDecimal.valueOf(70)),
+                eq(AccountStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+
+        ApiException exception = assertThrows(
+                ApiException.class,
+                () -> accountService.debitBalance(15L, new BalanceUpdateRequest(BigDecimal.valueOf(50))));
+
+        assertEquals("INSUFFICIENT_BALANCE", exception.getErrorCode());
+    }
+
+    @Test
+    void creditBalance_appliesAmountInSingleUpdateAndReturnsFreshBalance() {
+        Account account = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, BigDecimal.valueOf(100));
+        Account credited = new Account(1L, "TR001", AccountType.CHECKING, Currency.TRY, new BigDecimal("125.50"));
+        when(accountRepository.findById(14L)).thenReturn(Optional.of(account), Optional.of(credited));
+        when(accountRepository.creditBalance(eq(14L), eq(new BigDecimal("25.50")), eq(AccountStatus.ACTIVE),
+                any(Instant.class))).thenReturn(1);
+
+        AccountResponse response = accountService.creditBalance(14L,
+                new BalanceUpdateRequest(new BigDecimal("25.50"), Currency.TRY));
+
+        assertEquals(new BigDecimal("125.50"), response.balance());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
     @Test
     void getAccountCurrency_returnsCorrectCurrency() {
         Account account = new Account(1L, "TR001", AccountType.SAVINGS, Currency.EUR, BigDecimal.ZERO);
@@ -1,6 +1,11 @@
 package com.cbs.card.service;
 
+import com.cbs.account.dto.PlaceHoldRequest;
+import com.cbs.account.model.AccountHoldType;
+import com.cbs.account.service.AccountHoldService;
+import com.cbs.card.dto.CardAuthorizationRequest;
 import com.cbs.card.model.Card;
+import com.cbs.card.model.CardSpendingRecord;
 import com.cbs.card.model.CardStatus;
 import com.cbs.card.model.CardType;
 import com.cbs.card.dto.SpendingLimitResponse;
@@ -10,16 +15,19 @@ import com.cbs.common.exception.ApiException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,11 +40,15 @@ class CardSpendingServiceTest {
     @Mock
     private CardSpendingRepository cardSpendingRepository;
 
+    @Mock
+    private AccountHoldService accountHoldService;
+
     private CardSpendingService cardSpendingService;
 
     @BeforeEach
     void setUp() {
-        cardSpendingService = new CardSpendingService(cardRepository, cardSpendingRepository);
+        cardSpendingService = new CardSpendingService(cardRepository, cardSpendingRepository, accountHoldService,
+                Duration.ofDays(7));
     }
 
     private Card createActiveCard(BigDecimal dailyLimit, BigDecimal monthlyLimit) {
@@ -109,6 +121,33 @@ class CardSpendingServiceTest {
         assertEquals("CARD_NOT_FOUND", exception.getErrorCode());
     }
 
+    @Test
+    void validateAndRecordSpending_consumesAuthorizationWithoutRecordingSpendAgain() {
+        Card card = createActiveCard(new BigDecimal("1000.00"), new BigDecimal("5000.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(cardSpendingRepository.findByCardIdAndTransactionReference(1L, "AUTH-3")).thenReturn(Optional.of(
+                new CardSpendingRecord(1L, new BigDecimal("45.00"), "AUTH-3", LocalDate.now())));
+
+        cardSpendingService.validateAndRecordSpending(1L, new BigDecimal("45.00"), "AUTH-3");
+
+        verify(accountHoldService).captureHold(AccountHoldType.CARD_AUTHORIZATION, "AUTH-3");
+        verify(cardSpendingRepository, never()).save(any());
+    }
+
+    @Test
+    void validateAndRecordSpending_rejectsAmountOtherThanAuthorized() {
+        Card card = createActiveCard(new BigDecimal("1000.00"), new BigDecimal("5000.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(cardSpendingRepository.findByCardIdAndTransactionReference(1L, "AUTH-4")).thenReturn(Optional.of(
+                new CardSpendingRecord(1L, new BigDecimal("45.00"), "AUTH-4", LocalDate.now())));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> cardSpendingService.validateAndRecordSpending(1L, new BigDecimal("60.00"), "AUTH-4"));
+
+        assertEquals("CARD_AUTHORIZATION_AMOUNT_MISMATCH", exception.getErrorCode());
+        verify(accountHoldService, never()).captureHold(any(), any());
+    }
+
     @Test
     void getSpendingStatus_returnsCorrectRemainingAmounts() {
         Card card = createActiveCard(new BigDecimal("1000.00"), new BigDecimal("5000.00"));
@@ -125,4 +164,51 @@ class CardSpendingServiceTest {
         assertEquals(new BigDecimal("2200.00"), response.monthlySpent());
         assertEquals(new BigDecimal("2800.00"), response.monthlyRemaining());
     }
+
+    @Test
+    void authorizeSpending_recordsSpendAndHoldsFundsOnCardAccount() {
+        Card card = createActiveCard(new BigDecimal("1000.00"), new BigDecimal("5000.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(cardSpendingRepository.sumDailySpending(any(), any())).thenReturn(BigDecimal.ZERO);
+        when(cardSpendingRepository.sumMonthlySpending(any(), any(), any())).thenReturn(BigDecimal.ZERO);
+
+        cardSpendingService.authorizeSpending(1L, new CardAuthorizationRequest(new BigDecimal("45.00"), " auth-1 "));
+
+        ArgumentCaptor<PlaceHoldRequest> hold = ArgumentCaptor.forClass(PlaceHoldRequest.class);
+        verify(accountHoldService).placeHold(hold.capture());
+        assertEquals(100L, hold.getValue().accountId());
+        assertEquals(AccountHoldType.CARD_AUTHORIZATION, hold.getValue().holdType());
+        assertEquals("AUTH-1", hold.getValue().reference());
+        verify(cardSpendingRepository).save(any());
+    }
+
+    @Test
+    void authorizeSpending_placesNoHoldWhenLimitIsExceeded() {
+        Card card = createActiveCard(new BigDecimal("100.00"), new BigDecimal("5000.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(cardSpendingRepository.sumDailySpending(any(), any())).thenReturn(new BigDecimal("90.00"));
+
+        assertThrows(ApiException.class, () -> cardSpendingService.authorizeSpending(
+                1L, new CardAuthorizationRequest(new BigDecimal("45.00"), "AUTH-2")));
+
+        verify(accountHoldService, never()).placeHold(any());
+    }
+
+    @Test
+    void releaseAuthorization_takesReleasedSpendOffTheCard() {
+        when(accountHoldService.releaseHold(AccountHoldType.CARD_AUTHORIZATION, "AUTH-5")).thenReturn(true);
+
+        cardSpendingService.releaseAuthorization(" auth-5 ");
+
+        verify(cardSpendingRepository).deleteByTransactionReference("AUTH-5");
+    }
+
+    @Test
+    void releaseAuthorization_keepsSpendOfAnAuthorizationNoLongerHeld() {
+        when(accountHoldService.releaseHold(AccountHoldType.CARD_AUTHORIZATION, "AUTH-6")).thenReturn(false);
+
+        cardSpendingService.releaseAuthorization("AUTH-6");
+
+        verify(cardSpendingRepository, never()).deleteByTransactionReference(any());
+    }
 }
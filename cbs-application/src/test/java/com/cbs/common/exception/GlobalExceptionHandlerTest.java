@@ -3,6 +3,7 @@ package com.cbs.common.exception;
 import com.cbs.common.api.ApiResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,6 +38,16 @@ class GlobalExceptionHandlerTest {
         assertEquals(null, response.getBody().data());
     }
 
+    @Test
+    void handleOptimisticLockingFailure_returnsConflict() {
+        ResponseEntity<ApiResponse<Void>> response = handler.handleOptimisticLockingFailure(
+                new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("CONCURRENT_MODIFICATION", response.getBody().errorCode());
+    }
+
     @Test
     void handleGeneralException_returnsInternalServerError() {
         Exception exception = new RuntimeException("Unexpected crash");
@@ -0,0 +1,87 @@
+package com.cbs.common.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-01T10:00:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntryWhenFull() {
+        IdempotencyCache cache = new IdempotencyCache(meterRegistry, 2, Duration.ofMinutes(10),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("PAYMENT", "REF-1", "hash-1", "first");
+        cache.put("PAYMENT", "REF-2", "hash-2", "second");
+        cache.get("PAYMENT", "REF-1");
+
+        cache.put("PAYMENT", "REF-3", "hash-3", "third");
+
+        assertNotNull(cache.get("PAYMENT", "REF-1"));
+        assertNull(cache.get("PAYMENT", "REF-2"));
+        assertEquals(2, cache.size());
+        assertEquals(2.0, meterRegistry.get("idempotency.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void get_treatsExpiredEntryAsMissAndDropsIt() {
+        MutableClock clock = new MutableClock(NOW);
+        IdempotencyCache cache = new IdempotencyCache(meterRegistry, 10, Duration.ofMinutes(10), clock);
+        cache.put("FX_DEAL", "REF-1", "hash-1", "deal");
+
+        clock.instant = NOW.plus(Duration.ofMinutes(11));
+
+        assertNull(cache.get("FX_DEAL", "REF-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_keepsScopesApart() {
+        IdempotencyCache cache = new IdempotencyCache(meterRegistry, 10, Duration.ofMinutes(10),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("PAYMENT", "REF-1", "hash-1", "payment");
+
+        assertNull(cache.get("TRANSACTION", "REF-1"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.cbs.common.idempotency;
+
+import com.cbs.common.exception.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    record Request(String reference, BigDecimal amount) {
+    }
+
+    record Response(Long id, String reference, LocalDate valueDate) {
+    }
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        IdempotencyCache cache = new IdempotencyCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, cache, objectMapper,
+                Duration.ofDays(7));
+    }
+
+    @Test
+    void execute_storesFirstResponseAndReplaysRetryFromMemory() {
+        AtomicInteger executions = new AtomicInteger();
+        Request request = new Request("REF-1", BigDecimal.TEN);
+
+        Response first = idempotencyService.execute("PAYMENT", "REF-1", request, Response.class,
+                () -> new Response((long) executions.incrementAndGet(), "REF-1", LocalDate.of(2026, 5, 1)));
+        Response retry = idempotencyService.execute("PAYMENT", "REF-1", request, Response.class,
+                () -> new Response((long) executions.incrementAndGet(), "REF-1", LocalDate.of(2026, 5, 1)));
+
+        assertEquals(first, retry);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).findByScopeAndIdempotencyKey("PAYMENT", "REF-1");
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(stored.capture());
+        assertEquals("REF-1", stored.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void execute_replaysStoredResponseWithoutRunningAction() throws Exception {
+        Request request = new Request("REF-2", BigDecimal.ONE);
+        Response original = new Response(7L, "REF-2", LocalDate.of(2026, 5, 1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("FX_DEAL", "REF-2"))
+                .thenReturn(Optional.of(record("FX_DEAL", "REF-2", request, original, Instant.now().plusSeconds(60))));
+
+        Response response = idempotencyService.execute("FX_DEAL", "REF-2", request, Response.class, () -> {
+            throw new AssertionError("action must not run");
+        });
+
+        assertEquals(original, response);
+        verify(idempotencyRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_rejectsReusedReferenceWithDifferentPayload() throws Exception {
+        Response original = new Response(7L, "REF-3", LocalDate.of(2026, 5, 1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("TRANSACTION", "REF-3"))
+                .thenReturn(Optional.of(record("TRANSACTION", "REF-3", new Request("REF-3", BigDecimal.ONE), original,
+                        Instant.now().plusSeconds(60))));
+
+        ApiException exception = assertThrows(ApiException.class, () -> idempotencyService.execute("TRANSACTION",
+                "REF-3", new Request("REF-3", BigDecimal.TEN), Response.class, () -> original));
+
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_runsActionWhenStoredRecordHasExpired() throws Exception {
+        Request request = new Request("REF-4", BigDecimal.ONE);
+        Response original = new Response(7L, "REF-4", LocalDate.of(2026, 5, 1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("NOTIFICATION", "REF-4"))
+                .thenReturn(Optional.of(record("NOTIFICATION", "REF-4", request, original,
+                        Instant.now().minusSeconds(60))));
+
+        assertThrows(ApiException.class, () -> idempotencyService.execute("NOTIFICATION", "REF-4", request,
+                Response.class, () -> {
+                    throw new ApiException("NOTIFICATION_REFERENCE_EXISTS", "Reference already exists");
+                }));
+    }
+
+    private IdempotencyRecord record(String scope, String key, Request request, Response response, Instant expiresAt)
+            throws Exception {
+        return new IdempotencyRecord(scope, key, idempotencyService.hash(request),
+                objectMapper.writeValueAsString(response), expiresAt);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cbs.common.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobLockTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private PreparedStatement unlockStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private JobLock jobLock;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select pg_try_advisory_lock(hashtext(?))")).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(resultSet);
+        jobLock = new JobLock(dataSource);
+    }
+
+    @Test
+    void tryLock_returnsEmptyAndReleasesConnectionWhenHeldElsewhere() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(false);
+
+        Optional<JobLock.Handle> handle = jobLock.tryLock("ledger-verification");
+
+        assertTrue(handle.isEmpty());
+        verify(lockStatement).setString(1, "ledger-verification");
+        verify(connection).close();
+    }
+
+    @Test
+    void close_unlocksOnTheHoldingConnectionBeforeReturningIt() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(connection.prepareStatement("select pg_advisory_unlock(hashtext(?))")).thenReturn(unlockStatement);
+        when(unlockStatement.executeQuery()).thenReturn(resultSet);
+
+        jobLock.tryLock("ledger-verification").orElseThrow().close();
+
+        InOrder order = inOrder(unlockStatement, connection);
+        order.verify(unlockStatement).setString(1, "ledger-verification");
+        order.verify(unlockStatement).executeQuery();
+        order.verify(connection).close();
+    }
+
+    @Test
+    void close_abortsTheConnectionWhenUnlockFails() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(connection.prepareStatement("select pg_advisory_unlock(hashtext(?))")).thenReturn(unlockStatement);
+        when(unlockStatement.executeQuery()).thenThrow(new SQLException("connection reset"));
+
+        jobLock.tryLock("ledger-verification").orElseThrow().close();
+
+        verify(connection).abort(any(Executor.class));
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.cbs.common.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff backoff = new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(5), 2);
+
+    @Test
+    void delayAfter_doublesPerFailedAttemptUpToTheCap() {
+        assertEquals(Duration.ofSeconds(30), backoff.delayAfter(1));
+        assertEquals(Duration.ofSeconds(60), backoff.delayAfter(2));
+        assertEquals(Duration.ofSeconds(240), backoff.delayAfter(4));
+        assertEquals(Duration.ofMinutes(5), backoff.delayAfter(5));
+        assertEquals(Duration.ofMinutes(5), backoff.delayAfter(200));
+    }
+
+    @Test
+    void nextAttemptAt_addsTheDelayToNow() {
+        Instant now = Instant.parse("2026-03-01T10:00:00Z");
+
+        assertEquals(Instant.parse("2026-03-01T10:01:00Z"), backoff.nextAttemptAt(2, now));
+    }
+
+    @Test
+    void constructor_rejectsShrinkingMultiplier() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(5), 0.5));
+    }
+}
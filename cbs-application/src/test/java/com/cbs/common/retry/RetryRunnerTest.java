@@ -0,0 +1,53 @@
+package com.cbs.common.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RetryRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void run_claimsChunksUntilOneComesBackShortAndPublishesOutcomes() {
+        RetryRunner runner = newRunner(10);
+        Deque<RetryBatchResult> chunks = new ArrayDeque<>(List.of(
+                new RetryBatchResult(2, 1, 1, 0),
+                new RetryBatchResult(2, 0, 1, 1),
+                new RetryBatchResult(1, 1, 0, 0),
+                new RetryBatchResult(2, 2, 0, 0)));
+
+        RetryBatchResult result = runner.run((limit, maxAttempts, backoff) -> chunks.pop());
+
+        assertEquals(new RetryBatchResult(5, 2, 2, 1), result);
+        assertEquals(1, chunks.size());
+        assertEquals(5, meterRegistry.get("transaction.retry.attempts").counter().count());
+        assertEquals(2, meterRegistry.get("transaction.retry.outcomes").tag("outcome", "succeeded").counter().count());
+        assertEquals(1, meterRegistry.get("transaction.retry.outcomes").tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void run_stopsAtTheChunkLimitPerRun() {
+        RetryRunner runner = newRunner(3);
+        int[] calls = {0};
+
+        RetryBatchResult result = runner.run((limit, maxAttempts, backoff) -> {
+            calls[0]++;
+            return new RetryBatchResult(limit, limit, 0, 0);
+        });
+
+        assertEquals(3, calls[0]);
+        assertEquals(6, result.claimed());
+    }
+
+    private RetryRunner newRunner(int maxBatchesPerRun) {
+        return new RetryRunner("transaction", meterRegistry, 2, maxBatchesPerRun, 5,
+                new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(30), 2));
+    }
+}
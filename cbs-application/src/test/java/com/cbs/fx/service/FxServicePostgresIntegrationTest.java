@@ -1,5 +1,13 @@
 package com.cbs.fx.service;
 
+import com.cbs.account.dto.CreateAccountRequest;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountHoldRepository;
+import com.cbs.account.repository.AccountHoldTotalRepository;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.account.service.AccountHoldService;
+import com.cbs.account.service.AccountService;
 import com.cbs.fx.dto.BookFxDealRequest;
 import com.cbs.fx.dto.CancelFxDealRequest;
 import com.cbs.fx.dto.CreateFxRateRequest;
@@ -47,10 +55,28 @@ class FxServicePostgresIntegrationTest {
     @Autowired
     private FxDealRepository fxDealRepository;
 
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountHoldService accountHoldService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountHoldRepository accountHoldRepository;
+
+    @Autowired
+    private AccountHoldTotalRepository accountHoldTotalRepository;
+
     @AfterEach
     void cleanUp() {
         fxDealRepository.deleteAll();
         fxRateRepository.deleteAll();
+        accountHoldRepository.deleteAll();
+        accountHoldTotalRepository.deleteAll();
+        accountRepository.deleteAll();
     }
 
     @Test
@@ -77,9 +103,16 @@ class FxServicePostgresIntegrationTest {
                 new BigDecimal("12.0000")
         ));
 
+        Long debitAccountId = accountService.createAccount(new CreateAccountRequest(
+                1L,
+                "TR-FX-0010",
+                AccountType.CHECKING,
+                Currency.TRY,
+                new BigDecimal("10000.00"))).id();
+
         FxDealResponse booked = fxService.bookDeal(new BookFxDealRequest(
                 1L,
-                10L,
+                debitAccountId,
                 20L,
                 "usd",
                 "try",
@@ -94,5 +127,51 @@ class FxServicePostgresIntegrationTest {
         FxDeal persisted = fxDealRepository.findById(booked.id()).orElseThrow();
         assertEquals(FxDealStatus.CANCELLED, persisted.getStatus());
         assertEquals("duplicate", persisted.getCancelReason());
+        assertEquals(0, new BigDecimal("10000.00")
+                .compareTo(accountHoldService.getAvailableBalance(debitAccountId).availableBalance()));
+    }
+
+    @Test
+    void settleDealDebitsOneLegAndCreditsTheOther() {
+        fxService.createRate(new CreateFxRateRequest(
+                "USD",
+                "TRY",
+                new BigDecimal("35.00000000"),
+                new BigDecimal("10.0000"),
+                new BigDecimal("12.0000")
+        ));
+
+        Long debitAccountId = accountService.createAccount(new CreateAccountRequest(
+                2L,
+                "TR-FX-0020",
+                AccountType.CHECKING,
+                Currency.TRY,
+                new BigDecimal("10000.00"))).id();
+        Long creditAccountId = accountService.createAccount(new CreateAccountRequest(
+                2L,
+                "US-FX-0020",
+                AccountType.CHECKING,
+                Currency.USD,
+                BigDecimal.ZERO)).id();
+
+        FxDealResponse booked = fxService.bookDeal(new BookFxDealRequest(
+                2L,
+                debitAccountId,
+                creditAccountId,
+                "USD",
+                "TRY",
+                FxSide.BUY,
+                new BigDecimal("100.00"),
+                "ref-2"
+        ));
+
+        FxDealResponse settled = fxService.settleDeal(booked.id());
+
+        assertEquals(FxDealStatus.SETTLED, settled.status());
+        assertEquals(0, new BigDecimal("10000.00").subtract(booked.quoteAmount())
+                .compareTo(accountRepository.findBalanceById(debitAccountId)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountRepository.findBalanceById(creditAccountId)));
+        assertEquals(0, accountRepository.findBalanceById(debitAccountId)
+                .compareTo(accountHoldService.getAvailableBalance(debitAccountId).availableBalance()));
     }
-}
\ No newline at end of file
+}
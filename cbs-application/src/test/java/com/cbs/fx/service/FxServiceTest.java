@@ -1,6 +1,7 @@
 package com.cbs.fx.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
 import com.cbs.fx.dto.BookFxDealRequest;
 import com.cbs.fx.dto.CancelFxDealRequest;
 import com.cbs.fx.dto.CreateFxQuoteRequest;
@@ -8,6 +9,7 @@ import com.cbs.fx.dto.CreateFxRateRequest;
 import com.cbs.fx.dto.FxDealResponse;
 import com.cbs.fx.dto.FxQuoteResponse;
 import com.cbs.fx.dto.FxRateResponse;
+import com.cbs.fx.integration.AccountHoldClient;
 import com.cbs.fx.model.FxDeal;
 import com.cbs.fx.model.FxDealStatus;
 import com.cbs.fx.model.FxRate;
@@ -23,10 +25,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,11 +46,19 @@ class FxServiceTest {
     @Mock
     private FxDealRepository fxDealRepository;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private AccountHoldClient accountHoldClient;
+
     private FxService fxService;
 
     @BeforeEach
     void setUp() {
-        fxService = new FxService(fxRateRepository, fxDealRepository);
+        fxService = new FxService(fxRateRepository, fxDealRepository, idempotencyService, accountHoldClient);
+        lenient().when(idempotencyService.execute(anyString(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
     }
 
     @Test
@@ -109,5 +125,60 @@ class FxServiceTest {
 
         assertEquals(FxDealStatus.CANCELLED, response.status());
         assertEquals("duplicate", response.cancelReason());
+        verify(accountHoldClient).releaseHold(deal);
+    }
+
+    @Test
+    void cancelDeal_rejectsSettledDeal() {
+        FxDeal deal = new FxDeal(1L, 10L, 20L, "USD", "TRY", FxSide.BUY, new BigDecimal("100.00"), new BigDecimal("3500.00"), new BigDecimal("35.00000000"), "REF-2");
+        deal.setStatus(FxDealStatus.SETTLED);
+        when(fxDealRepository.findById(9L)).thenReturn(Optional.of(deal));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> fxService.cancelDeal(9L, new CancelFxDealRequest("duplicate")));
+
+        assertEquals("FX_DEAL_ALREADY_SETTLED", exception.getErrorCode());
+        verify(accountHoldClient, never()).releaseHold(any(FxDeal.class));
+    }
+
+    @Test
+    void settleDeal_settlesHoldAndMarksDealSettled() {
+        FxDeal deal = new FxDeal(1L, 10L, 20L, "USD", "TRY", FxSide.BUY, new BigDecimal("100.00"), new BigDecimal("3500.00"), new BigDecimal("35.00000000"), "REF-3");
+        when(fxDealRepository.findById(9L)).thenReturn(Optional.of(deal));
+        when(fxDealRepository.save(any(FxDeal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FxDealResponse response = fxService.settleDeal(9L);
+
+        assertEquals(FxDealStatus.SETTLED, response.status());
+        verify(accountHoldClient).settleHold(deal);
+    }
+
+    @Test
+    void settleDeal_rejectsCancelledDeal() {
+        FxDeal deal = new FxDeal(1L, 10L, 20L, "USD", "TRY", FxSide.BUY, new BigDecimal("100.00"), new BigDecimal("3500.00"), new BigDecimal("35.00000000"), "REF-4");
+        deal.setStatus(FxDealStatus.CANCELLED);
+        when(fxDealRepository.findById(9L)).thenReturn(Optional.of(deal));
+
+        ApiException exception = assertThrows(ApiException.class, () -> fxService.settleDeal(9L));
+
+        assertEquals("FX_DEAL_NOT_BOOKED", exception.getErrorCode());
+        verify(accountHoldClient, never()).settleHold(any(FxDeal.class));
+    }
+
+    @Test
+    void bookDeal_doesNotSaveDealWhenHoldIsRejected() {
+        when(fxRateRepository.findByCurrencyPair("USD/TRY")).thenReturn(Optional.of(
+                new FxRate("USD", "TRY", new BigDecimal("35.00000000"), new BigDecimal("10.0000"), new BigDecimal("12.0000"))));
+        doThrow(new ApiException("INSUFFICIENT_AVAILABLE_BALANCE", "Insufficient available balance"))
+                .when(accountHoldClient)
+                .placeHold(any(FxDeal.class));
+
+        ApiException exception = assertThrows(
+                ApiException.class,
+                () -> fxService.bookDeal(new BookFxDealRequest(1L, 10L, 20L, "USD", "TRY", FxSide.BUY, new BigDecimal("100.00"), "ref-2"))
+        );
+
+        assertEquals("INSUFFICIENT_AVAILABLE_BALANCE", exception.getErrorCode());
+        verify(fxDealRepository, never()).save(any(FxDeal.class));
     }
 }
@@ -1,10 +1,14 @@
 package com.cbs.interest.controller;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.interest.dto.AccrualPartitionProgressResponse;
 import com.cbs.interest.dto.InterestConfigResponse;
+import com.cbs.interest.dto.RateTierResponse;
+import com.cbs.interest.dto.RateTiersResponse;
 import com.cbs.common.exception.GlobalExceptionHandler;
 import com.cbs.interest.model.InterestBasis;
 import com.cbs.interest.model.InterestStatus;
+import com.cbs.interest.model.InterestTierMethod;
 import com.cbs.interest.service.InterestService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,11 +19,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -106,4 +115,60 @@ class InterestControllerTest {
                                 .andExpect(jsonPath("$.success").value(false))
                                 .andExpect(jsonPath("$.message").value("Interest config not found"));
         }
+
+        @Test
+        void replaceRateTiers_returnsCompiledTiers() throws Exception {
+                when(interestService.replaceRateTiers(any(), any())).thenReturn(new RateTiersResponse(
+                                "SAVINGS", new BigDecimal("2.00"), InterestTierMethod.BANDED, List.of(
+                                                new RateTierResponse(new BigDecimal("10000.00"),
+                                                                new BigDecimal("3.00")))));
+
+                String body = """
+                                {
+                                  "tierMethod": "BANDED",
+                                  "tiers": [ { "minBalance": 10000.00, "annualRate": 3.00 } ]
+                                }
+                                """;
+
+                mockMvc.perform(put("/api/v1/interests/configs/{productCode}/tiers", "SAVINGS")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("Interest rate tiers updated"))
+                                .andExpect(jsonPath("$.data.tierMethod").value("BANDED"))
+                                .andExpect(jsonPath("$.data.tiers[0].annualRate").value(3.00));
+        }
+
+        @Test
+        void replaceRateTiers_returnsBadRequestWhenTierRateMissing() throws Exception {
+                String body = """
+                                {
+                                  "tierMethod": "TIERED",
+                                  "tiers": [ { "minBalance": 10000.00 } ]
+                                }
+                                """;
+
+                mockMvc.perform(put("/api/v1/interests/configs/{productCode}/tiers", "SAVINGS")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        void getAccrualProgress_returnsPartitionTimings() throws Exception {
+                LocalDate accrualDate = LocalDate.of(2026, 3, 10);
+                when(interestService.getAccrualProgress(accrualDate)).thenReturn(List.of(
+                                new AccrualPartitionProgressResponse(accrualDate, "SAVINGS", 0, 1L, 500L, 500L, 420L,
+                                                true, Instant.parse("2026-03-10T23:59:59Z"),
+                                                Instant.parse("2026-03-11T00:00:04Z"), 5000L),
+                                new AccrualPartitionProgressResponse(accrualDate, "SAVINGS", 1, 501L, 1000L, 730L,
+                                                150L, false, Instant.parse("2026-03-10T23:59:59Z"), null, null)));
+
+                mockMvc.perform(get("/api/v1/interests/accruals/progress").param("date", "2026-03-10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[0].elapsedMillis").value(5000))
+                                .andExpect(jsonPath("$.data[1].completed").value(false))
+                                .andExpect(jsonPath("$.data[1].lastAccountId").value(730));
+        }
 }
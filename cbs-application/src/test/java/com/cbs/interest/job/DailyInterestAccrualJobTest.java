@@ -46,4 +46,14 @@ class DailyInterestAccrualJobTest {
 
         verify(interestService).calculateDailyAccrualsForAllAccounts(any(LocalDate.class));
     }
+
+    @Test
+    void resumeInterruptedAccruals_handlesExceptionGracefully() {
+        doThrow(new RuntimeException("DB Connection failed"))
+                .when(interestService).resumeInterruptedAccruals(any(LocalDate.class));
+
+        dailyInterestAccrualJob.resumeInterruptedAccruals();
+
+        verify(interestService).resumeInterruptedAccruals(any(LocalDate.class));
+    }
 }
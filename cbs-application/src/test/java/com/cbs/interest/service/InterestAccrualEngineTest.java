@@ -0,0 +1,339 @@
+package com.cbs.interest.service;
+
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.repository.AccountBalanceView;
+import com.cbs.account.repository.AccountIdRange;
+import com.cbs.account.service.AccountService;
+import com.cbs.common.lock.JobLock;
+import com.cbs.interest.model.InterestAccrual;
+import com.cbs.interest.model.InterestAccrualCheckpoint;
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestRateTier;
+import com.cbs.interest.repository.InterestAccrualCheckpointRepository;
+import com.cbs.interest.repository.InterestAccrualRepository;
+import com.cbs.interest.repository.InterestConfigRepository;
+import com.cbs.interest.repository.InterestRateTierRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterestAccrualEngineTest {
+
+    private static final LocalDate PROCESS_DATE = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private InterestConfigRepository interestConfigRepository;
+
+    @Mock
+    private InterestAccrualRepository interestAccrualRepository;
+
+    @Mock
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Mock
+    private InterestRateTierRepository rateTierRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobLock jobLock;
+
+    @Mock
+    private JobLock.Handle lockHandle;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InterestAccrualEngine interestAccrualEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(jobLock.lock("interest-accrual")).thenReturn(lockHandle);
+        lenient().when(jobLock.tryLock("interest-accrual")).thenReturn(Optional.of(lockHandle));
+        interestAccrualEngine = engine(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        interestAccrualEngine.shutdown();
+    }
+
+    @Test
+    void accrue_splitsAccountIdRangeIntoPartitionsOnFirstRun() {
+        when(interestConfigRepository.findAll()).thenReturn(List.of(savingsConfig(),
+                new InterestConfig("TERM-12", BigDecimal.TEN, InterestBasis.SIMPLE, 30)));
+        when(accountService.findAccountIdRange(AccountType.SAVINGS, AccountStatus.ACTIVE))
+                .thenReturn(idRange(11L, 17L));
+        when(checkpointRepository.findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+                PROCESS_DATE)).thenReturn(List.of());
+
+        interestAccrualEngine.accrue(PROCESS_DATE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InterestAccrualCheckpoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(captor.capture());
+        assertEquals(List.of(11L, 14L, 17L),
+                captor.getValue().stream().map(InterestAccrualCheckpoint::getFromAccountId).toList());
+        assertEquals(List.of(13L, 16L, 17L),
+                captor.getValue().stream().map(InterestAccrualCheckpoint::getToAccountId).toList());
+        assertEquals(10L, captor.getValue().getFirst().getLastAccountId());
+    }
+
+    @Test
+    void accrue_pagesPartitionInChunksAndSkipsAlreadyAccrued() {
+        InterestAccrualCheckpoint checkpoint = givenPending(new InterestAccrualCheckpoint(
+                PROCESS_DATE, "SAVINGS", 0, 1L, 100L));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 100L, 2))
+                .thenReturn(List.of(balance(1L, "1000.00"), balance(2L, "2000.00")));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 2L, 100L, 2))
+                .thenReturn(List.of(balance(5L, "500.00")));
+        when(interestAccrualRepository.findAccruedAccountIds(PROCESS_DATE, List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(interestAccrualRepository.findAccruedAccountIds(PROCESS_DATE, List.of(5L))).thenReturn(List.of());
+
+        int accrued = interestAccrualEngine.accrue(PROCESS_DATE);
+
+        assertEquals(2, accrued);
+        List<InterestAccrual> saved = savedAccruals(2);
+        assertEquals(List.of(2L, 5L), saved.stream().map(InterestAccrual::getAccountId).toList());
+        assertEquals(new BigDecimal("2.00"), saved.get(0).getAccruedAmount());
+        assertEquals(new BigDecimal("0.50"), saved.get(1).getAccruedAmount());
+        assertEquals(5L, checkpoint.getLastAccountId());
+        assertEquals(2L, checkpoint.getAccruedCount());
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(1L, meterRegistry.get("interest.accrual.partition.duration").tag("product", "SAVINGS")
+                .timer().count());
+    }
+
+    @Test
+    void accrue_resumesAfterCheckpointedAccount() {
+        InterestAccrualCheckpoint checkpoint = new InterestAccrualCheckpoint(PROCESS_DATE, "SAVINGS", 0, 1L, 100L);
+        checkpoint.advance(40L, 2);
+        givenPending(checkpoint);
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 40L, 100L, 2))
+                .thenReturn(List.of());
+
+        int accrued = interestAccrualEngine.accrue(PROCESS_DATE);
+
+        assertEquals(0, accrued);
+        assertTrue(checkpoint.isCompleted());
+        verify(interestAccrualRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void accrue_skipsDaysWithNoPendingPartitions() {
+        when(interestConfigRepository.findAll()).thenReturn(List.of(savingsConfig()));
+        when(checkpointRepository.existsByAccrualDateAndProductCode(PROCESS_DATE, "SAVINGS")).thenReturn(true);
+        when(checkpointRepository.findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+                PROCESS_DATE)).thenReturn(List.of());
+
+        assertEquals(0, interestAccrualEngine.accrue(PROCESS_DATE));
+
+        verify(accountService, never()).listPositiveBalancesAfter(any(), any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void accrue_completesHealthyPartitionsWhenAnotherFails() {
+        InterestAccrualCheckpoint healthy = partition(1L, 0, 1L, 50L);
+        InterestAccrualCheckpoint broken = partition(2L, 1, 51L, 100L);
+        when(interestConfigRepository.findAll()).thenReturn(List.of(savingsConfig()));
+        when(checkpointRepository.existsByAccrualDateAndProductCode(PROCESS_DATE, "SAVINGS")).thenReturn(true);
+        when(checkpointRepository.findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+                PROCESS_DATE)).thenReturn(List.of(healthy, broken));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(healthy));
+        when(checkpointRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(broken));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 50L, 2))
+                .thenReturn(List.of());
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 50L, 100L, 2))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> interestAccrualEngine.accrue(PROCESS_DATE));
+
+        assertTrue(exception.getMessage().startsWith("1 interest accrual partitions failed"));
+        verify(healthy).complete();
+        verify(broken, never()).complete();
+    }
+
+    @Test
+    void accrue_inDatabaseInsertsSimpleBasisPartitionWithOneStatement() {
+        interestAccrualEngine.shutdown();
+        interestAccrualEngine = engine(true);
+        InterestAccrualCheckpoint checkpoint = givenPending(new InterestAccrualCheckpoint(
+                PROCESS_DATE, "SAVINGS", 0, 1L, 100L));
+        when(interestAccrualRepository.insertSimpleAccruals("SAVINGS", "SAVINGS", new BigDecimal("0.001000000000"),
+                PROCESS_DATE, 0L, 100L)).thenReturn(37);
+
+        int accrued = interestAccrualEngine.accrue(PROCESS_DATE);
+
+        assertEquals(37, accrued);
+        assertEquals(100L, checkpoint.getLastAccountId());
+        assertEquals(37L, checkpoint.getAccruedCount());
+        assertTrue(checkpoint.isCompleted());
+        verify(accountService, never()).listPositiveBalancesAfter(any(), any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void accrue_inDatabaseKeepsCompoundBasisOnTheJavaPath() {
+        interestAccrualEngine.shutdown();
+        interestAccrualEngine = engine(true);
+        when(interestConfigRepository.findAll()).thenReturn(List.of(
+                new InterestConfig("SAVINGS", new BigDecimal("36.50"), InterestBasis.COMPOUND, 30)));
+        when(checkpointRepository.existsByAccrualDateAndProductCode(PROCESS_DATE, "SAVINGS")).thenReturn(true);
+        InterestAccrualCheckpoint checkpoint = new InterestAccrualCheckpoint(PROCESS_DATE, "SAVINGS", 0, 1L, 100L);
+        when(checkpointRepository.findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+                PROCESS_DATE)).thenReturn(List.of(checkpoint));
+        when(checkpointRepository.findByIdForUpdate(any())).thenReturn(Optional.of(checkpoint));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 100L, 2))
+                .thenReturn(List.of());
+
+        interestAccrualEngine.accrue(PROCESS_DATE);
+
+        assertTrue(checkpoint.isCompleted());
+        verify(interestAccrualRepository, never()).insertSimpleAccruals(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void accrue_compilesTierRatesOncePerRunAndAppliesThemPerAccount() {
+        InterestAccrualCheckpoint checkpoint = givenPending(new InterestAccrualCheckpoint(
+                PROCESS_DATE, "SAVINGS", 0, 1L, 100L));
+        when(rateTierRepository.findByProductCodeOrderByMinBalanceAsc("SAVINGS")).thenReturn(List.of(
+                new InterestRateTier("SAVINGS", new BigDecimal("5000.00"), new BigDecimal("73.00"))));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 100L, 2))
+                .thenReturn(List.of(balance(3L, "1000.00"), balance(4L, "10000.00")));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 4L, 100L, 2))
+                .thenReturn(List.of());
+
+        interestAccrualEngine.accrue(PROCESS_DATE);
+
+        List<InterestAccrual> saved = savedAccruals(1);
+        assertEquals(new BigDecimal("1.00"), saved.get(0).getAccruedAmount());
+        assertEquals(new BigDecimal("20.00"), saved.get(1).getAccruedAmount());
+        assertTrue(checkpoint.isCompleted());
+        verify(rateTierRepository, times(1)).findByProductCodeOrderByMinBalanceAsc("SAVINGS");
+    }
+
+    @Test
+    void accrue_inDatabaseKeepsTieredProductsOnTheJavaPath() {
+        interestAccrualEngine.shutdown();
+        interestAccrualEngine = engine(true);
+        givenPending(new InterestAccrualCheckpoint(PROCESS_DATE, "SAVINGS", 0, 1L, 100L));
+        when(rateTierRepository.findByProductCodeOrderByMinBalanceAsc("SAVINGS")).thenReturn(List.of(
+                new InterestRateTier("SAVINGS", new BigDecimal("5000.00"), new BigDecimal("73.00"))));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 100L, 2))
+                .thenReturn(List.of());
+
+        interestAccrualEngine.accrue(PROCESS_DATE);
+
+        verify(interestAccrualRepository, never()).insertSimpleAccruals(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void resumeInterrupted_finishesEarlierIncompleteDays() {
+        LocalDate today = PROCESS_DATE.plusDays(1);
+        when(checkpointRepository.findIncompleteAccrualDatesBefore(today)).thenReturn(List.of(PROCESS_DATE));
+        InterestAccrualCheckpoint checkpoint = givenPending(new InterestAccrualCheckpoint(
+                PROCESS_DATE, "SAVINGS", 0, 1L, 100L));
+        when(accountService.listPositiveBalancesAfter(AccountType.SAVINGS, AccountStatus.ACTIVE, 0L, 100L, 2))
+                .thenReturn(List.of(balance(3L, "1000.00")));
+
+        int accrued = interestAccrualEngine.resumeInterrupted(today);
+
+        assertEquals(1, accrued);
+        assertTrue(checkpoint.isCompleted());
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void resumeInterrupted_skipsWhileAnotherInstanceHoldsTheJobLock() {
+        when(jobLock.tryLock("interest-accrual")).thenReturn(Optional.empty());
+
+        int accrued = interestAccrualEngine.resumeInterrupted(PROCESS_DATE);
+
+        assertEquals(0, accrued);
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    private InterestAccrualEngine engine(boolean inDatabase) {
+        return new InterestAccrualEngine(interestConfigRepository, interestAccrualRepository, checkpointRepository,
+                rateTierRepository, accountService, transactionManager, jobLock, meterRegistry, 2, 3, 2, inDatabase);
+    }
+
+    private InterestAccrualCheckpoint givenPending(InterestAccrualCheckpoint checkpoint) {
+        when(interestConfigRepository.findAll()).thenReturn(List.of(savingsConfig()));
+        when(checkpointRepository.existsByAccrualDateAndProductCode(PROCESS_DATE, "SAVINGS")).thenReturn(true);
+        when(checkpointRepository.findByAccrualDateAndCompletedFalseOrderByProductCodeAscPartitionIndexAsc(
+                PROCESS_DATE)).thenReturn(List.of(checkpoint));
+        when(checkpointRepository.findByIdForUpdate(any())).thenReturn(Optional.of(checkpoint));
+        return checkpoint;
+    }
+
+    private InterestAccrualCheckpoint partition(Long id, int index, long fromId, long toId) {
+        InterestAccrualCheckpoint checkpoint = mock(InterestAccrualCheckpoint.class);
+        when(checkpoint.getId()).thenReturn(id);
+        when(checkpoint.getProductCode()).thenReturn("SAVINGS");
+        when(checkpoint.getPartitionIndex()).thenReturn(index);
+        when(checkpoint.getLastAccountId()).thenReturn(fromId - 1);
+        when(checkpoint.getToAccountId()).thenReturn(toId);
+        return checkpoint;
+    }
+
+    private InterestConfig savingsConfig() {
+        return new InterestConfig("SAVINGS", new BigDecimal("36.50"), InterestBasis.SIMPLE, 30);
+    }
+
+    private List<InterestAccrual> savedAccruals(int chunks) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InterestAccrual>> captor = ArgumentCaptor.forClass(List.class);
+        verify(interestAccrualRepository, times(chunks)).saveAll(captor.capture());
+        List<InterestAccrual> saved = new ArrayList<>();
+        captor.getAllValues().forEach(saved::addAll);
+        return saved;
+    }
+
+    private static AccountIdRange idRange(Long minId, Long maxId) {
+        return new IdRange(minId, maxId);
+    }
+
+    private static AccountBalanceView balance(Long id, String balance) {
+        return new Balance(id, new BigDecimal(balance));
+    }
+
+    private record IdRange(Long getMinId, Long getMaxId) implements AccountIdRange {
+    }
+
+    private record Balance(Long getId, BigDecimal getBalance) implements AccountBalanceView {
+    }
+}
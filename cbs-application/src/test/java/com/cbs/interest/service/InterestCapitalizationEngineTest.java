@@ -0,0 +1,191 @@
+package com.cbs.interest.service;
+
+import com.cbs.account.dto.AccountResponse;
+import com.cbs.account.model.AccountStatus;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.service.AccountService;
+import com.cbs.interest.model.AccrualStatus;
+import com.cbs.interest.repository.AccruedInterestTotal;
+import com.cbs.interest.repository.InterestAccrualRepository;
+import com.cbs.ledger.dto.BatchEntryResult;
+import com.cbs.ledger.dto.BatchPostingResponse;
+import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.service.LedgerPostingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterestCapitalizationEngineTest {
+
+    private static final LocalDate PROCESS_DATE = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private InterestAccrualRepository interestAccrualRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private LedgerPostingService ledgerPostingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InterestCapitalizationEngine interestCapitalizationEngine;
+
+    @BeforeEach
+    void setUp() {
+        interestCapitalizationEngine = new InterestCapitalizationEngine(
+                interestAccrualRepository,
+                accountService,
+                ledgerPostingService,
+                transactionManager,
+                2);
+    }
+
+    @Test
+    void capitalize_postsAndCreditsEachChunkUntilAccountsAreExhausted() {
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L, 2L));
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(3L));
+        when(accountService.getAccounts(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, AccountStatus.ACTIVE), account(2L, AccountStatus.ACTIVE)));
+        when(accountService.getAccounts(List.of(3L))).thenReturn(List.of(account(3L, AccountStatus.ACTIVE)));
+        when(interestAccrualRepository.capitalizeAccrued(Set.of(1L, 2L), PROCESS_DATE))
+                .thenReturn(List.of(total(1L, "1.25", 11L), total(2L, "0.75", 21L)));
+        when(interestAccrualRepository.capitalizeAccrued(Set.of(3L), PROCESS_DATE))
+                .thenReturn(List.of(total(3L, "2.00", 31L)));
+        when(ledgerPostingService.postPolicyEntries(any()))
+                .thenAnswer(invocation -> allPosted(invocation.getArgument(0)));
+        when(accountService.creditBalances(Map.of(1L, new BigDecimal("1.25"), 2L, new BigDecimal("0.75"))))
+                .thenReturn(Set.of(1L, 2L));
+        when(accountService.creditBalances(Map.of(3L, new BigDecimal("2.00")))).thenReturn(Set.of(3L));
+
+        int capitalized = interestCapitalizationEngine.capitalize(PROCESS_DATE);
+
+        assertEquals(3, capitalized);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PostPolicyEntryRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ledgerPostingService, times(2)).postPolicyEntries(captor.capture());
+        PostPolicyEntryRequest first = captor.getAllValues().get(0).get(0);
+        assertEquals("INT-CAP-ACC-1-11", first.reference());
+        assertEquals("ACC-1", first.accountCode());
+        assertEquals(new BigDecimal("1.25"), first.amount());
+    }
+
+    @Test
+    void capitalize_skipsInactiveAccountsAndLeavesTheirAccruals() {
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L));
+        when(accountService.getAccounts(List.of(1L))).thenReturn(List.of(account(1L, AccountStatus.FROZEN)));
+
+        int capitalized = interestCapitalizationEngine.capitalize(PROCESS_DATE);
+
+        assertEquals(0, capitalized);
+        verify(interestAccrualRepository, never()).capitalizeAccrued(anyCollection(), any());
+        verify(ledgerPostingService, never()).postPolicyEntries(any());
+    }
+
+    @Test
+    void capitalize_restoresAccrualsRejectedByLedgerAndCreditsExistingReferences() {
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L, 4L));
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 4L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        when(accountService.getAccounts(List.of(1L, 4L)))
+                .thenReturn(List.of(account(1L, AccountStatus.ACTIVE), account(4L, AccountStatus.ACTIVE)));
+        when(interestAccrualRepository.capitalizeAccrued(Set.of(1L, 4L), PROCESS_DATE))
+                .thenReturn(List.of(total(1L, "1.25", 11L), total(4L, "3.10", 41L)));
+        when(ledgerPostingService.postPolicyEntries(any())).thenReturn(new BatchPostingResponse(2, 0, 2, List.of(
+                BatchEntryResult.failed(0, "INT-CAP-ACC-1-11", "LEDGER_REFERENCE_EXISTS", "exists"),
+                BatchEntryResult.failed(1, "INT-CAP-ACC-4-41", "LEDGER_ACCOUNT_NOT_FOUND", "missing"))));
+        when(accountService.creditBalances(Map.of(1L, new BigDecimal("1.25")))).thenReturn(Set.of(1L));
+
+        int capitalized = interestCapitalizationEngine.capitalize(PROCESS_DATE);
+
+        assertEquals(1, capitalized);
+        verify(interestAccrualRepository).restoreAccrued(List.of(4L), PROCESS_DATE);
+    }
+
+    @Test
+    void capitalize_postsSeparateEntriesForAccrualSetsCapitalizedOnTheSameDate() {
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L));
+        when(accountService.getAccounts(List.of(1L))).thenReturn(List.of(account(1L, AccountStatus.ACTIVE)));
+        when(interestAccrualRepository.capitalizeAccrued(Set.of(1L), PROCESS_DATE))
+                .thenReturn(List.of(total(1L, "1.25", 11L)))
+                .thenReturn(List.of(total(1L, "0.40", 15L)));
+        when(ledgerPostingService.postPolicyEntries(any()))
+                .thenAnswer(invocation -> allPosted(invocation.getArgument(0)));
+        when(accountService.creditBalances(any())).thenReturn(Set.of(1L));
+
+        interestCapitalizationEngine.capitalize(PROCESS_DATE);
+        interestCapitalizationEngine.capitalize(PROCESS_DATE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PostPolicyEntryRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ledgerPostingService, times(2)).postPolicyEntries(captor.capture());
+        assertEquals("INT-CAP-ACC-1-11", captor.getAllValues().get(0).get(0).reference());
+        assertEquals("INT-CAP-ACC-1-15", captor.getAllValues().get(1).get(0).reference());
+        verify(accountService).creditBalances(Map.of(1L, new BigDecimal("0.40")));
+    }
+
+    @Test
+    void capitalize_failsChunkWhenAccountLeavesActiveStatusBeforeCredit() {
+        when(interestAccrualRepository.findAccountIdsByStatusAfter(AccrualStatus.ACCRUED, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L));
+        when(accountService.getAccounts(List.of(1L))).thenReturn(List.of(account(1L, AccountStatus.ACTIVE)));
+        when(interestAccrualRepository.capitalizeAccrued(Set.of(1L), PROCESS_DATE))
+                .thenReturn(List.of(total(1L, "1.25", 11L)));
+        when(ledgerPostingService.postPolicyEntries(any()))
+                .thenAnswer(invocation -> allPosted(invocation.getArgument(0)));
+        when(accountService.creditBalances(any())).thenReturn(Set.of());
+
+        assertThrows(IllegalStateException.class, () -> interestCapitalizationEngine.capitalize(PROCESS_DATE));
+    }
+
+    private static BatchPostingResponse allPosted(List<PostPolicyEntryRequest> requests) {
+        List<BatchEntryResult> results = IntStream.range(0, requests.size())
+                .mapToObj(index -> new BatchEntryResult(index, requests.get(index).reference(), true,
+                        (long) index + 1, requests.get(index).amount(), requests.get(index).amount(), null, null))
+                .toList();
+        return new BatchPostingResponse(requests.size(), requests.size(), 0, results);
+    }
+
+    private static AccountResponse account(Long id, AccountStatus status) {
+        return new AccountResponse(id, 1L, "ACC-" + id, AccountType.SAVINGS, Currency.USD, status,
+                BigDecimal.valueOf(100));
+    }
+
+    private static AccruedInterestTotal total(Long accountId, String amount, Long lastAccrualId) {
+        return new Total(accountId, new BigDecimal(amount), lastAccrualId);
+    }
+
+    private record Total(Long getAccountId, BigDecimal getTotalAccrued, Long getLastAccrualId)
+            implements AccruedInterestTotal {
+    }
+}
@@ -0,0 +1,136 @@
+package com.cbs.interest.service;
+
+import com.cbs.account.dto.AccountResponse;
+import com.cbs.account.dto.CreateAccountRequest;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.account.service.AccountService;
+import com.cbs.interest.dto.CreateInterestConfigRequest;
+import com.cbs.interest.dto.UpdateInterestConfigRequest;
+import com.cbs.interest.model.InterestAccrual;
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestStatus;
+import com.cbs.interest.repository.InterestAccrualCheckpointRepository;
+import com.cbs.interest.repository.InterestAccrualRepository;
+import com.cbs.interest.repository.InterestConfigRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property check of the in-database accrual: for random balances and rates, every row written by
+ * the {@code INSERT ... SELECT} must equal what the Java calculation produces.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "cbs.interest.accrual.in-database=true",
+        "cbs.interest.accrual.partitions=3"
+})
+class InterestInDatabaseAccrualPostgresIntegrationTest {
+
+    private static final int ACCOUNTS = 400;
+    private static final int ROUNDS = 5;
+
+    @DynamicPropertySource
+    static void registerDataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty(
+                "it.db.url",
+                "jdbc:postgresql://localhost:55438/cbs_interest_it"
+        ));
+        registry.add("spring.datasource.username", () -> System.getProperty("it.db.username", "test"));
+        registry.add("spring.datasource.password", () -> System.getProperty("it.db.password", "test"));
+    }
+
+    @Autowired
+    private InterestService interestService;
+
+    @Autowired
+    private InterestConfigRepository interestConfigRepository;
+
+    @Autowired
+    private InterestAccrualRepository interestAccrualRepository;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository interestAccrualCheckpointRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void cleanUp() {
+        interestAccrualCheckpointRepository.deleteAll();
+        interestAccrualRepository.deleteAll();
+        interestConfigRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void inDatabaseAccrualMatchesJavaCalculationForRandomBalancesAndRates() {
+        Random random = new Random(20260310L);
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountType type = i % 2 == 0 ? AccountType.SAVINGS : AccountType.CHECKING;
+            AccountResponse account = accountService.createAccount(new CreateAccountRequest(
+                    (long) i, "PROP-" + i, type, Currency.TRY, randomBalance(random, i)));
+            balances.put(account.id(), account.balance());
+        }
+        interestService.createConfig(new CreateInterestConfigRequest(
+                "SAVINGS", randomRate(random), InterestBasis.SIMPLE, 1));
+        interestService.createConfig(new CreateInterestConfigRequest(
+                "CHECKING", randomRate(random), InterestBasis.SIMPLE, 1));
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Map<String, BigDecimal> rates = Map.of(
+                    "SAVINGS", randomRate(random),
+                    "CHECKING", randomRate(random));
+            rates.forEach((productCode, rate) -> interestService.updateConfig(productCode,
+                    new UpdateInterestConfigRequest(rate, InterestBasis.SIMPLE, 1, InterestStatus.ACTIVE)));
+            LocalDate processDate = LocalDate.of(2026, 3, 1).plusDays(round);
+
+            interestService.calculateDailyAccrualsForAllAccounts(processDate);
+
+            List<InterestAccrual> accruals = interestAccrualRepository.findAll().stream()
+                    .filter(accrual -> accrual.getAccrualDate().equals(processDate))
+                    .toList();
+            assertEquals(balances.values().stream().filter(balance -> balance.signum() > 0).count(),
+                    accruals.size());
+            for (InterestAccrual accrual : accruals) {
+                BigDecimal expected = InterestCalculator.accruedAmount(
+                        balances.get(accrual.getAccountId()), rates.get(accrual.getProductCode()), 1,
+                        InterestBasis.SIMPLE);
+                assertEquals(expected, accrual.getAccruedAmount(),
+                        () -> "account " + accrual.getAccountId() + " rate " + rates.get(accrual.getProductCode()));
+            }
+        }
+    }
+
+    private static BigDecimal randomBalance(Random random, int index) {
+        return switch (index % 8) {
+            case 0 -> BigDecimal.ZERO;
+            case 1 -> BigDecimal.valueOf(random.nextInt(100) + 1, 2);
+            case 2 -> BigDecimal.valueOf(random.nextLong(1_000_000_000_000_00L) + 1, 2);
+            default -> BigDecimal.valueOf(random.nextLong(10_000_000_00L) + 1, 2);
+        };
+    }
+
+    private static BigDecimal randomRate(Random random) {
+        return BigDecimal.valueOf(random.nextInt(10_000) + 1, 2);
+    }
+}
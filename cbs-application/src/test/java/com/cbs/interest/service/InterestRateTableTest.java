@@ -0,0 +1,87 @@
+package com.cbs.interest.service;
+
+import com.cbs.interest.model.InterestBasis;
+import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestRateTier;
+import com.cbs.interest.model.InterestTierMethod;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterestRateTableTest {
+
+    @Test
+    void accrue_matchesCalculatorForFlatRatesOnBothBases() {
+        Random random = new Random(20260310L);
+        for (InterestBasis basis : InterestBasis.values()) {
+            for (int round = 0; round < 200; round++) {
+                BigDecimal annualRate = BigDecimal.valueOf(1 + random.nextInt(10_000), 2);
+                int days = 1 + random.nextInt(90);
+                BigDecimal balance = BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), 2);
+                InterestRateTable table = InterestRateTable.compile(
+                        new InterestConfig("SAVINGS", annualRate, basis, days), List.of(), days);
+
+                assertEquals(InterestCalculator.accruedAmount(balance, annualRate, days, basis),
+                        table.accrue(balance), () -> basis + " " + annualRate + "% " + days + "d on " + balance);
+            }
+        }
+    }
+
+    @Test
+    void accrue_tieredAppliesHighestReachedTierToWholeBalance() {
+        InterestRateTable table = InterestRateTable.compile(config(InterestTierMethod.TIERED), tiers(), 1);
+
+        assertEquals(new BigDecimal("0.10"), table.accrue(new BigDecimal("1000.00")));
+        assertEquals(new BigDecimal("2.00"), table.accrue(new BigDecimal("10000.00")));
+        assertEquals(new BigDecimal("15.00"), table.accrue(new BigDecimal("50000.00")));
+        assertEquals(new BigDecimal("18.00"), table.accrue(new BigDecimal("60000.00")));
+        assertFalse(table.isFlat());
+    }
+
+    @Test
+    void accrue_bandedAppliesEachBandRateToItsSliceOfTheBalance() {
+        InterestRateTable table = InterestRateTable.compile(config(InterestTierMethod.BANDED), tiers(), 1);
+
+        // 10000 @ 3.65% + 40000 @ 7.30% + 10000 @ 10.95%, per day
+        assertEquals(new BigDecimal("1.00"), table.accrue(new BigDecimal("10000.00")));
+        assertEquals(new BigDecimal("9.00"), table.accrue(new BigDecimal("50000.00")));
+        assertEquals(new BigDecimal("12.00"), table.accrue(new BigDecimal("60000.00")));
+    }
+
+    @Test
+    void compile_tierFromZeroReplacesBaseRate() {
+        InterestRateTable table = InterestRateTable.compile(config(InterestTierMethod.TIERED), List.of(
+                new InterestRateTier("SAVINGS", BigDecimal.ZERO, new BigDecimal("7.30"))), 1);
+
+        assertTrue(table.isFlat());
+        assertEquals(new BigDecimal("0.000200000000"), table.flatFactor());
+        assertEquals(new BigDecimal("2.00"), table.accrue(new BigDecimal("10000.00")));
+    }
+
+    @Test
+    void flatFactor_throwsForTieredTable() {
+        InterestRateTable table = InterestRateTable.compile(config(InterestTierMethod.TIERED), tiers(), 1);
+
+        assertThrows(IllegalStateException.class, table::flatFactor);
+    }
+
+    private static InterestConfig config(InterestTierMethod tierMethod) {
+        InterestConfig config = new InterestConfig("SAVINGS", new BigDecimal("3.65"), InterestBasis.SIMPLE, 1);
+        config.setTierMethod(tierMethod);
+        return config;
+    }
+
+    private static List<InterestRateTier> tiers() {
+        // Deliberately out of order; the table sorts by minimum balance
+        return List.of(
+                new InterestRateTier("SAVINGS", new BigDecimal("50000.00"), new BigDecimal("10.95")),
+                new InterestRateTier("SAVINGS", new BigDecimal("10000.00"), new BigDecimal("7.30")));
+    }
+}
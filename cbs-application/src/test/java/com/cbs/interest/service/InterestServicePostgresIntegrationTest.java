@@ -1,13 +1,33 @@
 package com.cbs.interest.service;
 
+import com.cbs.account.dto.CreateAccountRequest;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.account.service.AccountService;
 import com.cbs.interest.dto.CreateInterestConfigRequest;
 import com.cbs.interest.dto.InterestAccrualResponse;
 import com.cbs.interest.dto.InterestConfigResponse;
+import com.cbs.interest.dto.RateTierRequest;
+import com.cbs.interest.dto.RateTiersResponse;
+import com.cbs.interest.dto.ReplaceRateTiersRequest;
 import com.cbs.interest.dto.RunAccrualRequest;
+import com.cbs.interest.model.AccrualStatus;
 import com.cbs.interest.model.InterestBasis;
 import com.cbs.interest.model.InterestConfig;
+import com.cbs.interest.model.InterestTierMethod;
+import com.cbs.interest.model.InterestAccrualCheckpoint;
+import com.cbs.interest.repository.InterestAccrualCheckpointRepository;
 import com.cbs.interest.repository.InterestAccrualRepository;
 import com.cbs.interest.repository.InterestConfigRepository;
+import com.cbs.interest.repository.InterestRateTierRepository;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerAccountBalanceRepository;
+import com.cbs.ledger.repository.LedgerAccountRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
+import com.cbs.ledger.service.LedgerAccountCache;
+import com.cbs.ledger.service.LedgerAccountService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,13 +37,18 @@ import org.springframework.test.context.DynamicPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(properties = {
         "eureka.client.enabled=false",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "cbs.interest.accrual.chunk-size=2",
+        "cbs.interest.accrual.partitions=2",
+        "cbs.interest.capitalization.chunk-size=2"
 })
 class InterestServicePostgresIntegrationTest {
 
@@ -46,9 +71,51 @@ class InterestServicePostgresIntegrationTest {
     @Autowired
     private InterestAccrualRepository interestAccrualRepository;
 
+    @Autowired
+    private InterestAccrualCheckpointRepository interestAccrualCheckpointRepository;
+
+    @Autowired
+    private InterestRateTierRepository interestRateTierRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerAccountService ledgerAccountService;
+
+    @Autowired
+    private LedgerAccountRepository ledgerAccountRepository;
+
+    @Autowired
+    private LedgerAccountCache ledgerAccountCache;
+
+    @Autowired
+    private LedgerAccountBalanceRepository ledgerAccountBalanceRepository;
+
+    @Autowired
+    private LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+
+    @Autowired
+    private JournalEntryLineRepository journalEntryLineRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
     @AfterEach
     void cleanUp() {
+        ledgerDailyBalanceRepository.deleteAll();
+        ledgerAccountBalanceRepository.deleteAll();
+        journalEntryLineRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+        ledgerAccountRepository.deleteAll();
+        ledgerAccountCache.invalidate();
+        interestAccrualCheckpointRepository.deleteAll();
+        interestRateTierRepository.deleteAll();
         interestAccrualRepository.deleteAll();
+        accountRepository.deleteAll();
         interestConfigRepository.deleteAll();
     }
 
@@ -82,4 +149,99 @@ class InterestServicePostgresIntegrationTest {
         InterestConfig config = interestConfigRepository.findByProductCode("SAV-02").orElseThrow();
         assertEquals(1L, interestAccrualRepository.findByProductCodeOrderByIdDesc(config.getProductCode()).size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void dailyAccrualCommitsPartitionedChunksAndDoesNotAccrueTwiceInPostgres() {
+        interestService.createConfig(new CreateInterestConfigRequest(
+                "SAVINGS",
+                BigDecimal.valueOf(36.5),
+                InterestBasis.SIMPLE,
+                1
+        ));
+        for (int i = 1; i <= 5; i++) {
+            accountService.createAccount(new CreateAccountRequest(
+                    (long) i, "INT-ACC-" + i, AccountType.SAVINGS, Currency.TRY, BigDecimal.valueOf(1000L * i)));
+        }
+        accountService.createAccount(new CreateAccountRequest(
+                6L, "INT-ACC-EMPTY", AccountType.SAVINGS, Currency.TRY, BigDecimal.ZERO));
+        LocalDate processDate = LocalDate.of(2026, 3, 10);
+
+        int first = interestService.calculateDailyAccrualsForAllAccounts(processDate);
+        int second = interestService.calculateDailyAccrualsForAllAccounts(processDate);
+
+        assertEquals(5, first);
+        assertEquals(0, second);
+        assertEquals(5, interestAccrualRepository.findByProductCodeOrderByIdDesc("SAVINGS").size());
+        assertEquals(new BigDecimal("5.00"), interestAccrualRepository.findByProductCodeOrderByIdDesc("SAVINGS")
+                .getFirst().getAccruedAmount());
+        List<InterestAccrualCheckpoint> checkpoints = interestAccrualCheckpointRepository
+                .findByAccrualDateOrderByProductCodeAscPartitionIndexAsc(processDate);
+        assertEquals(2, checkpoints.size());
+        assertTrue(checkpoints.stream().allMatch(InterestAccrualCheckpoint::isCompleted));
+        assertEquals(5L, checkpoints.stream().mapToLong(InterestAccrualCheckpoint::getAccruedCount).sum());
+        assertEquals(2, interestService.getAccrualProgress(processDate).size());
+    }
+
+    @Test
+    void dailyAccrualAppliesReplacedBandedTiersInPostgres() {
+        interestService.createConfig(new CreateInterestConfigRequest(
+                "SAVINGS",
+                BigDecimal.valueOf(3.65),
+                InterestBasis.SIMPLE,
+                1
+        ));
+        interestService.replaceRateTiers("savings", new ReplaceRateTiersRequest(InterestTierMethod.TIERED, List.of(
+                new RateTierRequest(new BigDecimal("10000.00"), BigDecimal.valueOf(3.65)))));
+        RateTiersResponse tiers = interestService.replaceRateTiers("SAVINGS", new ReplaceRateTiersRequest(
+                InterestTierMethod.BANDED, List.of(
+                        new RateTierRequest(new BigDecimal("10000.00"), BigDecimal.valueOf(7.30)),
+                        new RateTierRequest(new BigDecimal("50000.00"), BigDecimal.valueOf(10.95)))));
+        Long accountId = accountService.createAccount(new CreateAccountRequest(
+                1L, "TIER-ACC-1", AccountType.SAVINGS, Currency.TRY, new BigDecimal("60000.00"))).id();
+
+        interestService.calculateDailyAccrualsForAllAccounts(LocalDate.of(2026, 3, 10));
+
+        assertEquals(2, tiers.tiers().size());
+        assertEquals(InterestTierMethod.BANDED, interestService.getRateTiers("SAVINGS").tierMethod());
+        assertEquals(new BigDecimal("12.00"), interestAccrualRepository.findByAccountIdOrderByIdDesc(accountId)
+                .getFirst().getAccruedAmount());
+    }
+
+    @Test
+    void monthlyCapitalizationCreditsPostedAccountsAndKeepsRejectedAccrualsInPostgres() {
+        interestService.createConfig(new CreateInterestConfigRequest(
+                "SAVINGS",
+                BigDecimal.valueOf(36.5),
+                InterestBasis.SIMPLE,
+                1
+        ));
+        ledgerAccountService.createAccount(new com.cbs.ledger.dto.CreateAccountRequest(
+                "INTEREST-EXPENSE", "Interest expense", com.cbs.ledger.model.AccountType.EXPENSE));
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            accountIds.add(accountService.createAccount(new CreateAccountRequest(
+                    (long) i, "CAP-ACC-" + i, AccountType.SAVINGS, Currency.TRY, BigDecimal.valueOf(1000L * i))).id());
+            if (i < 3) {
+                ledgerAccountService.createAccount(new com.cbs.ledger.dto.CreateAccountRequest(
+                        "CAP-ACC-" + i, "Deposit " + i, com.cbs.ledger.model.AccountType.LIABILITY));
+            }
+        }
+        interestService.calculateDailyAccrualsForAllAccounts(LocalDate.of(2026, 3, 30));
+        interestService.calculateDailyAccrualsForAllAccounts(LocalDate.of(2026, 3, 31));
+        LocalDate processDate = LocalDate.of(2026, 3, 31);
+
+        int first = interestService.capitalizeMonthlyAccruals(processDate);
+        int second = interestService.capitalizeMonthlyAccruals(processDate);
+
+        assertEquals(2, first);
+        assertEquals(0, second);
+        assertEquals(new BigDecimal("1002.00"), accountService.getAccount(accountIds.get(0)).balance());
+        assertEquals(new BigDecimal("2004.00"), accountService.getAccount(accountIds.get(1)).balance());
+        assertEquals(new BigDecimal("3000.00"), accountService.getAccount(accountIds.get(2)).balance());
+        assertTrue(interestAccrualRepository.findByAccountIdOrderByIdDesc(accountIds.get(0)).stream()
+                .allMatch(accrual -> accrual.getStatus() == AccrualStatus.CAPITALIZED));
+        assertTrue(interestAccrualRepository.findByAccountIdOrderByIdDesc(accountIds.get(2)).stream()
+                .allMatch(accrual -> accrual.getStatus() == AccrualStatus.ACCRUED));
+        assertEquals(2, journalEntryRepository.count());
+    }
+}
@@ -4,16 +4,19 @@ import com.cbs.common.exception.ApiException;
 import com.cbs.interest.dto.CreateInterestConfigRequest;
 import com.cbs.interest.dto.InterestAccrualResponse;
 import com.cbs.interest.dto.InterestConfigResponse;
+import com.cbs.interest.dto.RateTierRequest;
+import com.cbs.interest.dto.RateTiersResponse;
+import com.cbs.interest.dto.ReplaceRateTiersRequest;
 import com.cbs.interest.dto.RunAccrualRequest;
 import com.cbs.interest.dto.UpdateInterestConfigRequest;
 import com.cbs.interest.model.InterestAccrual;
 import com.cbs.interest.model.InterestBasis;
 import com.cbs.interest.model.InterestConfig;
 import com.cbs.interest.model.InterestStatus;
+import com.cbs.interest.model.InterestTierMethod;
 import com.cbs.interest.repository.InterestAccrualRepository;
 import com.cbs.interest.repository.InterestConfigRepository;
-import com.cbs.account.service.AccountService;
-import com.cbs.ledger.service.LedgerPostingService;
+import com.cbs.interest.repository.InterestRateTierRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,11 +25,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,10 +45,13 @@ class InterestServiceTest {
     private InterestAccrualRepository interestAccrualRepository;
 
     @Mock
-    private AccountService accountService;
+    private InterestRateTierRepository rateTierRepository;
 
     @Mock
-    private LedgerPostingService ledgerPostingService;
+    private InterestAccrualEngine interestAccrualEngine;
+
+    @Mock
+    private InterestCapitalizationEngine interestCapitalizationEngine;
 
     private InterestService interestService;
 
@@ -51,8 +60,9 @@ class InterestServiceTest {
         interestService = new InterestService(
                 interestConfigRepository,
                 interestAccrualRepository,
-                accountService,
-                ledgerPostingService);
+                rateTierRepository,
+                interestAccrualEngine,
+                interestCapitalizationEngine);
     }
 
     @Test
@@ -114,6 +124,37 @@ class InterestServiceTest {
         assertEquals(BigDecimal.valueOf(98.63), response.accruedAmount());
     }
 
+    @Test
+    void replaceRateTiers_replacesTiersInBalanceOrder() {
+        InterestConfig config = new InterestConfig("SAV-01", BigDecimal.valueOf(2), InterestBasis.SIMPLE, 30);
+        when(interestConfigRepository.findByProductCode("SAV-01")).thenReturn(Optional.of(config));
+        when(rateTierRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RateTiersResponse response = interestService.replaceRateTiers("sav-01", new ReplaceRateTiersRequest(
+                InterestTierMethod.BANDED, List.of(
+                        new RateTierRequest(new BigDecimal("50000.00"), BigDecimal.valueOf(4)),
+                        new RateTierRequest(new BigDecimal("10000.00"), BigDecimal.valueOf(3)))));
+
+        assertEquals(InterestTierMethod.BANDED, config.getTierMethod());
+        assertEquals(new BigDecimal("10000.00"), response.tiers().get(0).minBalance());
+        assertEquals(new BigDecimal("50000.00"), response.tiers().get(1).minBalance());
+        verify(rateTierRepository).deleteByProductCode("SAV-01");
+    }
+
+    @Test
+    void replaceRateTiers_throwsWhenMinBalancesRepeat() {
+        InterestConfig config = new InterestConfig("SAV-01", BigDecimal.valueOf(2), InterestBasis.SIMPLE, 30);
+        when(interestConfigRepository.findByProductCode("SAV-01")).thenReturn(Optional.of(config));
+
+        ApiException exception = assertThrows(ApiException.class, () -> interestService.replaceRateTiers("SAV-01",
+                new ReplaceRateTiersRequest(InterestTierMethod.TIERED, List.of(
+                        new RateTierRequest(new BigDecimal("1000"), BigDecimal.valueOf(3)),
+                        new RateTierRequest(new BigDecimal("1000.00"), BigDecimal.valueOf(4))))));
+
+        assertEquals("INTEREST_TIER_DUPLICATE_BALANCE", exception.getErrorCode());
+        verify(rateTierRepository, never()).deleteByProductCode(any());
+    }
+
     @Test
     void updateConfig_throwsWhenFrequencyInvalid() {
         ApiException exception = assertThrows(
@@ -1,13 +1,25 @@
 package com.cbs.ledger.controller;
 
 import com.cbs.ledger.dto.AccountResponse;
+import com.cbs.ledger.dto.BalanceCheckResponse;
+import com.cbs.ledger.dto.BalanceMismatch;
+import com.cbs.ledger.dto.BatchEntryResult;
+import com.cbs.ledger.dto.BatchPostingResponse;
+import com.cbs.ledger.dto.JournalLogVerificationResponse;
+import com.cbs.ledger.dto.LedgerVerificationRunResponse;
 import com.cbs.ledger.dto.PostJournalEntryResponse;
 import com.cbs.ledger.dto.ReconciliationResponse;
 import com.cbs.common.exception.GlobalExceptionHandler;
+import com.cbs.ledger.journal.JournalSegmentStore;
 import com.cbs.ledger.model.AccountType;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import com.cbs.ledger.model.TrialBalanceFormat;
 import com.cbs.ledger.service.LedgerAccountService;
+import com.cbs.ledger.service.LedgerBalanceService;
+import com.cbs.ledger.service.LedgerIntegrityService;
 import com.cbs.ledger.service.LedgerPostingService;
 import com.cbs.ledger.service.LedgerQueryService;
+import com.cbs.ledger.service.TrialBalanceExportService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,14 +27,25 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,6 +71,18 @@ class LedgerControllerTest {
         @MockBean
         private LedgerQueryService ledgerQueryService;
 
+        @MockBean
+        private LedgerBalanceService ledgerBalanceService;
+
+        @MockBean
+        private JournalSegmentStore journalSegmentStore;
+
+        @MockBean
+        private TrialBalanceExportService trialBalanceExportService;
+
+        @MockBean
+        private LedgerIntegrityService ledgerIntegrityService;
+
         @Test
         void createAccount_returnsSuccessResponse() throws Exception {
                 when(ledgerAccountService.createAccount(any())).thenReturn(new AccountResponse(
@@ -139,6 +174,145 @@ class LedgerControllerTest {
                                 .andExpect(jsonPath("$.data.entryCount").value(7));
         }
 
+        @Test
+        void exportTrialBalance_streamsCsvAttachment() throws Exception {
+                doAnswer(invocation -> {
+                        invocation.<OutputStream>getArgument(3)
+                                        .write("1000,Cash,ASSET,5.0000,0.0000,5.0000\n".getBytes(StandardCharsets.UTF_8));
+                        return null;
+                }).when(trialBalanceExportService).writeTrialBalance(eq(LocalDate.of(2026, 2, 1)),
+                                eq(LocalDate.of(2026, 2, 28)), eq(TrialBalanceFormat.CSV), any());
+
+                MvcResult result = mockMvc.perform(get("/api/v1/ledger/trial-balance")
+                                .param("fromDate", "2026-02-01")
+                                .param("toDate", "2026-02-28")
+                                .param("format", "CSV"))
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Type", "text/csv"))
+                                .andExpect(content().string("1000,Cash,ASSET,5.0000,0.0000,5.0000\n"));
+        }
+
+        @Test
+        void updateAccountStatus_returnsUpdatedAccount() throws Exception {
+                when(ledgerAccountService.updateAccountStatus("FEE-INCOME", false)).thenReturn(new AccountResponse(
+                                3L,
+                                "FEE-INCOME",
+                                "Fees",
+                                AccountType.INCOME,
+                                false));
+
+                mockMvc.perform(patch("/api/v1/ledger/accounts/FEE-INCOME/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"active\": false}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("Account status updated"))
+                                .andExpect(jsonPath("$.data.active").value(false));
+        }
+
+        @Test
+        void postEntries_returnsPerEntryResults() throws Exception {
+                when(ledgerPostingService.postEntries(any())).thenReturn(new BatchPostingResponse(
+                                2,
+                                1,
+                                1,
+                                List.of(
+                                                BatchEntryResult.posted(0, new PostJournalEntryResponse(
+                                                                11L,
+                                                                "EOD-1",
+                                                                new BigDecimal("5.0000"),
+                                                                new BigDecimal("5.0000"))),
+                                                BatchEntryResult.failed(1, "EOD-2", "LEDGER_REFERENCE_EXISTS",
+                                                                "Reference already posted: EOD-2"))));
+
+                String body = """
+                                {
+                                  "entries": [
+                                    {
+                                      "reference": "EOD-1",
+                                      "description": "Interest",
+                                      "valueDate": "2026-02-18",
+                                      "lines": [
+                                        {"accountCode": "1000", "entryType": "DEBIT", "amount": 5.00},
+                                        {"accountCode": "4000", "entryType": "CREDIT", "amount": 5.00}
+                                      ]
+                                    },
+                                    {
+                                      "reference": "EOD-2",
+                                      "description": "Interest",
+                                      "valueDate": "2026-02-18",
+                                      "lines": [
+                                        {"accountCode": "1000", "entryType": "DEBIT", "amount": 5.00},
+                                        {"accountCode": "4000", "entryType": "CREDIT", "amount": 5.00}
+                                      ]
+                                    }
+                                  ]
+                                }
+                                """;
+
+                mockMvc.perform(post("/api/v1/ledger/entries/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.posted").value(1))
+                                .andExpect(jsonPath("$.data.results[0].entryId").value(11))
+                                .andExpect(jsonPath("$.data.results[1].errorCode").value("LEDGER_REFERENCE_EXISTS"));
+        }
+
+        @Test
+        void checkBalances_returnsMismatches() throws Exception {
+                when(ledgerBalanceService.checkConsistency()).thenReturn(new BalanceCheckResponse(
+                                2,
+                                false,
+                                List.of(new BalanceMismatch(
+                                                "PAYMENT-CLEARING",
+                                                new BigDecimal("10.0000"),
+                                                BigDecimal.ZERO,
+                                                new BigDecimal("12.0000"),
+                                                BigDecimal.ZERO))));
+
+                mockMvc.perform(get("/api/v1/ledger/balance-checks"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.consistent").value(false))
+                                .andExpect(jsonPath("$.data.mismatches[0].accountCode").value("PAYMENT-CLEARING"));
+        }
+
+        @Test
+        void verifyJournalLog_returnsVerificationResult() throws Exception {
+                when(journalSegmentStore.verify()).thenReturn(new JournalLogVerificationResponse(
+                                true, 2, 10L, false, 7L, "Record hash mismatch in segment 1"));
+
+                mockMvc.perform(get("/api/v1/ledger/journal-log/verification"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.intact").value(false))
+                                .andExpect(jsonPath("$.data.firstInvalidSequence").value(7));
+        }
+
+        @Test
+        void runVerification_returnsRunProgress() throws Exception {
+                when(ledgerIntegrityService.runVerification()).thenReturn(new LedgerVerificationRunResponse(
+                                4L,
+                                LedgerVerificationStatus.RUNNING,
+                                Instant.parse("2026-03-01T00:00:00Z"),
+                                900L,
+                                18,
+                                6,
+                                1L,
+                                0L,
+                                null,
+                                Instant.parse("2026-03-01T00:05:00Z"),
+                                null));
+
+                mockMvc.perform(post("/api/v1/ledger/doctor/runs"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                                .andExpect(jsonPath("$.data.completedPartitions").value(6))
+                                .andExpect(jsonPath("$.data.unbalancedEntries").value(1));
+        }
+
         @Test
         void postPolicyEntry_returnsApiExceptionStatus() throws Exception {
                 when(ledgerPostingService.postPolicyEntry(any()))
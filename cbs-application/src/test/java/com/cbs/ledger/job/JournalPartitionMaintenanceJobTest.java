@@ -0,0 +1,63 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.JournalPartitionMaintenanceResponse;
+import com.cbs.ledger.service.JournalPartitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JournalPartitionMaintenanceJobTest {
+
+    @Mock
+    private JournalPartitionService journalPartitionService;
+
+    private JournalPartitionMaintenanceJob journalPartitionMaintenanceJob;
+
+    @BeforeEach
+    void setUp() {
+        journalPartitionMaintenanceJob = new JournalPartitionMaintenanceJob(journalPartitionService);
+    }
+
+    @Test
+    void executeMaintenance_maintainsPartitionsWhenEnabled() {
+        when(journalPartitionService.isEnabled()).thenReturn(true);
+        when(journalPartitionService.maintainPartitions(any(LocalDate.class)))
+                .thenReturn(new JournalPartitionMaintenanceResponse(true, List.of("journal_entries_p2026_06"), List.of()));
+
+        journalPartitionMaintenanceJob.executeMaintenance();
+
+        verify(journalPartitionService).maintainPartitions(any(LocalDate.class));
+    }
+
+    @Test
+    void executeMaintenance_skipsWhenDisabled() {
+        when(journalPartitionService.isEnabled()).thenReturn(false);
+
+        journalPartitionMaintenanceJob.executeMaintenance();
+
+        verify(journalPartitionService, never()).maintainPartitions(any(LocalDate.class));
+    }
+
+    @Test
+    void executeMaintenance_handlesExceptionGracefully() {
+        when(journalPartitionService.isEnabled()).thenReturn(true);
+        when(journalPartitionService.maintainPartitions(any(LocalDate.class)))
+                .thenThrow(new RuntimeException("DB Connection failed"));
+
+        // Should not throw exception out to the scheduler
+        journalPartitionMaintenanceJob.executeMaintenance();
+
+        verify(journalPartitionService).maintainPartitions(any(LocalDate.class));
+    }
+}
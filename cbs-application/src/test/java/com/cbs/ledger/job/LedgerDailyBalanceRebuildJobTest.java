@@ -0,0 +1,52 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.DailyBalanceRebuildResponse;
+import com.cbs.ledger.service.LedgerBalanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerDailyBalanceRebuildJobTest {
+
+    @Mock
+    private LedgerBalanceService ledgerBalanceService;
+
+    private LedgerDailyBalanceRebuildJob ledgerDailyBalanceRebuildJob;
+
+    @BeforeEach
+    void setUp() {
+        ledgerDailyBalanceRebuildJob = new LedgerDailyBalanceRebuildJob(ledgerBalanceService);
+    }
+
+    @Test
+    void executeDailyRebuild_rebuildsPreviousDay() {
+        LocalDate previousDay = LocalDate.now().minusDays(1);
+        when(ledgerBalanceService.rebuildDailyBalances(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new DailyBalanceRebuildResponse(previousDay, previousDay, 3));
+
+        ledgerDailyBalanceRebuildJob.executeDailyRebuild();
+
+        verify(ledgerBalanceService).rebuildDailyBalances(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void executeDailyRebuild_handlesExceptionGracefully() {
+        doThrow(new RuntimeException("DB Connection failed"))
+                .when(ledgerBalanceService).rebuildDailyBalances(any(LocalDate.class), any(LocalDate.class));
+
+        // Should not throw exception out to the scheduler
+        ledgerDailyBalanceRebuildJob.executeDailyRebuild();
+
+        verify(ledgerBalanceService).rebuildDailyBalances(any(LocalDate.class), any(LocalDate.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.cbs.ledger.job;
+
+import com.cbs.ledger.dto.LedgerVerificationRunResponse;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import com.cbs.ledger.service.LedgerIntegrityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerIntegrityVerificationJobTest {
+
+    @Mock
+    private LedgerIntegrityService ledgerIntegrityService;
+
+    private LedgerIntegrityVerificationJob ledgerIntegrityVerificationJob;
+
+    @BeforeEach
+    void setUp() {
+        ledgerIntegrityVerificationJob = new LedgerIntegrityVerificationJob(ledgerIntegrityService);
+    }
+
+    @Test
+    void executeVerification_advancesOpenRun() {
+        when(ledgerIntegrityService.runVerification()).thenReturn(new LedgerVerificationRunResponse(
+                1L, LedgerVerificationStatus.COMPLETED, Instant.now(), 10L, 1, 1, 0L, 0L, 0, Instant.now(),
+                Instant.now()));
+
+        ledgerIntegrityVerificationJob.executeVerification();
+
+        verify(ledgerIntegrityService).runVerification();
+    }
+
+    @Test
+    void executeVerification_handlesExceptionGracefully() {
+        when(ledgerIntegrityService.runVerification()).thenThrow(new RuntimeException("DB Connection failed"));
+
+        // Should not throw exception out to the scheduler
+        ledgerIntegrityVerificationJob.executeVerification();
+
+        verify(ledgerIntegrityService).runVerification();
+    }
+}
@@ -0,0 +1,258 @@
+package com.cbs.ledger.journal;
+
+import com.cbs.ledger.dto.JournalLogVerificationResponse;
+import com.cbs.ledger.model.AccountType;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.JournalEntry;
+import com.cbs.ledger.model.JournalEntryLine;
+import com.cbs.ledger.model.LedgerAccount;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.JournalLogLine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JournalSegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JournalEntryLineRepository journalEntryLineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JournalSegmentStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void appendAfterCommit_writesLinesInSequenceAndReplaysThem() {
+        store = newStore(100);
+
+        store.appendAfterCommit(List.of(entry("REF-1", "100.12"), entry("REF-2", "5")));
+
+        List<JournalLogRecord> records = replay(store);
+        assertEquals(4, records.size());
+        assertEquals(0L, records.get(0).sequence());
+        assertEquals("REF-1", records.get(0).reference());
+        assertEquals("1000", records.get(0).accountCode());
+        assertEquals(EntryType.DEBIT, records.get(0).entryType());
+        assertEquals(new BigDecimal("100.1200"), records.get(0).amount());
+        assertEquals(LocalDate.of(2026, 2, 18), records.get(0).valueDate());
+        assertEquals("4000", records.get(3).accountCode());
+        assertEquals(3L, records.get(3).sequence());
+    }
+
+    @Test
+    void append_rollsSegmentsAndKeepsChainIntact() throws IOException {
+        store = newStore(3);
+
+        store.appendAfterCommit(List.of(entry("REF-1", "1"), entry("REF-2", "2"), entry("REF-3", "3")));
+
+        assertEquals(2, countSegments());
+        JournalLogVerificationResponse response = store.verify();
+        assertTrue(response.intact());
+        assertEquals(2, response.segments());
+        assertEquals(6L, response.verifiedRecords());
+    }
+
+    @Test
+    void verify_reportsFirstTamperedRecord() throws IOException {
+        store = newStore(100);
+        store.appendAfterCommit(List.of(entry("REF-1", "10"), entry("REF-2", "20")));
+        store.close();
+
+        Path segment = directory.resolve("journal-000000000000.seg");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {9}),
+                    JournalLogCodec.HEADER_SIZE + 2L * JournalLogCodec.RECORD_SIZE + 20);
+        }
+
+        JournalLogVerificationResponse response = newStore(100).verify();
+        assertFalse(response.intact());
+        assertEquals(2L, response.firstInvalidSequence());
+        assertEquals(2L, response.verifiedRecords());
+    }
+
+    @Test
+    void append_recoversAfterRestartAndDropsPartialRecord() throws IOException {
+        store = newStore(100);
+        store.appendAfterCommit(List.of(entry("REF-1", "10")));
+        store.close();
+
+        Path segment = directory.resolve("journal-000000000000.seg");
+        Files.write(segment, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        store = newStore(100);
+        store.appendAfterCommit(List.of(entry("REF-2", "20")));
+
+        List<JournalLogRecord> records = replay(store);
+        assertEquals(4, records.size());
+        assertEquals("REF-2", records.get(2).reference());
+        assertEquals(2L, records.get(2).sequence());
+        assertTrue(store.verify().intact());
+    }
+
+    @Test
+    void append_backfillsLinesOfAFailedAppendBeforeTheNextOne() throws IOException {
+        Path blocked = directory.resolve("log");
+        Files.writeString(blocked, "not a directory");
+        store = new JournalSegmentStore(true, blocked.toString(), 100, false, journalEntryLineRepository,
+                transactionManager);
+
+        assertThrows(UncheckedIOException.class, () -> store.appendAfterCommit(List.of(entry("REF-1", "10", 1L))));
+        JournalLogVerificationResponse whileMissing = store.verify();
+        assertFalse(whileMissing.intact());
+        assertEquals(0L, whileMissing.firstInvalidSequence());
+
+        Files.delete(blocked);
+        when(journalEntryLineRepository.findLogLinesFrom(eq(1L), any())).thenReturn(List.of(
+                logLine(1L, "REF-1", "1000", EntryType.DEBIT, "10"),
+                logLine(2L, "REF-1", "4000", EntryType.CREDIT, "10"),
+                logLine(3L, "REF-2", "1000", EntryType.DEBIT, "20"),
+                logLine(4L, "REF-2", "4000", EntryType.CREDIT, "20")));
+        store.appendAfterCommit(List.of(entry("REF-2", "20", 3L)));
+
+        List<JournalLogRecord> records = replay(store);
+        assertEquals(List.of("REF-1", "REF-1", "REF-2", "REF-2"),
+                records.stream().map(JournalLogRecord::reference).toList());
+        assertTrue(store.verify().intact());
+    }
+
+    @Test
+    void recover_backfillsLinesCommittedAboveTheHighWaterMark() {
+        store = newStore(100);
+        store.appendAfterCommit(List.of(entry("REF-1", "10", 1L)));
+        store.close();
+
+        when(journalEntryLineRepository.findMaxLineIdByReference("REF-1")).thenReturn(2L);
+        when(journalEntryLineRepository.findLogLinesFrom(eq(3L), any())).thenReturn(List.of(
+                logLine(3L, "REF-2", "1000", EntryType.DEBIT, "20"),
+                logLine(4L, "REF-2", "4000", EntryType.CREDIT, "20")));
+        store = newStore(100);
+        store.recover();
+
+        List<JournalLogRecord> records = replay(store);
+        assertEquals(4, records.size());
+        assertEquals("REF-2", records.get(2).reference());
+        assertEquals(new BigDecimal("20.0000"), records.get(3).amount());
+        assertTrue(store.verify().intact());
+    }
+
+    @Test
+    void disabledStore_ignoresAppendsAndReportsDisabled() {
+        store = new JournalSegmentStore(false, directory.toString(), 100, false, journalEntryLineRepository,
+                transactionManager);
+
+        store.appendAfterCommit(List.of(entry("REF-1", "10")));
+
+        assertFalse(store.verify().enabled());
+        assertTrue(replay(store).isEmpty());
+    }
+
+    private JournalSegmentStore newStore(long recordsPerSegment) {
+        return new JournalSegmentStore(true, directory.toString(), recordsPerSegment, false,
+                journalEntryLineRepository, transactionManager);
+    }
+
+    private List<JournalLogRecord> replay(JournalSegmentStore journalSegmentStore) {
+        List<JournalLogRecord> records = new ArrayList<>();
+        journalSegmentStore.replay(records::add);
+        return records;
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private JournalEntry entry(String reference, String amount) {
+        return entry(reference, amount, null);
+    }
+
+    private JournalEntry entry(String reference, String amount, Long firstLineId) {
+        JournalEntry journalEntry = new JournalEntry(reference, "Cash sale", LocalDate.of(2026, 2, 18));
+        BigDecimal value = new BigDecimal(amount);
+        JournalEntryLine debit = new JournalEntryLine(new LedgerAccount("1000", "Cash", AccountType.ASSET),
+                EntryType.DEBIT, value);
+        JournalEntryLine credit = new JournalEntryLine(new LedgerAccount("4000", "Revenue", AccountType.INCOME),
+                EntryType.CREDIT, value);
+        if (firstLineId != null) {
+            ReflectionTestUtils.setField(debit, "id", firstLineId);
+            ReflectionTestUtils.setField(credit, "id", firstLineId + 1);
+        }
+        journalEntry.addLine(debit);
+        journalEntry.addLine(credit);
+        return journalEntry;
+    }
+
+    private JournalLogLine logLine(Long lineId, String reference, String accountCode, EntryType entryType,
+            String amount) {
+        return new JournalLogLine() {
+            @Override
+            public Long getLineId() {
+                return lineId;
+            }
+
+            @Override
+            public String getReference() {
+                return reference;
+            }
+
+            @Override
+            public LocalDate getValueDate() {
+                return LocalDate.of(2026, 2, 18);
+            }
+
+            @Override
+            public String getAccountCode() {
+                return accountCode;
+            }
+
+            @Override
+            public EntryType getEntryType() {
+                return entryType;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
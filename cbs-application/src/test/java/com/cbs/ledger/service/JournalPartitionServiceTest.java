@@ -0,0 +1,157 @@
+package com.cbs.ledger.service;
+
+import com.cbs.ledger.dto.JournalPartitionMaintenanceResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JournalPartitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 11, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void maintainPartitions_doesNothingWhenDisabled() {
+        JournalPartitionService service = new JournalPartitionService(
+                jdbcTemplate, transactionManager, false, 3, 0, "ledger_archive");
+
+        JournalPartitionMaintenanceResponse response = service.maintainPartitions(TODAY);
+
+        assertFalse(response.partitioned());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void maintainPartitions_skipsTablesThatWereNeverConverted() {
+        JournalPartitionService service = new JournalPartitionService(
+                jdbcTemplate, transactionManager, true, 3, 0, "ledger_archive");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("journal_entries"))).thenReturn(false);
+
+        JournalPartitionMaintenanceResponse response = service.maintainPartitions(TODAY);
+
+        assertFalse(response.partitioned());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintainPartitions_createsMissingMonthsAcrossYearBoundary() {
+        JournalPartitionService service = new JournalPartitionService(
+                jdbcTemplate, transactionManager, true, 2, 0, "ledger_archive");
+        stubPartitioned();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entries")))
+                .thenReturn(List.of("journal_entries_default", "journal_entries_p2026_11"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entry_lines")))
+                .thenReturn(List.of("journal_entry_lines_default", "journal_entry_lines_p2026_11",
+                        "journal_entry_lines_p2026_12"));
+
+        JournalPartitionMaintenanceResponse response = service.maintainPartitions(TODAY);
+
+        assertTrue(response.partitioned());
+        assertEquals(List.of("journal_entries_p2026_12", "journal_entries_p2027_01", "journal_entry_lines_p2027_01"),
+                response.createdPartitions());
+        assertTrue(response.detachedPartitions().isEmpty());
+        verify(jdbcTemplate).execute("create table if not exists journal_entries_p2027_01 partition of journal_entries"
+                + " for values from ('2027-01-01') to ('2027-02-01')");
+    }
+
+    @Test
+    void maintainPartitions_detachesLinesBeforeEntriesOutsideRetention() {
+        JournalPartitionService service = new JournalPartitionService(
+                jdbcTemplate, transactionManager, true, 0, 6, "ledger_archive");
+        stubPartitioned();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entries")))
+                .thenReturn(List.of("journal_entries_default", "journal_entries_p2026_04", "journal_entries_p2026_05",
+                        "journal_entries_p2026_11"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entry_lines")))
+                .thenReturn(List.of("journal_entry_lines_default", "journal_entry_lines_p2026_04",
+                        "journal_entry_lines_p2026_05", "journal_entry_lines_p2026_11"));
+
+        JournalPartitionMaintenanceResponse response = service.maintainPartitions(TODAY);
+
+        assertEquals(List.of("journal_entry_lines_p2026_04", "journal_entries_p2026_04"),
+                response.detachedPartitions());
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("create schema if not exists ledger_archive");
+        order.verify(jdbcTemplate).execute(contains("date '2026-04-01'"));
+        order.verify(jdbcTemplate).execute("alter table journal_entry_lines detach partition journal_entry_lines_p2026_04");
+        order.verify(jdbcTemplate).execute(
+                "alter table journal_entry_lines_p2026_04 drop constraint if exists fk_journal_entry_lines_entry");
+        order.verify(jdbcTemplate).execute("alter table journal_entry_lines_p2026_04 set schema ledger_archive");
+        order.verify(jdbcTemplate).execute("alter table journal_entries detach partition journal_entries_p2026_04");
+        order.verify(jdbcTemplate).execute("alter table journal_entries_p2026_04 set schema ledger_archive");
+    }
+
+    @Test
+    void maintainPartitions_movesDefaultRowsIntoTheNewMonthBeforeAttaching() {
+        JournalPartitionService service = new JournalPartitionService(
+                jdbcTemplate, transactionManager, true, 0, 0, "ledger_archive");
+        stubPartitioned();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entries")))
+                .thenReturn(List.of("journal_entries_default"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("journal_entry_lines")))
+                .thenReturn(List.of("journal_entry_lines_default"));
+        when(jdbcTemplate.queryForObject(contains("from journal_entries_default"), eq(Boolean.class),
+                eq(LocalDate.of(2026, 11, 1)), eq(LocalDate.of(2026, 12, 1)))).thenReturn(true);
+
+        JournalPartitionMaintenanceResponse response = service.maintainPartitions(TODAY);
+
+        assertEquals(List.of("journal_entries_p2026_11", "journal_entry_lines_p2026_11"), response.createdPartitions());
+        InOrder order = inOrder(jdbcTemplate, transactionManager);
+        order.verify(jdbcTemplate).execute("insert into journal_entry_lines_p2026_11 select * from"
+                + " journal_entry_lines_default where value_date >= '2026-11-01' and value_date < '2026-12-01'");
+        order.verify(jdbcTemplate).execute("delete from journal_entry_lines_default"
+                + " where value_date >= '2026-11-01' and value_date < '2026-12-01'");
+        order.verify(jdbcTemplate).execute("delete from journal_entries_default"
+                + " where value_date >= '2026-11-01' and value_date < '2026-12-01'");
+        order.verify(jdbcTemplate).execute("insert into journal_entry_references (reference)"
+                + " select reference from journal_entries_p2026_11 on conflict do nothing");
+        order.verify(jdbcTemplate).execute("alter table journal_entries attach partition journal_entries_p2026_11"
+                + " for values from ('2026-11-01') to ('2026-12-01')");
+        order.verify(jdbcTemplate).execute("alter table journal_entry_lines attach partition"
+                + " journal_entry_lines_p2026_11 for values from ('2026-11-01') to ('2026-12-01')");
+        order.verify(transactionManager).commit(any());
+        verify(jdbcTemplate, never()).execute(contains("partition of"));
+    }
+
+    @Test
+    void partitionMonth_parsesMonthlySuffixOnly() {
+        assertEquals(YearMonth.of(2026, 3), JournalPartitionService.partitionMonth("journal_entries_p2026_03"));
+        assertNull(JournalPartitionService.partitionMonth("journal_entries_default"));
+    }
+
+    private void stubPartitioned() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("journal_entries"))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("journal_entry_lines"))).thenReturn(true);
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(LocalDate.class),
+                any(LocalDate.class))).thenReturn(false);
+    }
+}
@@ -0,0 +1,95 @@
+package com.cbs.ledger.service;
+
+import com.cbs.ledger.model.AccountType;
+import com.cbs.ledger.model.LedgerAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerAccountCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LedgerAccountCache ledgerAccountCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerAccountCache = new LedgerAccountCache(meterRegistry);
+    }
+
+    @Test
+    void get_doesNotCacheLoadThatRacedWithInvalidation() {
+        LedgerAccount stale = new LedgerAccount("CASH-SETTLEMENT", "Cash", AccountType.ASSET);
+        LedgerAccount fresh = new LedgerAccount("CASH-SETTLEMENT", "Cash", AccountType.ASSET);
+        fresh.setActive(false);
+
+        ledgerAccountCache.get("CASH-SETTLEMENT", code -> {
+            ledgerAccountCache.invalidate();
+            return Optional.of(stale);
+        });
+        Optional<LedgerAccountSnapshot> reloaded = ledgerAccountCache.get("CASH-SETTLEMENT",
+                code -> Optional.of(fresh));
+
+        assertFalse(reloaded.orElseThrow().active());
+    }
+
+    @Test
+    void get_cachesSnapshotUnaffectedByLaterChangesToTheLoadedEntity() {
+        LedgerAccount loaded = new LedgerAccount("CASH-SETTLEMENT", "Cash", AccountType.ASSET);
+        ledgerAccountCache.get("CASH-SETTLEMENT", code -> Optional.of(loaded));
+
+        loaded.setActive(false);
+        LedgerAccountSnapshot cached = ledgerAccountCache.get("CASH-SETTLEMENT", code -> Optional.empty())
+                .orElseThrow();
+
+        assertTrue(cached.active());
+        assertEquals(AccountType.ASSET, cached.type());
+    }
+
+    @Test
+    void get_doesNotCacheMissingAccounts() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ledgerAccountCache.get("UNKNOWN", code -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        ledgerAccountCache.get("UNKNOWN", code -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAll_loadsOnlyMissingCodesInOneCall() {
+        LedgerAccount cash = new LedgerAccount("CASH-SETTLEMENT", "Cash", AccountType.ASSET);
+        LedgerAccount fee = new LedgerAccount("FEE-INCOME", "Fees", AccountType.INCOME);
+        ledgerAccountCache.get("CASH-SETTLEMENT", code -> Optional.of(cash));
+        AtomicInteger loads = new AtomicInteger();
+
+        Map<String, LedgerAccountSnapshot> accounts = ledgerAccountCache.getAll(List.of("CASH-SETTLEMENT", "FEE-INCOME"),
+                codes -> {
+                    loads.incrementAndGet();
+                    assertEquals(List.of("FEE-INCOME"), codes);
+                    return List.of(fee);
+                });
+
+        assertEquals(1, loads.get());
+        assertEquals(2, accounts.size());
+        assertEquals(1.0, meterRegistry.get("ledger.account.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("ledger.account.cache.requests").tag("result", "miss").counter().count());
+        assertTrue(meterRegistry.get("ledger.account.cache.size").gauge().value() == 2.0);
+    }
+}
@@ -6,6 +6,7 @@ import com.cbs.ledger.dto.CreateAccountRequest;
 import com.cbs.ledger.model.AccountType;
 import com.cbs.ledger.model.LedgerAccount;
 import com.cbs.ledger.repository.LedgerAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +14,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,11 +32,17 @@ class LedgerAccountServiceTest {
     @Mock
     private LedgerAccountRepository ledgerAccountRepository;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private LedgerAccountCache ledgerAccountCache;
+
     private LedgerAccountService ledgerAccountService;
 
     @BeforeEach
     void setUp() {
-        ledgerAccountService = new LedgerAccountService(ledgerAccountRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerAccountCache = new LedgerAccountCache(meterRegistry);
+        ledgerAccountService = new LedgerAccountService(ledgerAccountRepository, ledgerAccountCache);
     }
 
     @Test
@@ -77,4 +89,48 @@ class LedgerAccountServiceTest {
 
         assertEquals("LEDGER_ACCOUNT_NOT_FOUND", exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAccountsByCodes_normalizesCodesAndQueriesOnce() {
+        LedgerAccount cash = new LedgerAccount("CASH-100", "Cash", AccountType.ASSET);
+        when(ledgerAccountRepository.findByCodeIn(List.of("CASH-100", "FEE-INCOME")))
+                .thenReturn(List.of(cash));
+
+        Map<String, LedgerAccountSnapshot> accounts = ledgerAccountService
+                .getAccountsByCodes(List.of(" cash-100 ", "CASH-100", "fee-income"));
+
+        assertEquals(1, accounts.size());
+        assertEquals(LedgerAccountSnapshot.from(cash), accounts.get("CASH-100"));
+    }
+
+    @Test
+    void getActiveAccountByCode_servesRepeatLookupsFromCache() {
+        when(ledgerAccountRepository.findByCode("CASH-SETTLEMENT"))
+                .thenReturn(Optional.of(new LedgerAccount("CASH-SETTLEMENT", "Cash", AccountType.ASSET)));
+
+        ledgerAccountService.getActiveAccountByCode("cash-settlement");
+        ledgerAccountService.getActiveAccountByCode(" CASH-SETTLEMENT ");
+
+        verify(ledgerAccountRepository, times(1)).findByCode("CASH-SETTLEMENT");
+        assertEquals(1.0, meterRegistry.get("ledger.account.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("ledger.account.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void updateAccountStatus_invalidatesCachedAccount() {
+        LedgerAccount account = new LedgerAccount("FEE-INCOME", "Fees", AccountType.INCOME);
+        when(ledgerAccountRepository.findByCode("FEE-INCOME")).thenReturn(Optional.of(account));
+        when(ledgerAccountRepository.save(account)).thenReturn(account);
+        ledgerAccountService.getActiveAccountByCode("FEE-INCOME");
+        long versionBefore = ledgerAccountCache.version();
+
+        AccountResponse response = ledgerAccountService.updateAccountStatus("fee-income", false);
+
+        assertFalse(response.active());
+        assertTrue(ledgerAccountCache.version() > versionBefore);
+        ApiException exception = assertThrows(ApiException.class,
+                () -> ledgerAccountService.getActiveAccountByCode("FEE-INCOME"));
+        assertEquals("LEDGER_ACCOUNT_INACTIVE", exception.getErrorCode());
+        verify(ledgerAccountRepository, times(3)).findByCode("FEE-INCOME");
+    }
+}
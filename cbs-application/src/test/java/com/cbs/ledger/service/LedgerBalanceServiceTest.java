@@ -0,0 +1,257 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BalanceCheckResponse;
+import com.cbs.ledger.dto.DailyBalanceRebuildResponse;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.JournalEntry;
+import com.cbs.ledger.model.JournalEntryLine;
+import com.cbs.ledger.model.LedgerAccount;
+import com.cbs.ledger.model.LedgerAccountBalance;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.LedgerAccountBalanceRepository;
+import com.cbs.ledger.repository.LedgerAccountRepository;
+import com.cbs.ledger.repository.LedgerAccountTotals;
+import com.cbs.ledger.repository.LedgerArchivedBalanceRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerBalanceServiceTest {
+
+    @Mock
+    private LedgerAccountBalanceRepository ledgerAccountBalanceRepository;
+
+    @Mock
+    private JournalEntryLineRepository journalEntryLineRepository;
+
+    @Mock
+    private LedgerAccountRepository ledgerAccountRepository;
+
+    @Mock
+    private LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+
+    @Mock
+    private LedgerArchivedBalanceRepository ledgerArchivedBalanceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerBalanceService ledgerBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerBalanceService = new LedgerBalanceService(
+                ledgerAccountBalanceRepository, journalEntryLineRepository, ledgerAccountRepository,
+                ledgerDailyBalanceRepository, ledgerArchivedBalanceRepository, transactionManager);
+    }
+
+    @Test
+    void applyEntry_aggregatesLinesPerAccountIntoSingleUpdate() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        LedgerAccount clearing = account(2L, "PAYMENT-CLEARING");
+        JournalEntry entry = new JournalEntry("REF-1", "split", LocalDate.of(2026, 2, 18));
+        entry.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("60.0000")));
+        entry.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("40.0000")));
+        entry.addLine(new JournalEntryLine(clearing, EntryType.CREDIT, new BigDecimal("100.0000")));
+        when(ledgerAccountBalanceRepository.applyDelta(any(), any(), any(), any())).thenReturn(1);
+
+        ledgerBalanceService.applyEntry(entry);
+
+        verify(ledgerAccountBalanceRepository).applyDelta(eq(1L), eq(new BigDecimal("100.0000")),
+                eq(BigDecimal.ZERO), any());
+        verify(ledgerAccountBalanceRepository).applyDelta(eq(2L), eq(BigDecimal.ZERO),
+                eq(new BigDecimal("100.0000")), any());
+        verify(ledgerAccountBalanceRepository, never()).insertFromLinesIfAbsent(any(), any());
+        verify(ledgerDailyBalanceRepository).upsertDelta(eq(1L), eq(LocalDate.of(2026, 2, 18)),
+                eq(new BigDecimal("100.0000")), eq(BigDecimal.ZERO), eq(1L), any());
+        verify(ledgerDailyBalanceRepository).upsertDelta(eq(2L), eq(LocalDate.of(2026, 2, 18)),
+                eq(BigDecimal.ZERO), eq(new BigDecimal("100.0000")), eq(0L), any());
+    }
+
+    @Test
+    void applyEntries_mergesDeltasAcrossEntriesAndCountsEachEntryOnce() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        LedgerAccount fee = account(2L, "FEE-INCOME");
+        LocalDate day = LocalDate.of(2026, 2, 18);
+        JournalEntry first = new JournalEntry("REF-A", "fee", day);
+        first.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("1.0000")));
+        first.addLine(new JournalEntryLine(fee, EntryType.CREDIT, new BigDecimal("1.0000")));
+        JournalEntry second = new JournalEntry("REF-B", "fee", day);
+        second.addLine(new JournalEntryLine(fee, EntryType.CREDIT, new BigDecimal("2.0000")));
+        second.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("2.0000")));
+        when(ledgerAccountBalanceRepository.applyDelta(any(), any(), any(), any())).thenReturn(1);
+
+        ledgerBalanceService.applyEntries(List.of(first, second));
+
+        verify(ledgerAccountBalanceRepository).applyDelta(eq(1L), eq(new BigDecimal("3.0000")),
+                eq(BigDecimal.ZERO), any());
+        verify(ledgerAccountBalanceRepository).applyDelta(eq(2L), eq(BigDecimal.ZERO),
+                eq(new BigDecimal("3.0000")), any());
+        verify(ledgerDailyBalanceRepository).upsertDelta(eq(1L), eq(day), eq(new BigDecimal("3.0000")),
+                eq(BigDecimal.ZERO), eq(2L), any());
+        verify(ledgerDailyBalanceRepository).upsertDelta(eq(2L), eq(day), eq(BigDecimal.ZERO),
+                eq(new BigDecimal("3.0000")), eq(0L), any());
+    }
+
+    @Test
+    void applyEntry_seedsMissingSnapshotFromLinesWithoutReapplyingDelta() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        JournalEntry entry = new JournalEntry("REF-2", "first", LocalDate.of(2026, 2, 18));
+        entry.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("10.0000")));
+        when(ledgerAccountBalanceRepository.applyDelta(eq(1L), any(), any(), any())).thenReturn(0);
+        when(ledgerAccountBalanceRepository.insertFromLinesIfAbsent(eq(1L), any())).thenReturn(1);
+
+        ledgerBalanceService.applyEntry(entry);
+
+        verify(ledgerAccountBalanceRepository, times(1)).applyDelta(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void applyEntry_reappliesDeltaWhenConcurrentSeedWins() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        JournalEntry entry = new JournalEntry("REF-3", "race", LocalDate.of(2026, 2, 18));
+        entry.addLine(new JournalEntryLine(cash, EntryType.CREDIT, new BigDecimal("5.0000")));
+        when(ledgerAccountBalanceRepository.applyDelta(eq(1L), any(), any(), any())).thenReturn(0, 1);
+        when(ledgerAccountBalanceRepository.insertFromLinesIfAbsent(eq(1L), any())).thenReturn(0);
+
+        ledgerBalanceService.applyEntry(entry);
+
+        verify(ledgerAccountBalanceRepository, times(2)).applyDelta(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void checkConsistency_reportsDriftAndMissingSnapshots() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        LedgerAccount fee = account(2L, "FEE-INCOME");
+        LedgerAccount idle = account(3L, "SUSPENSE");
+        when(ledgerAccountRepository.findAllByOrderByCodeAsc()).thenReturn(List.of(cash, fee, idle));
+        when(ledgerAccountBalanceRepository.findAll()).thenReturn(List.of(
+                new LedgerAccountBalance(1L, new BigDecimal("90.0000"), BigDecimal.ZERO)));
+        when(journalEntryLineRepository.sumAmountsGroupedByAccount(EntryType.DEBIT, EntryType.CREDIT))
+                .thenReturn(List.of(
+                        totals(1L, new BigDecimal("100.0000"), BigDecimal.ZERO),
+                        totals(2L, BigDecimal.ZERO, new BigDecimal("100.0000"))));
+
+        BalanceCheckResponse response = ledgerBalanceService.checkConsistency();
+
+        assertEquals(3, response.checkedAccounts());
+        assertFalse(response.consistent());
+        assertEquals(2, response.mismatches().size());
+        assertEquals("CASH-SETTLEMENT", response.mismatches().get(0).accountCode());
+        assertEquals(new BigDecimal("90.0000"), response.mismatches().get(0).storedDebit());
+        assertEquals("FEE-INCOME", response.mismatches().get(1).accountCode());
+        assertNull(response.mismatches().get(1).storedCredit());
+    }
+
+    @Test
+    void checkConsistency_addsTotalsOfArchivedMonths() {
+        LedgerAccount cash = account(1L, "CASH-SETTLEMENT");
+        when(ledgerAccountRepository.findAllByOrderByCodeAsc()).thenReturn(List.of(cash));
+        when(ledgerAccountBalanceRepository.findAll()).thenReturn(List.of(
+                new LedgerAccountBalance(1L, new BigDecimal("150.0000"), new BigDecimal("20.0000"))));
+        when(journalEntryLineRepository.sumAmountsGroupedByAccount(EntryType.DEBIT, EntryType.CREDIT))
+                .thenReturn(List.of(totals(1L, new BigDecimal("100.0000"), BigDecimal.ZERO)));
+        when(ledgerArchivedBalanceRepository.sumGroupedByAccount())
+                .thenReturn(List.of(totals(1L, new BigDecimal("50.0000"), new BigDecimal("20.0000"))));
+
+        BalanceCheckResponse response = ledgerBalanceService.checkConsistency();
+
+        assertTrue(response.consistent());
+    }
+
+    @Test
+    void rebuildDailyBalances_skipsDatesOfArchivedMonths() {
+        LocalDate fromDate = LocalDate.of(2026, 1, 31);
+        LocalDate toDate = LocalDate.of(2026, 2, 1);
+        when(ledgerArchivedBalanceRepository.findArchiveMonthsBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)))
+                .thenReturn(List.of(LocalDate.of(2026, 1, 1)));
+        when(ledgerDailyBalanceRepository.insertFromLines(eq(toDate), eq(toDate), any())).thenReturn(3);
+
+        DailyBalanceRebuildResponse response = ledgerBalanceService.rebuildDailyBalances(fromDate, toDate);
+
+        assertEquals(3, response.rowsWritten());
+        verify(ledgerDailyBalanceRepository, never()).lockDateForRebuild(fromDate);
+        verify(ledgerDailyBalanceRepository, never()).deleteByValueDateBetween(fromDate, fromDate);
+    }
+
+    @Test
+    void rebuildDailyBalances_replacesEachDateUnderItsOwnLock() {
+        LocalDate fromDate = LocalDate.of(2026, 2, 1);
+        LocalDate toDate = LocalDate.of(2026, 2, 2);
+        when(ledgerDailyBalanceRepository.insertFromLines(eq(fromDate), eq(fromDate), any())).thenReturn(40);
+        when(ledgerDailyBalanceRepository.insertFromLines(eq(toDate), eq(toDate), any())).thenReturn(2);
+
+        DailyBalanceRebuildResponse response = ledgerBalanceService.rebuildDailyBalances(fromDate, toDate);
+
+        assertEquals(42, response.rowsWritten());
+        InOrder inOrder = inOrder(ledgerDailyBalanceRepository, transactionManager);
+        inOrder.verify(ledgerDailyBalanceRepository).lockDateForRebuild(fromDate);
+        inOrder.verify(ledgerDailyBalanceRepository).deleteByValueDateBetween(fromDate, fromDate);
+        inOrder.verify(ledgerDailyBalanceRepository).insertFromLines(eq(fromDate), eq(fromDate), any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(ledgerDailyBalanceRepository).lockDateForRebuild(toDate);
+        inOrder.verify(ledgerDailyBalanceRepository).deleteByValueDateBetween(toDate, toDate);
+        inOrder.verify(ledgerDailyBalanceRepository).insertFromLines(eq(toDate), eq(toDate), any());
+        verify(ledgerDailyBalanceRepository, never()).deleteByValueDateBetween(fromDate, toDate);
+    }
+
+    @Test
+    void rebuildDailyBalances_throwsWhenDateRangeIsInvalid() {
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerBalanceService
+                .rebuildDailyBalances(LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 1)));
+
+        assertEquals("LEDGER_INVALID_DATE_RANGE", exception.getErrorCode());
+    }
+
+    private LedgerAccount account(Long id, String code) {
+        LedgerAccount account = mock(LedgerAccount.class);
+        lenient().when(account.getId()).thenReturn(id);
+        lenient().when(account.getCode()).thenReturn(code);
+        return account;
+    }
+
+    private LedgerAccountTotals totals(Long accountId, BigDecimal debit, BigDecimal credit) {
+        return new LedgerAccountTotals() {
+            @Override
+            public Long getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public BigDecimal getTotalDebit() {
+                return debit;
+            }
+
+            @Override
+            public BigDecimal getTotalCredit() {
+                return credit;
+            }
+        };
+    }
+}
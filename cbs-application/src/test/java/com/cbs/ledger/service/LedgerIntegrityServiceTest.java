@@ -0,0 +1,300 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.common.lock.JobLock;
+import com.cbs.ledger.model.LedgerVerificationFinding;
+import com.cbs.ledger.model.LedgerVerificationFindingType;
+import com.cbs.ledger.model.LedgerVerificationPartition;
+import com.cbs.ledger.model.LedgerVerificationRun;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import com.cbs.ledger.repository.JournalEntryLineRepository;
+import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerVerificationFindingRepository;
+import com.cbs.ledger.repository.LedgerVerificationPartitionRepository;
+import com.cbs.ledger.repository.LedgerVerificationProgress;
+import com.cbs.ledger.repository.LedgerVerificationRunRepository;
+import com.cbs.ledger.repository.LedgerVerificationTotalRepository;
+import com.cbs.ledger.repository.RecomputedBalanceMismatch;
+import com.cbs.ledger.repository.UnbalancedEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerIntegrityServiceTest {
+
+    private static final Instant CUTOFF = Instant.parse("2026-03-01T00:00:00Z");
+
+    @Mock
+    private LedgerVerificationRunRepository runRepository;
+
+    @Mock
+    private LedgerVerificationPartitionRepository partitionRepository;
+
+    @Mock
+    private LedgerVerificationFindingRepository findingRepository;
+
+    @Mock
+    private LedgerVerificationTotalRepository totalRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private JournalEntryLineRepository journalEntryLineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobLock jobLock;
+
+    @Mock
+    private JobLock.Handle lockHandle;
+
+    private LedgerIntegrityService ledgerIntegrityService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jobLock.tryLock("ledger-verification")).thenReturn(Optional.of(lockHandle));
+        ledgerIntegrityService = new LedgerIntegrityService(runRepository, partitionRepository, findingRepository,
+                totalRepository, journalEntryRepository, journalEntryLineRepository, transactionManager, jobLock,
+                2, 50, 500, 100, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerIntegrityService.shutdown();
+    }
+
+    @Test
+    void runVerification_partitionsIdSpaceAndCompletesWhenAllPartitionsVerified() {
+        when(runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING))
+                .thenReturn(Optional.empty());
+        when(journalEntryRepository.findMinId()).thenReturn(1L);
+        when(journalEntryRepository.findMaxId()).thenReturn(120L);
+        LedgerVerificationRun run = run(7L, 120L, 3, 3);
+        when(runRepository.save(any(LedgerVerificationRun.class))).thenReturn(run);
+        List<LedgerVerificationPartition> partitions = List.of(
+                partition(1L, 1, 50), partition(2L, 51, 100), partition(3L, 101, 120));
+        when(partitionRepository.findByRunIdAndCompletedFalseOrderByFromEntryIdAsc(eq(7L), any(Pageable.class)))
+                .thenReturn(partitions);
+        partitions.forEach(partition -> when(partitionRepository.findByIdForUpdate(partition.getId()))
+                .thenReturn(Optional.of(partition)));
+        when(journalEntryLineRepository.findUnbalancedEntries(anyLong(), anyLong(), eq(CUTOFF)))
+                .thenReturn(List.of());
+        when(journalEntryLineRepository.findUnbalancedEntries(51L, 100L, CUTOFF))
+                .thenReturn(List.of(unbalanced(64L, "10.0000", "9.0000")));
+        when(runRepository.findById(7L)).thenReturn(Optional.of(run));
+        when(partitionRepository.summarizeCompleted(7L)).thenReturn(progress(3L, 1L, 0L));
+        when(totalRepository.findBalanceMismatches(7L, 120L, CUTOFF))
+                .thenReturn(List.of(mismatch("1000")));
+
+        ledgerIntegrityService.runVerification();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerVerificationPartition>> created = ArgumentCaptor.forClass(List.class);
+        verify(partitionRepository).saveAll(created.capture());
+        assertEquals(3, created.getValue().size());
+        assertEquals(101L, created.getValue().get(2).getFromEntryId());
+        assertEquals(120L, created.getValue().get(2).getToEntryId());
+
+        verify(partitions.get(1)).complete(1, 0);
+        verify(totalRepository).accumulateFromLines(7L, 101L, 120L, CUTOFF);
+        verify(run).updateProgress(3, 1L, 0L);
+        verify(run).complete(1);
+        verify(totalRepository).deleteByRunId(7L);
+        verify(lockHandle).close();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerVerificationFinding>> findings = ArgumentCaptor.forClass(List.class);
+        verify(findingRepository, atLeastOnce()).saveAll(findings.capture());
+        List<LedgerVerificationFinding> allFindings = new ArrayList<>();
+        findings.getAllValues().forEach(allFindings::addAll);
+        assertEquals(2, allFindings.size());
+        assertEquals(1, allFindings.stream()
+                .filter(finding -> finding.getFindingType() == LedgerVerificationFindingType.UNBALANCED_ENTRY
+                        && finding.getJournalEntryId() == 64L)
+                .count());
+        assertEquals(1, allFindings.stream()
+                .filter(finding -> finding.getFindingType() == LedgerVerificationFindingType.BALANCE_MISMATCH)
+                .count());
+    }
+
+    @Test
+    void runVerification_resumesOpenRunAndKeepsItRunningUntilAllPartitionsComplete() {
+        LedgerVerificationRun run = run(9L, 500L, 10, 4);
+        when(runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING))
+                .thenReturn(Optional.of(run));
+        LedgerVerificationPartition partition = partition(40L, 151, 200);
+        when(partitionRepository.findByRunIdAndCompletedFalseOrderByFromEntryIdAsc(eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(partition));
+        when(partitionRepository.findByIdForUpdate(40L)).thenReturn(Optional.of(partition));
+        when(runRepository.findById(9L)).thenReturn(Optional.of(run));
+        when(partitionRepository.summarizeCompleted(9L)).thenReturn(progress(4L, 0L, 0L));
+        when(runRepository.save(run)).thenReturn(run);
+
+        ledgerIntegrityService.runVerification();
+
+        verify(journalEntryRepository, never()).findMaxId();
+        verify(totalRepository).accumulateFromLines(9L, 151L, 200L, CUTOFF);
+        verify(run).updateProgress(4, 0L, 0L);
+        verify(run, never()).complete(anyInt());
+        verify(totalRepository, never()).findBalanceMismatches(any(), anyLong(), any());
+    }
+
+    @Test
+    void runVerification_skipsPartitionAlreadyCompletedByAnotherRunner() {
+        LedgerVerificationRun run = run(9L, 500L, 10, 5);
+        when(runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING))
+                .thenReturn(Optional.of(run));
+        LedgerVerificationPartition partition = partition(40L, 151, 200);
+        when(partition.isCompleted()).thenReturn(true);
+        when(partitionRepository.findByRunIdAndCompletedFalseOrderByFromEntryIdAsc(eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(partition));
+        when(partitionRepository.findByIdForUpdate(40L)).thenReturn(Optional.of(partition));
+        when(runRepository.findById(9L)).thenReturn(Optional.of(run));
+        when(partitionRepository.summarizeCompleted(9L)).thenReturn(progress(5L, 0L, 0L));
+        when(runRepository.save(run)).thenReturn(run);
+
+        ledgerIntegrityService.runVerification();
+
+        verify(totalRepository, never()).accumulateFromLines(any(), anyLong(), anyLong(), any());
+        verify(findingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void runVerification_rejectsWhileAnotherInstanceHoldsTheJobLock() {
+        when(jobLock.tryLock("ledger-verification")).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerIntegrityService.runVerification());
+
+        assertEquals("LEDGER_VERIFICATION_IN_PROGRESS", exception.getErrorCode());
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+        verifyNoInteractions(runRepository);
+    }
+
+    @Test
+    void getLatestRun_throwsWhenNoRunExists() {
+        when(runRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerIntegrityService.getLatestRun());
+
+        assertEquals("LEDGER_VERIFICATION_NOT_FOUND", exception.getErrorCode());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    private LedgerVerificationRun run(Long id, long upperEntryId, int totalPartitions, int completedPartitions) {
+        LedgerVerificationRun run = mock(LedgerVerificationRun.class);
+        lenient().when(run.getId()).thenReturn(id);
+        lenient().when(run.getCutoff()).thenReturn(CUTOFF);
+        lenient().when(run.getUpperEntryId()).thenReturn(upperEntryId);
+        lenient().when(run.getStatus()).thenReturn(LedgerVerificationStatus.RUNNING);
+        lenient().when(run.getTotalPartitions()).thenReturn(totalPartitions);
+        lenient().when(run.getCompletedPartitions()).thenReturn(completedPartitions);
+        return run;
+    }
+
+    private LedgerVerificationPartition partition(Long id, long fromEntryId, long toEntryId) {
+        LedgerVerificationPartition partition = mock(LedgerVerificationPartition.class);
+        lenient().when(partition.getId()).thenReturn(id);
+        lenient().when(partition.getFromEntryId()).thenReturn(fromEntryId);
+        lenient().when(partition.getToEntryId()).thenReturn(toEntryId);
+        return partition;
+    }
+
+    private UnbalancedEntry unbalanced(Long journalEntryId, String debit, String credit) {
+        return new UnbalancedEntry() {
+            @Override
+            public Long getJournalEntryId() {
+                return journalEntryId;
+            }
+
+            @Override
+            public BigDecimal getTotalDebit() {
+                return new BigDecimal(debit);
+            }
+
+            @Override
+            public BigDecimal getTotalCredit() {
+                return new BigDecimal(credit);
+            }
+        };
+    }
+
+    private LedgerVerificationProgress progress(Long completed, Long unbalanced, Long inactive) {
+        return new LedgerVerificationProgress() {
+            @Override
+            public Long getCompletedPartitions() {
+                return completed;
+            }
+
+            @Override
+            public Long getUnbalancedEntries() {
+                return unbalanced;
+            }
+
+            @Override
+            public Long getInactiveAccountLines() {
+                return inactive;
+            }
+        };
+    }
+
+    private RecomputedBalanceMismatch mismatch(String accountCode) {
+        return new RecomputedBalanceMismatch() {
+            @Override
+            public String getAccountCode() {
+                return accountCode;
+            }
+
+            @Override
+            public BigDecimal getStoredDebit() {
+                return new BigDecimal("10.0000");
+            }
+
+            @Override
+            public BigDecimal getStoredCredit() {
+                return BigDecimal.ZERO;
+            }
+
+            @Override
+            public BigDecimal getComputedDebit() {
+                return new BigDecimal("12.0000");
+            }
+
+            @Override
+            public BigDecimal getComputedCredit() {
+                return BigDecimal.ZERO;
+            }
+        };
+    }
+}
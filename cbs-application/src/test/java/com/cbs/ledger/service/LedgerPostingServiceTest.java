@@ -1,29 +1,40 @@
 package com.cbs.ledger.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.BatchPostingResponse;
 import com.cbs.ledger.dto.JournalLineRequest;
 import com.cbs.ledger.dto.PostJournalEntryRequest;
 import com.cbs.ledger.dto.PostJournalEntryResponse;
 import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.dto.ReverseJournalEntryRequest;
+import com.cbs.ledger.journal.JournalSegmentStore;
 import com.cbs.ledger.model.AccountType;
 import com.cbs.ledger.model.EntryType;
 import com.cbs.ledger.model.JournalEntry;
+import com.cbs.ledger.model.JournalEntryLine;
 import com.cbs.ledger.model.LedgerOperationType;
 import com.cbs.ledger.model.LedgerAccount;
 import com.cbs.ledger.repository.JournalEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,11 +46,23 @@ class LedgerPostingServiceTest {
     @Mock
     private LedgerAccountService ledgerAccountService;
 
+    @Mock
+    private LedgerBalanceService ledgerBalanceService;
+
+    @Mock
+    private JournalSegmentStore journalSegmentStore;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private LedgerPostingService ledgerPostingService;
 
     @BeforeEach
     void setUp() {
-        ledgerPostingService = new LedgerPostingService(journalEntryRepository, ledgerAccountService);
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerPostingService = new LedgerPostingService(journalEntryRepository, ledgerAccountService,
+                ledgerBalanceService, journalSegmentStore,
+                new PostingTemplateRegistry(PostingTemplateRegistryTest.defaultTemplates()),
+                new LedgerPostingMetrics(meterRegistry));
     }
 
     @Test
@@ -54,8 +77,8 @@ class LedgerPostingServiceTest {
                 )
         );
         when(journalEntryRepository.existsByReference("REF-1")).thenReturn(false);
-        when(ledgerAccountService.getActiveAccountByCode("1000")).thenReturn(new LedgerAccount("1000", "Cash", AccountType.ASSET));
-        when(ledgerAccountService.getActiveAccountByCode("4000")).thenReturn(new LedgerAccount("4000", "Revenue", AccountType.INCOME));
+        when(ledgerAccountService.getActiveAccountByCode("1000")).thenReturn(snapshot("1000", AccountType.ASSET));
+        when(ledgerAccountService.getActiveAccountByCode("4000")).thenReturn(snapshot("4000", AccountType.INCOME));
         when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PostJournalEntryResponse response = ledgerPostingService.postEntry(request);
@@ -63,6 +86,12 @@ class LedgerPostingServiceTest {
         assertEquals("REF-1", response.reference());
         assertEquals(new BigDecimal("100.1200"), response.totalDebit());
         assertEquals(new BigDecimal("100.1200"), response.totalCredit());
+        verify(ledgerBalanceService).applyEntry(any(JournalEntry.class));
+        verify(journalSegmentStore).appendAfterCommit(any());
+        assertEquals(1L, meterRegistry.get("ledger.posting")
+                .tags("operation", "MANUAL", "outcome", "success").timer().count());
+        assertEquals(2.0, meterRegistry.get("ledger.posting.lines").tag("operation", "MANUAL").summary().totalAmount());
+        assertEquals(1L, meterRegistry.get("ledger.posting.phase").tag("phase", "insert").timer().count());
     }
 
     @Test
@@ -77,12 +106,149 @@ class LedgerPostingServiceTest {
                 )
         );
         when(journalEntryRepository.existsByReference("REF-2")).thenReturn(false);
-        when(ledgerAccountService.getActiveAccountByCode("1000")).thenReturn(new LedgerAccount("1000", "Cash", AccountType.ASSET));
-        when(ledgerAccountService.getActiveAccountByCode("4000")).thenReturn(new LedgerAccount("4000", "Revenue", AccountType.INCOME));
+        when(ledgerAccountService.getActiveAccountByCode("1000")).thenReturn(snapshot("1000", AccountType.ASSET));
+        when(ledgerAccountService.getActiveAccountByCode("4000")).thenReturn(snapshot("4000", AccountType.INCOME));
 
         ApiException exception = assertThrows(ApiException.class, () -> ledgerPostingService.postEntry(request));
 
         assertEquals("LEDGER_UNBALANCED_ENTRY", exception.getErrorCode());
+        verify(ledgerBalanceService, never()).applyEntry(any());
+        assertEquals(1.0, meterRegistry.get("ledger.posting.rejections")
+                .tag("reason", "LEDGER_UNBALANCED_ENTRY").counter().count());
+        assertEquals(1L, meterRegistry.get("ledger.posting")
+                .tags("operation", "MANUAL", "outcome", "LEDGER_UNBALANCED_ENTRY").timer().count());
+    }
+
+    @Test
+    void postEntries_postsValidEntriesAndReportsFailuresPerEntry() {
+        LedgerAccountSnapshot cash = snapshot("1000", AccountType.ASSET);
+        LedgerAccountSnapshot revenue = snapshot("4000", AccountType.INCOME);
+        List<PostJournalEntryRequest> requests = List.of(
+                balancedEntry("B-1", "1000", "4000"),
+                balancedEntry("B-2", "1000", "9999"),
+                balancedEntry("B-1", "1000", "4000"),
+                balancedEntry("POSTED", "1000", "4000"),
+                new PostJournalEntryRequest("B-3", "uneven", LocalDate.of(2026, 2, 18), List.of(
+                        new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("2.00")),
+                        new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("1.00")))),
+                balancedEntry(" B-4 ", " 4000 ", "1000"));
+        when(journalEntryRepository.findExistingReferences(any())).thenReturn(List.of("POSTED"));
+        when(ledgerAccountService.getAccountsByCodes(any())).thenReturn(Map.of("1000", cash, "4000", revenue));
+
+        BatchPostingResponse response = ledgerPostingService.postEntries(requests);
+
+        assertEquals(6, response.requested());
+        assertEquals(2, response.posted());
+        assertEquals(4, response.failed());
+        assertTrue(response.results().get(0).posted());
+        assertEquals("LEDGER_ACCOUNT_NOT_FOUND", response.results().get(1).errorCode());
+        assertEquals("LEDGER_REFERENCE_EXISTS", response.results().get(2).errorCode());
+        assertEquals("LEDGER_REFERENCE_EXISTS", response.results().get(3).errorCode());
+        assertEquals("LEDGER_UNBALANCED_ENTRY", response.results().get(4).errorCode());
+        assertEquals("B-4", response.results().get(5).reference());
+        assertTrue(response.results().get(5).posted());
+
+        ArgumentCaptor<List<JournalEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(journalEntryRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(ledgerBalanceService).applyEntries(saved.getValue());
+        verify(journalSegmentStore).appendAfterCommit(saved.getValue());
+        verify(ledgerAccountService, never()).getActiveAccountByCode(any());
+    }
+
+    @Test
+    void postPolicyEntries_expandsTemplatesAndReportsFailuresInRequestOrder() {
+        LedgerAccountSnapshot expense = snapshot("INTEREST-EXPENSE", AccountType.EXPENSE);
+        LedgerAccountSnapshot deposit = snapshot("ACC-1", AccountType.LIABILITY);
+        when(journalEntryRepository.findExistingReferences(any())).thenReturn(List.of("INT-2"));
+        when(ledgerAccountService.getAccountsByCodes(any()))
+                .thenReturn(Map.of("INTEREST-EXPENSE", expense, "ACC-1", deposit));
+
+        BatchPostingResponse response = ledgerPostingService.postPolicyEntries(List.of(
+                new PostPolicyEntryRequest("TRF-1", "transfer", LocalDate.of(2026, 2, 28),
+                        LedgerOperationType.TRANSFER, new BigDecimal("5.00"), "ACC-1", null),
+                new PostPolicyEntryRequest("INT-1", "interest", LocalDate.of(2026, 2, 28),
+                        LedgerOperationType.INTEREST, new BigDecimal("1.25"), "acc-1", null),
+                new PostPolicyEntryRequest("INT-2", "interest", LocalDate.of(2026, 2, 28),
+                        LedgerOperationType.INTEREST, new BigDecimal("0.75"), "ACC-1", null)));
+
+        assertEquals(3, response.requested());
+        assertEquals(1, response.posted());
+        assertEquals(2, response.failed());
+        assertEquals("LEDGER_POLICY_COUNTERPARTY_REQUIRED", response.results().get(0).errorCode());
+        assertEquals(1, response.results().get(1).index());
+        assertTrue(response.results().get(1).posted());
+        assertEquals(new BigDecimal("1.2500"), response.results().get(1).totalCredit());
+        assertEquals(2, response.results().get(2).index());
+        assertEquals("LEDGER_REFERENCE_EXISTS", response.results().get(2).errorCode());
+    }
+
+    @Test
+    void postReversal_postsMirrorOfOriginalLines() {
+        LedgerAccount cash = new LedgerAccount("1000", "Cash", AccountType.ASSET);
+        LedgerAccount revenue = new LedgerAccount("4000", "Revenue", AccountType.INCOME);
+        JournalEntry original = new JournalEntry("SALE-1", "Cash sale", LocalDate.of(2026, 2, 18));
+        original.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("75.0000")));
+        original.addLine(new JournalEntryLine(revenue, EntryType.CREDIT, new BigDecimal("75.0000")));
+        when(journalEntryRepository.findWithLinesByReferenceIn(List.of("SALE-1"))).thenReturn(List.of(original));
+        when(ledgerAccountService.getActiveAccountByCode("1000")).thenReturn(LedgerAccountSnapshot.from(cash));
+        when(ledgerAccountService.getActiveAccountByCode("4000")).thenReturn(LedgerAccountSnapshot.from(revenue));
+        when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PostJournalEntryResponse response = ledgerPostingService.postReversal(new ReverseJournalEntryRequest(
+                "SALE-1", "REV-SALE-1", "Reversal of SALE-1", LocalDate.of(2026, 2, 19)));
+
+        assertEquals("REV-SALE-1", response.reference());
+        ArgumentCaptor<JournalEntry> saved = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journalEntryRepository).save(saved.capture());
+        assertEquals(EntryType.CREDIT, saved.getValue().getLines().get(0).getEntryType());
+        assertEquals("1000", saved.getValue().getLines().get(0).getAccountCode());
+        assertEquals(EntryType.DEBIT, saved.getValue().getLines().get(1).getEntryType());
+        assertEquals(1L, meterRegistry.get("ledger.posting")
+                .tags("operation", "REVERSAL", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void postReversals_reportsMissingOriginalsInRequestOrder() {
+        LedgerAccount cash = new LedgerAccount("1000", "Cash", AccountType.ASSET);
+        LedgerAccount revenue = new LedgerAccount("4000", "Revenue", AccountType.INCOME);
+        JournalEntry original = new JournalEntry("SALE-2", "Cash sale", LocalDate.of(2026, 2, 18));
+        original.addLine(new JournalEntryLine(cash, EntryType.DEBIT, new BigDecimal("10.0000")));
+        original.addLine(new JournalEntryLine(revenue, EntryType.CREDIT, new BigDecimal("10.0000")));
+        when(journalEntryRepository.findWithLinesByReferenceIn(List.of("MISSING", "SALE-2")))
+                .thenReturn(List.of(original));
+        when(journalEntryRepository.findExistingReferences(any())).thenReturn(List.of());
+        when(ledgerAccountService.getAccountsByCodes(any())).thenReturn(Map.of("1000", LedgerAccountSnapshot.from(cash),
+                "4000", LedgerAccountSnapshot.from(revenue)));
+
+        BatchPostingResponse response = ledgerPostingService.postReversals(List.of(
+                new ReverseJournalEntryRequest("MISSING", "REV-MISSING", "Reversal", LocalDate.of(2026, 2, 19)),
+                new ReverseJournalEntryRequest("SALE-2", "REV-SALE-2", "Reversal", LocalDate.of(2026, 2, 19))));
+
+        assertEquals(2, response.requested());
+        assertEquals(1, response.posted());
+        assertEquals("LEDGER_ENTRY_NOT_FOUND", response.results().get(0).errorCode());
+        assertEquals(1, response.results().get(1).index());
+        assertTrue(response.results().get(1).posted());
+    }
+
+    @Test
+    void matchesPostedEntry_acceptsOnlyAnEntryWithTheSameLines() {
+        LedgerAccount customer = new LedgerAccount("1000", "Customer", AccountType.ASSET);
+        LedgerAccount clearing = new LedgerAccount("PAYMENT-CLEARING", "Clearing", AccountType.LIABILITY);
+        JournalEntry own = new JournalEntry("PAY-9", "payment", LocalDate.of(2026, 2, 18));
+        own.addLine(new JournalEntryLine(clearing, EntryType.CREDIT, new BigDecimal("50.0000")));
+        own.addLine(new JournalEntryLine(customer, EntryType.DEBIT, new BigDecimal("50.0000")));
+        JournalEntry foreign = new JournalEntry("PAY-10", "interest", LocalDate.of(2026, 2, 18));
+        foreign.addLine(new JournalEntryLine(customer, EntryType.DEBIT, new BigDecimal("49.0000")));
+        foreign.addLine(new JournalEntryLine(clearing, EntryType.CREDIT, new BigDecimal("49.0000")));
+        when(journalEntryRepository.findWithLinesByReferenceIn(List.of("PAY-9"))).thenReturn(List.of(own));
+        when(journalEntryRepository.findWithLinesByReferenceIn(List.of("PAY-10"))).thenReturn(List.of(foreign));
+        when(journalEntryRepository.findWithLinesByReferenceIn(List.of("PAY-11"))).thenReturn(List.of());
+
+        assertTrue(ledgerPostingService.matchesPostedEntry(paymentEntry("PAY-9")));
+        assertFalse(ledgerPostingService.matchesPostedEntry(paymentEntry("PAY-10")));
+        assertFalse(ledgerPostingService.matchesPostedEntry(paymentEntry("PAY-11")));
     }
 
     @Test
@@ -99,9 +265,9 @@ class LedgerPostingServiceTest {
 
         when(journalEntryRepository.existsByReference("REF-3")).thenReturn(false);
         when(ledgerAccountService.getActiveAccountByCode("1000"))
-                .thenReturn(new LedgerAccount("1000", "Cash", AccountType.ASSET));
+                .thenReturn(snapshot("1000", AccountType.ASSET));
         when(ledgerAccountService.getActiveAccountByCode("PAYMENT-CLEARING"))
-                .thenReturn(new LedgerAccount("PAYMENT-CLEARING", "Clearing", AccountType.LIABILITY));
+                .thenReturn(snapshot("PAYMENT-CLEARING", AccountType.LIABILITY));
         when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PostJournalEntryResponse response = ledgerPostingService.postPolicyEntry(request);
@@ -111,6 +277,36 @@ class LedgerPostingServiceTest {
         assertEquals(new BigDecimal("50.0000"), response.totalCredit());
     }
 
+    @Test
+    void postPolicyEntry_postsInterestFromFixedExpenseAccount() {
+        PostPolicyEntryRequest request = new PostPolicyEntryRequest(
+                "REF-5",
+                "interest",
+                LocalDate.of(2026, 2, 18),
+                LedgerOperationType.INTEREST,
+                new BigDecimal("3.25"),
+                " cust-1 ",
+                null
+        );
+        when(journalEntryRepository.existsByReference("REF-5")).thenReturn(false);
+        when(ledgerAccountService.getActiveAccountByCode("INTEREST-EXPENSE"))
+                .thenReturn(snapshot("INTEREST-EXPENSE", AccountType.EXPENSE));
+        when(ledgerAccountService.getActiveAccountByCode("CUST-1"))
+                .thenReturn(snapshot("CUST-1", AccountType.LIABILITY));
+        when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ledgerPostingService.postPolicyEntry(request);
+
+        ArgumentCaptor<JournalEntry> saved = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journalEntryRepository).save(saved.capture());
+        assertEquals("INTEREST-EXPENSE", saved.getValue().getLines().get(0).getAccountCode());
+        assertEquals(EntryType.DEBIT, saved.getValue().getLines().get(0).getEntryType());
+        assertEquals("CUST-1", saved.getValue().getLines().get(1).getAccountCode());
+        assertEquals(new BigDecimal("3.2500"), saved.getValue().getLines().get(1).getAmount());
+        assertEquals(1L, meterRegistry.get("ledger.posting")
+                .tags("operation", "INTEREST", "outcome", "success").timer().count());
+    }
+
     @Test
     void postPolicyEntry_throwsWhenTransferCounterpartyMissing() {
         PostPolicyEntryRequest request = new PostPolicyEntryRequest(
@@ -127,4 +323,19 @@ class LedgerPostingServiceTest {
 
         assertEquals("LEDGER_POLICY_COUNTERPARTY_REQUIRED", exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    private PostJournalEntryRequest balancedEntry(String reference, String debitCode, String creditCode) {
+        return new PostJournalEntryRequest(reference, "batch", LocalDate.of(2026, 2, 18), List.of(
+                new JournalLineRequest(debitCode, EntryType.DEBIT, new BigDecimal("10.00")),
+                new JournalLineRequest(creditCode, EntryType.CREDIT, new BigDecimal("10.00"))));
+    }
+
+    private LedgerAccountSnapshot snapshot(String code, AccountType type) {
+        return new LedgerAccountSnapshot(null, code, type, true);
+    }
+
+    private static PostPolicyEntryRequest paymentEntry(String reference) {
+        return new PostPolicyEntryRequest(reference, "payment", LocalDate.of(2026, 2, 18), LedgerOperationType.PAYMENT,
+                new BigDecimal("50.00"), "1000", null);
+    }
+}
@@ -5,9 +5,10 @@ import com.cbs.ledger.dto.BalanceResponse;
 import com.cbs.ledger.dto.ReconciliationResponse;
 import com.cbs.ledger.model.AccountType;
 import com.cbs.ledger.model.EntryType;
-import com.cbs.ledger.model.LedgerAccount;
+import com.cbs.ledger.model.LedgerAccountBalance;
 import com.cbs.ledger.repository.JournalEntryLineRepository;
-import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
+import com.cbs.ledger.repository.LedgerDailyTotals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,9 +17,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,18 +34,36 @@ class LedgerQueryServiceTest {
     private JournalEntryLineRepository journalEntryLineRepository;
 
     @Mock
-    private JournalEntryRepository journalEntryRepository;
+    private LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+
+    @Mock
+    private LedgerBalanceService ledgerBalanceService;
 
     private LedgerQueryService ledgerQueryService;
 
     @BeforeEach
     void setUp() {
-        ledgerQueryService = new LedgerQueryService(ledgerAccountService, journalEntryLineRepository, journalEntryRepository);
+        ledgerQueryService = new LedgerQueryService(ledgerAccountService, journalEntryLineRepository,
+                ledgerDailyBalanceRepository, ledgerBalanceService);
+    }
+
+    @Test
+    void getGlBalance_readsStoredSnapshotWithoutSummingLines() {
+        when(ledgerAccountService.getAccountByCode("1000"))
+                .thenReturn(new LedgerAccountSnapshot(1L, "1000", AccountType.ASSET, true));
+        when(ledgerBalanceService.findBalance(1L)).thenReturn(Optional.of(
+                new LedgerAccountBalance(1L, new BigDecimal("150.0000"), new BigDecimal("40.0000"))));
+
+        BalanceResponse response = ledgerQueryService.getGlBalance("1000");
+
+        assertEquals(new BigDecimal("110.0000"), response.balance());
+        verifyNoInteractions(journalEntryLineRepository);
     }
 
     @Test
-    void getGlBalance_returnsDebitCreditAndNetBalance() {
-        when(ledgerAccountService.getAccountByCode("1000")).thenReturn(new LedgerAccount("1000", "Cash", AccountType.ASSET));
+    void getGlBalance_sumsLinesWhenSnapshotMissing() {
+        when(ledgerAccountService.getAccountByCode("1000"))
+                .thenReturn(new LedgerAccountSnapshot(1L, "1000", AccountType.ASSET, true));
         when(journalEntryLineRepository.sumAmountByAccountCodeAndEntryType("1000", EntryType.DEBIT))
                 .thenReturn(new BigDecimal("150.0000"));
         when(journalEntryLineRepository.sumAmountByAccountCodeAndEntryType("1000", EntryType.CREDIT))
@@ -62,18 +83,46 @@ class LedgerQueryServiceTest {
     }
 
     @Test
-    void reconcile_returnsBalancedSummary() {
+    void reconcile_returnsBalancedSummaryFromDailyRollup() {
         LocalDate fromDate = LocalDate.of(2026, 2, 1);
         LocalDate toDate = LocalDate.of(2026, 2, 28);
-        when(journalEntryLineRepository.sumAmountByEntryTypeAndDateRange(EntryType.DEBIT, fromDate, toDate))
-                .thenReturn(new BigDecimal("500.0000"));
-        when(journalEntryLineRepository.sumAmountByEntryTypeAndDateRange(EntryType.CREDIT, fromDate, toDate))
-                .thenReturn(new BigDecimal("500.0000"));
-        when(journalEntryRepository.countByValueDateBetween(fromDate, toDate)).thenReturn(7L);
+        when(ledgerDailyBalanceRepository.sumByValueDateBetween(fromDate, toDate))
+                .thenReturn(dailyTotals(new BigDecimal("500.0000"), new BigDecimal("500.0000"), 7L));
 
         ReconciliationResponse response = ledgerQueryService.reconcile(fromDate, toDate);
 
         assertEquals(true, response.balanced());
         assertEquals(7L, response.entryCount());
+        verifyNoInteractions(journalEntryLineRepository);
+    }
+
+    @Test
+    void reconcile_flagsUnbalancedRollup() {
+        LocalDate day = LocalDate.of(2026, 2, 1);
+        when(ledgerDailyBalanceRepository.sumByValueDateBetween(day, day))
+                .thenReturn(dailyTotals(new BigDecimal("500.0000"), new BigDecimal("499.0000"), 2L));
+
+        ReconciliationResponse response = ledgerQueryService.reconcile(day, day);
+
+        assertEquals(false, response.balanced());
+    }
+
+    private LedgerDailyTotals dailyTotals(BigDecimal debit, BigDecimal credit, long entryCount) {
+        return new LedgerDailyTotals() {
+            @Override
+            public BigDecimal getTotalDebit() {
+                return debit;
+            }
+
+            @Override
+            public BigDecimal getTotalCredit() {
+                return credit;
+            }
+
+            @Override
+            public Long getEntryCount() {
+                return entryCount;
+            }
+        };
     }
 }
\ No newline at end of file
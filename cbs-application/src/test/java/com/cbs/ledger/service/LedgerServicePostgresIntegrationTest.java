@@ -6,8 +6,12 @@ import com.cbs.ledger.dto.PostJournalEntryRequest;
 import com.cbs.ledger.dto.PostJournalEntryResponse;
 import com.cbs.ledger.model.AccountType;
 import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.LedgerVerificationStatus;
+import com.cbs.ledger.model.TrialBalanceFormat;
 import com.cbs.ledger.repository.JournalEntryLineRepository;
 import com.cbs.ledger.repository.JournalEntryRepository;
+import com.cbs.ledger.repository.LedgerAccountBalanceRepository;
+import com.cbs.ledger.repository.LedgerDailyBalanceRepository;
 import com.cbs.ledger.repository.LedgerAccountRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -54,11 +58,42 @@ class LedgerServicePostgresIntegrationTest {
     @Autowired
     private JournalEntryLineRepository journalEntryLineRepository;
 
+    @Autowired
+    private LedgerAccountBalanceRepository ledgerAccountBalanceRepository;
+
+    @Autowired
+    private LedgerQueryService ledgerQueryService;
+
+    @Autowired
+    private LedgerBalanceService ledgerBalanceService;
+
+    @Autowired
+    private LedgerDailyBalanceRepository ledgerDailyBalanceRepository;
+
+    @Autowired
+    private LedgerAccountCache ledgerAccountCache;
+
+    @Autowired
+    private TrialBalanceExportService trialBalanceExportService;
+
+    @Autowired
+    private LedgerIntegrityService ledgerIntegrityService;
+
+    @Autowired
+    private org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+
     @AfterEach
     void cleanUp() {
+        jdbcTemplate.update("delete from ledger_verification_findings");
+        jdbcTemplate.update("delete from ledger_verification_totals");
+        jdbcTemplate.update("delete from ledger_verification_partitions");
+        jdbcTemplate.update("delete from ledger_verification_runs");
+        ledgerDailyBalanceRepository.deleteAll();
+        ledgerAccountBalanceRepository.deleteAll();
         journalEntryLineRepository.deleteAll();
         journalEntryRepository.deleteAll();
         ledgerAccountRepository.deleteAll();
+        ledgerAccountCache.invalidate();
     }
 
     @Test
@@ -92,4 +127,122 @@ class LedgerServicePostgresIntegrationTest {
         assertEquals(new BigDecimal("120.2500"), response.totalDebit());
         assertEquals(1L, journalEntryRepository.countByValueDateBetween(LocalDate.of(2026, 2, 18), LocalDate.of(2026, 2, 18)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void postEntryMaintainsBalanceSnapshotMatchingLinesInPostgres() {
+        ledgerAccountService.createAccount(new CreateAccountRequest("CASH-SETTLEMENT", "Cash", AccountType.ASSET));
+        ledgerAccountService.createAccount(new CreateAccountRequest("PAYMENT-CLEARING", "Clearing", AccountType.LIABILITY));
+
+        for (int i = 0; i < 3; i++) {
+            ledgerPostingService.postEntry(new PostJournalEntryRequest(
+                    "REF-BAL-" + i,
+                    "Clearing sweep",
+                    LocalDate.of(2026, 2, 18),
+                    List.of(
+                            new JournalLineRequest("CASH-SETTLEMENT", EntryType.DEBIT, new BigDecimal("10.00")),
+                            new JournalLineRequest("PAYMENT-CLEARING", EntryType.CREDIT, new BigDecimal("10.00"))
+                    )
+            ));
+        }
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(ledgerQueryService.getGlBalance("CASH-SETTLEMENT").balance()));
+        assertEquals(0, new BigDecimal("-30.00").compareTo(ledgerQueryService.getGlBalance("PAYMENT-CLEARING").balance()));
+        assertTrue(ledgerBalanceService.checkConsistency().consistent());
+    }
+
+    @Test
+    void reconcileReadsDailyRollupMatchingRebuildInPostgres() {
+        ledgerAccountService.createAccount(new CreateAccountRequest("1000", "Cash", AccountType.ASSET));
+        ledgerAccountService.createAccount(new CreateAccountRequest("4000", "Revenue", AccountType.INCOME));
+        LocalDate day = LocalDate.of(2026, 3, 2);
+
+        for (int i = 0; i < 2; i++) {
+            ledgerPostingService.postEntry(new PostJournalEntryRequest(
+                    "REF-DAY-" + i,
+                    "Cash sale",
+                    day,
+                    List.of(
+                            new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("5.00")),
+                            new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("5.00"))
+                    )
+            ));
+        }
+
+        var incremental = ledgerQueryService.reconcile(day, day);
+        ledgerBalanceService.rebuildDailyBalances(day, day);
+        var rebuilt = ledgerQueryService.reconcile(day, day);
+
+        assertEquals(2L, incremental.entryCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(incremental.totalDebit()));
+        assertTrue(incremental.balanced());
+        assertEquals(incremental.entryCount(), rebuilt.entryCount());
+        assertEquals(0, incremental.totalCredit().compareTo(rebuilt.totalCredit()));
+    }
+
+    @Test
+    void postEntriesPersistsBatchAndRejectsFailedEntriesInPostgres() {
+        ledgerAccountService.createAccount(new CreateAccountRequest("1000", "Cash", AccountType.ASSET));
+        ledgerAccountService.createAccount(new CreateAccountRequest("4000", "Revenue", AccountType.INCOME));
+        LocalDate day = LocalDate.of(2026, 3, 3);
+        List<PostJournalEntryRequest> requests = new java.util.ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(new PostJournalEntryRequest("EOD-" + i, "Interest", day, List.of(
+                    new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("1.00")),
+                    new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("1.00")))));
+        }
+        requests.add(new PostJournalEntryRequest("EOD-0", "Duplicate", day, List.of(
+                new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("1.00")),
+                new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("1.00")))));
+
+        var response = ledgerPostingService.postEntries(requests);
+
+        assertEquals(120, response.posted());
+        assertEquals(1, response.failed());
+        assertEquals(120L, journalEntryRepository.countByValueDateBetween(day, day));
+        assertEquals(0, new BigDecimal("120.00").compareTo(ledgerQueryService.getGlBalance("1000").balance()));
+        assertTrue(ledgerBalanceService.checkConsistency().consistent());
+    }
+
+    @Test
+    void trialBalanceStreamsPerAccountTotalsFromRollupInPostgres() throws Exception {
+        ledgerAccountService.createAccount(new CreateAccountRequest("1000", "Cash", AccountType.ASSET));
+        ledgerAccountService.createAccount(new CreateAccountRequest("4000", "Revenue", AccountType.INCOME));
+        LocalDate day = LocalDate.of(2026, 3, 4);
+        ledgerPostingService.postEntry(new PostJournalEntryRequest("REF-TB-1", "Cash sale", day, List.of(
+                new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("7.50")),
+                new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("7.50")))));
+
+        var output = new java.io.ByteArrayOutputStream();
+        trialBalanceExportService.writeTrialBalance(day, day, TrialBalanceFormat.CSV, output);
+
+        assertEquals(TrialBalanceExportService.CSV_HEADER + "\n"
+                        + "1000,Cash,ASSET,7.5000,0.0000,7.5000\n"
+                        + "4000,Revenue,INCOME,0.0000,7.5000,-7.5000\n",
+                output.toString(java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ledgerDoctorFlagsDriftedBalanceAndLinesOnDeactivatedAccountInPostgres() {
+        ledgerAccountService.createAccount(new CreateAccountRequest("1000", "Cash", AccountType.ASSET));
+        ledgerAccountService.createAccount(new CreateAccountRequest("4000", "Revenue", AccountType.INCOME));
+        LocalDate day = LocalDate.of(2026, 3, 5);
+        for (int i = 0; i < 3; i++) {
+            ledgerPostingService.postEntry(new PostJournalEntryRequest("REF-DOC-" + i, "Cash sale", day, List.of(
+                    new JournalLineRequest("1000", EntryType.DEBIT, new BigDecimal("2.00")),
+                    new JournalLineRequest("4000", EntryType.CREDIT, new BigDecimal("2.00")))));
+        }
+        jdbcTemplate.update("update journal_entries set created_at = created_at - interval '1 day'");
+        jdbcTemplate.update("update ledger_accounts set active = false, deactivated_at = now() - interval '2 days'"
+                + " where code = '4000'");
+        jdbcTemplate.update("update ledger_account_balances set total_debit = total_debit + 1"
+                + " where account_id = (select id from ledger_accounts where code = '1000')");
+
+        var run = ledgerIntegrityService.runVerification();
+
+        assertEquals(LedgerVerificationStatus.COMPLETED, run.status());
+        assertEquals(0L, run.unbalancedEntries());
+        assertEquals(3L, run.inactiveAccountLines());
+        assertEquals(1, run.balanceMismatches());
+        assertEquals(4, ledgerIntegrityService.getFindings(run.runId(), 10).size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.config.PostingTemplateProperties;
+import com.cbs.ledger.config.PostingTemplateProperties.LineTemplate;
+import com.cbs.ledger.model.EntryType;
+import com.cbs.ledger.model.LedgerOperationType;
+import com.cbs.ledger.model.PostingAccountSource;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingTemplateRegistryTest {
+
+    @Test
+    void get_resolvesFixedAndRequestAccountsInTemplateOrder() {
+        PostingTemplateRegistry registry = new PostingTemplateRegistry(defaultTemplates());
+
+        PostingTemplate withdrawal = registry.get(LedgerOperationType.WITHDRAWAL);
+
+        assertArrayEquals(new String[] {"CASH-SETTLEMENT", "CUST-1"},
+                withdrawal.resolveAccountCodes("CUST-1", null));
+        assertEquals(EntryType.DEBIT, withdrawal.entryType(0));
+        assertEquals(new BigDecimal("12.5000"), withdrawal.total(new BigDecimal("12.5000")));
+    }
+
+    @Test
+    void get_usesCounterpartyOrConfiguredDefault() {
+        PostingTemplateRegistry registry = new PostingTemplateRegistry(defaultTemplates());
+
+        PostingTemplate payment = registry.get(LedgerOperationType.PAYMENT);
+
+        assertArrayEquals(new String[] {"CUST-1", "PAYMENT-CLEARING"}, payment.resolveAccountCodes("CUST-1", null));
+        assertArrayEquals(new String[] {"CUST-1", "CUST-2"}, payment.resolveAccountCodes("CUST-1", "CUST-2"));
+        ApiException exception = assertThrows(ApiException.class,
+                () -> registry.get(LedgerOperationType.TRANSFER).resolveAccountCodes("CUST-1", null));
+        assertEquals("LEDGER_POLICY_COUNTERPARTY_REQUIRED", exception.getErrorCode());
+    }
+
+    @Test
+    void constructor_rejectsMissingAndUnbalancedTemplates() {
+        Map<LedgerOperationType, List<LineTemplate>> missing = new EnumMap<>(defaultTemplates().templates());
+        missing.remove(LedgerOperationType.FEE);
+        IllegalStateException missingException = assertThrows(IllegalStateException.class,
+                () -> new PostingTemplateRegistry(new PostingTemplateProperties(missing)));
+        assertTrue(missingException.getMessage().contains("FEE"));
+
+        Map<LedgerOperationType, List<LineTemplate>> unbalanced = new EnumMap<>(defaultTemplates().templates());
+        unbalanced.put(LedgerOperationType.FEE, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.DEBIT, PostingAccountSource.FIXED, "fee-income")));
+        assertThrows(IllegalStateException.class,
+                () -> new PostingTemplateRegistry(new PostingTemplateProperties(unbalanced)));
+    }
+
+    @Test
+    void constructor_rejectsFixedLineWithoutAccountCode() {
+        Map<LedgerOperationType, List<LineTemplate>> templates = new EnumMap<>(defaultTemplates().templates());
+        templates.put(LedgerOperationType.DEPOSIT, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.CREDIT, PostingAccountSource.FIXED, " ")));
+
+        assertThrows(IllegalStateException.class,
+                () -> new PostingTemplateRegistry(new PostingTemplateProperties(templates)));
+    }
+
+    /**
+     * Mirrors the templates shipped in application.yml.
+     */
+    static PostingTemplateProperties defaultTemplates() {
+        Map<LedgerOperationType, List<LineTemplate>> templates = new EnumMap<>(LedgerOperationType.class);
+        templates.put(LedgerOperationType.PAYMENT, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.CREDIT, PostingAccountSource.COUNTERPARTY, "PAYMENT-CLEARING")));
+        templates.put(LedgerOperationType.TRANSFER, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.CREDIT, PostingAccountSource.COUNTERPARTY, null)));
+        templates.put(LedgerOperationType.DEPOSIT, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.CREDIT, PostingAccountSource.FIXED, "CASH-SETTLEMENT")));
+        templates.put(LedgerOperationType.WITHDRAWAL, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.FIXED, "CASH-SETTLEMENT"),
+                line(EntryType.CREDIT, PostingAccountSource.REQUEST, null)));
+        templates.put(LedgerOperationType.FEE, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.REQUEST, null),
+                line(EntryType.CREDIT, PostingAccountSource.FIXED, "FEE-INCOME")));
+        templates.put(LedgerOperationType.INTEREST, List.of(
+                line(EntryType.DEBIT, PostingAccountSource.FIXED, "INTEREST-EXPENSE"),
+                line(EntryType.CREDIT, PostingAccountSource.REQUEST, null)));
+        return new PostingTemplateProperties(templates);
+    }
+
+    private static LineTemplate line(EntryType entryType, PostingAccountSource source, String accountCode) {
+        return new LineTemplate(entryType, source, accountCode);
+    }
+}
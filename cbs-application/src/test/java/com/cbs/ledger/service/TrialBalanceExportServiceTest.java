@@ -0,0 +1,97 @@
+package com.cbs.ledger.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.model.TrialBalanceFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrialBalanceExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TrialBalanceExportService trialBalanceExportService;
+
+    @BeforeEach
+    void setUp() {
+        trialBalanceExportService = new TrialBalanceExportService(jdbcTemplate, new ObjectMapper(), 500);
+    }
+
+    @Test
+    void writeTrialBalance_streamsCsvRowsWithNetAndQuotedNames() throws Exception {
+        ResultSet row = resultSet("1000", "Cash, vault", "ASSET", "150.0000", "40.0000");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        trialBalanceExportService.writeTrialBalance(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31),
+                TrialBalanceFormat.CSV, output);
+
+        assertEquals(TrialBalanceExportService.CSV_HEADER + "\n"
+                        + "1000,\"Cash, vault\",ASSET,150.0000,40.0000,110.0000\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeTrialBalance_streamsOneJsonObjectPerLine() throws Exception {
+        ResultSet first = resultSet("1000", "Cash", "ASSET", "10.0000", "0.0000");
+        ResultSet second = resultSet("4000", "Revenue", "INCOME", "0.0000", "10.0000");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(first);
+            handler.processRow(second);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        trialBalanceExportService.writeTrialBalance(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31),
+                TrialBalanceFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"accountCode\":\"4000\",\"accountName\":\"Revenue\",\"accountType\":\"INCOME\","
+                + "\"totalDebit\":0.0000,\"totalCredit\":10.0000,\"net\":-10.0000}", lines[1]);
+    }
+
+    @Test
+    void validateDateRange_rejectsReversedRange() {
+        ApiException exception = assertThrows(ApiException.class, () -> trialBalanceExportService
+                .validateDateRange(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1)));
+
+        assertEquals("LEDGER_INVALID_DATE_RANGE", exception.getErrorCode());
+    }
+
+    private ResultSet resultSet(String code, String name, String type, String debit, String credit)
+            throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString(1)).thenReturn(code);
+        when(resultSet.getString(2)).thenReturn(name);
+        when(resultSet.getString(3)).thenReturn(type);
+        when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal(debit));
+        when(resultSet.getBigDecimal(5)).thenReturn(new BigDecimal(credit));
+        return resultSet;
+    }
+}
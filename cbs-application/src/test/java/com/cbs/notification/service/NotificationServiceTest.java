@@ -1,6 +1,7 @@
 package com.cbs.notification.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
 import com.cbs.notification.dto.CreateNotificationRequest;
 import com.cbs.notification.dto.NotificationResponse;
 import com.cbs.notification.dto.NotificationStatusReasonRequest;
@@ -15,10 +16,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +31,16 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     private NotificationService notificationService;
 
     @BeforeEach
     void setUp() {
-        notificationService = new NotificationService(notificationRepository);
+        notificationService = new NotificationService(notificationRepository, idempotencyService);
+        lenient().when(idempotencyService.execute(anyString(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
     }
 
     @Test
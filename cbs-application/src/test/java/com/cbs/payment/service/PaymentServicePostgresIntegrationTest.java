@@ -1,5 +1,12 @@
 package com.cbs.payment.service;
 
+import com.cbs.account.dto.CreateAccountRequest;
+import com.cbs.account.model.AccountType;
+import com.cbs.account.model.Currency;
+import com.cbs.account.repository.AccountHoldRepository;
+import com.cbs.account.repository.AccountHoldTotalRepository;
+import com.cbs.account.repository.AccountRepository;
+import com.cbs.account.service.AccountService;
 import com.cbs.payment.dto.CreatePaymentRequest;
 import com.cbs.payment.dto.PaymentResponse;
 import com.cbs.payment.dto.PaymentStatusUpdateRequest;
@@ -42,16 +49,32 @@ class PaymentServicePostgresIntegrationTest {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountHoldRepository accountHoldRepository;
+
+    @Autowired
+    private AccountHoldTotalRepository accountHoldTotalRepository;
+
     @AfterEach
     void cleanUp() {
         paymentRepository.deleteAll();
+        accountHoldRepository.deleteAll();
+        accountHoldTotalRepository.deleteAll();
+        accountRepository.deleteAll();
     }
 
     @Test
     void createPaymentPersistsNormalizedReferenceInPostgres() {
+        Long sourceAccountId = fundedAccount(101L, "TR-PAY-501", Currency.TRY, "1000.00");
         CreatePaymentRequest request = new CreatePaymentRequest(
                 101L,
-                501L,
+                sourceAccountId,
                 601L,
                 new BigDecimal("300.00"),
                 "TRY",
@@ -64,13 +87,36 @@ class PaymentServicePostgresIntegrationTest {
 
         assertEquals("PAY-001", response.reference());
         assertTrue(paymentRepository.existsByReference("PAY-001"));
+        assertEquals(0, new BigDecimal("700.00").compareTo(accountRepository.findBalanceById(sourceAccountId)));
+    }
+
+    @Test
+    void createPaymentToInternalAccountDebitsSourceAndCreditsDestination() {
+        Long sourceAccountId = fundedAccount(103L, "TR-PAY-503", Currency.TRY, "1000.00");
+        Long destinationAccountId = fundedAccount(104L, "TR-PAY-504", Currency.TRY, "50.00");
+
+        PaymentResponse response = paymentService.createPayment(new CreatePaymentRequest(
+                103L,
+                sourceAccountId,
+                destinationAccountId,
+                new BigDecimal("250.00"),
+                "TRY",
+                PaymentMethod.BANK_TRANSFER,
+                "PAY-003",
+                "Rent",
+                LocalDate.of(2026, 2, 18)));
+
+        assertEquals(PaymentStatus.COMPLETED, response.status());
+        assertEquals(0, new BigDecimal("750.00").compareTo(accountRepository.findBalanceById(sourceAccountId)));
+        assertEquals(0, new BigDecimal("300.00").compareTo(accountRepository.findBalanceById(destinationAccountId)));
     }
 
     @Test
     void failPaymentPersistsStatusAndReasonInPostgres() {
+        Long sourceAccountId = fundedAccount(102L, "US-PAY-502", Currency.USD, "500.00");
         PaymentResponse created = paymentService.createPayment(new CreatePaymentRequest(
                 102L,
-                502L,
+                sourceAccountId,
                 602L,
                 new BigDecimal("120.00"),
                 "USD",
@@ -94,4 +140,13 @@ class PaymentServicePostgresIntegrationTest {
         assertEquals(PaymentStatus.FAILED, persisted.getStatus());
         assertEquals("network timeout", persisted.getFailureReason());
     }
+
+    private Long fundedAccount(Long customerId, String accountNumber, Currency currency, String balance) {
+        return accountService.createAccount(new CreateAccountRequest(
+                customerId,
+                accountNumber,
+                AccountType.CHECKING,
+                currency,
+                new BigDecimal(balance))).id();
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.cbs.payment.service;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
 import com.cbs.payment.dto.CreatePaymentRequest;
 import com.cbs.payment.dto.PaymentResponse;
 import com.cbs.payment.dto.PaymentStatusUpdateRequest;
+import com.cbs.payment.integration.AccountHoldClient;
 import com.cbs.payment.integration.LedgerPostingClient;
 import com.cbs.payment.model.Payment;
 import com.cbs.payment.model.PaymentMethod;
@@ -14,17 +18,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +50,23 @@ class PaymentServiceTest {
     @Mock
     private LedgerPostingClient ledgerPostingClient;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private AccountHoldClient accountHoldClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private PaymentService paymentService;
 
     @BeforeEach
     void setUp() {
-        paymentService = new PaymentService(paymentRepository, ledgerPostingClient);
+        paymentService = new PaymentService(paymentRepository, ledgerPostingClient, idempotencyService,
+                accountHoldClient, transactionManager);
+        lenient().when(idempotencyService.execute(anyString(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
     }
 
     @Test
@@ -67,6 +93,8 @@ class PaymentServiceTest {
         assertEquals("TRY", response.currency());
         assertEquals("utility bill", response.description());
         assertEquals(PaymentStatus.COMPLETED, response.status());
+        verify(accountHoldClient).placeHold(any(Payment.class));
+        verify(accountHoldClient).captureHold(any(Payment.class));
     }
 
     @Test
@@ -113,6 +141,7 @@ class PaymentServiceTest {
 
         assertEquals(PaymentStatus.FAILED, response.status());
         assertEquals("ledger unavailable", response.failureReason());
+        verify(accountHoldClient, never()).captureHold(any(Payment.class));
     }
 
     @Test
@@ -155,9 +184,9 @@ class PaymentServiceTest {
     void retryPosting_completesFailedPaymentWhenLedgerSucceeds() {
         Payment payment = createPaymentWithStatus(PaymentStatus.FAILED);
         payment.setFailureReason("timeout");
-        when(paymentRepository.findById(21L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findByIdForUpdate(21L)).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        doNothing().when(ledgerPostingClient).postPayment(any(Payment.class));
+        doNothing().when(ledgerPostingClient).repostPayment(any(Payment.class));
 
         PaymentResponse response = paymentService.retryPosting(21L);
 
@@ -168,13 +197,61 @@ class PaymentServiceTest {
     @Test
     void retryPosting_throwsWhenPaymentIsNotFailed() {
         Payment payment = createPaymentWithStatus(PaymentStatus.COMPLETED);
-        when(paymentRepository.findById(22L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findByIdForUpdate(22L)).thenReturn(Optional.of(payment));
 
         ApiException exception = assertThrows(ApiException.class, () -> paymentService.retryPosting(22L));
 
         assertEquals("PAYMENT_NOT_FAILED", exception.getErrorCode());
     }
 
+    @Test
+    void retryFailedPayments_completesRecoveredPaymentsAndCountsFailedAttempts() {
+        Payment recovered = createPaymentWithStatus(PaymentStatus.FAILED);
+        Payment stillFailing = createPaymentWithStatus(PaymentStatus.FAILED);
+        stillFailing.recordFailedRetry(Instant.EPOCH);
+        when(paymentRepository.findDueRetryIds(eq(2), any(Instant.class), eq(50))).thenReturn(List.of(31L, 32L));
+        when(paymentRepository.claimDueRetry(eq(31L), eq(2), any(Instant.class))).thenReturn(Optional.of(recovered));
+        when(paymentRepository.claimDueRetry(eq(32L), eq(2), any(Instant.class))).thenReturn(Optional.of(stillFailing));
+        doNothing().when(ledgerPostingClient).repostPayment(recovered);
+        doThrow(new ApiException("LEDGER_POSTING_FAILED", "ledger unavailable"))
+                .when(ledgerPostingClient)
+                .repostPayment(stillFailing);
+
+        RetryBatchResult result = paymentService.retryFailedPayments(50, 2,
+                new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(30), 2));
+
+        assertEquals(new RetryBatchResult(2, 1, 0, 1), result);
+        assertEquals(PaymentStatus.COMPLETED, recovered.getStatus());
+        assertEquals(PaymentStatus.FAILED, stillFailing.getStatus());
+        assertEquals(2, stillFailing.getRetryAttempts());
+        assertEquals("ledger unavailable", stillFailing.getFailureReason());
+        verify(accountHoldClient).captureHold(recovered);
+        verify(accountHoldClient).releaseHold(stillFailing);
+        verify(accountHoldClient, never()).releaseHold(recovered);
+    }
+
+    @Test
+    void retryFailedPayments_isolatesAFailedCaptureAndSkipsPaymentsClaimedElsewhere() {
+        Payment captureFails = createPaymentWithStatus(PaymentStatus.FAILED);
+        Payment recovered = createPaymentWithStatus(PaymentStatus.FAILED);
+        when(paymentRepository.findDueRetryIds(eq(3), any(Instant.class), eq(50))).thenReturn(List.of(41L, 42L, 43L));
+        when(paymentRepository.claimDueRetry(eq(41L), eq(3), any(Instant.class))).thenReturn(Optional.of(captureFails));
+        when(paymentRepository.claimDueRetry(eq(42L), eq(3), any(Instant.class))).thenReturn(Optional.empty());
+        when(paymentRepository.claimDueRetry(eq(43L), eq(3), any(Instant.class))).thenReturn(Optional.of(recovered));
+        doThrow(new IllegalStateException("hold row locked")).when(accountHoldClient).captureHold(captureFails);
+
+        RetryBatchResult result = paymentService.retryFailedPayments(50, 3,
+                new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(30), 2));
+
+        assertEquals(new RetryBatchResult(2, 1, 1, 0), result);
+        assertEquals(PaymentStatus.FAILED, captureFails.getStatus());
+        assertEquals(1, captureFails.getRetryAttempts());
+        assertEquals("hold row locked", captureFails.getFailureReason());
+        assertEquals(PaymentStatus.COMPLETED, recovered.getStatus());
+        verify(transactionManager).rollback(any());
+        verify(accountHoldClient, never()).releaseHold(captureFails);
+    }
+
     private Payment createPaymentWithStatus(PaymentStatus status) {
         Payment payment = new Payment(
                 1L,
@@ -1,12 +1,22 @@
 package com.cbs.transaction.controller;
 
 import com.cbs.common.exception.ApiException;
+import com.cbs.transaction.dto.BulkReversalResponse;
+import com.cbs.transaction.dto.ReversalFailure;
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.dto.TransactionPageResponse;
 import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.dto.TransactionStatusEventResponse;
 import com.cbs.common.exception.GlobalExceptionHandler;
+import com.cbs.transaction.model.BulkTransactionFormat;
 import com.cbs.transaction.model.TransactionStatus;
 import com.cbs.transaction.model.TransactionType;
+import com.cbs.transaction.service.TransactionBulkIngestionService;
+import com.cbs.transaction.service.TransactionBulkReversalService;
+import com.cbs.transaction.service.TransactionPostingLanes;
 import com.cbs.transaction.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,14 +24,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -44,6 +68,21 @@ class TransactionControllerTest {
         @MockBean
         private TransactionService transactionService;
 
+        @MockBean
+        private TransactionBulkIngestionService transactionBulkIngestionService;
+
+        @MockBean
+        private TransactionBulkReversalService transactionBulkReversalService;
+
+        @MockBean
+        private TransactionPostingLanes transactionPostingLanes;
+
+        @BeforeEach
+        void runLanesInline() {
+                when(transactionPostingLanes.execute(any(), any()))
+                                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        }
+
         @Test
         void createTransaction_returnsSuccessResponse() throws Exception {
                 TransactionResponse response = new TransactionResponse(
@@ -106,8 +145,31 @@ class TransactionControllerTest {
                                 .andExpect(jsonPath("$.success").value(false));
         }
 
+        @Test
+        void reverseTransactions_returnsBulkSummary() throws Exception {
+                when(transactionBulkReversalService.reverseByReferencePrefix(any()))
+                                .thenReturn(new BulkReversalResponse(3, 2, 1, 42L, List.of(new ReversalFailure(
+                                                42L, "PAYROLL-3", "LEDGER_ACCOUNT_INACTIVE", "Account is inactive"))));
+
+                mockMvc.perform(post("/api/v1/transactions/reversals")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"referencePrefix\":\"PAYROLL-\",\"reason\":\"bad file\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.reversed").value(2))
+                                .andExpect(jsonPath("$.data.failures[0].transactionId").value(42));
+        }
+
+        @Test
+        void reverseTransactions_rejectsTooShortPrefix() throws Exception {
+                mockMvc.perform(post("/api/v1/transactions/reversals")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"referencePrefix\":\"P\",\"reason\":\"bad file\"}"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void reverseTransaction_returnsBusinessErrorWhenAlreadyReversed() throws Exception {
+                when(transactionService.laneAccountId(101L)).thenReturn(20L);
                 when(transactionService.reverseTransaction(any(), any()))
                                 .thenThrow(new ApiException("TRANSACTION_ALREADY_REVERSED",
                                                 "Transaction is already reversed"));
@@ -121,6 +183,8 @@ class TransactionControllerTest {
                                 .andExpect(jsonPath("$.success").value(false))
                                 .andExpect(jsonPath("$.errorCode").value("TRANSACTION_ALREADY_REVERSED"))
                                 .andExpect(jsonPath("$.message").value("Transaction is already reversed"));
+
+                verify(transactionPostingLanes).execute(eq(20L), any());
         }
 
         @Test
@@ -140,6 +204,7 @@ class TransactionControllerTest {
                                 LocalDate.of(2026, 2, 18),
                                 null,
                                 null);
+                when(transactionService.laneAccountId(2L)).thenReturn(20L);
                 when(transactionService.retryPosting(2L)).thenReturn(response);
 
                 mockMvc.perform(patch("/api/v1/transactions/{transactionId}/retry-posting", 2))
@@ -147,6 +212,65 @@ class TransactionControllerTest {
                                 .andExpect(jsonPath("$.success").value(true))
                                 .andExpect(jsonPath("$.message").value("Transaction posting retried"))
                                 .andExpect(jsonPath("$.data.reference").value("REF-200"));
+
+                verify(transactionPostingLanes).execute(eq(20L), any());
+        }
+
+        @Test
+        void getStatusHistory_returnsJournalledStatuses() throws Exception {
+                when(transactionService.getStatusHistory(3L)).thenReturn(List.of(
+                                new TransactionStatusEventResponse(TransactionStatus.INITIATED, null, Instant.now()),
+                                new TransactionStatusEventResponse(TransactionStatus.PROCESSING, null, Instant.now()),
+                                new TransactionStatusEventResponse(TransactionStatus.FAILED, "ledger timeout",
+                                                Instant.now())));
+
+                mockMvc.perform(get("/api/v1/transactions/{transactionId}/status-history", 3))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data[2].status").value("FAILED"))
+                                .andExpect(jsonPath("$.data[2].detail").value("ledger timeout"));
+        }
+
+        @Test
+        void listTransactions_passesFiltersAndReturnsCursor() throws Exception {
+                when(transactionService.listTransactions(
+                                new TransactionHistoryFilter(20L, null, LocalDate.of(2026, 2, 1), null,
+                                                TransactionType.TRANSFER, TransactionStatus.POSTED),
+                                120L, 25))
+                                .thenReturn(new TransactionPageResponse(List.of(), 95L));
+
+                mockMvc.perform(get("/api/v1/transactions")
+                                .param("accountId", "20")
+                                .param("fromDate", "2026-02-01")
+                                .param("type", "TRANSFER")
+                                .param("status", "POSTED")
+                                .param("cursor", "120")
+                                .param("limit", "25"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.nextCursor").value(95));
+        }
+
+        @Test
+        void ingestTransactions_streamsPerLineResults() throws Exception {
+                doAnswer(invocation -> {
+                        invocation.<OutputStream>getArgument(2).write(
+                                        "{\"lineNumber\":2,\"reference\":\"PAY-1\",\"status\":\"POSTED\"}\n"
+                                                        .getBytes(StandardCharsets.UTF_8));
+                        return null;
+                }).when(transactionBulkIngestionService).ingest(any(), eq(BulkTransactionFormat.CSV), any());
+
+                MvcResult result = mockMvc.perform(post("/api/v1/transactions/bulk")
+                                .param("format", "CSV")
+                                .contentType("text/csv")
+                                .content("customerId,accountId\n"))
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                                .andExpect(content().string(
+                                                "{\"lineNumber\":2,\"reference\":\"PAY-1\",\"status\":\"POSTED\"}\n"));
         }
 
         private record ReversalPayload(String reason) {
@@ -0,0 +1,174 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.ledger.dto.PostPolicyEntryRequest;
+import com.cbs.ledger.service.LedgerPostingService;
+import com.cbs.transaction.model.LedgerPostingOutboxEntry;
+import com.cbs.transaction.model.Transaction;
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionStatusEvent;
+import com.cbs.transaction.model.TransactionType;
+import com.cbs.transaction.repository.LedgerPostingOutboxRepository;
+import com.cbs.transaction.repository.TransactionRepository;
+import com.cbs.transaction.repository.TransactionStatusEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerOutboxRelayTest {
+
+    @Mock
+    private LedgerPostingOutboxRepository ledgerPostingOutboxRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionStatusEventRepository transactionStatusEventRepository;
+
+    @Mock
+    private LedgerPostingService ledgerPostingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerOutboxRelay ledgerOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerOutboxRelay = new LedgerOutboxRelay(ledgerPostingOutboxRepository, transactionRepository,
+                transactionStatusEventRepository, ledgerPostingService, transactionManager, meterRegistry,
+                true, 3, 10);
+    }
+
+    @Test
+    void relayPending_postsBatchAndRecordsOutcomes() {
+        Transaction posted = transaction(1L, "REF-1");
+        Transaction duplicate = transaction(2L, "REF-2");
+        Transaction rejected = transaction(3L, "REF-3");
+        List<LedgerPostingOutboxEntry> entries = List.of(entry(1L), entry(2L), entry(3L));
+        when(ledgerPostingOutboxRepository.lockNextBatch(3)).thenReturn(entries, List.of());
+        when(transactionRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(posted, duplicate, rejected));
+        when(ledgerPostingService.postPolicyEntry(any(PostPolicyEntryRequest.class))).thenAnswer(invocation -> {
+            String reference = invocation.<PostPolicyEntryRequest>getArgument(0).reference();
+            if (reference.equals("REF-2")) {
+                throw new ApiException("LEDGER_REFERENCE_EXISTS", "Reference already posted: REF-2");
+            }
+            if (reference.equals("REF-3")) {
+                throw new ApiException("LEDGER_ACCOUNT_NOT_FOUND", "Ledger account not found");
+            }
+            return null;
+        });
+        when(ledgerPostingService.matchesPostedEntry(any(PostPolicyEntryRequest.class))).thenReturn(true);
+
+        int relayed = ledgerOutboxRelay.relayPending();
+
+        assertEquals(3, relayed);
+        verify(posted).setStatus(TransactionStatus.POSTED);
+        verify(duplicate).setStatus(TransactionStatus.POSTED);
+        verify(rejected).setStatus(TransactionStatus.FAILED);
+        verify(rejected).setFailureReason("Ledger account not found");
+        verify(ledgerPostingOutboxRepository).deleteAllInBatch(entries);
+        verify(ledgerPostingOutboxRepository, times(2)).lockNextBatch(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionStatusEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(transactionStatusEventRepository).saveAll(events.capture());
+        assertEquals(3, events.getValue().size());
+        assertEquals(2.0, meterRegistry.get("transaction.outbox.relayed").tag("outcome", "posted").counter().count());
+        assertEquals(1.0, meterRegistry.get("transaction.outbox.relayed").tag("outcome", "failed").counter().count());
+        assertEquals(3, meterRegistry.get("transaction.outbox.lag").timer().count());
+    }
+
+    @Test
+    void relayPending_failsEntriesPerTransactionWithoutStallingTheBatch() {
+        Transaction foreignReference = transaction(6L, "REF-6");
+        Transaction broken = transaction(7L, "REF-7");
+        Transaction posted = transaction(8L, "REF-8");
+        List<LedgerPostingOutboxEntry> entries = List.of(entry(6L), entry(7L), entry(8L));
+        when(ledgerPostingOutboxRepository.lockNextBatch(3)).thenReturn(entries, List.of());
+        when(transactionRepository.findAllById(List.of(6L, 7L, 8L)))
+                .thenReturn(List.of(foreignReference, broken, posted));
+        when(ledgerPostingService.postPolicyEntry(any(PostPolicyEntryRequest.class))).thenAnswer(invocation -> {
+            String reference = invocation.<PostPolicyEntryRequest>getArgument(0).reference();
+            if (reference.equals("REF-6")) {
+                throw new ApiException("LEDGER_REFERENCE_EXISTS", "Reference already posted: REF-6");
+            }
+            if (reference.equals("REF-7")) {
+                throw new IllegalStateException("could not serialize access");
+            }
+            return null;
+        });
+        when(ledgerPostingService.matchesPostedEntry(any(PostPolicyEntryRequest.class))).thenReturn(false);
+
+        int relayed = ledgerOutboxRelay.relayPending();
+
+        assertEquals(3, relayed);
+        verify(foreignReference).setStatus(TransactionStatus.FAILED);
+        verify(foreignReference).setFailureReason("Reference already posted: REF-6");
+        verify(broken).setStatus(TransactionStatus.FAILED);
+        verify(broken).setFailureReason("could not serialize access");
+        verify(posted).setStatus(TransactionStatus.POSTED);
+        verify(ledgerPostingOutboxRepository).deleteAllInBatch(entries);
+        assertEquals(2.0, meterRegistry.get("transaction.outbox.relayed").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void relayPending_dropsEntriesWhoseTransactionIsNoLongerProcessing() {
+        Transaction alreadyPosted = transaction(5L, "REF-5");
+        when(alreadyPosted.getStatus()).thenReturn(TransactionStatus.POSTED);
+        List<LedgerPostingOutboxEntry> entries = List.of(entry(5L));
+        when(ledgerPostingOutboxRepository.lockNextBatch(3)).thenReturn(entries);
+        when(transactionRepository.findAllById(List.of(5L))).thenReturn(List.of(alreadyPosted));
+        when(ledgerPostingOutboxRepository.count()).thenReturn(0L);
+
+        ledgerOutboxRelay.relayPending();
+
+        verify(ledgerPostingService, times(0)).postPolicyEntry(any(PostPolicyEntryRequest.class));
+        verify(transactionStatusEventRepository).saveAll(anyList());
+        verify(ledgerPostingOutboxRepository).deleteAllInBatch(entries);
+        assertEquals(0.0, meterRegistry.get("transaction.outbox.depth").gauge().value());
+    }
+
+    private LedgerPostingOutboxEntry entry(Long transactionId) {
+        LedgerPostingOutboxEntry entry = mock(LedgerPostingOutboxEntry.class);
+        lenient().when(entry.getTransactionId()).thenReturn(transactionId);
+        lenient().when(entry.getCreatedAt()).thenReturn(Instant.now().minusMillis(250));
+        return entry;
+    }
+
+    private Transaction transaction(Long id, String reference) {
+        Transaction transaction = mock(Transaction.class);
+        lenient().when(transaction.getId()).thenReturn(id);
+        lenient().when(transaction.getStatus()).thenReturn(TransactionStatus.PROCESSING);
+        lenient().when(transaction.getReference()).thenReturn(reference);
+        lenient().when(transaction.getDescription()).thenReturn("outbox");
+        lenient().when(transaction.getValueDate()).thenReturn(LocalDate.of(2026, 4, 1));
+        lenient().when(transaction.getType()).thenReturn(TransactionType.PAYMENT);
+        lenient().when(transaction.getAmount()).thenReturn(BigDecimal.TEN);
+        lenient().when(transaction.getAccountId()).thenReturn(10L);
+        return transaction;
+    }
+}
@@ -0,0 +1,189 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import com.cbs.transaction.dto.CreateTransactionRequest;
+import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.integration.AccountClient;
+import com.cbs.transaction.model.BulkTransactionFormat;
+import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBulkIngestionServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountClient accountClient;
+
+    private TransactionBulkIngestionService transactionBulkIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionBulkIngestionService = new TransactionBulkIngestionService(transactionService,
+                transactionRepository, accountClient, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+
+    @Test
+    void ingest_rejectsDuplicateMismatchedAndMalformedLinesAndCreatesTheRest() throws Exception {
+        String file = String.join("\n",
+                json("BULK-1", 10L, "TRY"),
+                json("bulk-1", 10L, "TRY"),
+                json("BULK-2", 11L, "TRY"),
+                "{not json",
+                "",
+                json("BULK-3", 10L, "TRY"));
+        when(transactionRepository.findExistingReferences(anyCollection())).thenReturn(List.of());
+        when(accountClient.getAccountCurrencies(Set.of(10L))).thenReturn(Map.of(10L, "TRY"));
+        when(accountClient.getAccountCurrencies(Set.of(11L))).thenReturn(Map.of(11L, "USD"));
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            List<CreateTransactionRequest> requests = invocation.getArgument(0);
+            List<TransactionResponse> responses = new ArrayList<>();
+            for (CreateTransactionRequest request : requests) {
+                responses.add(response(request.reference(), TransactionStatus.POSTED));
+            }
+            return responses;
+        });
+
+        List<JsonNode> results = ingest(file, BulkTransactionFormat.NDJSON);
+
+        assertEquals(5, results.size());
+        assertEquals("POSTED", results.get(0).get("status").asText());
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", results.get(1).get("errorCode").asText());
+        assertEquals("Reference already used on line 1", results.get(1).get("message").asText());
+        assertEquals("CURRENCY_MISMATCH", results.get(2).get("errorCode").asText());
+        assertEquals(4, results.get(3).get("lineNumber").asLong());
+        assertEquals("BULK_INVALID_LINE", results.get(3).get("errorCode").asText());
+        assertEquals(6, results.get(4).get("lineNumber").asLong());
+        assertEquals("BULK-3", results.get(4).get("reference").asText());
+        // Account 10 is loaded once and reused by the last chunk
+        verify(accountClient, times(1)).getAccountCurrencies(Set.of(10L));
+    }
+
+    @Test
+    void ingest_parsesCsvWithQuotedFieldsAndRejectsExistingReferences() throws Exception {
+        String file = String.join("\n",
+                String.join(",", TransactionBulkIngestionService.CSV_COLUMNS),
+                "1,10,,,TRANSFER,250.00,TRY,\"Payroll, March\",PAY-1,2026-03-31",
+                "1,10,,,TRANSFER,abc,TRY,Payroll,PAY-2,2026-03-31",
+                "1,10,,,TRANSFER,10.00,TRY,Payroll,PAY-3,2026-03-31");
+        when(transactionRepository.findExistingReferences(anyCollection())).thenReturn(List.of("PAY-3"));
+        when(accountClient.getAccountCurrencies(Set.of(10L))).thenReturn(Map.of(10L, "TRY"));
+        when(transactionService.createTransactions(anyList()))
+                .thenReturn(List.of(response("PAY-1", TransactionStatus.POSTED)));
+
+        List<JsonNode> results = ingest(file, BulkTransactionFormat.CSV);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateTransactionRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).createTransactions(requests.capture());
+        assertEquals("Payroll, March", requests.getValue().get(0).description());
+        assertEquals(3, results.size());
+        assertEquals("Invalid value for column amount", results.get(1).get("message").asText());
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", results.get(2).get("errorCode").asText());
+    }
+
+    @Test
+    void ingest_fallsBackToSingleCreatesWhenChunkHitsReferenceConstraint() throws Exception {
+        String file = json("RACE-1", 10L, "TRY") + "\n" + json("RACE-2", 10L, "TRY");
+        when(transactionRepository.findExistingReferences(anyCollection())).thenReturn(List.of());
+        when(accountClient.getAccountCurrencies(Set.of(10L))).thenReturn(Map.of(10L, "TRY"));
+        when(transactionService.createTransactions(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_transactions_reference"));
+        when(transactionService.createTransaction(any(CreateTransactionRequest.class)))
+                .thenThrow(new ApiException("TRANSACTION_REFERENCE_EXISTS", "Reference already exists"))
+                .thenReturn(response("RACE-2", TransactionStatus.POSTED));
+
+        List<JsonNode> results = ingest(file, BulkTransactionFormat.NDJSON);
+
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", results.get(0).get("errorCode").asText());
+        assertEquals("POSTED", results.get(1).get("status").asText());
+    }
+
+    @Test
+    void ingest_reportsLinesThatFailUnexpectedlyWithoutAbortingTheStream() throws Exception {
+        String file = json("LOST-1", 10L, "TRY") + "\n" + json("LOST-2", 10L, "TRY") + "\n"
+                + json("LOST-3", 12L, "TRY");
+        when(transactionRepository.findExistingReferences(anyCollection())).thenReturn(List.of());
+        when(accountClient.getAccountCurrencies(Set.of(10L))).thenReturn(Map.of(10L, "TRY"));
+        when(accountClient.getAccountCurrencies(Set.of(12L))).thenThrow(new IllegalStateException("timeout"));
+        when(transactionService.createTransactions(anyList())).thenThrow(new IllegalStateException("deadlock"));
+        when(transactionService.createTransaction(any(CreateTransactionRequest.class)))
+                .thenReturn(response("LOST-1", TransactionStatus.POSTED))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        List<JsonNode> results = ingest(file, BulkTransactionFormat.NDJSON);
+
+        assertEquals(3, results.size());
+        assertEquals("POSTED", results.get(0).get("status").asText());
+        assertEquals("BULK_LINE_FAILED", results.get(1).get("errorCode").asText());
+        assertEquals("BULK_CHUNK_FAILED", results.get(2).get("errorCode").asText());
+        assertEquals(3, results.get(2).get("lineNumber").asLong());
+    }
+
+    @Test
+    void ingest_stopsWhenCsvHeaderIsIncomplete() throws Exception {
+        List<JsonNode> results = ingest("reference,amount\nPAY-1,10.00", BulkTransactionFormat.CSV);
+
+        assertEquals(1, results.size());
+        assertEquals("BULK_INVALID_HEADER", results.get(0).get("errorCode").asText());
+        verify(transactionService, never()).createTransactions(anyList());
+    }
+
+    private List<JsonNode> ingest(String file, BulkTransactionFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionBulkIngestionService.ingest(
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)), format, output);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private String json(String reference, Long accountId, String currency) {
+        return """
+                {"customerId":1,"accountId":%d,"type":"PAYMENT","amount":12.50,"currency":"%s",\
+                "description":"Settlement","reference":"%s","valueDate":"2026-03-31"}"""
+                .formatted(accountId, currency, reference);
+    }
+
+    private TransactionResponse response(String reference, TransactionStatus status) {
+        return new TransactionResponse(1L, 1L, 10L, null, null, null, status, null, "TRY", "Settlement",
+                reference, null, null, null);
+    }
+}
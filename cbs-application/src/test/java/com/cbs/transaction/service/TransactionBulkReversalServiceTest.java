@@ -0,0 +1,42 @@
+package com.cbs.transaction.service;
+
+import com.cbs.transaction.dto.BulkReversalResponse;
+import com.cbs.transaction.dto.BulkReverseTransactionsRequest;
+import com.cbs.transaction.dto.ReversalFailure;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBulkReversalServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Test
+    void reverseByReferencePrefix_walksChunksUntilOneComesBackShort() {
+        TransactionBulkReversalService service = new TransactionBulkReversalService(transactionService, 2);
+        ReversalFailure failure = new ReversalFailure(12L, "PAYROLL-2", "LEDGER_ACCOUNT_INACTIVE", "inactive");
+        when(transactionService.reverseTransactions("PAYROLL-", "bad file", 0L, 2))
+                .thenReturn(new BulkReversalResponse(2, 1, 1, 12L, List.of(failure)));
+        when(transactionService.reverseTransactions("PAYROLL-", "bad file", 12L, 2))
+                .thenReturn(new BulkReversalResponse(1, 1, 0, 15L, List.of()));
+
+        BulkReversalResponse response = service.reverseByReferencePrefix(
+                new BulkReverseTransactionsRequest(" payroll- ", " bad file "));
+
+        assertEquals(3, response.matched());
+        assertEquals(2, response.reversed());
+        assertEquals(1, response.failed());
+        assertEquals(15L, response.lastTransactionId());
+        assertEquals(List.of(failure), response.failures());
+        verify(transactionService).reverseTransactions("PAYROLL-", "bad file", 12L, 2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.cbs.transaction.service;
+
+import com.cbs.common.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionPostingLanesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private TransactionPostingLanes transactionPostingLanes;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        transactionPostingLanes.shutdown();
+    }
+
+    @Test
+    void execute_serializesWorkForTheSameAccount() throws Exception {
+        transactionPostingLanes = new TransactionPostingLanes(meterRegistry, 4, 100);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            results.add(CompletableFuture.supplyAsync(() -> transactionPostingLanes.execute(42L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(2);
+                running.decrementAndGet();
+                return value;
+            }), callers));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, maxRunning.get());
+        int lane = transactionPostingLanes.laneFor(42L);
+        assertEquals(20, meterRegistry.get("transaction.lane.execution").tag("lane", Integer.toString(lane))
+                .timer().count());
+    }
+
+    @Test
+    void execute_runsDifferentLanesInParallel() throws Exception {
+        transactionPostingLanes = new TransactionPostingLanes(meterRegistry, 2, 100);
+        assertNotEquals(transactionPostingLanes.laneFor(1L), transactionPostingLanes.laneFor(2L));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+                () -> transactionPostingLanes.execute(1L, () -> awaitOther(bothStarted)), callers);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+                () -> transactionPostingLanes.execute(2L, () -> awaitOther(bothStarted)), callers);
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_rethrowsWorkExceptionsUnchanged() {
+        transactionPostingLanes = new TransactionPostingLanes(meterRegistry, 2, 100);
+
+        ApiException exception = assertThrows(ApiException.class, () -> transactionPostingLanes.execute(7L, () -> {
+            throw new ApiException("CURRENCY_MISMATCH", "Account currency is TRY but transaction uses USD");
+        }));
+
+        assertEquals("CURRENCY_MISMATCH", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_runsNestedCallOnTheSameLaneInline() {
+        transactionPostingLanes = new TransactionPostingLanes(meterRegistry, 1, 1);
+
+        String result = transactionPostingLanes.execute(5L, () -> transactionPostingLanes.execute(6L, () -> "nested"));
+
+        assertEquals("nested", result);
+    }
+
+    @Test
+    void execute_rejectsWhenLaneQueueIsFull() throws Exception {
+        transactionPostingLanes = new TransactionPostingLanes(meterRegistry, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Void> blocker = CompletableFuture.runAsync(() -> transactionPostingLanes.execute(1L, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return completed.add(1);
+        }), callers);
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(
+                () -> transactionPostingLanes.execute(1L, () -> completed.add(2)), callers);
+        waitForDepth(1);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> transactionPostingLanes.execute(1L, () -> completed.add(3)));
+
+        assertEquals("TRANSACTION_LANE_BUSY", exception.getErrorCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 2), completed);
+    }
+
+    private void waitForDepth(int depth) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            if (meterRegistry.get("transaction.lane.depth").gauge().value() == depth) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.cbs.transaction.service;
 
+import com.cbs.common.exception.ApiException;
 import com.cbs.transaction.dto.CreateTransactionRequest;
 import com.cbs.transaction.dto.ReverseTransactionRequest;
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.dto.TransactionPageResponse;
 import com.cbs.transaction.dto.TransactionResponse;
+import com.cbs.transaction.dto.TransactionStatusEventResponse;
 import com.cbs.transaction.integration.AccountClient;
+import com.cbs.transaction.model.BulkTransactionFormat;
 import com.cbs.transaction.model.Transaction;
 import com.cbs.transaction.model.TransactionStatus;
 import com.cbs.transaction.model.TransactionType;
 import com.cbs.transaction.repository.TransactionRepository;
+import com.cbs.transaction.repository.TransactionStatusEventRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,10 +22,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(properties = {
@@ -44,11 +58,18 @@ class TransactionServicePostgresIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private TransactionStatusEventRepository transactionStatusEventRepository;
+
+    @Autowired
+    private TransactionBulkIngestionService transactionBulkIngestionService;
+
     @MockBean
     private AccountClient accountClient;
 
     @AfterEach
     void cleanUp() {
+        transactionStatusEventRepository.deleteAll();
         transactionRepository.deleteAll();
     }
 
@@ -73,6 +94,47 @@ class TransactionServicePostgresIntegrationTest {
         assertEquals("TX-REF-1", response.reference());
         assertEquals(TransactionStatus.POSTED, response.status());
         assertTrue(transactionRepository.existsByReference("TX-REF-1"));
+        assertEquals(
+                List.of(TransactionStatus.INITIATED, TransactionStatus.PROCESSING, TransactionStatus.POSTED),
+                transactionService.getStatusHistory(response.id()).stream()
+                        .map(TransactionStatusEventResponse::status)
+                        .toList());
+    }
+
+    @Test
+    void createTransactionReplaysRetryAndRejectsReusedReference() {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                103L,
+                203L,
+                null,
+                null,
+                TransactionType.DEPOSIT,
+                new BigDecimal("15.00"),
+                "TRY",
+                "Cash deposit",
+                "TX-REF-3",
+                LocalDate.of(2026, 2, 18));
+
+        org.mockito.Mockito.when(accountClient.getAccountCurrency(203L)).thenReturn("TRY");
+
+        TransactionResponse created = transactionService.createTransaction(request);
+        TransactionResponse retried = transactionService.createTransaction(request);
+        CreateTransactionRequest reused = new CreateTransactionRequest(
+                103L,
+                203L,
+                null,
+                null,
+                TransactionType.DEPOSIT,
+                new BigDecimal("16.00"),
+                "TRY",
+                "Cash deposit",
+                "TX-REF-3",
+                LocalDate.of(2026, 2, 18));
+        ApiException exception = assertThrows(ApiException.class, () -> transactionService.createTransaction(reused));
+
+        assertEquals(created, retried);
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", exception.getErrorCode());
+        assertEquals(1, transactionRepository.count());
     }
 
     @Test
@@ -104,4 +166,44 @@ class TransactionServicePostgresIntegrationTest {
         assertEquals(TransactionStatus.REVERSED, persisted.getStatus());
         assertEquals("duplicate posting", persisted.getReversalReason());
     }
-}
\ No newline at end of file
+
+    @Test
+    void bulkIngestionPersistsChunksAndReportsExistingReferencesInPostgres() throws Exception {
+        org.mockito.Mockito.when(accountClient.getAccountCurrencies(Set.of(204L))).thenReturn(Map.of(204L, "TRY"));
+        String file = String.join("\n",
+                "customerId,accountId,counterpartyAccountId,cardId,type,amount,currency,description,reference,valueDate",
+                "104,204,,,DEPOSIT,10.00,TRY,Payroll,BULK-IT-1,2026-03-31",
+                "104,204,,,DEPOSIT,20.00,TRY,Payroll,BULK-IT-2,2026-03-31",
+                "104,204,,,DEPOSIT,30.00,TRY,Payroll,BULK-IT-1,2026-03-31");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionBulkIngestionService.ingest(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)),
+                BulkTransactionFormat.CSV, output);
+
+        String[] results = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, results.length);
+        assertTrue(results[2].contains("TRANSACTION_REFERENCE_EXISTS"));
+        assertEquals(2, transactionRepository.count());
+        assertEquals(6, transactionStatusEventRepository.count());
+    }
+
+    @Test
+    void listTransactionsWalksAccountHistoryWithCursorInPostgres() {
+        org.mockito.Mockito.when(accountClient.getAccountCurrency(205L)).thenReturn("TRY");
+        for (int i = 1; i <= 5; i++) {
+            transactionService.createTransaction(new CreateTransactionRequest(
+                    105L, 205L, null, null, TransactionType.DEPOSIT, new BigDecimal("5.00"), "TRY", "Deposit",
+                    "TX-PAGE-" + i, LocalDate.of(2026, 2, i)));
+        }
+        TransactionHistoryFilter filter = new TransactionHistoryFilter(
+                205L, null, LocalDate.of(2026, 2, 2), null, TransactionType.DEPOSIT, null);
+
+        TransactionPageResponse first = transactionService.listTransactions(filter, null, 3);
+        TransactionPageResponse second = transactionService.listTransactions(filter, first.nextCursor(), 3);
+
+        assertEquals(List.of("TX-PAGE-5", "TX-PAGE-4", "TX-PAGE-3"),
+                first.items().stream().map(TransactionResponse::reference).toList());
+        assertEquals(List.of("TX-PAGE-2"), second.items().stream().map(TransactionResponse::reference).toList());
+        assertNull(second.nextCursor());
+    }
+}
@@ -2,31 +2,59 @@ package com.cbs.transaction.service;
 
 import com.cbs.card.service.CardSpendingService;
 import com.cbs.common.exception.ApiException;
+import com.cbs.common.idempotency.IdempotencyService;
+import com.cbs.common.retry.RetryBackoff;
+import com.cbs.common.retry.RetryBatchResult;
+import com.cbs.transaction.dto.BulkReversalResponse;
 import com.cbs.transaction.dto.CreateTransactionRequest;
+import com.cbs.transaction.dto.ReversalFailure;
 import com.cbs.transaction.dto.ReverseTransactionRequest;
+import com.cbs.transaction.dto.TransactionHistoryFilter;
+import com.cbs.transaction.dto.TransactionPageResponse;
 import com.cbs.transaction.dto.TransactionResponse;
 import com.cbs.transaction.integration.AccountClient;
 import com.cbs.transaction.integration.LedgerPostingClient;
+import com.cbs.transaction.integration.LedgerPostingResult;
+import com.cbs.transaction.integration.LedgerReversalClient;
 import com.cbs.transaction.model.Transaction;
 import com.cbs.transaction.model.TransactionStatus;
+import com.cbs.transaction.model.TransactionStatusEvent;
 import com.cbs.transaction.model.TransactionType;
 import com.cbs.transaction.repository.TransactionRepository;
+import com.cbs.transaction.repository.TransactionStatusEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,21 +63,32 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionStatusEventRepository transactionStatusEventRepository;
+
     @Mock
     private LedgerPostingClient ledgerPostingClient;
 
     @Mock
     private AccountClient accountClient;
 
+    @Mock
+    private LedgerReversalClient ledgerReversalClient;
+
     @Mock
     private CardSpendingService cardSpendingService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     private TransactionService transactionService;
 
     @BeforeEach
     void setUp() {
-        transactionService = new TransactionService(
-                transactionRepository, ledgerPostingClient, accountClient, cardSpendingService);
+        transactionService = new TransactionService(transactionRepository, transactionStatusEventRepository,
+                ledgerPostingClient, ledgerReversalClient, accountClient, cardSpendingService, idempotencyService, 2);
+        lenient().when(idempotencyService.execute(anyString(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
     }
 
     @Test
@@ -66,10 +105,9 @@ class TransactionServiceTest {
                 "  ref-001  ",
                 LocalDate.of(2026, 2, 18));
 
-        when(transactionRepository.existsByReference("REF-001")).thenReturn(false);
         when(accountClient.getAccountCurrency(10L)).thenReturn("TRY");
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        doNothing().when(ledgerPostingClient).postTransaction(any(Transaction.class));
+        when(ledgerPostingClient.postTransaction(any(Transaction.class))).thenReturn(TransactionStatus.POSTED);
 
         TransactionResponse response = transactionService.createTransaction(request);
 
@@ -77,6 +115,10 @@ class TransactionServiceTest {
         assertEquals("TRY", response.currency());
         assertEquals("monthly transfer", response.description());
         assertEquals(TransactionStatus.POSTED, response.status());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository).flush();
+        assertEquals(List.of(TransactionStatus.INITIATED, TransactionStatus.PROCESSING, TransactionStatus.POSTED),
+                recordedStatuses());
     }
 
     @Test
@@ -93,7 +135,6 @@ class TransactionServiceTest {
                 "REF-FAIL",
                 LocalDate.of(2026, 2, 18));
 
-        when(transactionRepository.existsByReference("REF-FAIL")).thenReturn(false);
         when(accountClient.getAccountCurrency(10L)).thenReturn("TRY");
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         doThrow(new ApiException("LEDGER_POSTING_FAILED", "ledger timeout"))
@@ -104,6 +145,32 @@ class TransactionServiceTest {
 
         assertEquals(TransactionStatus.FAILED, response.status());
         assertEquals("ledger timeout", response.failureReason());
+        assertEquals(List.of(TransactionStatus.INITIATED, TransactionStatus.PROCESSING, TransactionStatus.FAILED),
+                recordedStatuses());
+    }
+
+    @Test
+    void createTransaction_staysProcessingWhenPostingIsQueued() {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                1L,
+                10L,
+                20L,
+                null,
+                TransactionType.PAYMENT,
+                BigDecimal.valueOf(40.50),
+                "TRY",
+                "bill pay",
+                "REF-QUEUED",
+                LocalDate.of(2026, 2, 18));
+
+        when(accountClient.getAccountCurrency(10L)).thenReturn("TRY");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerPostingClient.postTransaction(any(Transaction.class))).thenReturn(TransactionStatus.PROCESSING);
+
+        TransactionResponse response = transactionService.createTransaction(request);
+
+        assertEquals(TransactionStatus.PROCESSING, response.status());
+        assertEquals(List.of(TransactionStatus.INITIATED, TransactionStatus.PROCESSING), recordedStatuses());
     }
 
     @Test
@@ -124,8 +191,36 @@ class TransactionServiceTest {
 
         ApiException exception = assertThrows(ApiException.class, () -> transactionService.createTransaction(request));
 
+        assertEquals("TRANSACTION_REFERENCE_EXISTS", exception.getErrorCode());
+        verify(ledgerPostingClient, never()).postTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void createTransaction_throwsWhenConcurrentInsertHitsReferenceConstraint() {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                1L,
+                10L,
+                null,
+                null,
+                TransactionType.PAYMENT,
+                BigDecimal.TEN,
+                "TRY",
+                "fee",
+                "REF-001",
+                LocalDate.of(2026, 2, 18));
+
+        when(accountClient.getAccountCurrency(10L)).thenReturn("TRY");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerPostingClient.postTransaction(any(Transaction.class))).thenReturn(TransactionStatus.POSTED);
+        doThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_transactions_reference\""))
+                .when(transactionRepository).flush();
+
+        ApiException exception = assertThrows(ApiException.class, () -> transactionService.createTransaction(request));
+
         assertEquals("TRANSACTION_REFERENCE_EXISTS", exception.getErrorCode());
         assertEquals("Reference already exists", exception.getMessage());
+        verify(transactionStatusEventRepository, never()).saveAll(any());
     }
 
     @Test
@@ -142,7 +237,6 @@ class TransactionServiceTest {
                 "REF-USD",
                 LocalDate.of(2026, 2, 18));
 
-        when(transactionRepository.existsByReference("REF-USD")).thenReturn(false);
         when(accountClient.getAccountCurrency(10L)).thenReturn("TRY");
 
         ApiException exception = assertThrows(ApiException.class, () -> transactionService.createTransaction(request));
@@ -151,6 +245,104 @@ class TransactionServiceTest {
         assertEquals("Account currency is TRY but transaction uses USD", exception.getMessage());
     }
 
+    @Test
+    void createTransactions_insertsChunkBeforePostingAndJournalsEveryLine() {
+        CreateTransactionRequest posted = new CreateTransactionRequest(
+                1L, 10L, null, null, TransactionType.PAYMENT, BigDecimal.TEN, "TRY", "payroll", "pay-1",
+                LocalDate.of(2026, 3, 31));
+        CreateTransactionRequest failed = new CreateTransactionRequest(
+                2L, 11L, null, null, TransactionType.PAYMENT, BigDecimal.ONE, "TRY", "payroll", "pay-2",
+                LocalDate.of(2026, 3, 31));
+
+        when(transactionRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> assertEquals(TransactionStatus.PROCESSING, transaction.getStatus()));
+            return transactions;
+        });
+        when(ledgerPostingClient.postTransactions(anyList())).thenReturn(List.of(
+                LedgerPostingResult.accepted(TransactionStatus.POSTED),
+                LedgerPostingResult.rejected("Ledger account is inactive")));
+
+        List<TransactionResponse> responses = transactionService.createTransactions(List.of(posted, failed));
+
+        assertEquals("PAY-1", responses.get(0).reference());
+        assertEquals(TransactionStatus.POSTED, responses.get(0).status());
+        assertEquals(TransactionStatus.FAILED, responses.get(1).status());
+        assertEquals("Ledger account is inactive", responses.get(1).failureReason());
+        assertEquals(List.of(TransactionStatus.INITIATED, TransactionStatus.PROCESSING, TransactionStatus.POSTED,
+                TransactionStatus.INITIATED, TransactionStatus.PROCESSING, TransactionStatus.FAILED),
+                recordedStatuses());
+        verify(ledgerPostingClient, never()).postTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void createTransactions_postsLineByLineWhenTheBatchedCallFails() {
+        CreateTransactionRequest first = new CreateTransactionRequest(
+                1L, 10L, null, null, TransactionType.PAYMENT, BigDecimal.TEN, "TRY", "payroll", "pay-1",
+                LocalDate.of(2026, 3, 31));
+        CreateTransactionRequest second = new CreateTransactionRequest(
+                2L, 11L, null, null, TransactionType.PAYMENT, BigDecimal.ONE, "TRY", "payroll", "pay-2",
+                LocalDate.of(2026, 3, 31));
+        when(transactionRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerPostingClient.postTransactions(anyList()))
+                .thenThrow(new IllegalStateException("could not serialize access"));
+        doReturn(TransactionStatus.POSTED).doThrow(new IllegalStateException("connection reset"))
+                .when(ledgerPostingClient).postTransaction(any(Transaction.class));
+
+        List<TransactionResponse> responses = transactionService.createTransactions(List.of(first, second));
+
+        assertEquals(TransactionStatus.POSTED, responses.get(0).status());
+        assertEquals(TransactionStatus.FAILED, responses.get(1).status());
+        assertEquals("connection reset", responses.get(1).failureReason());
+        verify(ledgerPostingClient, times(2)).postTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void listTransactions_capsPageSizeAndReturnsCursorOfLastRow() {
+        Transaction newest = mock(Transaction.class);
+        Transaction middle = mock(Transaction.class);
+        Transaction oldest = mock(Transaction.class);
+        when(middle.getId()).thenReturn(41L);
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(newest, middle, oldest));
+
+        TransactionPageResponse page = transactionService.listTransactions(
+                new TransactionHistoryFilter(10L, null, null, null, null, TransactionStatus.POSTED), 90L, 50);
+
+        assertEquals(2, page.items().size());
+        assertEquals(41L, page.nextCursor());
+    }
+
+    @Test
+    void listTransactions_returnsNoCursorOnLastPage() {
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(mock(Transaction.class)));
+
+        TransactionPageResponse page = transactionService.listTransactions(
+                new TransactionHistoryFilter(null, 1L, null, null, null, null), null, 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void listTransactions_throwsWhenDateRangeIsInverted() {
+        TransactionHistoryFilter filter = new TransactionHistoryFilter(
+                10L, null, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1), null, null);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> transactionService.listTransactions(filter, null, 20));
+
+        assertEquals("TRANSACTION_INVALID_DATE_RANGE", exception.getErrorCode());
+    }
+
+    @Test
+    void laneAccountId_fallsBackToTransactionIdWhenNotFound() {
+        when(transactionRepository.findAccountIdById(7L)).thenReturn(Optional.of(10L));
+        when(transactionRepository.findAccountIdById(99L)).thenReturn(Optional.empty());
+
+        assertEquals(10L, transactionService.laneAccountId(7L));
+        assertEquals(99L, transactionService.laneAccountId(99L));
+    }
+
     @Test
     void getTransaction_throwsWhenNotFound() {
         when(transactionRepository.findById(99L)).thenReturn(Optional.empty());
@@ -160,6 +352,80 @@ class TransactionServiceTest {
         assertEquals("TRANSACTION_NOT_FOUND", exception.getErrorCode());
     }
 
+    @Test
+    void reverseTransaction_postsCompensatingEntryBeforeMarkingReversed() {
+        Transaction transaction = new Transaction(
+                1L,
+                10L,
+                null,
+                null,
+                TransactionType.DEPOSIT,
+                BigDecimal.ONE,
+                "TRY",
+                "deposit",
+                "REF-003",
+                LocalDate.of(2026, 2, 18));
+        transaction.setStatus(TransactionStatus.POSTED);
+        when(transactionRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionResponse response = transactionService.reverseTransaction(4L,
+                new ReverseTransactionRequest(" duplicate deposit "));
+
+        assertEquals(TransactionStatus.REVERSED, response.status());
+        verify(ledgerReversalClient).postReversal(transaction);
+        assertEquals("duplicate deposit", transaction.getReversalReason());
+    }
+
+    @Test
+    void reverseTransaction_keepsTransactionPostedWhenLedgerRejectsReversal() {
+        Transaction transaction = new Transaction(
+                1L,
+                10L,
+                null,
+                null,
+                TransactionType.DEPOSIT,
+                BigDecimal.ONE,
+                "TRY",
+                "deposit",
+                "REF-004",
+                LocalDate.of(2026, 2, 18));
+        transaction.setStatus(TransactionStatus.POSTED);
+        when(transactionRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(transaction));
+        doThrow(new ApiException("LEDGER_ACCOUNT_INACTIVE", "Account is inactive: 10"))
+                .when(ledgerReversalClient).postReversal(transaction);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> transactionService.reverseTransaction(4L, new ReverseTransactionRequest("duplicate")));
+
+        assertEquals("LEDGER_ACCOUNT_INACTIVE", exception.getErrorCode());
+        assertEquals(TransactionStatus.POSTED, transaction.getStatus());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void reverseTransactions_marksOnlyLedgerReversedTransactions() {
+        Transaction reversed = mock(Transaction.class);
+        Transaction rejected = mock(Transaction.class);
+        when(reversed.getId()).thenReturn(31L);
+        when(rejected.getId()).thenReturn(32L);
+        when(transactionRepository.findByReferenceStartingWithAndStatusAndIdGreaterThanOrderByIdAsc(
+                eq("PAYROLL-"), eq(TransactionStatus.POSTED), eq(30L), any(Limit.class)))
+                .thenReturn(List.of(reversed, rejected));
+        when(ledgerReversalClient.postReversals(List.of(reversed, rejected))).thenReturn(List.of(
+                new ReversalFailure(32L, "PAYROLL-2", "LEDGER_ACCOUNT_INACTIVE", "Account is inactive")));
+
+        BulkReversalResponse response = transactionService.reverseTransactions("PAYROLL-", "bad file", 30L, 2);
+
+        assertEquals(2, response.matched());
+        assertEquals(1, response.reversed());
+        assertEquals(1, response.failed());
+        assertEquals(32L, response.lastTransactionId());
+        verify(reversed).setStatus(TransactionStatus.REVERSED);
+        verify(rejected, never()).setStatus(any());
+        assertEquals(List.of(TransactionStatus.REVERSED), recordedStatuses());
+    }
+
     @Test
     void reverseTransaction_throwsWhenAlreadyReversed() {
         Transaction transaction = new Transaction(
@@ -174,7 +440,7 @@ class TransactionServiceTest {
                 "REF-002",
                 LocalDate.of(2026, 2, 18));
         transaction.setStatus(TransactionStatus.REVERSED);
-        when(transactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(transaction));
 
         ApiException exception = assertThrows(
                 ApiException.class,
@@ -197,7 +463,7 @@ class TransactionServiceTest {
                 "REF-003",
                 LocalDate.of(2026, 2, 18));
         transaction.setStatus(TransactionStatus.FAILED);
-        when(transactionRepository.findById(6L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findByIdForUpdate(6L)).thenReturn(Optional.of(transaction));
 
         ApiException exception = assertThrows(
                 ApiException.class,
@@ -223,9 +489,9 @@ class TransactionServiceTest {
         transaction.setStatus(TransactionStatus.FAILED);
         transaction.setFailureReason("timeout");
 
-        when(transactionRepository.findById(50L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findByIdForUpdate(50L)).thenReturn(Optional.of(transaction));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        doNothing().when(ledgerPostingClient).postTransaction(any(Transaction.class));
+        when(ledgerPostingClient.repostTransaction(any(Transaction.class))).thenReturn(TransactionStatus.POSTED);
 
         TransactionResponse response = transactionService.retryPosting(50L);
 
@@ -248,10 +514,70 @@ class TransactionServiceTest {
                 LocalDate.of(2026, 2, 18));
         transaction.setStatus(TransactionStatus.POSTED);
 
-        when(transactionRepository.findById(51L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findByIdForUpdate(51L)).thenReturn(Optional.of(transaction));
 
         ApiException exception = assertThrows(ApiException.class, () -> transactionService.retryPosting(51L));
 
         assertEquals("TRANSACTION_NOT_FAILED", exception.getErrorCode());
     }
+
+    @Test
+    void retryFailedTransactions_postsDueFailuresAndSchedulesTheNextAttempt() {
+        Transaction recovered = failedTransaction("REF-600", 0);
+        Transaction stillFailing = failedTransaction("REF-601", 0);
+        Transaction lastAttempt = failedTransaction("REF-602", 2);
+        when(transactionRepository.claimDueRetries(eq(3), any(Instant.class), eq(10)))
+                .thenReturn(List.of(recovered, stillFailing, lastAttempt));
+        when(ledgerPostingClient.repostTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == recovered) {
+                return TransactionStatus.POSTED;
+            }
+            if (invocation.getArgument(0) == stillFailing) {
+                throw new ApiException("LEDGER_POSTING_FAILED", "ledger timeout");
+            }
+            throw new IllegalStateException("ledger connection reset");
+        });
+        Instant before = Instant.now();
+
+        RetryBatchResult result = transactionService.retryFailedTransactions(10, 3,
+                new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(30), 2));
+
+        assertEquals(new RetryBatchResult(3, 1, 1, 1), result);
+        assertEquals(TransactionStatus.POSTED, recovered.getStatus());
+        assertEquals(0, recovered.getRetryAttempts());
+        assertEquals(TransactionStatus.FAILED, stillFailing.getStatus());
+        assertEquals(1, stillFailing.getRetryAttempts());
+        assertTrue(!stillFailing.getNextRetryAt().isBefore(before.plusSeconds(30)));
+        assertEquals("ledger connection reset", lastAttempt.getFailureReason());
+        assertEquals(3, lastAttempt.getRetryAttempts());
+        assertTrue(!lastAttempt.getNextRetryAt().isBefore(before.plusSeconds(120)));
+    }
+
+    @Test
+    void retryFailedTransactions_returnsEmptyResultWhenNothingIsDue() {
+        when(transactionRepository.claimDueRetries(eq(5), any(Instant.class), eq(100))).thenReturn(List.of());
+
+        RetryBatchResult result = transactionService.retryFailedTransactions(100, 5,
+                new RetryBackoff(Duration.ofSeconds(30), Duration.ofMinutes(30), 2));
+
+        assertEquals(RetryBatchResult.empty(), result);
+        verify(ledgerPostingClient, never()).repostTransaction(any(Transaction.class));
+    }
+
+    private Transaction failedTransaction(String reference, int previousAttempts) {
+        Transaction transaction = new Transaction(1L, 10L, 20L, null, TransactionType.TRANSFER,
+                BigDecimal.TEN, "TRY", "retry", reference, LocalDate.of(2026, 2, 18));
+        transaction.setStatus(TransactionStatus.FAILED);
+        for (int i = 0; i < previousAttempts; i++) {
+            transaction.recordFailedRetry(Instant.EPOCH);
+        }
+        return transaction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransactionStatus> recordedStatuses() {
+        ArgumentCaptor<List<TransactionStatusEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(transactionStatusEventRepository).saveAll(events.capture());
+        return events.getValue().stream().map(TransactionStatusEvent::getStatus).toList();
+    }
 }